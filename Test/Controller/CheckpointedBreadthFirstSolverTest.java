@@ -0,0 +1,139 @@
+package Controller;
+
+import Model.MazeGenerator;
+import Model.MazeLayout;
+import exceptions.SolveTimeoutException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+
+public class CheckpointedBreadthFirstSolverTest {
+
+    /**
+     * Test that a solve stopped again and again by a tiny timeout resumes from
+     * its checkpoint each time and ends with the same path as a breadth first search.
+     */
+    @Test
+    public void testResumeAfterTimeout() throws IOException {
+        MazeLayout layout = MazeLayout.of(MazeGenerator.generate(201, 201, 0.5, 7));
+        int[] start = {1, 1};
+        int[] end = {199, 199};
+        SolveResult expected = new BreadthFirstSolver().solve(layout, start, end);
+        assertTrue(expected.isSolved());
+
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            // background saves every millisecond, so they overlap the solve
+            CheckpointedBreadthFirstSolver solver = new CheckpointedBreadthFirstSolver(file, 1);
+            int timeouts = 0;
+            SolveResult result = null;
+            while (result == null) {
+                try {
+                    result = timeouts < 5 ? solver.solve(layout, start, end, 1) : solver.solve(layout, start, end);
+                } catch (SolveTimeoutException e) {
+                    timeouts++;
+                    assertTrue(Files.size(file) > 0);
+                }
+            }
+            assertEquals(5, timeouts);
+            assertTrue(result.isSolved());
+            assertArrayEquals(expected.getCells(), result.getCells());
+            // the last run only expanded what the stopped ones hadn't
+            assertTrue(result.getSample().getNodesExpanded() < expected.getSample().getNodesExpanded());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that a checkpoint saved while solving one maze is not resumed when
+     * solving another maze of the same size.
+     */
+    @Test
+    public void testOtherMazeIgnored() throws IOException {
+        MazeLayout first = MazeLayout.of(MazeGenerator.generate(101, 101, 0.5, 1));
+        MazeLayout second = MazeLayout.of(MazeGenerator.generate(101, 101, 0.5, 2));
+        int[] start = {1, 1};
+        int[] end = {99, 99};
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            CheckpointedBreadthFirstSolver solver = new CheckpointedBreadthFirstSolver(file, 60_000);
+            try {
+                solver.solve(first, start, end, 1);
+                fail("Expected the solve to time out");
+            } catch (SolveTimeoutException e) {
+                assertTrue(Files.size(file) > 0);
+            }
+            SolveResult expected = new BreadthFirstSolver().solve(second, start, end);
+            SolveResult result = solver.solve(second, start, end);
+            assertEquals(expected.isSolved(), result.isSolved());
+            assertArrayEquals(expected.getCells(), result.getCells());
+            // a fresh solve expands every cell a breadth first search does
+            assertEquals(expected.getSample().getNodesExpanded(), result.getSample().getNodesExpanded());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that a checkpoint of the right maze whose entries were damaged,
+     * here the last one turned into a wall cell, is not resumed.
+     */
+    @Test
+    public void testDamagedCheckpointIgnored() throws IOException {
+        MazeLayout layout = MazeLayout.of(MazeGenerator.generate(101, 101, 0.5, 1));
+        int[] start = {1, 1};
+        int[] end = {99, 99};
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            CheckpointedBreadthFirstSolver solver = new CheckpointedBreadthFirstSolver(file, 60_000);
+            try {
+                solver.solve(layout, start, end, 1);
+                fail("Expected the solve to time out");
+            } catch (SolveTimeoutException e) {
+                assertTrue(Files.size(file) > 0);
+            }
+            // the corner cell, a wall, reached from below
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 1), Files.size(file) - Long.BYTES);
+            }
+            SolveResult expected = new BreadthFirstSolver().solve(layout, start, end);
+            SolveResult result = solver.solve(layout, start, end);
+            assertArrayEquals(expected.getCells(), result.getCells());
+            assertEquals(expected.getSample().getNodesExpanded(), result.getSample().getNodesExpanded());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that the checkpoint file is deleted once a solve finishes, whether or not it found the end.
+     */
+    @Test
+    public void testFileDeletedOnCompletion() throws IOException {
+        Path file = Files.createTempFile("maze", ".ckpt");
+        try {
+            CheckpointedBreadthFirstSolver solver = new CheckpointedBreadthFirstSolver(file, 60_000);
+            MazeLayout layout = MazeLayout.of(MazeGenerator.perfect(51, 51, 3));
+            assertTrue(solver.solve(layout, new int[] {1, 1}, new int[] {49, 49}).isSolved());
+            assertFalse(Files.exists(file));
+
+            char[][] walled = {
+                    "#####".toCharArray(),
+                    "# # #".toCharArray(),
+                    "#####".toCharArray()
+            };
+            assertFalse(solver.solve(MazeLayout.of(walled), new int[] {1, 1}, new int[] {1, 3}).isSolved());
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package Controller;
+
+import Model.Maze;
+import Model.Player;
+import Model.Terrain;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DijkstraSolverTest {
+
+    /**
+     * Test that terrain given Terrain.IMPASSABLE is not moved onto, even though it is no wall.
+     */
+    @Test
+    public void testImpassableTerrain() {
+        char[][] layout = {
+                "#####".toCharArray(),
+                "#S.E#".toCharArray(),
+                "#####".toCharArray()
+        };
+        Maze maze = new Maze(layout, new Player(new int[] {0,0}));
+        assertTrue(new DijkstraSolver().solve(maze, new int[] {1,1}, new int[] {1,3}).isSolved());
+        maze.setTerrainCosts(Terrain.STANDARD.withCost('.', Terrain.IMPASSABLE));
+        assertEquals(Terrain.IMPASSABLE, maze.getCost(1, 2));
+        assertFalse(new DijkstraSolver().solve(maze, new int[] {1,1}, new int[] {1,3}).isSolved());
+    }
+
+    /**
+     * Test that a longer detour over cheap cells is taken over a shorter path through costly terrain.
+     */
+    @Test
+    public void testCheaperDetour() {
+        char[][] layout = {
+                "#####".toCharArray(),
+                "#S9E#".toCharArray(),
+                "#   #".toCharArray(),
+                "#####".toCharArray()
+        };
+        Maze maze = new Maze(layout, new Player(new int[] {0,0}));
+        SolveResult result = new DijkstraSolver().solve(maze, new int[] {1,1}, new int[] {1,3});
+        assertTrue(result.isSolved());
+        assertEquals(4, result.getPathLength());
+        assertEquals("sddw", result.getMoveString());
+        assertEquals(4, DijkstraSolver.pathCost(maze, result.getCells()));
+    }
+}
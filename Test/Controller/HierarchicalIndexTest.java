@@ -0,0 +1,168 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGenerator;
+import Model.MazeLayout;
+import Model.Player;
+import metrics.SolveSample;
+import metrics.SolverMetrics;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class HierarchicalIndexTest {
+
+    /**
+     * Test that after random wall changes, many of them on cluster borders and
+     * corners, the index finds the same paths as an index freshly built from
+     * the changed maze, and finds one exactly when a breadth first search can.
+     */
+    @Test
+    public void testSetWallMatchesRebuild() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            int clusterSize = 4 + random.nextInt(6);
+            int numRows = 21 + 2 * random.nextInt(15);
+            int numCols = 21 + 2 * random.nextInt(15);
+            char[][] grid = seed % 2 == 0 ? MazeGenerator.rooms(numRows, numCols, seed)
+                    : MazeGenerator.generate(numRows, numCols, 0.3 + 0.3 * random.nextDouble(), seed);
+            HierarchicalIndex index = HierarchicalIndex.of(MazeLayout.of(grid), clusterSize);
+            for (int edit = 0; edit < 60; edit++) {
+                int row = borderBiased(random, numRows, clusterSize);
+                int col = borderBiased(random, numCols, clusterSize);
+                boolean wall = random.nextInt(3) == 0;
+                index.setWall(row, col, wall);
+                grid[row][col] = wall ? '#' : ' ';
+
+                MazeLayout layout = MazeLayout.of(grid);
+                HierarchicalIndex fresh = HierarchicalIndex.of(layout, clusterSize);
+                for (int query = 0; query < 5; query++) {
+                    int start = randomOpenCell(layout, random);
+                    int end = randomOpenCell(layout, random);
+                    String message = "seed " + seed + " edit " + edit + " query " + query;
+                    int[] path = index.findPath(start, end, new SearchContext(null));
+                    assertArrayEquals(message, fresh.findPath(start, end, new SearchContext(null)), path);
+                    boolean reachable = new BreadthFirstSolver().solve(layout,
+                            new int[] {start / numCols, start % numCols},
+                            new int[] {end / numCols, end % numCols}).isSolved();
+                    assertEquals(message, reachable, path != null);
+                    if (path != null) {
+                        assertEquals(message, start, path[0]);
+                        assertEquals(message, end, path[path.length - 1]);
+                        for (int i = 1; i < path.length; i++) {
+                            boolean adjacent = false;
+                            for (int d = 0; d < 4; d++) {
+                                int next = layout.step(path[i - 1], d);
+                                adjacent |= next != path[i - 1] && next == path[i];
+                            }
+                            assertTrue(message, adjacent);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that walls edited through the solver change its cached index in place:
+     * the solves after each edit are cache hits which only rebuilt the clusters
+     * around the edited cells, and find the paths of an index built afresh.
+     */
+    @Test
+    public void testSolverWallEditsReuseIndex() {
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        HierarchicalSolver solver = new HierarchicalSolver();
+        solver.setMetrics(new SolverMetrics() {
+            @Override
+            public void recordSolve(String name, SolveSample sample) {
+            }
+
+            @Override
+            public void recordCacheHit(String name) {
+                hits.incrementAndGet();
+            }
+
+            @Override
+            public void recordCacheMiss(String name) {
+                misses.incrementAndGet();
+            }
+        });
+        // a maze no other test solves, so the shared cache can't already hold it
+        Maze maze = new Maze(MazeGenerator.rooms(97, 131, 20_261_019L), new Player(new int[] {0, 0}));
+        int numCols = maze.getNumCols();
+        int[] start = maze.getPlayer().getPlayerPosition().clone();
+        int[] end = maze.getEnds().get(0);
+        solver.solve(maze, start, end);
+        assertEquals(1, misses.get());
+        HierarchicalIndex index = solver.indexOf(maze);
+        assertEquals(1, hits.get());
+
+        Random random = new Random(7);
+        for (int edit = 0; edit < 40; edit++) {
+            int row = 1 + random.nextInt(maze.getNumRows() - 2);
+            int col = 1 + random.nextInt(numCols - 2);
+            char current = maze.getMaze()[row][col];
+            if (current != ' ' && current != '░') {
+                continue;
+            }
+            HierarchicalSolver.setWall(maze, row, col, current == ' ');
+            String message = "edit " + edit;
+            SolveResult result = solver.solve(maze, start, end);
+            assertEquals(message, 1, misses.get());
+            assertSame(message, index, solver.indexOf(maze));
+
+            MazeLayout layout = MazeLayout.of(maze);
+            int[] expected = HierarchicalIndex.of(layout, 32).findPath(start[0] * numCols + start[1],
+                    end[0] * numCols + end[1], new SearchContext(null));
+            assertEquals(message, new BreadthFirstSolver().solve(layout, start, end).isSolved(), result.isSolved());
+            assertEquals(message, expected != null, result.isSolved());
+            if (expected != null) {
+                assertArrayEquals(message, expected, result.getCells());
+            }
+            // a cell rebuilds its own cluster and at most one across each of two borders
+            assertTrue(message, index.getRebuildCount() <= 3L * (edit + 1));
+        }
+        assertTrue(index.getRebuildCount() > 0);
+    }
+
+    /**
+     * Picks a row or column, half the time on the first or last line of a cluster.
+     *
+     * @param random      The random number generator.
+     * @param size        The number of rows or columns.
+     * @param clusterSize The number of rows and columns of a cluster.
+     * @return The row or column, never on the outer wall.
+     */
+    private static int borderBiased(Random random, int size, int clusterSize) {
+        int line;
+        do {
+            if (random.nextBoolean()) {
+                int clusterStart = clusterSize * random.nextInt((size + clusterSize - 1) / clusterSize);
+                line = random.nextBoolean() ? clusterStart : clusterStart + clusterSize - 1;
+            } else {
+                line = random.nextInt(size);
+            }
+        } while (line <= 0 || line >= size - 1);
+        return line;
+    }
+
+    /**
+     * Picks a random open cell.
+     *
+     * @param layout The maze layout.
+     * @param random The random number generator.
+     * @return The cell as row * numCols + col.
+     */
+    private static int randomOpenCell(MazeLayout layout, Random random) {
+        int numCols = layout.getNumCols();
+        int cell;
+        do {
+            cell = random.nextInt(layout.getNumRows() * numCols);
+        } while (!layout.isValidMove(cell / numCols, cell % numCols));
+        return cell;
+    }
+}
@@ -0,0 +1,125 @@
+package Controller;
+
+import Model.MazeGenerator;
+import Model.MazeLayout;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IncrementalPlannerTest {
+
+    /**
+     * Test that after random wall edits and start moves the repaired path is a
+     * valid path to an exit, as short as a fresh breadth first search from all
+     * the exits says, or missing exactly when no exit can be reached.
+     */
+    @Test
+    public void testRandomEditsMatchSearch() {
+        for (int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            int size = 15 + 2 * random.nextInt(14);
+            char[][] grid = seed % 2 == 0 ? MazeGenerator.rooms(size, size, seed)
+                    : MazeGenerator.generate(size, size, 0.3 + 0.4 * random.nextDouble(), seed);
+            MazeLayout layout = MazeLayout.of(grid);
+            int[] exits = new int[3];
+            for (int i = 0; i < exits.length; i++) {
+                exits[i] = randomOpenCell(layout, random);
+            }
+            int start = randomOpenCell(layout, random);
+            IncrementalPlanner planner = IncrementalPlanner.of(layout, start, exits);
+            for (int edit = 0; edit < 80; edit++) {
+                if (random.nextInt(10) == 0) {
+                    int cell;
+                    do {
+                        cell = random.nextInt(size * size);
+                    } while (planner.isWall(cell / size, cell % size));
+                    planner.setStart(cell);
+                } else {
+                    int cell = random.nextInt(size * size);
+                    if (cell != planner.getStart() && Arrays.stream(exits).noneMatch(exit -> exit == cell)) {
+                        planner.setWall(cell / size, cell % size, random.nextBoolean());
+                    }
+                }
+                int[] path = planner.findPath();
+                int expected = distanceToExit(planner, size, exits);
+                if (expected < 0) {
+                    assertNull("seed " + seed + " edit " + edit, path);
+                    continue;
+                }
+                assertNotNull("seed " + seed + " edit " + edit, path);
+                assertEquals("seed " + seed + " edit " + edit, expected, path.length - 1);
+                assertEquals(planner.getStart(), path[0]);
+                int last = path[path.length - 1];
+                assertTrue(Arrays.stream(exits).anyMatch(exit -> exit == last));
+                for (int i = 0; i < path.length; i++) {
+                    assertFalse(planner.isWall(path[i] / size, path[i] % size));
+                    if (i > 0) {
+                        int step = Math.abs(path[i] - path[i - 1]);
+                        assertTrue(step == size || (step == 1 && path[i] / size == path[i - 1] / size));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks a random open cell of a layout.
+     *
+     * @param layout The layout.
+     * @param random The source of randomness.
+     * @return The cell as row * numCols + col.
+     */
+    private static int randomOpenCell(MazeLayout layout, Random random) {
+        int numCols = layout.getNumCols();
+        int cell;
+        do {
+            cell = random.nextInt(layout.getNumRows() * numCols);
+        } while (!layout.isValidMove(cell / numCols, cell % numCols));
+        return cell;
+    }
+
+    /**
+     * Works out the number of moves from the planner's start to the nearest
+     * exit with a breadth first search from all the exits over the planner's walls.
+     *
+     * @param planner The planner.
+     * @param size    The number of rows and columns.
+     * @param exits   The exit cells.
+     * @return The number of moves, -1 if no exit can be reached.
+     */
+    private static int distanceToExit(IncrementalPlanner planner, int size, int[] exits) {
+        int[] distance = new int[size * size];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[size * size];
+        int head = 0;
+        int tail = 0;
+        for (int exit : exits) {
+            if (!planner.isWall(exit / size, exit % size) && distance[exit] < 0) {
+                distance[exit] = 0;
+                queue[tail++] = exit;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / size;
+            int col = cell % size;
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nextRow < 0 || nextRow >= size || nextCol < 0 || nextCol >= size
+                        || planner.isWall(nextRow, nextCol)) {
+                    continue;
+                }
+                int next = nextRow * size + nextCol;
+                if (distance[next] < 0) {
+                    distance[next] = distance[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance[planner.getStart()];
+    }
+}
@@ -0,0 +1,131 @@
+package Controller;
+
+import Model.MazeLayout;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KShortestPathsTest {
+
+    /**
+     * Test that the paths found have the same lengths as the k shortest of
+     * every loopless path, found by exhaustive search on small random grids.
+     * Asking for every k from one to past the number of paths there are also
+     * covers the pruning of candidates which can't be among the k shortest.
+     */
+    @Test
+    public void testMatchesEnumeration() {
+        for (int seed = 0; seed < 60; seed++) {
+            Random random = new Random(seed);
+            char[][] grid = PathCounterTest.randomGrid(2 + random.nextInt(4), 2 + random.nextInt(4),
+                    random.nextDouble() * 0.3, random);
+            MazeLayout layout = MazeLayout.of(grid);
+            int numCols = layout.getNumCols();
+            int start = numCols + 1;
+            int end = (layout.getNumRows() - 2) * numCols + numCols - 2;
+            List<Integer> lengths = new ArrayList<>();
+            enumerate(layout, start, end, new boolean[layout.getNumRows() * numCols], 1, lengths);
+            lengths.sort(null);
+            KShortestPaths finder = new KShortestPaths(layout);
+            for (int k = 1; k <= Math.min(lengths.size() + 2, 60); k++) {
+                List<int[]> paths = finder.find(start, end, k);
+                String message = "seed " + seed + " k " + k;
+                assertEquals(message, Math.min(k, lengths.size()), paths.size());
+                HashSet<String> distinct = new HashSet<>();
+                for (int p = 0; p < paths.size(); p++) {
+                    int[] path = paths.get(p);
+                    assertEquals(message + " path " + p, (int) lengths.get(p), path.length);
+                    assertValidPath(message, layout, path, start, end);
+                    assertTrue(message, distinct.add(Arrays.toString(path)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that asking for more paths than there are returns all of them, and
+     * that no paths are found for k of zero or an unreachable end.
+     */
+    @Test
+    public void testFewerPathsThanAsked() {
+        char[][] grid = {
+                "#####".toCharArray(),
+                "#   #".toCharArray(),
+                "# # #".toCharArray(),
+                "#   #".toCharArray(),
+                "#####".toCharArray()
+        };
+        MazeLayout layout = MazeLayout.of(grid);
+        KShortestPaths finder = new KShortestPaths(layout);
+        // around the pillar either way
+        List<int[]> paths = finder.find(6, 18, 10);
+        assertEquals(2, paths.size());
+        assertEquals(5, paths.get(0).length);
+        assertEquals(5, paths.get(1).length);
+        assertTrue(finder.find(6, 18, 0).isEmpty());
+
+        char[][] walled = {
+                "#####".toCharArray(),
+                "# # #".toCharArray(),
+                "#####".toCharArray()
+        };
+        assertTrue(new KShortestPaths(MazeLayout.of(walled)).find(6, 8, 3).isEmpty());
+    }
+
+    /**
+     * Asserts that a path goes from start to end in single open steps without visiting a cell twice.
+     *
+     * @param message The message of a failure.
+     * @param layout  The maze layout.
+     * @param path    The cells of the path.
+     * @param start   The start cell.
+     * @param end     The end cell.
+     */
+    private static void assertValidPath(String message, MazeLayout layout, int[] path, int start, int end) {
+        assertEquals(message, start, path[0]);
+        assertEquals(message, end, path[path.length - 1]);
+        HashSet<Integer> cells = new HashSet<>();
+        for (int i = 0; i < path.length; i++) {
+            assertTrue(message, cells.add(path[i]));
+            if (i > 0) {
+                boolean adjacent = false;
+                for (int d = 0; d < 4; d++) {
+                    int next = layout.step(path[i - 1], d);
+                    adjacent |= next != path[i - 1] && next == path[i];
+                }
+                assertTrue(message, adjacent);
+            }
+        }
+    }
+
+    /**
+     * Walks every loopless path to the end and records the number of cells of each.
+     *
+     * @param layout  The maze layout.
+     * @param cell    The current cell.
+     * @param end     The end cell.
+     * @param onPath  The cells on the current path.
+     * @param cells   The number of cells on the path so far, including the current one.
+     * @param lengths The number of cells of every path found.
+     */
+    private static void enumerate(MazeLayout layout, int cell, int end, boolean[] onPath, int cells, List<Integer> lengths) {
+        if (cell == end) {
+            lengths.add(cells);
+            return;
+        }
+        onPath[cell] = true;
+        for (int d = 0; d < 4; d++) {
+            int next = layout.step(cell, d);
+            if (next != cell && !onPath[next]) {
+                enumerate(layout, next, end, onPath, cells + 1, lengths);
+            }
+        }
+        onPath[cell] = false;
+    }
+}
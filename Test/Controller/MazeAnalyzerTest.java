@@ -0,0 +1,75 @@
+package Controller;
+
+import Model.Maze;
+import Model.Player;
+import exceptions.MazeMalformedException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class MazeAnalyzerTest {
+
+    // the second start and the first exit are decoys: the game starts on the first 'S' and ends on any 'E'
+    private static final String[] MAZE = {
+            "#########",
+            "#S     E#",
+            "####### #",
+            "#E     S#",
+            "#########"
+    };
+
+    /**
+     * Test that the solution runs from the first start to the nearest exit,
+     * as in the game, whether the maze is analysed from its file or in memory.
+     *
+     * @throws Exception If the maze file can't be written or read.
+     */
+    @Test
+    public void testFirstStartNearestExit() throws Exception {
+        Path file = Files.createTempFile("maze", ".txt");
+        try {
+            Files.write(file, ("5 9\n" + String.join("\n", MAZE) + "\n").getBytes(StandardCharsets.US_ASCII));
+            MazeReport fromFile = new MazeAnalyzer(true).analyze(file.toString());
+            assertEquals(6, fromFile.getSolutionLength());
+            assertEquals(1.0, fromFile.getTortuosity(), 1e-9);
+
+            char[][] grid = new char[MAZE.length][];
+            for (int i = 0; i < MAZE.length; i++) {
+                grid[i] = MAZE[i].toCharArray();
+            }
+            Maze maze = new Maze(grid, new Player(new int[] {0, 0}));
+            MazeReport inMemory = new MazeAnalyzer(true)
+                    .analyze(maze, maze.getPlayer().getPlayerPosition(), maze.getEnds());
+            assertEquals(6, inMemory.getSolutionLength());
+            assertEquals(fromFile.getOpenCells(), inMemory.getOpenCells());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Test that a header with dimensions which are not positive whole numbers
+     * is refused as malformed, as FileLoader refuses it.
+     *
+     * @throws Exception If the maze file can't be written.
+     */
+    @Test
+    public void testBadDimensions() throws Exception {
+        for (String header : new String[] {"-5 -9", "0 9", "5 nine", "5"}) {
+            Path file = Files.createTempFile("maze", ".txt");
+            try {
+                Files.write(file, (header + "\n" + String.join("\n", MAZE) + "\n").getBytes(StandardCharsets.US_ASCII));
+                new MazeAnalyzer(true).analyze(file.toString());
+                fail("Expected " + header + " to be refused");
+            } catch (MazeMalformedException e) {
+                assertNotNull(e.getMessage());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
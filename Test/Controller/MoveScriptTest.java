@@ -0,0 +1,110 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGenerator;
+import Model.Player;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MoveScriptTest {
+
+    private static final char[] MOVES = {'w', 'a', 's', 'd'};
+
+    /**
+     * Test that repeat counts, whitespace and commas read as the moves they stand for.
+     */
+    @Test
+    public void testRunLengthParsing() {
+        char[][] grid = MazeGenerator.rooms(21, 21, 4);
+        Maze expanded = new Maze(grid, new Player(new int[] {0, 0}));
+        new MoveScript(expanded, 0, null).run("sssdddddwwaa");
+        Maze counted = new Maze(grid, new Player(new int[] {0, 0}));
+        MoveScript script = new MoveScript(counted, 0, null);
+        script.run("3s,5d\n 2w2a");
+        assertArrayEquals(expanded.getPlayer().getPlayerPosition(), counted.getPlayer().getPlayerPosition());
+        assertEquals(12, script.getMovesApplied());
+
+        // a huge run into a wall is only counted, not walked
+        Maze bumped = new Maze(grid, new Player(new int[] {0, 0}));
+        script = new MoveScript(bumped, 0, null);
+        script.run("1000000000w");
+        assertArrayEquals(new int[] {1, 1}, bumped.getPlayer().getPlayerPosition());
+        assertEquals(1_000_000_000L, script.getMovesApplied());
+    }
+
+    /**
+     * Test that a character which is not a move stops the script but leaves
+     * the player placed where the moves before it took them.
+     */
+    @Test
+    public void testBadCharacterLeavesPlayerPlaced() {
+        char[][] grid = {
+                "#####".toCharArray(),
+                "#S  #".toCharArray(),
+                "### #".toCharArray(),
+                "#E  #".toCharArray(),
+                "#####".toCharArray()
+        };
+        Maze maze = new Maze(grid, new Player(new int[] {0, 0}));
+        char playerChar = maze.getPlayer().getPlayerChar();
+        for (String script : new String[] {"ddx", "dd3", "dd4 s"}) {
+            maze = new Maze(grid, new Player(new int[] {0, 0}));
+            try {
+                new MoveScript(maze, 0, null).run(script);
+                fail("Expected " + script + " to be refused");
+            } catch (IllegalArgumentException e) {
+                assertArrayEquals(script, new int[] {1, 3}, maze.getPlayer().getPlayerPosition());
+                assertEquals(script, playerChar, maze.getMaze()[1][3]);
+                assertEquals(script, ' ', maze.getMaze()[1][1]);
+            }
+        }
+    }
+
+    /**
+     * Test that random scripts leave the same maze and position as playing
+     * their moves one at a time with MazeUpdate.updateMaze, up to reaching an end.
+     */
+    @Test
+    public void testMatchesUpdateMaze() {
+        MazeUpdate update = new MazeUpdate();
+        for (int seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            char[][] grid = seed % 2 == 0 ? MazeGenerator.rooms(15, 21, seed) : MazeGenerator.perfect(15, 21, seed);
+            StringBuilder script = new StringBuilder();
+            StringBuilder moves = new StringBuilder();
+            for (int run = 0; run < 60; run++) {
+                char move = MOVES[random.nextInt(4)];
+                int count = random.nextInt(4) == 0 ? 1 + random.nextInt(12) : 1;
+                script.append(count > 1 || random.nextBoolean() ? Integer.toString(count) : "").append(move);
+                for (int i = 0; i < count; i++) {
+                    moves.append(move);
+                }
+            }
+
+            Maze scripted = new Maze(grid, new Player(new int[] {0, 0}));
+            MoveScript player = new MoveScript(scripted, 7, null);
+            boolean reachedEnd = player.run(script.toString());
+
+            Maze stepped = new Maze(grid, new Player(new int[] {0, 0}));
+            boolean steppedEnd = false;
+            int applied = 0;
+            for (int i = 0; i < moves.length() && !steppedEnd; i++) {
+                update.updateMaze(stepped, stepped.getPlayer(), String.valueOf(moves.charAt(i)));
+                steppedEnd = stepped.isEndOfMaze(stepped.getPlayer().getPlayerPosition());
+                applied++;
+            }
+            assertEquals("seed " + seed, steppedEnd, reachedEnd);
+            assertArrayEquals("seed " + seed, stepped.getPlayer().getPlayerPosition(),
+                    scripted.getPlayer().getPlayerPosition());
+            for (int i = 0; i < grid.length; i++) {
+                assertArrayEquals("seed " + seed + " row " + i, stepped.getMaze()[i], scripted.getMaze()[i]);
+            }
+            if (!reachedEnd) {
+                assertEquals("seed " + seed, applied, player.getMovesApplied());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package Controller;
+
+import Model.MazeLayout;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MoveVerifierTest {
+
+    // a start with an exit either way
+    private static final char[][] MAZE = {
+            "#######".toCharArray(),
+            "#E S  #".toCharArray(),
+            "### # #".toCharArray(),
+            "#    E#".toCharArray(),
+            "#######".toCharArray()
+    };
+
+    /**
+     * Test that the first illegal move is reported with the cell the player was on,
+     * whether it is not a move at all or a move into a wall.
+     */
+    @Test
+    public void testFirstIllegalStep() {
+        MoveVerifier verifier = new MoveVerifier(MazeLayout.of(MAZE));
+        Verdict verdict = verifier.verify("dxw");
+        assertFalse(verdict.isValid());
+        assertEquals(1, verdict.getIllegalStep());
+        assertEquals(7 + 4, verdict.getFinalCell());
+        assertFalse(verdict.endsOnExit());
+
+        // a move into a wall is illegal, unlike in the text mode where it stays put
+        verdict = verifier.verify("ddsa");
+        assertFalse(verdict.isValid());
+        assertEquals(3, verdict.getIllegalStep());
+        assertEquals(2 * 7 + 5, verdict.getFinalCell());
+
+        verdict = verifier.verify("w");
+        assertEquals(0, verdict.getIllegalStep());
+        assertEquals(7 + 3, verdict.getFinalCell());
+    }
+
+    /**
+     * Test that a legal submission counts as solved on any exit, and not short of one.
+     */
+    @Test
+    public void testAnyExitSolves() {
+        MoveVerifier verifier = new MoveVerifier(MazeLayout.of(MAZE));
+        Verdict left = verifier.verify("aa");
+        assertTrue(left.isValid());
+        assertEquals(-1, left.getIllegalStep());
+        assertTrue(left.endsOnExit());
+        assertEquals(7 + 1, left.getFinalCell());
+
+        Verdict right = verifier.verify("ddss");
+        assertTrue(right.isValid());
+        assertTrue(right.endsOnExit());
+        assertEquals(3 * 7 + 5, right.getFinalCell());
+
+        Verdict shortOf = verifier.verify("a");
+        assertTrue(shortOf.isValid());
+        assertFalse(shortOf.endsOnExit());
+        assertFalse(verifier.verify("").endsOnExit());
+    }
+
+    /**
+     * Test that verifying many submissions in parallel gives each its own verdict in order.
+     */
+    @Test
+    public void testVerifyAllKeepsOrder() {
+        MoveVerifier verifier = new MoveVerifier(MazeLayout.of(MAZE));
+        String[] kinds = {"aa", "ddss", "a", "dxw", "ddsa", ""};
+        List<String> submissions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            submissions.add(kinds[(i * 7 + i / 3) % kinds.length]);
+        }
+        Verdict[] verdicts = verifier.verifyAll(submissions);
+        assertEquals(submissions.size(), verdicts.length);
+        for (int i = 0; i < verdicts.length; i++) {
+            Verdict expected = verifier.verify(submissions.get(i));
+            assertEquals("submission " + i, expected.getIllegalStep(), verdicts[i].getIllegalStep());
+            assertEquals("submission " + i, expected.getFinalCell(), verdicts[i].getFinalCell());
+            assertEquals("submission " + i, expected.endsOnExit(), verdicts[i].endsOnExit());
+        }
+    }
+}
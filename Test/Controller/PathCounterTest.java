@@ -0,0 +1,144 @@
+package Controller;
+
+import Model.MazeLayout;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PathCounterTest {
+
+    /**
+     * Test that the count matches an exhaustive search of every loopless path on small random grids.
+     */
+    @Test
+    public void testMatchesEnumeration() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            char[][] grid = randomGrid(2 + random.nextInt(5), 2 + random.nextInt(5), random.nextDouble() * 0.4, random);
+            MazeLayout layout = MazeLayout.of(grid);
+            int numCols = layout.getNumCols();
+            int start = 1 * numCols + 1;
+            int end = (layout.getNumRows() - 2) * numCols + numCols - 2;
+            int[] shortest = {Integer.MAX_VALUE, 0};
+            enumerate(layout, start, end, new boolean[layout.getNumRows() * numCols], 0, shortest);
+            long expected = shortest[0] == Integer.MAX_VALUE ? 0 : shortest[1];
+            assertEquals("seed " + seed, BigInteger.valueOf(expected), PathCounter.countShortestPaths(layout, start, end));
+            assertEquals("seed " + seed, expected == 1, PathCounter.hasUniqueSolution(layout, start, end));
+        }
+    }
+
+    /**
+     * Test that the count on an open 80 by 80 room is the binomial coefficient C(158, 79),
+     * which is far too big for a long.
+     */
+    @Test
+    public void testOpenGridBinomial() {
+        MazeLayout layout = MazeLayout.of(randomGrid(80, 80, 0, new Random(0)));
+        int numCols = layout.getNumCols();
+        BigInteger count = PathCounter.countShortestPaths(layout, numCols + 1, 80 * numCols + 80);
+        assertEquals(binomial(158, 79), count);
+        assertTrue(count.bitLength() > 63);
+    }
+
+    /**
+     * Test the counts either side of a long overflowing: C(66, 33) still fits
+     * a long, C(68, 34) is the first square room count which doesn't.
+     */
+    @Test
+    public void testOverflowBoundary() {
+        for (int size = 30; size <= 40; size++) {
+            MazeLayout layout = MazeLayout.of(randomGrid(size, size, 0, new Random(0)));
+            int numCols = layout.getNumCols();
+            BigInteger count = PathCounter.countShortestPaths(layout, numCols + 1, size * numCols + size);
+            BigInteger expected = binomial(2 * size - 2, size - 1);
+            assertEquals("size " + size, expected, count);
+            assertEquals("size " + size, size <= 34, count.bitLength() <= 63);
+        }
+    }
+
+    /**
+     * Test that an unreachable end counts no paths and the start counts itself once.
+     */
+    @Test
+    public void testUnreachableAndTrivial() {
+        char[][] grid = {
+                "#####".toCharArray(),
+                "#S#E#".toCharArray(),
+                "#####".toCharArray()
+        };
+        MazeLayout layout = MazeLayout.of(grid);
+        assertEquals(BigInteger.ZERO, PathCounter.countShortestPaths(layout, 6, 8));
+        assertEquals(BigInteger.ONE, PathCounter.countShortestPaths(layout, 6, 6));
+    }
+
+    /**
+     * Makes a grid of open cells inside a wall border, with some random walls
+     * but never on the top left or bottom right open cell.
+     *
+     * @param rows    The number of open rows.
+     * @param cols    The number of open columns.
+     * @param density The chance of an inner cell being a wall.
+     * @param random  The random number generator.
+     * @return The grid, two rows and columns bigger than the open part.
+     */
+    static char[][] randomGrid(int rows, int cols, double density, Random random) {
+        char[][] grid = new char[rows + 2][cols + 2];
+        for (int i = 0; i < rows + 2; i++) {
+            for (int j = 0; j < cols + 2; j++) {
+                boolean border = i == 0 || j == 0 || i == rows + 1 || j == cols + 1;
+                boolean corner = (i == 1 && j == 1) || (i == rows && j == cols);
+                grid[i][j] = border || (!corner && random.nextDouble() < density) ? '#' : ' ';
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Walks every loopless path to the end, keeping the fewest moves and how many paths have them.
+     *
+     * @param layout   The maze layout.
+     * @param cell     The current cell.
+     * @param end      The end cell.
+     * @param onPath   The cells on the current path.
+     * @param moves    The moves made so far.
+     * @param shortest The fewest moves found and the number of paths with them.
+     */
+    private static void enumerate(MazeLayout layout, int cell, int end, boolean[] onPath, int moves, int[] shortest) {
+        if (cell == end) {
+            if (moves < shortest[0]) {
+                shortest[0] = moves;
+                shortest[1] = 0;
+            }
+            if (moves == shortest[0]) {
+                shortest[1]++;
+            }
+            return;
+        }
+        onPath[cell] = true;
+        for (int d = 0; d < 4; d++) {
+            int next = layout.step(cell, d);
+            if (next != cell && !onPath[next]) {
+                enumerate(layout, next, end, onPath, moves + 1, shortest);
+            }
+        }
+        onPath[cell] = false;
+    }
+
+    /**
+     * Works out a binomial coefficient.
+     *
+     * @param n The number of items.
+     * @param k The number chosen.
+     * @return n choose k.
+     */
+    private static BigInteger binomial(int n, int k) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 1; i <= k; i++) {
+            result = result.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGenerator;
+import Model.MazeLayout;
+import Model.Player;
+import metrics.SolveSample;
+import metrics.SolverMetrics;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SolverAgreementTest {
+
+    // widths either side of one and two 64 bit words, for the bit parallel solver
+    private static final int[] WIDTHS = {5, 31, 63, 65, 101, 127, 129, 191, 193};
+
+    /**
+     * Test that every registered solver which promises a shortest path finds
+     * one as short as a breadth first search does, and a path exactly when it
+     * does, on seeded random mazes of many widths.
+     */
+    @Test
+    public void testShortestPathSolversAgree() {
+        for (int seed = 0; seed < 3 * WIDTHS.length; seed++) {
+            Random random = new Random(seed);
+            int numCols = WIDTHS[seed % WIDTHS.length];
+            int numRows = 5 + 2 * random.nextInt(40);
+            char[][] grid = seed % 3 == 0 ? MazeGenerator.perfect(numRows, numCols, seed)
+                    : seed % 3 == 1 ? MazeGenerator.rooms(numRows, numCols, seed)
+                    : MazeGenerator.generate(numRows, numCols, 0.3 + 0.4 * random.nextDouble(), seed);
+            MazeLayout layout = MazeLayout.of(grid);
+            for (int query = 0; query < 4; query++) {
+                int[] start = randomOpenCell(layout, random);
+                int[] end = randomOpenCell(layout, random);
+                SolveResult expected = new BreadthFirstSolver().solve(layout, start, end);
+                for (MazeSolver solver : Solvers.available()) {
+                    if (!solver.isShortestPath()) {
+                        continue;
+                    }
+                    String message = solver.getName() + " seed " + seed + " query " + query;
+                    SolveResult result = solver.solve(layout, start, end);
+                    assertEquals(message, expected.isSolved(), result.isSolved());
+                    if (!expected.isSolved()) {
+                        continue;
+                    }
+                    assertEquals(message, expected.getPathLength(), result.getPathLength());
+                    assertValidPath(message, layout, result.getCells(), start, end);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that a recorder set through MazeSolver records the exploration of
+     * every registered solver, the recursive one included, and that a solver
+     * with no recorder records nothing.
+     */
+    @Test
+    public void testEverySolverRecords() {
+        // wider than a cluster of the hierarchical solver, so that it searches between clusters
+        char[][] grid = MazeGenerator.rooms(41, 71, 5);
+        for (MazeSolver solver : Solvers.available()) {
+            Maze maze = new Maze(grid, new Player(new int[] {0, 0}));
+            ExplorationRecorder recorder = new ExplorationRecorder(maze.getNumRows(), maze.getNumCols());
+            solver.setRecorder(recorder);
+            assertTrue(solver.getName(), solver.solve(maze).isSolved());
+            assertTrue(solver.getName(), recorder.getTotalVisits() > 0);
+
+            solver.setRecorder(null);
+            recorder.reset();
+            solver.solve(new Maze(grid, new Player(new int[] {0, 0})));
+            assertEquals(solver.getName(), 0, recorder.getTotalVisits());
+        }
+    }
+
+    /**
+     * Test that a junction graph is built once per layout, and that solving a
+     * maze parsed again is a cache hit returning the same graph.
+     */
+    @Test
+    public void testJunctionGraphCacheHit() {
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        JunctionGraphSolver solver = new JunctionGraphSolver();
+        solver.setMetrics(new SolverMetrics() {
+            @Override
+            public void recordSolve(String name, SolveSample sample) {
+            }
+
+            @Override
+            public void recordCacheHit(String name) {
+                hits.incrementAndGet();
+            }
+
+            @Override
+            public void recordCacheMiss(String name) {
+                misses.incrementAndGet();
+            }
+        });
+        // a maze no other test solves, so the shared cache can't already hold it
+        char[][] grid = MazeGenerator.rooms(77, 143, 20_261_019L);
+        MazeLayout first = MazeLayout.of(grid);
+        SolveResult expected = new BreadthFirstSolver().solve(first, new int[] {1, 1}, new int[] {75, 141});
+        SolveResult result = solver.solve(first, new int[] {1, 1}, new int[] {75, 141});
+        assertEquals(0, hits.get());
+        assertEquals(1, misses.get());
+        assertEquals(expected.getPathLength(), result.getPathLength());
+
+        char[][] copy = new char[grid.length][];
+        for (int i = 0; i < grid.length; i++) {
+            copy[i] = grid[i].clone();
+        }
+        MazeLayout again = MazeLayout.of(copy);
+        result = solver.solve(again, new int[] {75, 1}, new int[] {1, 141});
+        assertEquals(1, hits.get());
+        assertEquals(1, misses.get());
+        assertEquals(new BreadthFirstSolver().solve(again, new int[] {75, 1}, new int[] {1, 141}).getPathLength(),
+                result.getPathLength());
+        assertSame(solver.graphOf(first), solver.graphOf(again));
+        assertEquals(3, hits.get());
+
+        // another layout misses again
+        copy[1][2] = copy[1][2] == '#' ? ' ' : '#';
+        solver.graphOf(MazeLayout.of(copy));
+        assertEquals(2, misses.get());
+    }
+
+    /**
+     * Test that solving the same Maze again is a hit without packing it again,
+     * and that a wall changed in it is noticed.
+     */
+    @Test
+    public void testMazeCacheFollowsChanges() {
+        AtomicInteger hits = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        AtomicInteger looks = new AtomicInteger();
+        JunctionGraphSolver solver = new JunctionGraphSolver();
+        solver.setMetrics(new SolverMetrics() {
+            @Override
+            public void recordSolve(String name, SolveSample sample) {
+            }
+
+            @Override
+            public void recordCacheHit(String name) {
+                hits.incrementAndGet();
+            }
+
+            @Override
+            public void recordCacheMiss(String name) {
+                misses.incrementAndGet();
+            }
+        });
+        Maze maze = new Maze(MazeGenerator.rooms(41, 67, 20_261_020L), new Player(new int[] {0, 0})) {
+            @Override
+            public boolean isValidMove(int row, int col) {
+                looks.incrementAndGet();
+                return super.isValidMove(row, col);
+            }
+        };
+        solver.graphOf(maze);
+        assertEquals(1, misses.get());
+        looks.set(0);
+        solver.graphOf(maze);
+        assertEquals(1, hits.get());
+        assertEquals(0, looks.get());
+
+        // the first plain path cell right of the middle
+        int[] cell = {20, 33};
+        while (maze.getMaze()[cell[0]][cell[1]] != ' ') {
+            cell[1]++;
+        }
+        maze.setWall(cell[0], cell[1], true);
+        solver.graphOf(maze);
+        assertEquals(2, misses.get());
+        assertEquals(new BreadthFirstSolver().solve(maze, new int[] {1, 1}, new int[] {39, 65}).getPathLength(),
+                solver.solve(maze, new int[] {1, 1}, new int[] {39, 65}).getPathLength());
+    }
+
+    /**
+     * Asserts that a path goes from start to end in single open steps.
+     *
+     * @param message The message of a failure.
+     * @param layout  The maze layout.
+     * @param cells   The cells of the path.
+     * @param start   The start position.
+     * @param end     The end position.
+     */
+    private static void assertValidPath(String message, MazeLayout layout, int[] cells, int[] start, int[] end) {
+        int numCols = layout.getNumCols();
+        assertEquals(message, start[0] * numCols + start[1], cells[0]);
+        assertEquals(message, end[0] * numCols + end[1], cells[cells.length - 1]);
+        for (int i = 1; i < cells.length; i++) {
+            boolean adjacent = false;
+            for (int d = 0; d < 4; d++) {
+                int next = layout.step(cells[i - 1], d);
+                adjacent |= next != cells[i - 1] && next == cells[i];
+            }
+            assertTrue(message, adjacent);
+        }
+    }
+
+    /**
+     * Picks a random open cell.
+     *
+     * @param layout The maze layout.
+     * @param random The random number generator.
+     * @return The row and column of the cell.
+     */
+    private static int[] randomOpenCell(MazeLayout layout, Random random) {
+        int row;
+        int col;
+        do {
+            row = random.nextInt(layout.getNumRows());
+            col = random.nextInt(layout.getNumCols());
+        } while (!layout.isValidMove(row, col));
+        return new int[] {row, col};
+    }
+}
@@ -0,0 +1,109 @@
+package Model;
+
+import Controller.SessionManager;
+import io.FileLoader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class PlayerSessionTest {
+
+    private static final String MAZE = "/Users/jaimathur/IdeaProjects/A12002/src/Mazes/Maze001.txt";
+
+    /**
+     * Test that a move into a wall leaves the player in place and that
+     * revisiting a position marks it as traversed again, as MazeUpdate does.
+     *
+     * @throws Exception If the maze can't be loaded.
+     */
+    @Test
+    public void testMove() throws Exception {
+        MazeLayout layout = MazeLayout.of(new FileLoader().load(MAZE));
+        PlayerSession session = new PlayerSession(1, layout);
+        assertArrayEquals(new int[]{1, 1}, session.getPlayerPosition());
+        assertFalse(session.move('d'));
+        assertArrayEquals(new int[]{1, 1}, session.getPlayerPosition());
+        assertTrue(session.getTraversedAgain().contains(session.getPosition()));
+        assertTrue(session.move('s'));
+        assertArrayEquals(new int[]{2, 1}, session.getPlayerPosition());
+        assertEquals(2, session.getMoveCount());
+    }
+
+    /**
+     * Test that many sessions moving at the same time on one layout
+     * each end up where their own moves took them.
+     *
+     * @throws Exception If the maze can't be loaded or a session fails.
+     */
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        SessionManager sessions = new SessionManager(MazeLayout.of(new FileLoader().load(MAZE)), 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                for (int k = 0; k < 100; k++) {
+                    long id = sessions.open().getId();
+                    // down and back up again, ending on the start
+                    for (int i = 0; i < 10; i++) {
+                        sessions.move(id, "sw");
+                    }
+                    assertArrayEquals(new int[]{1, 1}, sessions.get(id).getPlayerPosition());
+                    assertEquals(20, sessions.get(id).getMoveCount());
+                }
+            }));
+        }
+        // get rethrows any assertion which failed on a pool thread
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+        assertEquals(800, sessions.size());
+        assertNull(sessions.move(-1, "s"));
+    }
+
+    /**
+     * Test that sessions opened at the same time never pass the session limit,
+     * and that closing a session frees its slot.
+     *
+     * @throws Exception If the maze can't be loaded or a session fails.
+     */
+    @Test
+    public void testSessionLimit() throws Exception {
+        SessionManager sessions = new SessionManager(MazeLayout.of(new FileLoader().load(MAZE)), 50);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                int opened = 0;
+                for (int k = 0; k < 100; k++) {
+                    if (sessions.open() != null) {
+                        opened++;
+                    }
+                }
+                return opened;
+            }));
+        }
+        int opened = 0;
+        for (Future<Integer> result : results) {
+            opened += result.get();
+        }
+        pool.shutdown();
+        assertEquals(50, opened);
+        assertEquals(50, sessions.size());
+        assertNull(sessions.open());
+
+        PlayerSession session = sessions.get(1);
+        assertNotNull(session);
+        assertTrue(sessions.close(1));
+        assertFalse(sessions.close(1));
+        assertNotNull(sessions.open());
+        assertNull(sessions.open());
+    }
+}
@@ -4,7 +4,13 @@ import exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
 import org.junit.Test;
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.Assert.*;
 
@@ -134,4 +140,52 @@ public class FileLoaderTest {
         assertEquals('S', maze[1][1]);
         assertEquals('E', maze[5][5]);
     }
+
+    /**
+     * Test for MazeMalformedException when the dimensions are negative, even though
+     * they are odd and their product is positive.
+     *
+     * @throws MazeMalformedException     If the maze data is malformed.
+     * @throws MazeSizeMissmatchException If the maze size mismatches the provided size.
+     * @throws IOException                If the maze data can't be read.
+     */
+    @Test(expected = MazeMalformedException.class)
+    public void testNegativeDimensions() throws MazeMalformedException, MazeSizeMissmatchException, IOException {
+        new FileLoader().load(new BufferedReader(new StringReader("-3 -5\n#####\n#S E#\n#####")));
+    }
+
+    /**
+     * Test for MazeMalformedException when the dimensions are not whole numbers.
+     *
+     * @throws MazeMalformedException     If the maze is not correctly formatted.
+     * @throws MazeSizeMissmatchException If the maze dimensions do not match the provided size.
+     * @throws IOException                If the maze data can't be read.
+     */
+    @Test(expected = MazeMalformedException.class)
+    public void testNonNumericDimensions() throws MazeMalformedException, MazeSizeMissmatchException, IOException {
+        new FileLoader().load(new BufferedReader(new StringReader("3 five\n#####\n#S E#\n#####")));
+    }
+
+    /**
+     * Test that a mapped maze file checks its dimensions like FileLoader, so a
+     * corrupt header can't give a negative size.
+     *
+     * @throws Exception If the temp file can't be written.
+     */
+    @Test
+    public void testMappedDimensions() throws Exception {
+        for (String header : new String[] {"-3 -5", "0 5", "3 x", "99999999999 5"}) {
+            Path file = Files.createTempFile("maze", ".txt");
+            try {
+                Files.write(file, (header + "\n#####\n#S E#\n#####\n").getBytes(StandardCharsets.US_ASCII));
+                try (MappedMazeGrid grid = new MappedMazeGrid(file.toString())) {
+                    fail("Expected " + header + " to be refused");
+                } catch (MazeMalformedException e) {
+                    assertNotNull(e.getMessage());
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package io;
 
+import Model.CanonicalMaze;
 import Model.Maze;
 import Model.Player;
+import Model.Symmetry;
+import Model.Terrain;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -43,4 +46,93 @@ public class MazeTest {
         assertTrue(maze.isValidMove(maze.getPlayer().getPlayerPosition()));
     }
 
+    /**
+     * Test that '.' and digits are loaded as terrain which can be moved onto
+     * and costs more than plain path.
+     */
+    @Test
+    public void testTerrain() {
+        char[][] layout = {
+                "#####".toCharArray(),
+                "#S.E#".toCharArray(),
+                "#7###".toCharArray()
+        };
+        Maze maze = new Maze(layout, new Player(new int[] {0,0}));
+        assertTrue(maze.isValidMove(1, 2));
+        assertEquals('.', maze.getMaze()[1][2]);
+        assertEquals(1, maze.getCost(1, 1));
+        assertEquals(2, maze.getCost(1, 2));
+        assertEquals(7, maze.getCost(2, 1));
+        assertEquals(Terrain.IMPASSABLE, maze.getCost(0, 0));
+
+        // only the characters of maze files can be priced
+        maze.setTerrainCosts(Terrain.STANDARD.withCost('7', 3));
+        assertEquals(3, maze.getCost(2, 1));
+        for (char c : new char[] {'#', 'x', '|'}) {
+            try {
+                Terrain.STANDARD.withCost(c, 2);
+                fail("Expected " + c + " to be refused");
+            } catch (IllegalArgumentException e) {
+                assertEquals(Terrain.IMPASSABLE, Terrain.STANDARD.cost(c));
+            }
+        }
+    }
+
+    /**
+     * Test that every start and end of a maze is kept, the player starting on the first start.
+     */
+    @Test
+    public void testSeveralStartsAndEnds() {
+        char[][] layout = {
+                "#####".toCharArray(),
+                "#S E#".toCharArray(),
+                "#E S#".toCharArray(),
+                "#####".toCharArray()
+        };
+        Maze maze = new Maze(layout, new Player(new int[] {0,0}));
+        assertEquals(2, maze.getStarts().size());
+        assertEquals(2, maze.getEnds().size());
+        assertArrayEquals(new int[] {1,1}, maze.getPlayer().getPlayerPosition());
+        assertArrayEquals(new int[] {1,3}, maze.getEndOfMaze());
+        assertEquals(' ', maze.getMaze()[2][3]);
+        assertTrue(maze.isEndOfMaze(new int[] {2,1}));
+        assertFalse(maze.isEndOfMaze(new int[] {2,3}));
+    }
+
+    /**
+     * Test that every rotation and reflection of a maze has the same canonical
+     * form, that mapped moves go the same way in the transformed maze, and that
+     * a different maze has a different form.
+     */
+    @Test
+    public void testCanonicalForm() {
+        char[][] layout = {
+                "#######".toCharArray(),
+                "#S  # #".toCharArray(),
+                "# #   E".toCharArray(),
+                "#######".toCharArray()
+        };
+        CanonicalMaze canonical = CanonicalMaze.of(layout);
+        for (Symmetry symmetry : Symmetry.values()) {
+            char[][] transformed = symmetry.apply(layout);
+            CanonicalMaze other = CanonicalMaze.of(transformed);
+            assertEquals(canonical, other);
+            assertEquals(symmetry, canonical.symmetryTo(other));
+            assertEquals(Symmetry.IDENTITY, symmetry.then(symmetry.inverse()));
+            // the start is one move left of the cell "d" leads to, wherever it ends up
+            int cell = symmetry.mapCell(1, 1, 4, 7);
+            int cols = transformed[0].length;
+            int[] step = {0, 0};
+            switch (symmetry.mapMove('d')) {
+                case 'w': step[0] = -1; break;
+                case 's': step[0] = 1; break;
+                case 'a': step[1] = -1; break;
+                default: step[1] = 1;
+            }
+            assertEquals('S', transformed[cell / cols][cell % cols]);
+            assertEquals(' ', transformed[cell / cols + step[0]][cell % cols + step[1]]);
+        }
+        layout[2][2] = ' ';
+        assertNotEquals(canonical, CanonicalMaze.of(layout));
+    }
 }
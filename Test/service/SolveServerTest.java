@@ -0,0 +1,147 @@
+package service;
+
+import Controller.IncrementalPlanner;
+import Model.MazeLayout;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class SolveServerTest {
+
+    private static final String MAZE = "5 5\n#####\n#S  #\n### #\n#E  #\n#####";
+
+    /**
+     * Test that once every solve slot and queue slot is taken, a further solve
+     * is refused with 503 straight away, and that the slots are given back when
+     * the requests holding them end.
+     *
+     * @throws Exception If the server can't be reached.
+     */
+    @Test
+    public void testOverloadIsRefused() throws Exception {
+        SolveServer server = new SolveServer(0, 1 << 20, 1, 1, 60000);
+        server.start();
+        try {
+            // two requests whose bodies never arrive hold the one solve slot and the one queue slot
+            Socket first = stall(server.getPort());
+            Socket second = stall(server.getPort());
+            Thread.sleep(300);
+            assertEquals(503, post(server.getPort(), MAZE));
+            first.close();
+            second.close();
+            Thread.sleep(300);
+            assertEquals(200, post(server.getPort(), MAZE));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Test that a maze with negative dimensions is answered with 400.
+     *
+     * @throws Exception If the server can't be reached.
+     */
+    @Test
+    public void testNegativeDimensions() throws Exception {
+        SolveServer server = new SolveServer(0, 1 << 20, 1, 1, 60000);
+        server.start();
+        try {
+            assertEquals(400, post(server.getPort(), "-3 -5\n#####\n#S E#\n#####"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Test that the start and the exits of the hosted maze can't be walled over the route endpoint,
+     * while other cells can.
+     *
+     * @throws Exception If the server can't be reached.
+     */
+    @Test
+    public void testRouteKeepsStartAndExitsOpen() throws Exception {
+        char[][] grid = {
+                "#####".toCharArray(),
+                "#S  #".toCharArray(),
+                "### #".toCharArray(),
+                "#E  #".toCharArray(),
+                "#####".toCharArray()
+        };
+        MazeLayout layout = MazeLayout.of(grid);
+        SolveServer server = new SolveServer(0, 1 << 20, 1, 1, 60000);
+        server.setPlanner(IncrementalPlanner.of(layout, layout.getStart(), layout.getEnds()));
+        server.start();
+        try {
+            assertEquals(400, request(server.getPort(), "POST", "/route?row=1&col=1&wall=true"));
+            assertEquals(400, request(server.getPort(), "POST", "/route?row=3&col=1&wall=true"));
+            assertEquals(200, request(server.getPort(), "POST", "/route?row=3&col=2&wall=true"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Opens a solve request which promises a body but doesn't send it.
+     *
+     * @param port The port of the server.
+     * @return The open connection.
+     * @throws Exception If the server can't be reached.
+     */
+    private static Socket stall(int port) throws Exception {
+        Socket socket = new Socket("127.0.0.1", port);
+        OutputStream out = socket.getOutputStream();
+        out.write(("POST /solve HTTP/1.1\r\nHost: localhost\r\nContent-Length: 1000\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    /**
+     * Sends a solve request and reads the status code of the response.
+     *
+     * @param port The port of the server.
+     * @param body The maze.
+     * @return The status code.
+     * @throws Exception If the server can't be reached.
+     */
+    private static int post(int port, String body) throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /solve HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nContent-Length: "
+                    + bytes.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String status = in.readLine();
+            return status == null ? -1 : Integer.parseInt(status.split(" ")[1]);
+        }
+    }
+
+    /**
+     * Sends a request without a body and reads the status code of the response.
+     *
+     * @param port   The port of the server.
+     * @param method The HTTP method.
+     * @param target The path and query.
+     * @return The status code.
+     * @throws Exception If the server can't be reached.
+     */
+    private static int request(int port, String method, String target) throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write((method + " " + target + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"
+                    + "Content-Length: 0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String status = in.readLine();
+            return status == null ? -1 : Integer.parseInt(status.split(" ")[1]);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import io.FileLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading a maze file with FileLoader.load and
+ * converting it into the maze model with Maze.loadMaze.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoadBenchmark {
+
+    private final FileLoader loader = new FileLoader();
+
+    @Benchmark
+    public char[][] fileLoaderLoad(MazeFixture fixture) throws Exception {
+        return this.loader.load(fixture.file.getPath());
+    }
+
+    @Benchmark
+    public char[][] mazeLoadMaze(MazeFixture fixture) {
+        // loadMaze adds the start to the player's traversed positions, keep the list bounded
+        fixture.maze.getPlayer().resetTraversed();
+        return fixture.maze.loadMaze();
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import Model.Maze;
+import Model.MazeGenerator;
+import Model.Player;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A generated maze shared by the benchmarks.
+ * The maze is written to a temporary file so that the file loading
+ * code paths are exercised exactly as they are for the shipped mazes.
+ * Size is the number of rows and columns, density is the fraction of
+ * removable interior walls kept (1.0 is a perfect maze, lower values add loops).
+ */
+@State(Scope.Benchmark)
+public class MazeFixture {
+
+    @Param({"21", "101", "501"})
+    public int size;
+
+    @Param({"1.0", "0.9", "0.5"})
+    public double density;
+
+    public File file;
+    public Maze maze;
+
+    /**
+     * Generates the maze and loads it.
+     *
+     * @throws IOException If the temporary maze file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        this.file = File.createTempFile("maze-" + this.size + "-" + this.density + "-", ".txt");
+        MazeGenerator.write(MazeGenerator.generate(this.size, this.size, this.density, 42), this.file.getPath());
+        this.maze = new Maze(this.file.getPath(), new Player(new int[]{0, 0}));
+    }
+
+    /**
+     * Removes the temporary maze file.
+     */
+    @TearDown(Level.Trial)
+    public void delete() {
+        this.file.delete();
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import Controller.MazeUpdate;
+import Model.Maze;
+import Model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a single player move with MazeUpdate.updateMaze.
+ * The player steps back and forth between the start and an open neighbour,
+ * so every invocation is a legal move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class MoveBenchmark {
+
+    private final MazeUpdate controller = new MazeUpdate();
+    private Maze maze;
+    private String forward;
+    private String back;
+    private boolean away;
+
+    /**
+     * Reloads the maze before every iteration so that the player's
+     * traversed positions don't grow across iterations.
+     *
+     * @param fixture The generated maze.
+     * @throws IOException If the maze file cannot be read.
+     */
+    @Setup(Level.Iteration)
+    public void reload(MazeFixture fixture) throws IOException {
+        this.maze = new Maze(fixture.file.getPath(), new Player(new int[]{0, 0}));
+        int[] start = this.maze.getPlayer().getPlayerPosition();
+        // the generator always opens either the cell to the right or below the start
+        if (this.maze.isValidMove(new int[]{start[0], start[1] + 1})) {
+            this.forward = "d";
+            this.back = "a";
+        } else {
+            this.forward = "s";
+            this.back = "w";
+        }
+        this.away = false;
+    }
+
+    @Benchmark
+    public Maze updateMaze() {
+        this.controller.updateMaze(this.maze, this.maze.getPlayer(), this.away ? this.back : this.forward);
+        this.away = !this.away;
+        return this.maze;
+    }
+}
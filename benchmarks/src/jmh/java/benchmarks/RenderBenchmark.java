@@ -0,0 +1,70 @@
+package benchmarks;
+
+import Controller.MazeUpdate;
+import View.MazeGUI;
+import View.MazeImageRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks painting a maze headless, both through MazeGUI into an
+ * off-screen image and through the tile-parallel MazeImageRenderer.
+ * The cell size is fitted to the same 1000x800 window the Launcher uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    private MazeGUI gui;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private int cellSize;
+
+    /**
+     * Creates the panel and the off-screen image it paints into.
+     *
+     * @param fixture The generated maze.
+     */
+    @Setup(Level.Trial)
+    public void create(MazeFixture fixture) {
+        System.setProperty("java.awt.headless", "true");
+        int numRows = fixture.maze.getNumRows();
+        int numCols = fixture.maze.getNumCols();
+        this.cellSize = Math.max(1, Math.min(1000 / numCols, 800 / numRows));
+        this.gui = new MazeGUI(fixture.maze, fixture.maze.getPlayer(), new MazeUpdate(), this.cellSize);
+        this.gui.setSize(this.cellSize * numCols, this.cellSize * numRows);
+        this.image = new BufferedImage(this.cellSize * numCols, this.cellSize * numRows, BufferedImage.TYPE_INT_RGB);
+        this.graphics = this.image.createGraphics();
+    }
+
+    /**
+     * Releases the off-screen graphics.
+     */
+    @TearDown(Level.Trial)
+    public void dispose() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage mazeGuiPaint() {
+        this.gui.paint(this.graphics);
+        return this.image;
+    }
+
+    @Benchmark
+    public BufferedImage imageRendererRender(MazeFixture fixture) {
+        return new MazeImageRenderer(fixture.maze, this.cellSize).render();
+    }
+}
@@ -0,0 +1,25 @@
+package benchmarks;
+
+import Controller.Solution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks solving a maze with Solution.findSolution from the start position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolveBenchmark {
+
+    @Benchmark
+    public boolean findSolution(MazeFixture fixture) {
+        Solution.path.clear();
+        Solution.moves.clear();
+        int[] start = fixture.maze.getPlayer().getPlayerPosition();
+        return Solution.findSolution(fixture.maze, start[0], start[1], start[0], start[1]);
+    }
+}
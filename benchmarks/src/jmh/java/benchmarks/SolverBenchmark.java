@@ -0,0 +1,72 @@
+package benchmarks;
+
+import Controller.MazeSolver;
+import Controller.SolveResult;
+import Controller.Solvers;
+import Model.MazeGenerator;
+import Model.MazeLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the registered solvers against each other, from the top left
+ * to the bottom right corner of a generated maze. Perfect mazes are all
+ * corridors, loops knocks out half of their interior walls and rooms are
+ * open rooms joined by doors, where jump point search skips the most.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    @Param({"bfs", "astar", "jps"})
+    public String solver;
+
+    @Param({"101", "501"})
+    public int size;
+
+    @Param({"perfect", "loops", "rooms"})
+    public String maze;
+
+    private MazeSolver mazeSolver;
+    private MazeLayout layout;
+    private int[] start;
+    private int[] end;
+
+    /**
+     * Generates the maze and looks up the solver.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        char[][] grid;
+        switch (this.maze) {
+            case "perfect":
+                grid = MazeGenerator.perfect(this.size, this.size, 42);
+                break;
+            case "loops":
+                grid = MazeGenerator.generate(this.size, this.size, 0.5, 42);
+                break;
+            default:
+                grid = MazeGenerator.rooms(this.size, this.size, 42);
+                break;
+        }
+        this.layout = MazeLayout.of(grid);
+        this.mazeSolver = Solvers.byName(this.solver);
+        this.start = new int[]{1, 1};
+        this.end = new int[]{this.size - 2, this.size - 2};
+    }
+
+    @Benchmark
+    public SolveResult solve() {
+        return this.mazeSolver.solve(this.layout, this.start, this.end);
+    }
+}
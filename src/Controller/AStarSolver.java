@@ -0,0 +1,98 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Solves a maze with A* search guided by the Manhattan distance to the end,
+ * which always finds a path with the fewest moves. In open areas the
+ * heuristic heads straight for the end, so far fewer cells are expanded than
+ * by a breadth first search. The open set is a binary heap in flat arrays;
+ * cells whose cost improves are pushed again and stale entries are skipped.
+ * Ties are broken towards the cell furthest from the start.
+ */
+public class AStarSolver extends GridSolver {
+
+    @Override
+    public String getName() {
+        return "astar";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int endRow = end / numCols;
+        int endCol = end % numCols;
+        int[] parent = new int[numRows * numCols];
+        int[] cost = new int[numRows * numCols];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        CellHeap open = new CellHeap();
+        cost[start] = 0;
+        parent[start] = start;
+        open.push(key(distance(start, endRow, endCol, numCols), 0), start);
+
+        while (open.size() > 0) {
+            context.frontier(open.size());
+            long key = open.peekKey();
+            int cell = open.pop();
+            int g = Integer.MAX_VALUE - (int) key;
+            if (g != cost[cell]) {
+                // a cheaper way to this cell was found after this entry was pushed
+                continue;
+            }
+            context.expand(cell);
+            if (cell == end) {
+                return tracePath(parent, start, end);
+            }
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int next = nextRow * numCols + nextCol;
+                if (g + 1 < cost[next]) {
+                    cost[next] = g + 1;
+                    parent[next] = cell;
+                    int h = Math.abs(nextRow - endRow) + Math.abs(nextCol - endCol);
+                    open.push(key(g + 1 + h, g + 1), next);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Packs the priority of a cell, lower estimated total first and then higher cost first.
+     *
+     * @param estimate The cost so far plus the heuristic.
+     * @param cost     The cost so far.
+     * @return The key.
+     */
+    private static long key(int estimate, int cost) {
+        return ((long) estimate << 32) | (Integer.MAX_VALUE - cost);
+    }
+
+    /**
+     * Gets the Manhattan distance from a cell to the end.
+     *
+     * @param cell    The cell.
+     * @param endRow  The row of the end.
+     * @param endCol  The column of the end.
+     * @param numCols The number of columns.
+     * @return The distance.
+     */
+    private static int distance(int cell, int endRow, int endCol, int numCols) {
+        return Math.abs(cell / numCols - endRow) + Math.abs(cell % numCols - endCol);
+    }
+}
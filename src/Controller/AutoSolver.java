@@ -0,0 +1,129 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks a solver for each maze from a few cheap statistics, so that no one
+ * has to choose an algorithm per family of mazes. The name of the solver
+ * which did the search is recorded in the SolveResult as its selection.
+ * <p>
+ * About four thousand random cells are sampled to estimate how many open
+ * cells are dead ends and how many are junctions, and the Manhattan distance
+ * from the start to the end is compared with the size of the maze. Then:
+ * </p>
+ * <ul>
+ *     <li>if a breadth first search would not fit in half of the free heap, compact-bfs;</li>
+ *     <li>small mazes, where setup costs dominate, use bfs;</li>
+ *     <li>open or heavily looped mazes with hardly any dead ends, where the
+ *     Manhattan distance is a good guide, use astar;</li>
+ *     <li>tree like mazes with few junctions use bfs, as neither a heuristic nor
+ *     meeting in the middle saves much there;</li>
+ *     <li>otherwise an end near the start, relative to the size of the maze,
+ *     uses astar, which keeps the search around the two cells instead of
+ *     flooding the maze;</li>
+ *     <li>an end far from the start uses bfs, as a search from both ends
+ *     covers most of the maze before the two meet;</li>
+ *     <li>everything else, e.g. corridors joining open rooms, uses bidirectional.</li>
+ * </ul>
+ * Every candidate finds shortest paths.
+ */
+public class AutoSolver extends GridSolver {
+
+    // cells sampled for the statistics
+    private static final int SAMPLES = 4096;
+    // below this many cells a plain breadth first search is fastest
+    private static final long SMALL_CELLS = 1 << 14;
+    // bytes per cell of the int array based solvers, parents plus queue
+    private static final long BYTES_PER_CELL = 8;
+    private static final long SAMPLE_SEED = 42;
+    // fewer dead ends than this means many loops, where the Manhattan distance is a good guide
+    private static final double LOOPED_DEAD_END_RATIO = 0.02;
+    // fewer junctions than this means long branching corridors, where no search beats bfs by much
+    private static final double TREE_JUNCTION_RATIO = 0.08;
+    // an end within this share of the maze's rows plus columns from the start is near, beyond this share far
+    private static final double NEAR_DISTANCE_RATIO = 0.125;
+    private static final double FAR_DISTANCE_RATIO = 0.5;
+
+    private final GridSolver bfs = new BreadthFirstSolver();
+    private final GridSolver astar = new AStarSolver();
+    private final GridSolver bidirectional = new BidirectionalSolver();
+    private final GridSolver compact = new CompactBreadthFirstSolver();
+
+    @Override
+    public String getName() {
+        return "auto";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        GridSolver solver = choose(grid, start, end);
+        context.select(solver.getName());
+        return solver.search(grid, start, end, context);
+    }
+
+    /**
+     * Picks the solver for a maze.
+     *
+     * @param grid  The maze layout.
+     * @param start The start cell as row * numCols + col.
+     * @param end   The end cell as row * numCols + col.
+     * @return The solver to use.
+     */
+    public GridSolver choose(MazeGrid grid, int start, int end) {
+        long cells = (long) grid.getNumRows() * grid.getNumCols();
+        Runtime runtime = Runtime.getRuntime();
+        long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        if (cells * BYTES_PER_CELL > free / 2) {
+            return this.compact;
+        }
+        if (cells < SMALL_CELLS) {
+            return this.bfs;
+        }
+        int open = 0;
+        int deadEnds = 0;
+        int junctions = 0;
+        // a fixed seed keeps the choice the same for the same maze
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            int row = random.nextInt(grid.getNumRows());
+            int col = random.nextInt(grid.getNumCols());
+            if (!grid.isValidMove(row, col)) {
+                continue;
+            }
+            open++;
+            int degree = (grid.isValidMove(row - 1, col) ? 1 : 0) + (grid.isValidMove(row + 1, col) ? 1 : 0)
+                    + (grid.isValidMove(row, col - 1) ? 1 : 0) + (grid.isValidMove(row, col + 1) ? 1 : 0);
+            if (degree == 1) {
+                deadEnds++;
+            } else if (degree >= 3) {
+                junctions++;
+            }
+        }
+        double deadEndRatio = open == 0 ? 0 : (double) deadEnds / open;
+        double junctionRatio = open == 0 ? 0 : (double) junctions / open;
+        if (deadEndRatio < LOOPED_DEAD_END_RATIO) {
+            return this.astar;
+        }
+        if (junctionRatio < TREE_JUNCTION_RATIO) {
+            return this.bfs;
+        }
+        // the distance between the cells relative to the size of the maze
+        int numCols = grid.getNumCols();
+        double distance = (double) (Math.abs(start / numCols - end / numCols) + Math.abs(start % numCols - end % numCols))
+                / (grid.getNumRows() + numCols);
+        if (distance < NEAR_DISTANCE_RATIO) {
+            return this.astar;
+        }
+        if (distance > FAR_DISTANCE_RATIO) {
+            return this.bfs;
+        }
+        return this.bidirectional;
+    }
+}
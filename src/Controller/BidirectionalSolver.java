@@ -0,0 +1,165 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Solves a maze with two breadth first searches, one from the start and one
+ * from the end, which always finds a path with the fewest moves. Each round
+ * expands a whole level of whichever side has the smaller frontier, and the
+ * search stops at the first level where the two sides meet, so in twisty
+ * mazes each side only has to cover about half of the distance.
+ * Distances from both ends are kept in flat int arrays and the path is
+ * rebuilt by stepping down the distances from the meeting cell.
+ */
+public class BidirectionalSolver extends GridSolver {
+
+    @Override
+    public String getName() {
+        return "bidirectional";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        if (start == end) {
+            context.expand(start);
+            return new int[]{start};
+        }
+        int[] fromStart = new int[numRows * numCols];
+        int[] fromEnd = new int[numRows * numCols];
+        Arrays.fill(fromStart, -1);
+        Arrays.fill(fromEnd, -1);
+        int[] startQueue = new int[numRows * numCols];
+        int[] endQueue = new int[numRows * numCols];
+        fromStart[start] = 0;
+        fromEnd[end] = 0;
+        startQueue[0] = start;
+        endQueue[0] = end;
+        // each queue holds every cell its side reached, the current level being [head, tail)
+        int startHead = 0;
+        int startTail = 1;
+        int endHead = 0;
+        int endTail = 1;
+
+        // the best meeting cell found so far and the length of the path through it
+        int[] meeting = {-1, Integer.MAX_VALUE};
+
+        while (startHead < startTail && endHead < endTail) {
+            context.frontier((startTail - startHead) + (endTail - endHead));
+            if (startTail - startHead <= endTail - endHead) {
+                int next = expandLevel(grid, startQueue, startHead, startTail, fromStart, fromEnd, meeting, context);
+                startHead = startTail;
+                startTail = next;
+            } else {
+                int next = expandLevel(grid, endQueue, endHead, endTail, fromEnd, fromStart, meeting, context);
+                endHead = endTail;
+                endTail = next;
+            }
+            if (meeting[0] >= 0) {
+                return joinPaths(grid, meeting[0], fromStart, fromEnd);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Expands one level of one side of the search.
+     *
+     * @param grid    The maze layout.
+     * @param queue   The queue of the side.
+     * @param head    The start of the level in the queue.
+     * @param tail    The end of the level in the queue.
+     * @param mine    The distances from this side's origin.
+     * @param theirs  The distances from the other side's origin.
+     * @param meeting The best meeting cell and path length, updated when the sides meet.
+     * @param context The context to report expanded cells to.
+     * @return The end of the next level in the queue.
+     */
+    private static int expandLevel(MazeGrid grid, int[] queue, int head, int tail, int[] mine, int[] theirs,
+                                   int[] meeting, SearchContext context) {
+        int numCols = grid.getNumCols();
+        int next = tail;
+        for (int i = head; i < tail; i++) {
+            int cell = queue[i];
+            context.expand(cell);
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int neighbour = nextRow * numCols + nextCol;
+                if (theirs[neighbour] >= 0 && mine[cell] + 1 + theirs[neighbour] < meeting[1]) {
+                    // the whole level is finished so that the shortest meeting is found
+                    meeting[1] = mine[cell] + 1 + theirs[neighbour];
+                    meeting[0] = neighbour;
+                }
+                if (mine[neighbour] < 0) {
+                    mine[neighbour] = mine[cell] + 1;
+                    queue[next++] = neighbour;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Builds the path through the meeting cell by walking down the distances to both ends.
+     *
+     * @param grid      The maze layout.
+     * @param meet      The meeting cell, reached by both sides.
+     * @param fromStart The distances from the start.
+     * @param fromEnd   The distances from the end.
+     * @return The cells of the path from start to end inclusive.
+     */
+    private static int[] joinPaths(MazeGrid grid, int meet, int[] fromStart, int[] fromEnd) {
+        int numCols = grid.getNumCols();
+        int[] path = new int[fromStart[meet] + fromEnd[meet] + 1];
+        int cell = meet;
+        for (int i = fromStart[meet]; i > 0; i--) {
+            path[i] = cell;
+            cell = downhill(grid, cell, fromStart, numCols);
+        }
+        path[0] = cell;
+        cell = meet;
+        for (int i = fromStart[meet]; i < path.length - 1; i++) {
+            path[i] = cell;
+            cell = downhill(grid, cell, fromEnd, numCols);
+        }
+        path[path.length - 1] = cell;
+        return path;
+    }
+
+    /**
+     * Finds a neighbour one step closer to the origin of a distance array.
+     *
+     * @param grid     The maze layout.
+     * @param cell     The cell, which is not the origin.
+     * @param distance The distances from the origin.
+     * @param numCols  The number of columns.
+     * @return The neighbour.
+     */
+    private static int downhill(MazeGrid grid, int cell, int[] distance, int numCols) {
+        int row = cell / numCols;
+        int col = cell % numCols;
+        for (int d = 0; d < 4; d++) {
+            int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+            int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+            if (grid.isValidMove(nextRow, nextCol) && distance[nextRow * numCols + nextCol] == distance[cell] - 1) {
+                return nextRow * numCols + nextCol;
+            }
+        }
+        throw new IllegalStateException("Distances are inconsistent at cell " + cell);
+    }
+}
@@ -0,0 +1,216 @@
+package Controller;
+
+import Model.MazeGrid;
+import Model.MazeLayout;
+
+import java.util.Arrays;
+
+/**
+ * A breadth first search which expands 64 cells of a row per operation
+ * instead of one, and always finds a path with the fewest moves.
+ * <p>
+ * Each row is packed into words of 64 cells, as in MazeLayout. One wave of the
+ * search turns every word of the frontier into its neighbours with shifts:
+ * the word shifted left and right, with the bits carried over from the words
+ * beside it, and the same word of the rows above and below, each masked with
+ * the open cells that were not reached yet. Only words holding part of the
+ * frontier are touched, so long thin frontiers cost no more than wide ones.
+ * </p>
+ * Instead of a parent per cell the search stamps the cells of every wave with
+ * the wave number modulo 3, word by word in two bit planes. As the waves of
+ * two neighbours differ by at most one, that is enough to trace the path back
+ * from the end by stepping to a neighbour stamped one wave earlier.
+ */
+public class BitParallelSolver extends GridSolver {
+
+    @Override
+    public String getName() {
+        return "bit-bfs";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int wordsPerRow = (numCols + 63) >>> 6;
+        long[] open = pack(grid, wordsPerRow);
+        long[] reached = new long[open.length];
+        long[] next = new long[open.length];
+        // the wave of every reached cell modulo 3 in two bit planes, enough to tell a neighbour's
+        // wave apart as the waves of neighbours differ by at most one
+        long[] lowWave = new long[open.length];
+        long[] highWave = new long[open.length];
+        int endWord = (end / numCols) * wordsPerRow + ((end % numCols) >>> 6);
+        long endBit = 1L << (end % numCols);
+
+        int[] words = new int[64];
+        long[] bits = new long[64];
+        int[] touched = new int[64];
+        int startWord = (start / numCols) * wordsPerRow + ((start % numCols) >>> 6);
+        words[0] = startWord;
+        bits[0] = 1L << (start % numCols);
+        reached[startWord] = bits[0];
+        int size = 1;
+        long frontier = 1;
+
+        for (int wave = 0; ; wave++) {
+            context.frontier(frontier);
+            int touchedSize = 0;
+            for (int i = 0; i < size; i++) {
+                int word = words[i];
+                long cells = bits[i];
+                int row = word / wordsPerRow;
+                int column = word - row * wordsPerRow;
+                context.expandAll(row * numCols + (column << 6), cells);
+                if (word == endWord && (cells & endBit) != 0) {
+                    return trace(reached, lowWave, highWave, wave, end, numRows, numCols, wordsPerRow);
+                }
+                if (touched.length < touchedSize + 5) {
+                    touched = Arrays.copyOf(touched, touched.length * 2);
+                }
+                // the same row, one column to the left and right, carrying across words
+                touchedSize = spread(open, reached, next, touched, touchedSize, word, (cells << 1) | (cells >>> 1));
+                if (column > 0) {
+                    touchedSize = spread(open, reached, next, touched, touchedSize, word - 1, cells << 63);
+                }
+                if (column < wordsPerRow - 1) {
+                    touchedSize = spread(open, reached, next, touched, touchedSize, word + 1, cells >>> 63);
+                }
+                // the rows above and below
+                if (row > 0) {
+                    touchedSize = spread(open, reached, next, touched, touchedSize, word - wordsPerRow, cells);
+                }
+                if (row < numRows - 1) {
+                    touchedSize = spread(open, reached, next, touched, touchedSize, word + wordsPerRow, cells);
+                }
+            }
+            if (touchedSize == 0) {
+                return null;
+            }
+            // the next wave becomes the frontier, its cells reached and stamped with its wave
+            if (touchedSize > words.length) {
+                words = new int[touched.length];
+                bits = new long[touched.length];
+            }
+            int stamp = (wave + 1) % 3;
+            frontier = 0;
+            for (int i = 0; i < touchedSize; i++) {
+                int word = touched[i];
+                long cells = next[word];
+                next[word] = 0;
+                reached[word] |= cells;
+                if ((stamp & 1) != 0) {
+                    lowWave[word] |= cells;
+                }
+                if ((stamp & 2) != 0) {
+                    highWave[word] |= cells;
+                }
+                frontier += Long.bitCount(cells);
+                words[i] = word;
+                bits[i] = cells;
+            }
+            size = touchedSize;
+        }
+    }
+
+    /**
+     * Adds the open, unreached cells among the given ones to the next wave.
+     *
+     * @param open        The packed open cells.
+     * @param reached     The packed cells reached so far.
+     * @param next        The packed cells of the next wave.
+     * @param touched     The words of the next wave.
+     * @param touchedSize The number of words of the next wave.
+     * @param word        The word the cells belong to.
+     * @param cells       The cells.
+     * @return The new number of words of the next wave.
+     */
+    private static int spread(long[] open, long[] reached, long[] next, int[] touched, int touchedSize,
+                              int word, long cells) {
+        long added = cells & open[word] & ~reached[word];
+        if (added != 0) {
+            if (next[word] == 0) {
+                touched[touchedSize++] = word;
+            }
+            next[word] |= added;
+        }
+        return touchedSize;
+    }
+
+    /**
+     * Packs the open cells of a grid into words of 64 cells, wordsPerRow words per row.
+     * A MazeLayout is already packed, so its words are copied.
+     *
+     * @param grid        The maze layout.
+     * @param wordsPerRow The number of words per row.
+     * @return The packed open cells.
+     */
+    private static long[] pack(MazeGrid grid, int wordsPerRow) {
+        int numRows = grid.getNumRows();
+        long[] open = new long[numRows * wordsPerRow];
+        if (grid instanceof MazeLayout) {
+            MazeLayout layout = (MazeLayout) grid;
+            for (int i = 0; i < numRows; i++) {
+                for (int w = 0; w < wordsPerRow; w++) {
+                    open[i * wordsPerRow + w] = layout.getWord(i, w);
+                }
+            }
+            return open;
+        }
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < grid.getNumCols(); j++) {
+                if (grid.isValidMove(i, j)) {
+                    open[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Traces the path back from the end, stepping each time to a neighbour reached one wave earlier.
+     *
+     * @param reached     The packed reached cells.
+     * @param lowWave     The low bit of the wave modulo 3 of every reached cell.
+     * @param highWave    The high bit of the wave modulo 3 of every reached cell.
+     * @param waves       The wave the end was reached in.
+     * @param end         The end cell.
+     * @param numRows     The number of rows.
+     * @param numCols     The number of columns.
+     * @param wordsPerRow The number of words per row.
+     * @return The cells of the path from start to end inclusive.
+     */
+    private static int[] trace(long[] reached, long[] lowWave, long[] highWave, int waves, int end,
+                               int numRows, int numCols, int wordsPerRow) {
+        int[] path = new int[waves + 1];
+        int cell = end;
+        path[waves] = end;
+        for (int wave = waves - 1; wave >= 0; wave--) {
+            int row = cell / numCols;
+            int col = cell % numCols;
+            int stamp = wave % 3;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nextRow < 0 || nextRow >= numRows || nextCol < 0 || nextCol >= numCols) {
+                    continue;
+                }
+                int word = nextRow * wordsPerRow + (nextCol >>> 6);
+                int shift = nextCol & 63;
+                if ((reached[word] >>> shift & 1) != 0
+                        && (int) ((lowWave[word] >>> shift & 1) | (highWave[word] >>> shift & 1) << 1) == stamp) {
+                    cell = nextRow * numCols + nextCol;
+                    break;
+                }
+            }
+            path[wave] = cell;
+        }
+        return path;
+    }
+}
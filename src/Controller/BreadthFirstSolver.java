@@ -0,0 +1,65 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Solves a maze with a breadth first search, which always finds a path
+ * with the fewest moves. The queue and parent links are flat int arrays
+ * indexed by row * numCols + col, and every cell is expanded at most once.
+ */
+public class BreadthFirstSolver extends GridSolver {
+
+    @Override
+    public String getName() {
+        return "bfs";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int[] parent = new int[numRows * numCols];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[numRows * numCols];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        parent[start] = start;
+
+        while (head < tail) {
+            context.frontier(tail - head);
+            int cell = queue[head++];
+            context.expand(cell);
+            if (cell == end) {
+                return tracePath(parent, start, end);
+            }
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            if (grid.isValidMove(row - 1, col) && parent[cell - numCols] < 0) {
+                parent[cell - numCols] = cell;
+                queue[tail++] = cell - numCols;
+            }
+            if (grid.isValidMove(row + 1, col) && parent[cell + numCols] < 0) {
+                parent[cell + numCols] = cell;
+                queue[tail++] = cell + numCols;
+            }
+            if (grid.isValidMove(row, col - 1) && parent[cell - 1] < 0) {
+                parent[cell - 1] = cell;
+                queue[tail++] = cell - 1;
+            }
+            if (grid.isValidMove(row, col + 1) && parent[cell + 1] < 0) {
+                parent[cell + 1] = cell;
+                queue[tail++] = cell + 1;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package Controller;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of cells keyed by long priorities, in two parallel arrays,
+ * shared by the solvers which expand cells in order of cost.
+ */
+class CellHeap {
+    private long[] keys = new long[64];
+    private int[] cells = new int[64];
+    private int size;
+
+    /**
+     * Adds a cell.
+     *
+     * @param key  The priority of the cell.
+     * @param cell The cell.
+     */
+    void push(long key, int cell) {
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.cells = Arrays.copyOf(this.cells, this.size * 2);
+        }
+        int i = this.size++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (this.keys[up] <= key) {
+                break;
+            }
+            this.keys[i] = this.keys[up];
+            this.cells[i] = this.cells[up];
+            i = up;
+        }
+        this.keys[i] = key;
+        this.cells[i] = cell;
+    }
+
+    /**
+     * Gets the lowest key without removing it.
+     *
+     * @return The lowest key.
+     */
+    long peekKey() {
+        return this.keys[0];
+    }
+
+    /**
+     * Removes the cell with the lowest key.
+     *
+     * @return The cell.
+     */
+    int pop() {
+        int top = this.cells[0];
+        long key = this.keys[--this.size];
+        int cell = this.cells[this.size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= this.size) {
+                break;
+            }
+            if (child + 1 < this.size && this.keys[child + 1] < this.keys[child]) {
+                child++;
+            }
+            if (this.keys[child] >= key) {
+                break;
+            }
+            this.keys[i] = this.keys[child];
+            this.cells[i] = this.cells[child];
+            i = child;
+        }
+        this.keys[i] = key;
+        this.cells[i] = cell;
+        return top;
+    }
+
+    /**
+     * Removes every cell, keeping the arrays for reuse.
+     */
+    void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of cells in the heap.
+     *
+     * @return The number of cells.
+     */
+    int size() {
+        return this.size;
+    }
+}
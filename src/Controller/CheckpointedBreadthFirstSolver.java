@@ -0,0 +1,427 @@
+package Controller;
+
+import Model.MazeGrid;
+import exceptions.SolveTimeoutException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A breadth first search which saves its progress to a checkpoint file every
+ * so often, and picks up from the checkpoint when it is run again on the same
+ * maze, e.g. after the JVM was restarted or a solve ran out of time.
+ * <p>
+ * The queue of a breadth first search lists every cell found so far in the
+ * order found, and neither a queued cell nor its parent ever changes. So the
+ * queue is the whole state of the search: the cells before the head are the
+ * visited ones, the cells from the head on are the frontier, and the parent of
+ * each cell is packed into the two low bits of its entry as the direction of
+ * the cell it was reached from, as in ExternalBreadthFirstSolver. A checkpoint
+ * file is a header with the dimensions, start and end of the maze, a SHA-256
+ * digest of its open cells, the head and the number of entries, followed by
+ * the entries, 8 bytes per cell found.
+ * </p>
+ * <p>
+ * As the queue only grows, each checkpoint only appends the cells found since
+ * the one before. The appending is done by a background thread in chunked
+ * writes through a FileChannel, while the search goes on: the search only hands
+ * over the head and tail, and the entries below the tail are never written to
+ * again. The entries are forced to disk before the header which counts them, so
+ * a crash during a checkpoint leaves the one before intact. If a checkpoint is
+ * still being written when the next one is due, the next one is skipped.
+ * </p>
+ * A solve which runs out of time writes a last checkpoint before it gives up,
+ * and a solve which finishes deletes the checkpoint file. A checkpoint of a
+ * different maze, start or end is ignored and overwritten, and so is one whose
+ * entries don't make up a search from the start through open cells.
+ */
+public class CheckpointedBreadthFirstSolver extends GridSolver {
+
+    // "MZCK", marks a checkpoint file
+    private static final int MAGIC = 0x4D5A434B;
+    private static final int VERSION = 2;
+    private static final int DIGEST_BYTES = 32;
+    private static final int HEADER_BYTES = 24 + DIGEST_BYTES + 16;
+    // entries written or read in one go
+    private static final int CHUNK_ENTRIES = 8192;
+    // how many expansions happen between two looks at the clock, minus one
+    private static final int CLOCK_CHECK_MASK = 4095;
+
+    private final Path checkpointFile;
+    private final long intervalNanos;
+
+    /**
+     * Creates a solver.
+     *
+     * @param checkpointFile The file to save progress to and resume from.
+     * @param intervalMillis The time between two checkpoints in milliseconds.
+     */
+    public CheckpointedBreadthFirstSolver(Path checkpointFile, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointFile = checkpointFile;
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    @Override
+    public String getName() {
+        return "checkpoint-bfs";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int[] parent = new int[numRows * numCols];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[numRows * numCols];
+        int head;
+        int tail;
+        Checkpoint checkpoint;
+        try {
+            checkpoint = new Checkpoint(this.checkpointFile, new int[]{numRows, numCols, start, end},
+                    digest(grid), queue, parent);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            int[] restored = checkpoint.restore(grid);
+            if (restored != null) {
+                head = restored[0];
+                tail = restored[1];
+            } else {
+                head = 0;
+                tail = 0;
+                queue[tail++] = start;
+                parent[start] = start;
+            }
+            long nextCheckpoint = System.nanoTime() + this.intervalNanos;
+            long steps = 0;
+
+            while (head < tail) {
+                if ((++steps & CLOCK_CHECK_MASK) == 0 && System.nanoTime() >= nextCheckpoint) {
+                    checkpoint.saveInBackground(head, tail);
+                    nextCheckpoint = System.nanoTime() + this.intervalNanos;
+                }
+                context.frontier(tail - head);
+                int cell = queue[head];
+                try {
+                    context.expand(cell);
+                } catch (SolveTimeoutException e) {
+                    // every cell before the head has been expanded, so this is a state to resume from
+                    checkpoint.save(head, tail);
+                    throw e;
+                }
+                head++;
+                if (cell == end) {
+                    checkpoint.delete();
+                    return tracePath(parent, start, end);
+                }
+                int row = cell / numCols;
+                int col = cell % numCols;
+                // neighbours in the same order as Solution: up, down, left, right
+                if (grid.isValidMove(row - 1, col) && parent[cell - numCols] < 0) {
+                    parent[cell - numCols] = cell;
+                    queue[tail++] = cell - numCols;
+                }
+                if (grid.isValidMove(row + 1, col) && parent[cell + numCols] < 0) {
+                    parent[cell + numCols] = cell;
+                    queue[tail++] = cell + numCols;
+                }
+                if (grid.isValidMove(row, col - 1) && parent[cell - 1] < 0) {
+                    parent[cell - 1] = cell;
+                    queue[tail++] = cell - 1;
+                }
+                if (grid.isValidMove(row, col + 1) && parent[cell + 1] < 0) {
+                    parent[cell + 1] = cell;
+                    queue[tail++] = cell + 1;
+                }
+            }
+            checkpoint.delete();
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            checkpoint.close();
+        }
+    }
+
+    /**
+     * Works out the SHA-256 digest of the open cells of a maze, which tells
+     * its checkpoints apart from those of any other maze of the same size.
+     *
+     * @param grid The maze layout.
+     * @return The digest, DIGEST_BYTES long.
+     */
+    private static byte[] digest(MazeGrid grid) {
+        long[] open = LayoutCache.pack(grid);
+        ByteBuffer bytes = ByteBuffer.allocate(open.length * Long.BYTES);
+        bytes.asLongBuffer().put(open);
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes.array());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The checkpoint file of one solve and the thread which writes it.
+     */
+    private static final class Checkpoint {
+
+        private final Path file;
+        private final FileChannel channel;
+        // rows, columns, start and end, which a checkpoint must match
+        private final int[] identity;
+        // the digest of the open cells, which a checkpoint must match
+        private final byte[] digest;
+        private final int[] queue;
+        private final int[] parent;
+        private final int numCols;
+        private final ExecutorService writer;
+        private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_ENTRIES * Long.BYTES);
+        // the number of entries in the file, only changed by whichever thread is writing
+        private long written;
+        private Future<?> pending;
+
+        /**
+         * Opens the checkpoint file of a solve, creating it if it doesn't exist.
+         *
+         * @param file     The checkpoint file.
+         * @param identity The rows, columns, start and end of the solve.
+         * @param digest   The digest of the open cells of the maze.
+         * @param queue    The queue of the search.
+         * @param parent   The parents of the search, -1 for cells not found yet.
+         * @throws IOException If the file can't be opened.
+         */
+        Checkpoint(Path file, int[] identity, byte[] digest, int[] queue, int[] parent) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.identity = identity;
+            this.digest = digest;
+            this.queue = queue;
+            this.parent = parent;
+            this.numCols = identity[1];
+            this.writer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "maze-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        /**
+         * Loads the queue and parents from the file if it holds a checkpoint of
+         * the same solve, and empties the file otherwise. The entries must start
+         * at the start and each be an open cell reached from one found before it.
+         *
+         * @param grid The maze layout.
+         * @return The head and tail of the queue, null if there was no checkpoint to resume.
+         * @throws IOException If the file can't be read.
+         */
+        int[] restore(MazeGrid grid) throws IOException {
+            long size = this.channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (size >= HEADER_BYTES) {
+                this.channel.read(header, 0);
+                header.flip();
+            }
+            boolean matches = size >= HEADER_BYTES && header.getInt() == MAGIC && header.getInt() == VERSION;
+            for (int i = 0; matches && i < this.identity.length; i++) {
+                matches = header.getInt() == this.identity[i];
+            }
+            if (matches) {
+                byte[] digest = new byte[DIGEST_BYTES];
+                header.get(digest);
+                matches = MessageDigest.isEqual(digest, this.digest);
+            }
+            long head = 0;
+            long count = 0;
+            if (matches) {
+                head = header.getLong();
+                count = header.getLong();
+                matches = count > 0 && count <= this.queue.length && head <= count
+                        && size >= HEADER_BYTES + count * Long.BYTES;
+            }
+            if (!matches) {
+                this.channel.truncate(0);
+                return null;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_ENTRIES * Long.BYTES);
+            int numCols = this.numCols;
+            int tail = 0;
+            long position = HEADER_BYTES;
+            while (matches && tail < count) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), (count - tail) * Long.BYTES));
+                while (buffer.hasRemaining()) {
+                    position += this.channel.read(buffer, position);
+                }
+                buffer.flip();
+                while (matches && buffer.hasRemaining()) {
+                    long entry = buffer.getLong();
+                    if (entry >>> 2 >= this.parent.length) {
+                        matches = false;
+                        break;
+                    }
+                    int cell = (int) (entry >>> 2);
+                    int direction = (int) (entry & 3);
+                    int row = cell / numCols;
+                    int col = cell % numCols;
+                    // the first entry is the start, which is its own parent
+                    int from = tail == 0 ? cell : direction == 0 ? cell - numCols
+                            : direction == 1 ? cell + numCols : direction == 2 ? cell - 1 : cell + 1;
+                    matches = this.parent[cell] < 0 && grid.isValidMove(row, col) && (tail == 0
+                            ? cell == this.identity[2]
+                            : grid.isValidMove(from / numCols, from % numCols) && this.parent[from] >= 0
+                            && (direction < 2 || from / numCols == row));
+                    this.parent[cell] = from;
+                    this.queue[tail++] = cell;
+                }
+            }
+            if (!matches) {
+                Arrays.fill(this.parent, -1);
+                this.channel.truncate(0);
+                return null;
+            }
+            this.written = count;
+            return new int[]{(int) head, tail};
+        }
+
+        /**
+         * Starts writing a checkpoint in the background, unless the last one is still being written.
+         *
+         * @param head The head of the queue; every cell before it has been expanded.
+         * @param tail The tail of the queue.
+         */
+        void saveInBackground(int head, int tail) {
+            if (this.pending != null) {
+                if (!this.pending.isDone()) {
+                    return;
+                }
+                waitForPending();
+            }
+            this.pending = this.writer.submit(() -> {
+                write(head, tail);
+                return null;
+            });
+        }
+
+        /**
+         * Writes a checkpoint and waits until it is on disk.
+         *
+         * @param head The head of the queue; every cell before it has been expanded.
+         * @param tail The tail of the queue.
+         * @throws IOException If the checkpoint can't be written.
+         */
+        void save(int head, int tail) throws IOException {
+            waitForPending();
+            write(head, tail);
+        }
+
+        /**
+         * Deletes the checkpoint file once the solve has finished.
+         *
+         * @throws IOException If the file can't be deleted.
+         */
+        void delete() throws IOException {
+            waitForPending();
+            this.channel.close();
+            Files.deleteIfExists(this.file);
+        }
+
+        /**
+         * Stops the writer thread and closes the file.
+         */
+        void close() {
+            this.writer.shutdownNow();
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // the checkpoint on disk is as good as the last completed save
+            }
+        }
+
+        /**
+         * Waits for the checkpoint being written in the background, if any.
+         *
+         * @throws RuntimeException If it couldn't be written.
+         */
+        private void waitForPending() {
+            if (this.pending == null) {
+                return;
+            }
+            try {
+                this.pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } finally {
+                this.pending = null;
+            }
+        }
+
+        /**
+         * Appends the entries found since the last checkpoint and then updates the header.
+         *
+         * @param head The head of the queue.
+         * @param tail The tail of the queue.
+         * @throws IOException If the checkpoint can't be written.
+         */
+        private void write(int head, int tail) throws IOException {
+            int numCols = this.numCols;
+            ByteBuffer chunk = this.chunk;
+            long position = HEADER_BYTES + this.written * Long.BYTES;
+            for (int i = (int) this.written; i < tail; ) {
+                chunk.clear();
+                int chunkEnd = Math.min(tail, i + CHUNK_ENTRIES);
+                for (; i < chunkEnd; i++) {
+                    int cell = this.queue[i];
+                    int step = this.parent[cell] - cell;
+                    // the direction of the parent: up, down, left, right
+                    int direction = step == -numCols ? 0 : step == numCols ? 1 : step == -1 ? 2 : 3;
+                    chunk.putLong((long) cell << 2 | direction);
+                }
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    position += this.channel.write(chunk, position);
+                }
+            }
+            this.channel.force(false);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION);
+            for (int value : this.identity) {
+                header.putInt(value);
+            }
+            header.put(this.digest).putLong(head).putLong(tail);
+            header.flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+            this.channel.force(false);
+            this.written = tail;
+        }
+    }
+}
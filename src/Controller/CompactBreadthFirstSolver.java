@@ -0,0 +1,134 @@
+package Controller;
+
+import Model.MazeGrid;
+
+/**
+ * A breadth first search for very large mazes which keeps about three bits
+ * per cell instead of the eight bytes per cell of BreadthFirstSolver.
+ * Each reached cell stores the direction back to its parent in two bits and
+ * whether it was reached in one more, and the queue is a ring buffer which
+ * only grows as large as the widest frontier, which stays small in most mazes.
+ * It still always finds a path with the fewest moves.
+ */
+public class CompactBreadthFirstSolver extends GridSolver {
+
+    @Override
+    public String getName() {
+        return "compact-bfs";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numCols = grid.getNumCols();
+        long cells = (long) grid.getNumRows() * numCols;
+        long[] reached = new long[(int) ((cells + 63) >>> 6)];
+        // two bits per cell: 0 parent above, 1 below, 2 left, 3 right
+        long[] parents = new long[(int) ((cells + 31) >>> 5)];
+        int[] queue = new int[1024];
+        int head = 0;
+        int size = 1;
+        queue[0] = start;
+        reached[start >>> 6] |= 1L << start;
+
+        while (size > 0) {
+            context.frontier(size);
+            int cell = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            context.expand(cell);
+            if (cell == end) {
+                return trace(parents, start, end, numCols);
+            }
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int next = nextRow * numCols + nextCol;
+                if ((reached[next >>> 6] & (1L << next)) != 0) {
+                    continue;
+                }
+                reached[next >>> 6] |= 1L << next;
+                // the parent lies in the opposite direction of the move
+                parents[next >>> 5] |= (long) (d ^ 1) << ((next & 31) << 1);
+                if (size == queue.length) {
+                    queue = grow(queue, head);
+                    head = 0;
+                }
+                queue[(head + size) & (queue.length - 1)] = next;
+                size++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Doubles the ring buffer, unwrapping it so that the head is at index 0.
+     *
+     * @param queue The full ring buffer.
+     * @param head  The index of its head.
+     * @return The new ring buffer.
+     */
+    private static int[] grow(int[] queue, int head) {
+        int[] grown = new int[queue.length * 2];
+        System.arraycopy(queue, head, grown, 0, queue.length - head);
+        System.arraycopy(queue, 0, grown, queue.length - head, head);
+        return grown;
+    }
+
+    /**
+     * Follows the parent directions back from the end to rebuild the path.
+     *
+     * @param parents The packed parent directions.
+     * @param start   The start cell.
+     * @param end     The end cell.
+     * @param numCols The number of columns.
+     * @return The cells of the path from start to end inclusive.
+     */
+    private static int[] trace(long[] parents, int start, int end, int numCols) {
+        int length = 1;
+        for (int cell = end; cell != start; cell = parent(parents, cell, numCols)) {
+            length++;
+        }
+        int[] path = new int[length];
+        int cell = end;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            if (i > 0) {
+                cell = parent(parents, cell, numCols);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Gets the parent of a reached cell.
+     *
+     * @param parents The packed parent directions.
+     * @param cell    The cell, which is not the start.
+     * @param numCols The number of columns.
+     * @return The parent cell.
+     */
+    private static int parent(long[] parents, int cell, int numCols) {
+        int direction = (int) (parents[cell >>> 5] >>> ((cell & 31) << 1)) & 3;
+        switch (direction) {
+            case 0:
+                return cell - numCols;
+            case 1:
+                return cell + numCols;
+            case 2:
+                return cell - 1;
+            default:
+                return cell + 1;
+        }
+    }
+}
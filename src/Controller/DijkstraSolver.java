@@ -0,0 +1,137 @@
+package Controller;
+
+import Model.MazeGrid;
+import Model.WeightedGrid;
+
+import java.util.Arrays;
+
+/**
+ * Finds the cheapest path through a maze whose cells cost different amounts
+ * to move onto, e.g. a Maze with '.' or digit terrain, using Dijkstra's algorithm.
+ * Cells costing less than 1, i.e. Terrain.IMPASSABLE, are not moved onto.
+ * Grids without costs are treated as costing 1 per move, in which case the
+ * path also has the fewest moves.
+ * <p>
+ * As costs are small integers the queue is a ring of buckets, one per cost
+ * from the current one up to the current one plus the highest cost of a move
+ * (Dial's algorithm), so every push and pop takes constant time instead of
+ * the logarithmic time of a heap. Cells whose cost improves are pushed again
+ * and stale entries are skipped.
+ * </p>
+ */
+public class DijkstraSolver extends GridSolver {
+
+    // the highest cost of a move the buckets are sized for unless the grid has higher ones
+    private static final int DEFAULT_MAX_COST = 9;
+
+    @Override
+    public String getName() {
+        return "dijkstra";
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        WeightedGrid weighted = grid instanceof WeightedGrid ? (WeightedGrid) grid : null;
+        int[] parent = new int[numRows * numCols];
+        int[] cost = new int[numRows * numCols];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        cost[start] = 0;
+        parent[start] = start;
+
+        // bucket i holds the cells whose cost is congruent to i modulo the number of buckets
+        int[][] buckets = new int[DEFAULT_MAX_COST + 1][16];
+        int[] bucketSizes = new int[buckets.length];
+        buckets[0][bucketSizes[0]++] = start;
+        long pending = 1;
+        int current = 0;
+
+        while (pending > 0) {
+            int bucket = current % buckets.length;
+            if (bucketSizes[bucket] == 0) {
+                current++;
+                continue;
+            }
+            context.frontier(pending);
+            int cell = buckets[bucket][--bucketSizes[bucket]];
+            pending--;
+            if (cost[cell] != current) {
+                // a cheaper way to this cell was found after this entry was pushed
+                continue;
+            }
+            context.expand(cell);
+            if (cell == end) {
+                return tracePath(parent, start, end);
+            }
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int step = weighted == null ? 1 : weighted.getCost(nextRow, nextCol);
+                if (step < 1) {
+                    // terrain which can't be moved onto, e.g. given Terrain.IMPASSABLE
+                    continue;
+                }
+                if (step >= buckets.length) {
+                    // a cost higher than the ring allows, widen it keeping every cell's bucket by cost
+                    int[][] grown = new int[step + 1][];
+                    int[] grownSizes = new int[step + 1];
+                    for (int i = 0; i < grown.length; i++) {
+                        grown[i] = new int[16];
+                    }
+                    for (int i = 0; i < buckets.length; i++) {
+                        for (int k = 0; k < bucketSizes[i]; k++) {
+                            int queued = buckets[i][k];
+                            int target = cost[queued] % grown.length;
+                            if (grownSizes[target] == grown[target].length) {
+                                grown[target] = Arrays.copyOf(grown[target], grownSizes[target] * 2);
+                            }
+                            grown[target][grownSizes[target]++] = queued;
+                        }
+                    }
+                    buckets = grown;
+                    bucketSizes = grownSizes;
+                }
+                int next = nextRow * numCols + nextCol;
+                int nextCost = current + step;
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = cell;
+                    int target = nextCost % buckets.length;
+                    if (bucketSizes[target] == buckets[target].length) {
+                        buckets[target] = Arrays.copyOf(buckets[target], bucketSizes[target] * 2);
+                    }
+                    buckets[target][bucketSizes[target]++] = next;
+                    pending++;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds up the cost of a path, i.e. the cost of every cell moved onto after the first.
+     *
+     * @param grid The maze layout, costing 1 per move unless it is a WeightedGrid.
+     * @param path The cells of the path as row * numCols + col.
+     * @return The cost of the path.
+     */
+    public static long pathCost(MazeGrid grid, int[] path) {
+        if (!(grid instanceof WeightedGrid)) {
+            return Math.max(0, path.length - 1);
+        }
+        WeightedGrid weighted = (WeightedGrid) grid;
+        int numCols = grid.getNumCols();
+        long total = 0;
+        for (int i = 1; i < path.length; i++) {
+            total += weighted.getCost(path[i] / numCols, path[i] % numCols);
+        }
+        return total;
+    }
+}
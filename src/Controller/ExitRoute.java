@@ -0,0 +1,102 @@
+package Controller;
+
+/**
+ * The route from one start of a maze to the exit nearest to it, as found by NearestExitSearch.
+ */
+public class ExitRoute {
+
+    private final int start;
+    private final int numCols;
+    private final int[] cells;
+
+    /**
+     * Creates a route.
+     *
+     * @param start   The start cell as row * numCols + col.
+     * @param numCols The number of columns of the maze.
+     * @param cells   The cells from the start to the exit inclusive, null if no exit can be reached.
+     */
+    public ExitRoute(int start, int numCols, int[] cells) {
+        this.start = start;
+        this.numCols = numCols;
+        this.cells = cells;
+    }
+
+    /**
+     * Gets the start cell.
+     *
+     * @return The start cell as row * numCols + col.
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Checks whether an exit can be reached from the start.
+     *
+     * @return true if there is a route.
+     */
+    public boolean isReachable() {
+        return this.cells != null;
+    }
+
+    /**
+     * Gets the exit nearest to the start.
+     *
+     * @return The exit cell as row * numCols + col, -1 if no exit can be reached.
+     */
+    public int getExit() {
+        return this.cells == null ? -1 : this.cells[this.cells.length - 1];
+    }
+
+    /**
+     * Gets the cells of the route. The array is not copied.
+     *
+     * @return The cells from the start to the exit inclusive, null if no exit can be reached.
+     */
+    public int[] getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Gets the number of moves from the start to the exit.
+     *
+     * @return The number of moves, -1 if no exit can be reached.
+     */
+    public int getLength() {
+        return this.cells == null ? -1 : this.cells.length - 1;
+    }
+
+    /**
+     * Gets the moves from the start to the exit as 'w', 'a', 's', 'd' characters.
+     *
+     * @return The moves, empty if no exit can be reached.
+     */
+    public String getMoveString() {
+        return this.cells == null ? "" : SolveResult.toMoves(this.cells, this.numCols);
+    }
+
+    /**
+     * Converts the route into JSON, e.g.
+     * {"start":[1,1],"exit":[5,9],"moves":12}, with the exit null and moves -1 if no exit can be reached.
+     *
+     * @param withMoves Whether to add the moves themselves as "path".
+     * @return The JSON object.
+     */
+    public String toJson(boolean withMoves) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"start\":[").append(this.start / this.numCols).append(',').append(this.start % this.numCols)
+                .append("],\"exit\":");
+        if (this.cells == null) {
+            json.append("null");
+        } else {
+            int exit = getExit();
+            json.append('[').append(exit / this.numCols).append(',').append(exit % this.numCols).append(']');
+        }
+        json.append(",\"moves\":").append(getLength());
+        if (withMoves) {
+            json.append(",\"path\":\"").append(getMoveString()).append('"');
+        }
+        return json.append('}').toString();
+    }
+}
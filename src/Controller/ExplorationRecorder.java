@@ -0,0 +1,145 @@
+package Controller;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Records how a solver explores a maze.
+ * For every cell it keeps the order in which the cell was first visited
+ * and the number of times it was visited, in flat primitive arrays indexed
+ * by row * numCols + col so that recording costs two array writes per visit.
+ * A visit order of 0 means the cell was never visited.
+ * Not thread safe, each solve should use its own recorder.
+ */
+public class ExplorationRecorder {
+
+    private final int numRows;
+    private final int numCols;
+    private final int[] visitOrder;
+    private final int[] visitCounts;
+    private int visits;
+
+    /**
+     * Creates a recorder for a maze of the given dimensions.
+     *
+     * @param numRows The number of rows in the maze.
+     * @param numCols The number of columns in the maze.
+     */
+    public ExplorationRecorder(int numRows, int numCols) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.visitOrder = new int[numRows * numCols];
+        this.visitCounts = new int[numRows * numCols];
+    }
+
+    /**
+     * Records a visit to the given cell.
+     *
+     * @param row The row of the visited cell.
+     * @param col The column of the visited cell.
+     */
+    public void visit(int row, int col) {
+        visit(row * this.numCols + col);
+    }
+
+    /**
+     * Records a visit to the cell with the given flat index.
+     *
+     * @param cell The index of the visited cell, row * numCols + col.
+     */
+    public void visit(int cell) {
+        this.visits++;
+        if (this.visitCounts[cell]++ == 0) {
+            this.visitOrder[cell] = this.visits;
+        }
+    }
+
+    /**
+     * Clears every recorded visit so that the recorder can be reused.
+     */
+    public void reset() {
+        Arrays.fill(this.visitOrder, 0);
+        Arrays.fill(this.visitCounts, 0);
+        this.visits = 0;
+    }
+
+    /**
+     * Gets the number of rows in the recorded maze.
+     *
+     * @return The number of rows.
+     */
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    /**
+     * Gets the number of columns in the recorded maze.
+     *
+     * @return The number of columns.
+     */
+    public int getNumCols() {
+        return this.numCols;
+    }
+
+    /**
+     * Gets the order in which each cell was first visited, starting from 1.
+     * The array is not copied.
+     *
+     * @return The visit order of each cell indexed by row * numCols + col.
+     */
+    public int[] getVisitOrder() {
+        return this.visitOrder;
+    }
+
+    /**
+     * Gets the number of times each cell was visited.
+     * The array is not copied.
+     *
+     * @return The visit count of each cell indexed by row * numCols + col.
+     */
+    public int[] getVisitCounts() {
+        return this.visitCounts;
+    }
+
+    /**
+     * Gets the total number of visits recorded, including repeated visits.
+     *
+     * @return The total number of visits.
+     */
+    public int getTotalVisits() {
+        return this.visits;
+    }
+
+    /**
+     * Gets the highest visit count of any cell.
+     *
+     * @return The highest visit count, 0 if nothing was visited.
+     */
+    public int getMaxVisitCount() {
+        int max = 0;
+        for (int count : this.visitCounts) {
+            if (count > max) {
+                max = count;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Writes every visited cell as a CSV row of row, column, visit order and visit count.
+     *
+     * @param out The writer to write the CSV rows to.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("row,col,order,count\n");
+        for (int cell = 0; cell < this.visitCounts.length; cell++) {
+            if (this.visitCounts[cell] != 0) {
+                out.write((cell / this.numCols) + "," + (cell % this.numCols) + ","
+                        + this.visitOrder[cell] + "," + this.visitCounts[cell] + "\n");
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,744 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * A breadth first search for mazes too large to keep anything per cell in memory,
+ * which always finds a path with the fewest moves.
+ * <p>
+ * Every level of the search is a block of sorted, distinct cells appended to
+ * one frontier log, whose level start offsets are kept in memory, so a search
+ * of any depth keeps a single file open. The next
+ * level is made by streaming the current one, collecting the open neighbours of
+ * its cells in a buffer which is sorted and spilled to a run file whenever it
+ * fills up, and merging the runs while dropping duplicates and the cells of the
+ * current and previous levels. In a maze a cell's neighbours are always on the
+ * level before, the same level or the level after, so nothing older has to be
+ * checked. Each entry also keeps, in its two low bits, the direction of the cell
+ * it was reached from, so the frontier log doubles as the parent log: the path is
+ * traced back from the end by binary searching each level of it in turn, and the
+ * moves are spooled to disk and replayed forwards into a MoveSink.
+ * </p>
+ * Memory use is bounded by the heap budget, which sets the size of the sort
+ * buffer and how many runs are merged at once, and the maze is best read
+ * through a MappedMazeGrid.
+ */
+public class ExternalBreadthFirstSolver extends GridSolver {
+
+    // size of the stream buffer of every open file
+    private static final int IO_BUFFER = 1 << 16;
+    // the moves from a parent to its child, by the direction from the child to the parent: up, down, left, right
+    private static final String MOVES_FROM_PARENT = "swda";
+
+    private final long heapBudget;
+    private final Path tempDirectory;
+
+    /**
+     * Creates a solver with a 256 MB heap budget which keeps its files in the system temp directory.
+     */
+    public ExternalBreadthFirstSolver() {
+        this(256L << 20, null);
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param heapBudget    The heap the solver may use for its buffers, in bytes.
+     * @param tempDirectory The directory to keep the frontier log and run files in, or null for the system temp directory.
+     */
+    public ExternalBreadthFirstSolver(long heapBudget, Path tempDirectory) {
+        this.heapBudget = Math.max(1 << 20, heapBudget);
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public String getName() {
+        return "external-bfs";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return true;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numCols = grid.getNumCols();
+        int[][] path = {new int[64]};
+        int[] length = {1};
+        int[] cell = {start};
+        path[0][0] = start;
+        MoveSink sink = move -> {
+            cell[0] += move == 'w' ? -numCols : move == 's' ? numCols : move == 'a' ? -1 : 1;
+            if (length[0] == path[0].length) {
+                path[0] = Arrays.copyOf(path[0], length[0] * 2);
+            }
+            path[0][length[0]++] = cell[0];
+        };
+        try {
+            return solve(grid, start, end, sink, context) ? Arrays.copyOf(path[0], length[0]) : null;
+        } catch (IOException e) {
+            Path directory = this.tempDirectory != null
+                    ? this.tempDirectory : Paths.get(System.getProperty("java.io.tmpdir"));
+            throw new UncheckedIOException("External breadth first search failed on its spill files in " + directory, e);
+        }
+    }
+
+    /**
+     * Finds a shortest path between two open cells and hands its moves to the sink in order.
+     *
+     * @param grid    The maze layout.
+     * @param start   The start cell as row * numCols + col.
+     * @param end     The end cell as row * numCols + col.
+     * @param sink    The receiver of the moves.
+     * @param context The context to report expanded cells and frontier sizes to.
+     * @return true if the end was reached, false if there is no path.
+     * @throws IOException If the temp files can't be written or read.
+     */
+    public boolean solve(MazeGrid grid, long start, long end, MoveSink sink, SearchContext context) throws IOException {
+        Path directory = this.tempDirectory == null
+                ? Files.createTempDirectory("maze-bfs")
+                : Files.createTempDirectory(this.tempDirectory, "maze-bfs");
+        try (FrontierLog log = new FrontierLog(directory.resolve("frontier.bin"))) {
+            log.append(start << 2);
+            log.endLevel();
+            context.frontier(1);
+            if (start == end) {
+                context.expand(start);
+                return true;
+            }
+            // half of the budget sorts, the other half buffers the runs being merged
+            long[] buffer = new long[(int) Math.min(Integer.MAX_VALUE - 8, this.heapBudget / 2 / Long.BYTES)];
+            int maxFanIn = (int) Math.max(2, this.heapBudget / 2 / IO_BUFFER - 3);
+            while (true) {
+                long[] found = {0, 0};
+                expandLevel(grid, log, end, buffer, maxFanIn, directory, found, context);
+                log.endLevel();
+                if (found[0] == 0) {
+                    return false;
+                }
+                context.frontier(found[0]);
+                if (found[1] != 0) {
+                    replay(grid, log, end, directory, sink);
+                    return true;
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Appends the level after the last one to the frontier log.
+     *
+     * @param grid      The maze layout.
+     * @param log       The frontier log, whose last level is the current one.
+     * @param end       The end cell.
+     * @param buffer    The sort buffer.
+     * @param maxFanIn  The most runs to merge at once.
+     * @param directory The temp directory.
+     * @param found     Receives the size of the next level and 1 if it holds the end.
+     * @param context   The context to report expanded cells to.
+     * @throws IOException If a file can't be written or read.
+     */
+    private static void expandLevel(MazeGrid grid, FrontierLog log, long end, long[] buffer,
+                                    int maxFanIn, Path directory, long[] found, SearchContext context)
+            throws IOException {
+        int numCols = grid.getNumCols();
+        int current = log.getLevelCount() - 1;
+        List<Path> runs = new ArrayList<>();
+        int size = 0;
+        try (LongSource reader = log.level(current)) {
+            while (reader.hasNext()) {
+                long cell = reader.next() >>> 2;
+                context.expand(cell);
+                int row = (int) (cell / numCols);
+                int col = (int) (cell % numCols);
+                // neighbours in the same order as Solution: up, down, left, right
+                for (int d = 0; d < 4; d++) {
+                    int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                    int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                    if (!grid.isValidMove(nextRow, nextCol)) {
+                        continue;
+                    }
+                    if (size == buffer.length) {
+                        runs.add(spill(buffer, size, directory, runs.size()));
+                        size = 0;
+                    }
+                    // the parent lies in the opposite direction of the move
+                    buffer[size++] = (((long) nextRow * numCols + nextCol) << 2) | (d ^ 1);
+                }
+            }
+        }
+        List<LongSource> sources = new ArrayList<>();
+        try {
+            if (runs.isEmpty()) {
+                Arrays.sort(buffer, 0, size);
+                sources.add(new ArraySource(buffer, size));
+            } else {
+                if (size > 0) {
+                    runs.add(spill(buffer, size, directory, runs.size()));
+                }
+                // merges runs in groups until few enough are left to be open at once
+                while (runs.size() > maxFanIn) {
+                    List<Path> merged = new ArrayList<>();
+                    for (int i = 0; i < runs.size(); i += maxFanIn) {
+                        List<Path> group = runs.subList(i, Math.min(runs.size(), i + maxFanIn));
+                        Path out = directory.resolve("merge-" + System.nanoTime() + "-" + i + ".bin");
+                        mergeRuns(group, out);
+                        merged.add(out);
+                    }
+                    runs = merged;
+                }
+                for (Path run : runs) {
+                    sources.add(new LongReader(run));
+                }
+            }
+            try (LongSource currentCells = log.level(current);
+                 LongSource previousCells = current == 0 ? null : log.level(current - 1)) {
+                LongSource candidates = sources.size() == 1 ? sources.get(0) : new MergedSource(sources);
+                long last = -1;
+                while (candidates.hasNext()) {
+                    long entry = candidates.next();
+                    long cell = entry >>> 2;
+                    if (cell == last) {
+                        continue;
+                    }
+                    last = cell;
+                    if (contains(currentCells, cell) || (previousCells != null && contains(previousCells, cell))) {
+                        continue;
+                    }
+                    log.append(entry);
+                    found[0]++;
+                    if (cell == end) {
+                        found[1] = 1;
+                    }
+                }
+            }
+        } finally {
+            for (LongSource source : sources) {
+                source.close();
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Advances a sorted level past every cell below the given one and checks whether it holds the cell.
+     *
+     * @param level The level, whose cells are only read forwards.
+     * @param cell  The cell.
+     * @return true if the level holds the cell.
+     * @throws IOException If the level can't be read.
+     */
+    private static boolean contains(LongSource level, long cell) throws IOException {
+        while (level.hasNext() && (level.peek() >>> 2) < cell) {
+            level.next();
+        }
+        return level.hasNext() && (level.peek() >>> 2) == cell;
+    }
+
+    /**
+     * Sorts the buffer and writes it to a run file.
+     *
+     * @param buffer    The buffer.
+     * @param size      The number of entries in the buffer.
+     * @param directory The temp directory.
+     * @param index     The index of the run.
+     * @return The run file.
+     * @throws IOException If the run can't be written.
+     */
+    private static Path spill(long[] buffer, int size, Path directory, int index) throws IOException {
+        Arrays.sort(buffer, 0, size);
+        Path run = directory.resolve("run-" + index + ".bin");
+        try (DataOutputStream out = output(run)) {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges sorted runs into one and deletes them.
+     *
+     * @param runs The runs.
+     * @param out  The file to write the merged run to.
+     * @throws IOException If a run can't be read or written.
+     */
+    private static void mergeRuns(List<Path> runs, Path out) throws IOException {
+        List<LongSource> sources = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                sources.add(new LongReader(run));
+            }
+            try (DataOutputStream writer = output(out)) {
+                MergedSource merged = new MergedSource(sources);
+                while (merged.hasNext()) {
+                    writer.writeLong(merged.next());
+                }
+            }
+        } finally {
+            for (LongSource source : sources) {
+                source.close();
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Traces the path back from the end through the levels of the frontier
+     * log, spooling the moves to disk, and then replays them from the start into the sink.
+     *
+     * @param grid      The maze layout.
+     * @param log       The frontier log, whose last level holds the end.
+     * @param end       The end cell.
+     * @param directory The temp directory.
+     * @param sink      The receiver of the moves.
+     * @throws IOException If a file can't be read or written.
+     */
+    private static void replay(MazeGrid grid, FrontierLog log, long end, Path directory, MoveSink sink)
+            throws IOException {
+        int numCols = grid.getNumCols();
+        Path moves = directory.resolve("moves.bin");
+        long cell = end;
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(moves), IO_BUFFER)) {
+            for (int depth = log.getLevelCount() - 1; depth > 0; depth--) {
+                int direction = (int) (log.find(depth, cell) & 3);
+                out.write(MOVES_FROM_PARENT.charAt(direction));
+                cell += direction == 0 ? -numCols : direction == 1 ? numCols : direction == 2 ? -1 : 1;
+            }
+        }
+        // the moves were written from the end backwards, so they are read back from the end of the file
+        try (RandomAccessFile in = new RandomAccessFile(moves.toFile(), "r")) {
+            byte[] chunk = new byte[IO_BUFFER];
+            long position = in.length();
+            while (position > 0) {
+                int count = (int) Math.min(chunk.length, position);
+                position -= count;
+                in.seek(position);
+                in.readFully(chunk, 0, count);
+                for (int i = count - 1; i >= 0; i--) {
+                    sink.move((char) chunk[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a buffered file for writing longs.
+     *
+     * @param file The file.
+     * @return The stream.
+     * @throws IOException If the file can't be created.
+     */
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER));
+    }
+
+    /**
+     * A sorted sequence of longs which can be looked at one ahead.
+     */
+    private interface LongSource extends AutoCloseable {
+
+        /**
+         * Whether there are more values.
+         *
+         * @return true if next can be called.
+         */
+        boolean hasNext();
+
+        /**
+         * Gets the next value without moving past it.
+         *
+         * @return The next value.
+         */
+        long peek();
+
+        /**
+         * Moves past the next value.
+         *
+         * @return The value.
+         * @throws IOException If the value can't be read.
+         */
+        long next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * The sorted start of an array.
+     */
+    private static class ArraySource implements LongSource {
+        private final long[] values;
+        private final int size;
+        private int index;
+
+        /**
+         * Creates a source over the first values of an array.
+         *
+         * @param values The array, sorted up to size.
+         * @param size   The number of values.
+         */
+        private ArraySource(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.size;
+        }
+
+        @Override
+        public long peek() {
+            return this.values[this.index];
+        }
+
+        @Override
+        public long next() {
+            return this.values[this.index++];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Streams the longs of a file.
+     */
+    private static class LongReader implements LongSource {
+        private final DataInputStream in;
+        private boolean hasNext;
+        private long next;
+
+        /**
+         * Opens a file of longs.
+         *
+         * @param file The file.
+         * @throws IOException If the file can't be opened.
+         */
+        private LongReader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER));
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public long peek() {
+            return this.next;
+        }
+
+        @Override
+        public long next() throws IOException {
+            long value = this.next;
+            advance();
+            return value;
+        }
+
+        /**
+         * Reads the value after the current one.
+         *
+         * @throws IOException If the file can't be read.
+         */
+        private void advance() throws IOException {
+            try {
+                this.next = this.in.readLong();
+                this.hasNext = true;
+            } catch (EOFException e) {
+                this.hasNext = false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.in.close();
+        }
+    }
+
+    /**
+     * One file holding every level of the search back to back, with the
+     * offset at which each level starts kept in memory.
+     */
+    private static class FrontierLog implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer pending = ByteBuffer.allocate(IO_BUFFER);
+        // the byte offset of the start of every level, plus the end of the last one
+        private long[] levelStarts = new long[64];
+        private int levelCount;
+        private long size;
+
+        /**
+         * Creates an empty log.
+         *
+         * @param file The file of the log.
+         * @throws IOException If the file can't be created.
+         */
+        private FrontierLog(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Appends an entry to the level being written.
+         *
+         * @param entry The entry.
+         * @throws IOException If the log can't be written.
+         */
+        private void append(long entry) throws IOException {
+            if (this.pending.remaining() < Long.BYTES) {
+                flush();
+            }
+            this.pending.putLong(entry);
+        }
+
+        /**
+         * Ends the level being written, even if it is empty, so that it can be read.
+         *
+         * @throws IOException If the log can't be written.
+         */
+        private void endLevel() throws IOException {
+            flush();
+            if (this.levelCount + 1 == this.levelStarts.length) {
+                this.levelStarts = Arrays.copyOf(this.levelStarts, this.levelStarts.length * 2);
+            }
+            this.levelStarts[++this.levelCount] = this.size;
+        }
+
+        /**
+         * Gets the number of levels ended so far.
+         *
+         * @return The number of levels.
+         */
+        private int getLevelCount() {
+            return this.levelCount;
+        }
+
+        /**
+         * Streams the entries of an ended level.
+         *
+         * @param level The level.
+         * @return The entries in order.
+         * @throws IOException If the log can't be read.
+         */
+        private LongSource level(int level) throws IOException {
+            return new LevelReader(this.channel, this.levelStarts[level], this.levelStarts[level + 1]);
+        }
+
+        /**
+         * Binary searches an ended level for a cell.
+         *
+         * @param level The level.
+         * @param cell  The cell, which must be in the level.
+         * @return The entry of the cell.
+         * @throws IOException If the log can't be read.
+         */
+        private long find(int level, long cell) throws IOException {
+            ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+            long low = 0;
+            long high = (this.levelStarts[level + 1] - this.levelStarts[level]) / Long.BYTES - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                entry.clear();
+                readFully(this.channel, entry, this.levelStarts[level] + middle * Long.BYTES);
+                long found = entry.getLong(0) >>> 2;
+                if (found < cell) {
+                    low = middle + 1;
+                } else if (found > cell) {
+                    high = middle - 1;
+                } else {
+                    return entry.getLong(0);
+                }
+            }
+            throw new IllegalStateException("Cell " + cell + " is missing from level " + level);
+        }
+
+        /**
+         * Writes the buffered entries to the end of the file.
+         *
+         * @throws IOException If the log can't be written.
+         */
+        private void flush() throws IOException {
+            this.pending.flip();
+            while (this.pending.hasRemaining()) {
+                this.size += this.channel.write(this.pending, this.size);
+            }
+            this.pending.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Streams one level of the frontier log with positional reads, so that
+     * several levels can be read while the next one is appended.
+     */
+    private static class LevelReader implements LongSource {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER);
+        private final long end;
+        private long position;
+        private boolean hasNext;
+        private long next;
+
+        /**
+         * Opens a level.
+         *
+         * @param channel The channel of the log, which stays open.
+         * @param start   The byte offset of the level.
+         * @param end     The byte offset after the level.
+         * @throws IOException If the log can't be read.
+         */
+        private LevelReader(FileChannel channel, long start, long end) throws IOException {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            this.buffer.limit(0);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @Override
+        public long peek() {
+            return this.next;
+        }
+
+        @Override
+        public long next() throws IOException {
+            long value = this.next;
+            advance();
+            return value;
+        }
+
+        /**
+         * Reads the value after the current one, refilling the buffer when it runs out.
+         *
+         * @throws IOException If the log can't be read.
+         */
+        private void advance() throws IOException {
+            if (!this.buffer.hasRemaining()) {
+                if (this.position >= this.end) {
+                    this.hasNext = false;
+                    return;
+                }
+                this.buffer.clear();
+                this.buffer.limit((int) Math.min(this.buffer.capacity(), this.end - this.position));
+                readFully(this.channel, this.buffer, this.position);
+                this.position += this.buffer.limit();
+                this.buffer.flip();
+            }
+            this.next = this.buffer.getLong();
+            this.hasNext = true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Fills a buffer from a channel at a position.
+     *
+     * @param channel  The channel.
+     * @param buffer   The buffer, filled up to its limit.
+     * @param position The byte offset to read from.
+     * @throws IOException If the channel can't be read or ends first.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Frontier log ends at " + position);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Merges sorted sources into one sorted sequence.
+     */
+    private static class MergedSource implements LongSource {
+        private final PriorityQueue<LongSource> queue =
+                new PriorityQueue<>(Comparator.comparingLong(LongSource::peek));
+
+        /**
+         * Creates a merge of sources.
+         *
+         * @param sources The sorted sources, which stay owned by the caller.
+         */
+        private MergedSource(List<LongSource> sources) {
+            for (LongSource source : sources) {
+                if (source.hasNext()) {
+                    this.queue.add(source);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.queue.isEmpty();
+        }
+
+        @Override
+        public long peek() {
+            return this.queue.peek().peek();
+        }
+
+        @Override
+        public long next() throws IOException {
+            LongSource source = this.queue.poll();
+            long value = source.next();
+            if (source.hasNext()) {
+                this.queue.add(source);
+            }
+            return value;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
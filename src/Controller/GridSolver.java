@@ -0,0 +1,123 @@
+package Controller;
+
+import Model.MazeGrid;
+import exceptions.SolveTimeoutException;
+import metrics.MetricsRegistry;
+import metrics.SolveProbe;
+import metrics.SolveSample;
+import metrics.SolverMetrics;
+
+/**
+ * Base class for solvers which search a MazeGrid from a start cell to an end cell.
+ * Takes care of measuring every solve, reporting it to the solver metrics and
+ * building the SolveResult, so that subclasses only implement the search itself.
+ */
+public abstract class GridSolver implements MazeSolver {
+
+    private volatile SolverMetrics metrics = MetricsRegistry.getDefault();
+    private volatile ExplorationRecorder recorder;
+
+    /**
+     * Sets where the measurements of every solve are reported.
+     *
+     * @param metrics The metrics to report to.
+     */
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the recorder that every expanded cell is reported to.
+     * A recorder is not thread safe, so it should only be set while
+     * the solver is used by a single thread.
+     *
+     * @param recorder The recorder to use, or null to stop recording.
+     */
+    @Override
+    public void setRecorder(ExplorationRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public final SolveResult solve(MazeGrid grid, int[] start, int[] end) {
+        return solve(grid, start, end, new SearchContext(this.recorder));
+    }
+
+    /**
+     * Finds a path between two positions of a maze, giving up once the timeout has passed.
+     *
+     * @param grid         The maze layout.
+     * @param start        The start position as [row, column].
+     * @param end          The end position as [row, column].
+     * @param timeoutNanos The time the solve may take in nanoseconds.
+     * @return The result of the solve.
+     * @throws SolveTimeoutException If the solve takes longer than the timeout.
+     */
+    public final SolveResult solve(MazeGrid grid, int[] start, int[] end, long timeoutNanos) {
+        return solve(grid, start, end, new SearchContext(this.recorder, System.nanoTime() + timeoutNanos));
+    }
+
+    /**
+     * Runs the search with the given context, measuring it and reporting the metrics.
+     *
+     * @param grid    The maze layout.
+     * @param start   The start position as [row, column].
+     * @param end     The end position as [row, column].
+     * @param context The context of the solve.
+     * @return The result of the solve.
+     */
+    private SolveResult solve(MazeGrid grid, int[] start, int[] end, SearchContext context) {
+        int numCols = grid.getNumCols();
+        SolveProbe probe = SolveProbe.start();
+        int[] cells = null;
+        if (grid.isValidMove(start[0], start[1]) && grid.isValidMove(end[0], end[1])) {
+            cells = search(grid, start[0] * numCols + start[1], end[0] * numCols + end[1], context);
+        }
+        SolveSample sample = probe.finish(cells != null, context.getNodesExpanded(),
+                context.getPeakFrontier(), cells == null ? 0 : cells.length - 1);
+        this.metrics.recordSolve(getName(), sample);
+        return new SolveResult(getName(), numCols, cells, sample, context.getSelection());
+    }
+
+    /**
+     * Searches for a path between two open cells.
+     *
+     * @param grid    The maze layout.
+     * @param start   The start cell as row * numCols + col.
+     * @param end     The end cell as row * numCols + col.
+     * @param context The context to report expanded cells and frontier sizes to.
+     * @return The cells of the path from start to end inclusive, or null if there is none.
+     */
+    protected abstract int[] search(MazeGrid grid, int start, int end, SearchContext context);
+
+    /**
+     * Gets the metrics this solver reports to.
+     *
+     * @return The solver metrics.
+     */
+    protected SolverMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Follows a parent array back from the end cell to rebuild the path.
+     *
+     * @param parent The parent of every reached cell, the start being its own parent.
+     * @param start  The start cell.
+     * @param end    The end cell.
+     * @return The cells of the path from start to end inclusive.
+     */
+    protected static int[] tracePath(int[] parent, int start, int end) {
+        int length = 1;
+        for (int cell = end; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int cell = end;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+        return path;
+    }
+}
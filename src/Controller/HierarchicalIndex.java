@@ -0,0 +1,686 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * A hierarchical pathfinding (HPA*) index over a maze, for answering many
+ * path queries between arbitrary cells of the same huge maze.
+ * <p>
+ * The grid is split into square clusters. Wherever two neighbouring clusters
+ * share a run of open cells along their border, one entrance is placed in the
+ * middle of a short run and one at either end of a long run, on both sides of
+ * the border. For every cluster the distances between its entrances, moving
+ * only inside the cluster, are precomputed; clusters are independent so they
+ * are built in parallel. A query finds the distances from the start and the
+ * end to the entrances of their clusters, searches the small graph of
+ * entrances with A*, and refines every step of the result with a breadth first
+ * search inside one cluster.
+ * </p>
+ * Paths are at most a few moves longer than the shortest ones, as they can
+ * only cross borders at entrances. Walls can be changed, which only rebuilds
+ * the cluster of the cell and the clusters sharing a border with it if the cell
+ * lies on that border. Queries may run concurrently with each other, changes
+ * wait for running queries to finish.
+ */
+public class HierarchicalIndex {
+
+    // runs of open border cells at least this long get an entrance at both ends
+    private static final int LONG_RUN = 6;
+
+    private final int numRows;
+    private final int numCols;
+    private final int clusterSize;
+    private final int clusterRows;
+    private final int clusterCols;
+    private final long[] open;
+    private final Cluster[] clusters;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong rebuilt = new AtomicLong();
+
+    /**
+     * Builds the index of a maze.
+     *
+     * @param numRows     The number of rows.
+     * @param numCols     The number of columns.
+     * @param open        The open cells as a bit set indexed by row * numCols + col, which is copied.
+     * @param clusterSize The number of rows and columns of a cluster.
+     */
+    public HierarchicalIndex(int numRows, int numCols, long[] open, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2");
+        }
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.clusterSize = clusterSize;
+        this.clusterRows = (numRows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (numCols + clusterSize - 1) / clusterSize;
+        this.open = open.clone();
+        this.clusters = new Cluster[this.clusterRows * this.clusterCols];
+        IntStream.range(0, this.clusters.length).parallel().forEach(k -> this.clusters[k] = buildCluster(k));
+    }
+
+    /**
+     * Builds the index of a maze.
+     *
+     * @param grid        The maze layout.
+     * @param clusterSize The number of rows and columns of a cluster.
+     * @return The index.
+     */
+    public static HierarchicalIndex of(MazeGrid grid, int clusterSize) {
+        return new HierarchicalIndex(grid.getNumRows(), grid.getNumCols(), LayoutCache.pack(grid), clusterSize);
+    }
+
+    /**
+     * Gets the number of clusters.
+     *
+     * @return The number of clusters.
+     */
+    public int getClusterCount() {
+        return this.clusters.length;
+    }
+
+    /**
+     * Gets the number of entrances of all clusters.
+     *
+     * @return The number of entrances.
+     */
+    public int getEntranceCount() {
+        this.lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Cluster cluster : this.clusters) {
+                count += cluster.entrances.length;
+            }
+            return count;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of clusters rebuilt because walls changed.
+     *
+     * @return The number of rebuilt clusters.
+     */
+    public long getRebuildCount() {
+        return this.rebuilt.get();
+    }
+
+    /**
+     * Adds or removes a wall, rebuilding the clusters it affects.
+     *
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @param wall true to make the cell a wall, false to open it.
+     */
+    public void setWall(int row, int col, boolean wall) {
+        if (row < 0 || row >= this.numRows || col < 0 || col >= this.numCols) {
+            throw new IndexOutOfBoundsException("Cell " + row + ", " + col + " is outside the maze");
+        }
+        int cell = row * this.numCols + col;
+        this.lock.writeLock().lock();
+        try {
+            if (isOpen(cell) != wall) {
+                return;
+            }
+            this.open[cell >>> 6] ^= 1L << cell;
+            // a cell on the edge of its cluster also moves the entrances of the cluster across that edge
+            int k = clusterOf(cell);
+            int[] affected = new int[5];
+            int count = 0;
+            affected[count++] = k;
+            if (row % this.clusterSize == 0 && row > 0) {
+                affected[count++] = k - this.clusterCols;
+            }
+            if (row % this.clusterSize == this.clusterSize - 1 && row < this.numRows - 1) {
+                affected[count++] = k + this.clusterCols;
+            }
+            if (col % this.clusterSize == 0 && col > 0) {
+                affected[count++] = k - 1;
+            }
+            if (col % this.clusterSize == this.clusterSize - 1 && col < this.numCols - 1) {
+                affected[count++] = k + 1;
+            }
+            IntStream.of(Arrays.copyOf(affected, count)).parallel()
+                    .forEach(a -> this.clusters[a] = buildCluster(a));
+            this.rebuilt.addAndGet(count);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a path between two open cells.
+     *
+     * @param start   The start cell as row * numCols + col.
+     * @param end     The end cell as row * numCols + col.
+     * @param context The context to report expanded entrances and frontier sizes to.
+     * @return The cells of the path from start to end inclusive, or null if there is none.
+     */
+    public int[] findPath(int start, int end, SearchContext context) {
+        this.lock.readLock().lock();
+        try {
+            if (!isOpen(start) || !isOpen(end)) {
+                return null;
+            }
+            return search(start, end, context);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the graph of entrances between the clusters of two cells and refines the result.
+     *
+     * @param start   The start cell.
+     * @param end     The end cell.
+     * @param context The context to report expanded entrances and frontier sizes to.
+     * @return The cells of the path from start to end inclusive, or null if there is none.
+     */
+    private int[] search(int start, int end, SearchContext context) {
+        int startCluster = clusterOf(start);
+        int endCluster = clusterOf(end);
+        int[] fromStart = distances(startCluster, start);
+        int[] toEnd = distances(endCluster, end);
+        int best = Integer.MAX_VALUE;
+        if (startCluster == endCluster && fromStart[local(endCluster, end)] >= 0) {
+            best = fromStart[local(endCluster, end)];
+        }
+        int bestExit = -1;
+        int endRow = end / this.numCols;
+        int endCol = end % this.numCols;
+
+        Scores scores = new Scores();
+        CellHeap heap = new CellHeap();
+        for (int entrance : this.clusters[startCluster].entrances) {
+            int cost = fromStart[local(startCluster, entrance)];
+            if (cost >= 0) {
+                scores.put(entrance, cost, -1);
+                heap.push((long) (cost + estimate(entrance, endRow, endCol)) << 32, entrance);
+            }
+        }
+        while (heap.size() > 0) {
+            context.frontier(heap.size());
+            int bound = (int) (heap.peekKey() >>> 32);
+            int entrance = heap.pop();
+            int cost = scores.cost(entrance);
+            if (bound != cost + estimate(entrance, endRow, endCol)) {
+                // a cheaper way to this entrance was found after this entry was pushed
+                continue;
+            }
+            if (bound >= best) {
+                break;
+            }
+            context.expand(entrance);
+            int k = clusterOf(entrance);
+            if (k == endCluster) {
+                int rest = toEnd[local(k, entrance)];
+                if (rest >= 0 && cost + rest < best) {
+                    best = cost + rest;
+                    bestExit = entrance;
+                }
+            }
+            // the other entrances of the cluster, then the entrances across its border
+            Cluster cluster = this.clusters[k];
+            int n = cluster.entrances.length;
+            int i = Arrays.binarySearch(cluster.entrances, entrance);
+            for (int j = 0; j < n; j++) {
+                int distance = cluster.distances[i * n + j];
+                if (distance > 0) {
+                    relax(scores, heap, cluster.entrances[j], cost + distance, entrance, endRow, endCol);
+                }
+            }
+            for (int d = 0; d < 4; d++) {
+                int next = step(entrance, d);
+                if (next >= 0 && isOpen(next) && clusterOf(next) != k
+                        && Arrays.binarySearch(this.clusters[clusterOf(next)].entrances, next) >= 0) {
+                    relax(scores, heap, next, cost + 1, entrance, endRow, endCol);
+                }
+            }
+        }
+        if (best == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        int[] path = new int[best + 2];
+        path[0] = 1;
+        path[1] = start;
+        if (bestExit < 0) {
+            appendLocalPath(startCluster, start, end, path);
+            return Arrays.copyOfRange(path, 1, path[0] + 1);
+        }
+        // the entrances from the last one back to the first
+        int[] entrances = new int[16];
+        int count = 0;
+        for (int entrance = bestExit; entrance >= 0; entrance = scores.parent(entrance)) {
+            if (count == entrances.length) {
+                entrances = Arrays.copyOf(entrances, count * 2);
+            }
+            entrances[count++] = entrance;
+        }
+        appendLocalPath(startCluster, start, entrances[count - 1], path);
+        for (int k = count - 1; k > 0; k--) {
+            int from = entrances[k];
+            int to = entrances[k - 1];
+            if (clusterOf(from) == clusterOf(to)) {
+                appendLocalPath(clusterOf(from), from, to, path);
+            } else {
+                path[++path[0]] = to;
+            }
+        }
+        appendLocalPath(endCluster, bestExit, end, path);
+        return Arrays.copyOfRange(path, 1, path[0] + 1);
+    }
+
+    /**
+     * Lowers the cost of an entrance if the new way to it is cheaper.
+     *
+     * @param scores   The costs and parents of the reached entrances.
+     * @param heap     The open entrances.
+     * @param entrance The entrance.
+     * @param cost     The cost of the new way.
+     * @param parent   The entrance the new way comes from.
+     * @param endRow   The row of the end.
+     * @param endCol   The column of the end.
+     */
+    private void relax(Scores scores, CellHeap heap, int entrance, int cost, int parent, int endRow, int endCol) {
+        if (cost < scores.cost(entrance)) {
+            scores.put(entrance, cost, parent);
+            heap.push((long) (cost + estimate(entrance, endRow, endCol)) << 32, entrance);
+        }
+    }
+
+    /**
+     * Builds the entrances of a cluster and the distances between them.
+     *
+     * @param k The cluster.
+     * @return The cluster.
+     */
+    private Cluster buildCluster(int k) {
+        int top = clusterTop(k);
+        int left = clusterLeft(k);
+        int bottom = clusterBottom(k);
+        int right = clusterRight(k);
+        int[] found = new int[4 * this.clusterSize + 4];
+        int count = 0;
+        if (top > 0) {
+            count = entrances(top * this.numCols + left, 1, -this.numCols, right - left, found, count);
+        }
+        if (bottom < this.numRows) {
+            count = entrances((bottom - 1) * this.numCols + left, 1, this.numCols, right - left, found, count);
+        }
+        if (left > 0) {
+            count = entrances(top * this.numCols + left, this.numCols, -1, bottom - top, found, count);
+        }
+        if (right < this.numCols) {
+            count = entrances(top * this.numCols + right - 1, this.numCols, 1, bottom - top, found, count);
+        }
+        // a corner cell can be an entrance of two borders
+        int[] sorted = Arrays.stream(found, 0, count).sorted().distinct().toArray();
+        int n = sorted.length;
+        int[] distances = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            int[] reached = distances(k, sorted[i]);
+            for (int j = 0; j < n; j++) {
+                distances[i * n + j] = reached[local(k, sorted[j])];
+            }
+        }
+        return new Cluster(sorted, distances);
+    }
+
+    /**
+     * Places the entrances along one border of a cluster.
+     *
+     * @param first  The first cell of the border inside the cluster.
+     * @param stride The step between two cells of the border.
+     * @param across The step from a cell of the border to its neighbour in the other cluster.
+     * @param length The number of cells of the border.
+     * @param found  Receives the entrances inside the cluster.
+     * @param count  The number of entrances already found.
+     * @return The new number of entrances found.
+     */
+    private int entrances(int first, int stride, int across, int length, int[] found, int count) {
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int cell = first + i * stride;
+            boolean passable = i < length && isOpen(cell) && isOpen(cell + across);
+            if (passable && runStart < 0) {
+                runStart = i;
+            } else if (!passable && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 < LONG_RUN) {
+                    found[count++] = first + ((runStart + runEnd) / 2) * stride;
+                } else {
+                    found[count++] = first + runStart * stride;
+                    found[count++] = first + runEnd * stride;
+                }
+                runStart = -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs a breadth first search from a cell which stays inside its cluster.
+     *
+     * @param k      The cluster.
+     * @param source The cell to search from.
+     * @return The distance to every cell of the cluster, indexed by local, or -1 if it can't be reached.
+     */
+    private int[] distances(int k, int source) {
+        return localSearch(k, source, null);
+    }
+
+    /**
+     * Appends the shortest path inside a cluster between two of its cells, without the first cell.
+     *
+     * @param k    The cluster.
+     * @param from The first cell.
+     * @param to   The last cell.
+     * @param path The number of cells followed by the cells, which the path is appended to.
+     */
+    private void appendLocalPath(int k, int from, int to, int[] path) {
+        if (from == to) {
+            return;
+        }
+        int width = clusterRight(k) - clusterLeft(k);
+        int[] parents = new int[clusterArea(k)];
+        localSearch(k, from, parents);
+        int length = 0;
+        for (int at = local(k, to); at != local(k, from); at = parents[at]) {
+            length++;
+        }
+        int at = local(k, to);
+        for (int i = length; i > 0; i--) {
+            path[path[0] + i] = (clusterTop(k) + at / width) * this.numCols + clusterLeft(k) + at % width;
+            at = parents[at];
+        }
+        path[0] += length;
+    }
+
+    /**
+     * Runs a breadth first search from a cell which stays inside its cluster.
+     *
+     * @param k       The cluster.
+     * @param source  The cell to search from.
+     * @param parents Receives the local index of the parent of every reached cell, or null.
+     * @return The distance to every cell of the cluster, indexed by local, or -1 if it can't be reached.
+     */
+    private int[] localSearch(int k, int source, int[] parents) {
+        int top = clusterTop(k);
+        int left = clusterLeft(k);
+        int height = clusterBottom(k) - top;
+        int width = clusterRight(k) - left;
+        int[] distance = new int[height * width];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[height * width];
+        int head = 0;
+        int tail = 0;
+        int first = local(k, source);
+        distance[first] = 0;
+        queue[tail++] = first;
+        while (head < tail) {
+            int at = queue[head++];
+            int row = at / width;
+            int col = at % width;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nextRow < 0 || nextRow >= height || nextCol < 0 || nextCol >= width) {
+                    continue;
+                }
+                int next = nextRow * width + nextCol;
+                if (distance[next] >= 0 || !isOpen((top + nextRow) * this.numCols + left + nextCol)) {
+                    continue;
+                }
+                distance[next] = distance[at] + 1;
+                if (parents != null) {
+                    parents[next] = at;
+                }
+                queue[tail++] = next;
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Gets the cluster of a cell.
+     *
+     * @param cell The cell.
+     * @return The cluster.
+     */
+    private int clusterOf(int cell) {
+        return (cell / this.numCols / this.clusterSize) * this.clusterCols
+                + (cell % this.numCols) / this.clusterSize;
+    }
+
+    /**
+     * Gets the index of a cell inside its cluster.
+     *
+     * @param k    The cluster of the cell.
+     * @param cell The cell.
+     * @return The row within the cluster times the cluster width plus the column within the cluster.
+     */
+    private int local(int k, int cell) {
+        int width = clusterRight(k) - clusterLeft(k);
+        return (cell / this.numCols - clusterTop(k)) * width + cell % this.numCols - clusterLeft(k);
+    }
+
+    /**
+     * Gets the first row of a cluster.
+     *
+     * @param k The cluster.
+     * @return The row.
+     */
+    private int clusterTop(int k) {
+        return (k / this.clusterCols) * this.clusterSize;
+    }
+
+    /**
+     * Gets the row after the last row of a cluster.
+     *
+     * @param k The cluster.
+     * @return The row.
+     */
+    private int clusterBottom(int k) {
+        return Math.min(clusterTop(k) + this.clusterSize, this.numRows);
+    }
+
+    /**
+     * Gets the first column of a cluster.
+     *
+     * @param k The cluster.
+     * @return The column.
+     */
+    private int clusterLeft(int k) {
+        return (k % this.clusterCols) * this.clusterSize;
+    }
+
+    /**
+     * Gets the column after the last column of a cluster.
+     *
+     * @param k The cluster.
+     * @return The column.
+     */
+    private int clusterRight(int k) {
+        return Math.min(clusterLeft(k) + this.clusterSize, this.numCols);
+    }
+
+    /**
+     * Gets the number of cells of a cluster.
+     *
+     * @param k The cluster.
+     * @return The number of cells.
+     */
+    private int clusterArea(int k) {
+        return (clusterBottom(k) - clusterTop(k)) * (clusterRight(k) - clusterLeft(k));
+    }
+
+    /**
+     * Gets the Manhattan distance from a cell to the end.
+     *
+     * @param cell   The cell.
+     * @param endRow The row of the end.
+     * @param endCol The column of the end.
+     * @return The distance.
+     */
+    private int estimate(int cell, int endRow, int endCol) {
+        return Math.abs(cell / this.numCols - endRow) + Math.abs(cell % this.numCols - endCol);
+    }
+
+    /**
+     * Gets the neighbour of a cell.
+     *
+     * @param cell      The cell.
+     * @param direction The direction: 0 up, 1 down, 2 left, 3 right.
+     * @return The neighbouring cell, or -1 if it is outside the maze.
+     */
+    private int step(int cell, int direction) {
+        switch (direction) {
+            case 0:
+                return cell >= this.numCols ? cell - this.numCols : -1;
+            case 1:
+                return cell < (this.numRows - 1) * this.numCols ? cell + this.numCols : -1;
+            case 2:
+                return cell % this.numCols > 0 ? cell - 1 : -1;
+            default:
+                return cell % this.numCols < this.numCols - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Checks whether a cell is open.
+     *
+     * @param cell The cell.
+     * @return true if the cell is open.
+     */
+    private boolean isOpen(int cell) {
+        return (this.open[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * The entrances of a cluster and the distances between them inside the cluster.
+     */
+    private static final class Cluster {
+        private final int[] entrances;
+        // the distance from entrance i to entrance j at i * entrances.length + j, -1 if unreachable
+        private final int[] distances;
+
+        /**
+         * Creates a cluster.
+         *
+         * @param entrances The sorted entrance cells.
+         * @param distances The distances between them.
+         */
+        private Cluster(int[] entrances, int[] distances) {
+            this.entrances = entrances;
+            this.distances = distances;
+        }
+    }
+
+    /**
+     * The cost and parent of every entrance reached by a query, in an open addressing hash table,
+     * as a query only reaches a small part of a huge maze.
+     */
+    private static final class Scores {
+        private int[] keys = emptyKeys(64);
+        private int[] costs = new int[64];
+        private int[] parents = new int[64];
+        private int size;
+
+        /**
+         * Gets the cost of an entrance.
+         *
+         * @param cell The entrance.
+         * @return The cost, or Integer.MAX_VALUE if it wasn't reached.
+         */
+        private int cost(int cell) {
+            int slot = slot(cell);
+            return this.keys[slot] == cell ? this.costs[slot] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * Gets the parent of a reached entrance.
+         *
+         * @param cell The entrance.
+         * @return The parent, or -1 for an entrance reached straight from the start.
+         */
+        private int parent(int cell) {
+            return this.parents[slot(cell)];
+        }
+
+        /**
+         * Sets the cost and parent of an entrance.
+         *
+         * @param cell   The entrance.
+         * @param cost   The cost.
+         * @param parent The parent, or -1.
+         */
+        private void put(int cell, int cost, int parent) {
+            if ((this.size + 1) * 2 > this.keys.length) {
+                grow();
+            }
+            int slot = slot(cell);
+            if (this.keys[slot] != cell) {
+                this.keys[slot] = cell;
+                this.size++;
+            }
+            this.costs[slot] = cost;
+            this.parents[slot] = parent;
+        }
+
+        /**
+         * Finds the slot of an entrance, or the empty slot it would go in.
+         *
+         * @param cell The entrance.
+         * @return The slot.
+         */
+        private int slot(int cell) {
+            int mask = this.keys.length - 1;
+            int hash = cell * 0x9E3779B1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (this.keys[slot] != -1 && this.keys[slot] != cell) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the table.
+         */
+        private void grow() {
+            int[] oldKeys = this.keys;
+            int[] oldCosts = this.costs;
+            int[] oldParents = this.parents;
+            this.keys = emptyKeys(oldKeys.length * 2);
+            this.costs = new int[oldKeys.length * 2];
+            this.parents = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1) {
+                    int slot = slot(oldKeys[i]);
+                    this.keys[slot] = oldKeys[i];
+                    this.costs[slot] = oldCosts[i];
+                    this.parents[slot] = oldParents[i];
+                }
+            }
+        }
+
+        /**
+         * Creates a table without keys.
+         *
+         * @param length The length of the table, a power of two.
+         * @return The table.
+         */
+        private static int[] emptyKeys(int length) {
+            int[] keys = new int[length];
+            Arrays.fill(keys, -1);
+            return keys;
+        }
+    }
+}
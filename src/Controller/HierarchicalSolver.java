@@ -0,0 +1,66 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGrid;
+
+/**
+ * Solves a maze with a hierarchical pathfinding index, which finds paths at
+ * most a few moves longer than the shortest ones. Building the index costs a
+ * few breadth first searches per cluster, but every further query on the same
+ * maze only searches the entrances of the clusters and refines the result
+ * inside the clusters it passes through. The indexes of the most recently
+ * solved mazes are cached by their layout, shared by every instance.
+ * Walls edited with setWall only rebuild the clusters around them.
+ */
+public class HierarchicalSolver extends GridSolver {
+
+    // the number of rows and columns of a cluster
+    private static final int CLUSTER_SIZE = 32;
+
+    private static final LayoutCache<HierarchicalIndex> CACHE = new LayoutCache<>(16,
+            (numRows, numCols, open) -> new HierarchicalIndex(numRows, numCols, open, CLUSTER_SIZE));
+
+    @Override
+    public String getName() {
+        return "hpa";
+    }
+
+    @Override
+    public boolean isShortestPath() {
+        return false;
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        return indexOf(grid).findPath(start, end, context);
+    }
+
+    /**
+     * Turns a cell of a maze into a wall or into plain path, as Maze.setWall does,
+     * and moves the cached index of the maze to the new layout by rebuilding only
+     * the clusters the cell affects, rather than the whole index on the next solve.
+     *
+     * @param maze The maze.
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @param wall true to make the cell a wall, false to make it plain path.
+     * @throws IllegalArgumentException If the cell is the player's or an end of the maze.
+     */
+    public static void setWall(Maze maze, int row, int col, boolean wall) {
+        boolean changed = maze.isValidMove(row, col) == wall;
+        maze.setWall(row, col, wall);
+        if (changed) {
+            CACHE.update(maze, row, col, index -> index.setWall(row, col, wall));
+        }
+    }
+
+    /**
+     * Gets the hierarchical index of a maze from the cache, building it if it isn't there.
+     *
+     * @param grid The maze layout.
+     * @return The index.
+     */
+    HierarchicalIndex indexOf(MazeGrid grid) {
+        return CACHE.get(grid, getMetrics(), getName());
+    }
+}
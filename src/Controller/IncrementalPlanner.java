@@ -0,0 +1,427 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a shortest path of a maze whose walls change while it is being used,
+ * repairing the path after each change instead of searching again, with the
+ * D* Lite algorithm.
+ * <p>
+ * The planner searches backwards from the exits, so every cell it has settled
+ * knows its distance to the nearest exit. A change of a wall only disturbs the
+ * distances through that cell: the cell and its neighbours have their one step
+ * lookahead recomputed and are queued if it no longer matches, and the next
+ * query reprocesses outwards from them only as far as the change affects the
+ * path from the start. Moving the start, e.g. as the player walks, keeps every
+ * distance and only raises the priorities of queued cells by how far it moved.
+ * </p>
+ * The planner keeps its own copy of the open cells, so walls are changed with
+ * setWall and not on the grid it was made from. Every method is synchronized,
+ * as queries update the planner too.
+ */
+public class IncrementalPlanner {
+
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    private final int numRows;
+    private final int numCols;
+    private final long[] open;
+    private final long[] goals;
+    // the distance to the nearest exit as settled so far, and the one step lookahead of it
+    private final int[] distance;
+    private final int[] lookahead;
+    // the key each cell is queued with, -1 if it isn't; older heap entries are skipped
+    private final long[] queuedKey;
+    private final CellHeap heap = new CellHeap();
+    private int start;
+    // added to every key, so that moving the start doesn't need the queue reordered
+    private int keyOffset;
+    private long lastExpanded;
+    private long expanded;
+
+    /**
+     * Creates a planner, which searches lazily on the first query.
+     *
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @param open    The open cells as a bit set indexed by row * numCols + col, which is copied.
+     * @param start   The start cell as row * numCols + col.
+     * @param exits   The exit cells as row * numCols + col.
+     */
+    public IncrementalPlanner(int numRows, int numCols, long[] open, int start, int[] exits) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.open = open.clone();
+        this.goals = new long[open.length];
+        int cells = numRows * numCols;
+        this.distance = new int[cells];
+        this.lookahead = new int[cells];
+        this.queuedKey = new long[cells];
+        Arrays.fill(this.distance, INFINITE);
+        Arrays.fill(this.lookahead, INFINITE);
+        Arrays.fill(this.queuedKey, -1);
+        this.start = start;
+        for (int exit : exits) {
+            this.goals[exit >>> 6] |= 1L << exit;
+            if (isOpen(exit)) {
+                this.lookahead[exit] = 0;
+                queue(exit);
+            }
+        }
+    }
+
+    /**
+     * Creates a planner for the current walls of a maze.
+     *
+     * @param grid  The maze layout.
+     * @param start The start cell as row * numCols + col.
+     * @param exits The exit cells as row * numCols + col.
+     * @return The planner.
+     */
+    public static IncrementalPlanner of(MazeGrid grid, int start, int[] exits) {
+        return new IncrementalPlanner(grid.getNumRows(), grid.getNumCols(), LayoutCache.pack(grid), start, exits);
+    }
+
+    /**
+     * Gets the number of columns of the maze, to turn cells into rows and columns.
+     *
+     * @return The number of columns.
+     */
+    public int getNumCols() {
+        return this.numCols;
+    }
+
+    /**
+     * Gets the start cell.
+     *
+     * @return The start cell as row * numCols + col.
+     */
+    public synchronized int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Moves the start, e.g. to where the player has walked to.
+     *
+     * @param start The new start cell as row * numCols + col.
+     */
+    public synchronized void setStart(int start) {
+        this.keyOffset += estimate(this.start, start);
+        this.start = start;
+    }
+
+    /**
+     * Checks whether a cell is a wall in the planner's copy of the maze.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if the cell is a wall.
+     */
+    public synchronized boolean isWall(int row, int col) {
+        return !isOpen(row * this.numCols + col);
+    }
+
+    /**
+     * Checks whether a cell is one of the exits the planner heads for.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return true if the cell is an exit.
+     */
+    public synchronized boolean isExit(int row, int col) {
+        int cell = row * this.numCols + col;
+        return (this.goals[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Turns a cell into a wall or into an open cell. The path is repaired on the next query.
+     *
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @param wall true to make the cell a wall, false to open it.
+     */
+    public synchronized void setWall(int row, int col, boolean wall) {
+        if (row < 0 || row >= this.numRows || col < 0 || col >= this.numCols) {
+            throw new IndexOutOfBoundsException("Cell " + row + "," + col + " is outside the maze");
+        }
+        int cell = row * this.numCols + col;
+        if (isOpen(cell) != wall) {
+            return;
+        }
+        this.open[cell >>> 6] ^= 1L << cell;
+        // only the cell's own lookahead and its neighbours' can depend on it
+        relax(cell);
+        if (row > 0) {
+            relax(cell - this.numCols);
+        }
+        if (row < this.numRows - 1) {
+            relax(cell + this.numCols);
+        }
+        if (col > 0) {
+            relax(cell - 1);
+        }
+        if (col < this.numCols - 1) {
+            relax(cell + 1);
+        }
+    }
+
+    /**
+     * Finds a shortest path from the start to the nearest exit, first repairing
+     * the distances disturbed since the last query.
+     *
+     * @return The cells of the path from start to exit inclusive, null if no exit can be reached.
+     */
+    public synchronized int[] findPath() {
+        return findPath(new SearchContext(null));
+    }
+
+    /**
+     * Finds a shortest path from the start to the nearest exit, first repairing
+     * the distances disturbed since the last query.
+     *
+     * @param context The search context counting the cells reprocessed.
+     * @return The cells of the path from start to exit inclusive, null if no exit can be reached.
+     */
+    public synchronized int[] findPath(SearchContext context) {
+        this.lastExpanded = 0;
+        if (!isOpen(this.start)) {
+            return null;
+        }
+        repair(context);
+        if (this.distance[this.start] == INFINITE) {
+            return null;
+        }
+        // every step goes to the neighbour nearest an exit, which is one move nearer
+        int[] path = new int[this.distance[this.start] + 1];
+        int cell = this.start;
+        path[0] = cell;
+        for (int i = 1; i < path.length; i++) {
+            int row = cell / this.numCols;
+            int col = cell % this.numCols;
+            int best = -1;
+            int bestDistance = INFINITE;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nextRow < 0 || nextRow >= this.numRows || nextCol < 0 || nextCol >= this.numCols) {
+                    continue;
+                }
+                int next = nextRow * this.numCols + nextCol;
+                if (isOpen(next) && this.distance[next] < bestDistance) {
+                    best = next;
+                    bestDistance = this.distance[next];
+                }
+            }
+            cell = best;
+            path[i] = cell;
+        }
+        return path;
+    }
+
+    /**
+     * Gets the number of cells reprocessed by the last query.
+     *
+     * @return The number of cells.
+     */
+    public synchronized long getLastExpanded() {
+        return this.lastExpanded;
+    }
+
+    /**
+     * Gets the number of cells reprocessed by every query so far.
+     *
+     * @return The number of cells.
+     */
+    public synchronized long getExpanded() {
+        return this.expanded;
+    }
+
+    /**
+     * Processes queued cells in order of key until the start's distance is settled.
+     *
+     * @param context The search context counting the cells processed.
+     */
+    private void repair(SearchContext context) {
+        while (this.heap.size() > 0) {
+            long top = this.heap.peekKey();
+            if (top >= key(this.start) && this.lookahead[this.start] == this.distance[this.start]) {
+                break;
+            }
+            context.frontier(this.heap.size());
+            int cell = this.heap.pop();
+            if (this.queuedKey[cell] != top) {
+                // queued again with another key or no longer inconsistent
+                continue;
+            }
+            this.queuedKey[cell] = -1;
+            long current = key(cell);
+            if (top < current) {
+                // queued before the start moved, so its key was too low
+                queue(cell);
+                continue;
+            }
+            context.expand(cell);
+            this.lastExpanded++;
+            this.expanded++;
+            int row = cell / this.numCols;
+            int col = cell % this.numCols;
+            if (this.distance[cell] > this.lookahead[cell]) {
+                // the cell got nearer an exit, which can only bring its neighbours nearer
+                this.distance[cell] = this.lookahead[cell];
+                int through = this.distance[cell] + 1;
+                if (row > 0) {
+                    lower(cell - this.numCols, through);
+                }
+                if (row < this.numRows - 1) {
+                    lower(cell + this.numCols, through);
+                }
+                if (col > 0) {
+                    lower(cell - 1, through);
+                }
+                if (col < this.numCols - 1) {
+                    lower(cell + 1, through);
+                }
+            } else {
+                // the cell got further from an exit, so neighbours which went through it look again
+                int through = this.distance[cell] + 1;
+                this.distance[cell] = INFINITE;
+                relax(cell);
+                if (row > 0) {
+                    raise(cell - this.numCols, through);
+                }
+                if (row < this.numRows - 1) {
+                    raise(cell + this.numCols, through);
+                }
+                if (col > 0) {
+                    raise(cell - 1, through);
+                }
+                if (col < this.numCols - 1) {
+                    raise(cell + 1, through);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lowers the lookahead of a cell to a distance through a neighbour, if that is nearer.
+     *
+     * @param cell    The cell.
+     * @param through The distance through the neighbour.
+     */
+    private void lower(int cell, int through) {
+        if (isOpen(cell) && through < this.lookahead[cell]) {
+            this.lookahead[cell] = through;
+            queue(cell);
+        }
+    }
+
+    /**
+     * Recomputes the lookahead of a cell which may have gone through a neighbour that got further away.
+     *
+     * @param cell    The cell.
+     * @param through The distance through the neighbour before it got further away.
+     */
+    private void raise(int cell, int through) {
+        if (this.lookahead[cell] == through) {
+            relax(cell);
+        }
+    }
+
+    /**
+     * Recomputes the lookahead of a cell from its neighbours and queues it if it is inconsistent.
+     *
+     * @param cell The cell.
+     */
+    private void relax(int cell) {
+        int best = INFINITE;
+        if (isOpen(cell)) {
+            if ((this.goals[cell >>> 6] & (1L << cell)) != 0) {
+                best = 0;
+            } else {
+                int row = cell / this.numCols;
+                int col = cell % this.numCols;
+                if (row > 0) {
+                    best = Math.min(best, through(cell - this.numCols));
+                }
+                if (row < this.numRows - 1) {
+                    best = Math.min(best, through(cell + this.numCols));
+                }
+                if (col > 0) {
+                    best = Math.min(best, through(cell - 1));
+                }
+                if (col < this.numCols - 1) {
+                    best = Math.min(best, through(cell + 1));
+                }
+            }
+        }
+        this.lookahead[cell] = best;
+        queue(cell);
+    }
+
+    /**
+     * Gets the distance to an exit through a neighbour.
+     *
+     * @param neighbour The neighbour.
+     * @return One more than the neighbour's distance, or INFINITE if it is a wall or has none.
+     */
+    private int through(int neighbour) {
+        return isOpen(neighbour) && this.distance[neighbour] != INFINITE ? this.distance[neighbour] + 1 : INFINITE;
+    }
+
+    /**
+     * Queues a cell with its current key if its distance and lookahead differ,
+     * otherwise takes it out of the queue.
+     *
+     * @param cell The cell.
+     */
+    private void queue(int cell) {
+        if (this.distance[cell] == this.lookahead[cell]) {
+            this.queuedKey[cell] = -1;
+            return;
+        }
+        long key = key(cell);
+        if (this.queuedKey[cell] != key) {
+            this.queuedKey[cell] = key;
+            this.heap.push(key, cell);
+        }
+    }
+
+    /**
+     * Works out the priority of a cell: the estimated length of the path from
+     * the start through it, then its own distance to break ties.
+     *
+     * @param cell The cell.
+     * @return The key, with the estimate in the high half and the distance in the low half.
+     */
+    private long key(int cell) {
+        int known = Math.min(this.distance[cell], this.lookahead[cell]);
+        if (known == INFINITE) {
+            return Long.MAX_VALUE;
+        }
+        return (long) (known + estimate(this.start, cell) + this.keyOffset) << 32 | known;
+    }
+
+    /**
+     * Estimates the number of moves between two cells with their Manhattan distance.
+     *
+     * @param from The first cell.
+     * @param to   The second cell.
+     * @return The estimate.
+     */
+    private int estimate(int from, int to) {
+        return Math.abs(from / this.numCols - to / this.numCols) + Math.abs(from % this.numCols - to % this.numCols);
+    }
+
+    /**
+     * Checks whether a cell is open.
+     *
+     * @param cell The cell.
+     * @return true if the cell is not a wall.
+     */
+    private boolean isOpen(int cell) {
+        return (this.open[cell >>> 6] & (1L << cell)) != 0;
+    }
+}
@@ -0,0 +1,559 @@
+package Controller;
+
+import Model.CellSet;
+
+import java.util.Arrays;
+
+/**
+ * A maze reduced to a graph of its junctions, which paths can be found on
+ * far faster than on the cells themselves.
+ * <p>
+ * Building the graph first fills the dead ends: every open cell with at most
+ * one open neighbour is filled, which may turn its neighbour into a dead end,
+ * until only loops and the corridors between them remain. Each filled cell
+ * remembers the direction of the neighbour that was left when it was filled,
+ * so the filled cells form trees hanging off the remaining cells. The remaining
+ * cells with other than two remaining neighbours become the nodes, and each
+ * corridor between two of them becomes one edge weighted by its length.
+ * A loop without any junction gets one of its cells as its node.
+ * </p>
+ * A path is found by climbing the filled trees from the start and the end up
+ * to the remaining cells, searching the graph with A* between the
+ * corridors those cells lie on, and walking the corridors again
+ * to expand the edges back into cells. The graph doesn't depend on the start
+ * and end, so one graph answers every query on the same maze and is safe
+ * to share between threads.
+ */
+public class JunctionGraph {
+
+    // the exit of a cell which was not filled
+    private static final byte KEPT = -1;
+    // the exit of the last filled cell of a part of the maze without loops
+    private static final byte ROOT = 4;
+
+    private final int numRows;
+    private final int numCols;
+    private final long[] open;
+    // for filled cells the direction of the neighbour left when they were filled: 0 up, 1 down, 2 left, 3 right
+    private final byte[] exit;
+    private final long[] nodes;
+    private final int[] nodeCells;
+    // the edges leaving node i are edgeStart[i] up to edgeStart[i + 1]
+    private final int[] edgeStart;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] edgeLength;
+    private final byte[] edgeDirection;
+    private final int filled;
+
+    /**
+     * Builds the junction graph of a maze.
+     *
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @param open    The open cells as a bit set indexed by row * numCols + col, which is kept, not copied.
+     */
+    public JunctionGraph(int numRows, int numCols, long[] open) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.open = open;
+        int cells = numRows * numCols;
+        this.exit = new byte[cells];
+        Arrays.fill(this.exit, KEPT);
+
+        // fills the dead ends, keeping the number of remaining neighbours of every cell
+        byte[] degree = new byte[cells];
+        int[] stack = new int[64];
+        int top = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (!isOpen(cell)) {
+                continue;
+            }
+            for (int d = 0; d < 4; d++) {
+                int next = step(cell, d);
+                if (next >= 0 && isOpen(next)) {
+                    degree[cell]++;
+                }
+            }
+            if (degree[cell] <= 1) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = cell;
+            }
+        }
+        int filledCells = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            byte out = ROOT;
+            for (int d = 0; d < 4; d++) {
+                int next = step(cell, d);
+                if (next >= 0 && isKept(next)) {
+                    out = (byte) d;
+                    if (--degree[next] == 1) {
+                        if (top == stack.length) {
+                            stack = Arrays.copyOf(stack, top * 2);
+                        }
+                        stack[top++] = next;
+                    }
+                }
+            }
+            this.exit[cell] = out;
+            filledCells++;
+        }
+        this.filled = filledCells;
+
+        // junctions and the ends of corridors become nodes, then one cell of every loop left without one
+        this.nodes = new long[(cells + 63) >>> 6];
+        for (int cell = 0; cell < cells; cell++) {
+            if (isKept(cell) && degree[cell] != 2) {
+                this.nodes[cell >>> 6] |= 1L << cell;
+            }
+        }
+        long[] traced = new long[this.nodes.length];
+        int[] walked = new int[4];
+        for (int cell = 0; cell < cells; cell++) {
+            if (isNode(cell)) {
+                for (int d = 0; d < 4; d++) {
+                    int next = step(cell, d);
+                    if (next >= 0 && isKept(next)) {
+                        walk(cell, d, -1, traced, null, walked);
+                    }
+                }
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (isKept(cell) && !isNode(cell) && (traced[cell >>> 6] & (1L << cell)) == 0) {
+                this.nodes[cell >>> 6] |= 1L << cell;
+                walk(cell, corridorDirections(cell) & 3, -1, traced, null, walked);
+            }
+        }
+
+        int nodeCount = 0;
+        for (long word : this.nodes) {
+            nodeCount += Long.bitCount(word);
+        }
+        this.nodeCells = new int[nodeCount];
+        int index = 0;
+        for (int w = 0; w < this.nodes.length; w++) {
+            for (long bits = this.nodes[w]; bits != 0; bits &= bits - 1) {
+                this.nodeCells[index++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+
+        // one edge per corridor leaving a node, leaving out corridors which loop back to the same node
+        this.edgeStart = new int[nodeCount + 1];
+        int[] targets = new int[Math.max(4, nodeCount * 2)];
+        int[] lengths = new int[targets.length];
+        byte[] directions = new byte[targets.length];
+        int edges = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            this.edgeStart[i] = edges;
+            int cell = this.nodeCells[i];
+            for (int d = 0; d < 4; d++) {
+                int next = step(cell, d);
+                if (next < 0 || !isKept(next)) {
+                    continue;
+                }
+                walk(cell, d, -1, null, null, walked);
+                if (walked[0] == cell) {
+                    continue;
+                }
+                if (edges == targets.length) {
+                    targets = Arrays.copyOf(targets, edges * 2);
+                    lengths = Arrays.copyOf(lengths, edges * 2);
+                    directions = Arrays.copyOf(directions, edges * 2);
+                }
+                targets[edges] = Arrays.binarySearch(this.nodeCells, walked[0]);
+                lengths[edges] = walked[1];
+                directions[edges] = (byte) d;
+                edges++;
+            }
+        }
+        this.edgeStart[nodeCount] = edges;
+        this.edgeTarget = Arrays.copyOf(targets, edges);
+        this.edgeLength = Arrays.copyOf(lengths, edges);
+        this.edgeDirection = Arrays.copyOf(directions, edges);
+        this.edgeSource = new int[edges];
+        for (int i = 0; i < nodeCount; i++) {
+            Arrays.fill(this.edgeSource, this.edgeStart[i], this.edgeStart[i + 1], i);
+        }
+    }
+
+    /**
+     * Gets the number of nodes of the graph.
+     *
+     * @return The number of nodes.
+     */
+    public int getNodeCount() {
+        return this.nodeCells.length;
+    }
+
+    /**
+     * Gets the number of edges of the graph, counting each corridor once from either end.
+     *
+     * @return The number of directed edges.
+     */
+    public int getEdgeCount() {
+        return this.edgeTarget.length;
+    }
+
+    /**
+     * Gets the number of cells removed by dead-end filling.
+     *
+     * @return The number of filled cells.
+     */
+    public int getFilledCount() {
+        return this.filled;
+    }
+
+    /**
+     * Finds a path with the fewest moves between two open cells.
+     *
+     * @param start   The start cell as row * numCols + col.
+     * @param end     The end cell as row * numCols + col.
+     * @param context The context to report expanded nodes and frontier sizes to.
+     * @return The cells of the path from start to end inclusive, or null if there is none.
+     */
+    public int[] findPath(int start, int end, SearchContext context) {
+        int[] fromStart = climb(start);
+        int[] fromEnd = climb(end);
+        // if both climbs meet inside a filled tree the path between them is the only one
+        CellSet climbed = new CellSet();
+        for (int i = 1; i <= fromStart[0]; i++) {
+            climbed.add(fromStart[i]);
+        }
+        for (int j = 1; j <= fromEnd[0]; j++) {
+            if (climbed.contains(fromEnd[j])) {
+                int i = 1;
+                while (fromStart[i] != fromEnd[j]) {
+                    i++;
+                }
+                int[] path = new int[i + j - 1];
+                System.arraycopy(fromStart, 1, path, 0, i);
+                for (int k = 1; k < j; k++) {
+                    path[path.length - k] = fromEnd[k];
+                }
+                return path;
+            }
+        }
+        int first = fromStart[fromStart[0]];
+        int last = fromEnd[fromEnd[0]];
+        if (!isKept(first) || !isKept(last)) {
+            return null;
+        }
+        int[] core = searchCore(first, last, context);
+        if (core == null) {
+            return null;
+        }
+        int[] path = new int[fromStart[0] - 1 + core[0] + fromEnd[0] - 1];
+        System.arraycopy(fromStart, 1, path, 0, fromStart[0] - 1);
+        System.arraycopy(core, 1, path, fromStart[0] - 1, core[0]);
+        for (int k = 1; k < fromEnd[0]; k++) {
+            path[path.length - k] = fromEnd[k];
+        }
+        return path;
+    }
+
+    /**
+     * Climbs a filled tree from a cell up to the cell it hangs off.
+     *
+     * @param cell The open cell to climb from.
+     * @return The number of cells climbed followed by the cells, starting with the given one
+     * and ending with a remaining cell, or with the root if the tree hangs off nothing.
+     */
+    private int[] climb(int cell) {
+        int[] cells = new int[16];
+        int size = 0;
+        while (true) {
+            if (size + 1 == cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[++size] = cell;
+            byte out = this.exit[cell];
+            if (out == KEPT || out == ROOT) {
+                break;
+            }
+            cell = step(cell, out);
+        }
+        cells[0] = size;
+        return cells;
+    }
+
+    /**
+     * Finds a path with the fewest moves between two remaining cells through the graph,
+     * with an A* search guided by the Manhattan distance to the last cell, which no
+     * corridor can be shorter than. A cell inside a corridor enters the graph at both
+     * ends of it, with the length of the walk there as the starting cost.
+     *
+     * @param first   The first remaining cell.
+     * @param last    The last remaining cell.
+     * @param context The context to report expanded nodes and frontier sizes to.
+     * @return The number of cells followed by the cells from first to last inclusive, or null.
+     */
+    private int[] searchCore(int first, int last, SearchContext context) {
+        int[] walked = new int[4];
+        // the nodes a search starts from or ends at, with the cost and direction of the walk to them
+        int[] sources = new int[2];
+        int[] sourceCosts = new int[2];
+        int[] sourceDirections = new int[2];
+        int[] targets = new int[2];
+        int[] targetCosts = new int[2];
+        int[] targetDirections = new int[2];
+        int sourceCount = ends(first, last, sources, sourceCosts, sourceDirections, walked);
+        // a corridor holding both cells can be walked without touching a node
+        int best = walked[2];
+        int bestDirection = walked[3];
+        int targetCount = ends(last, -1, targets, targetCosts, targetDirections, walked);
+        int bestTarget = -1;
+
+        int nodeCount = this.nodeCells.length;
+        int[] distance = new int[nodeCount];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        // the edge each node was reached by, or -2 - source for the sources
+        int[] via = new int[nodeCount];
+        CellHeap heap = new CellHeap();
+        for (int s = 0; s < sourceCount; s++) {
+            if (sourceCosts[s] < distance[sources[s]]) {
+                distance[sources[s]] = sourceCosts[s];
+                via[sources[s]] = -2 - s;
+                heap.push((long) (sourceCosts[s] + estimate(sources[s], last)) << 32, sources[s]);
+            }
+        }
+        while (heap.size() > 0) {
+            context.frontier(heap.size());
+            int bound = (int) (heap.peekKey() >>> 32);
+            int node = heap.pop();
+            int cost = distance[node];
+            if (bound != cost + estimate(node, last)) {
+                // a cheaper way to this node was found after this entry was pushed
+                continue;
+            }
+            if (bound >= best) {
+                break;
+            }
+            context.expand(this.nodeCells[node]);
+            for (int t = 0; t < targetCount; t++) {
+                if (targets[t] == node && cost + targetCosts[t] < best) {
+                    best = cost + targetCosts[t];
+                    bestTarget = t;
+                }
+            }
+            for (int e = this.edgeStart[node]; e < this.edgeStart[node + 1]; e++) {
+                int next = this.edgeTarget[e];
+                int nextCost = cost + this.edgeLength[e];
+                if (nextCost < distance[next]) {
+                    distance[next] = nextCost;
+                    via[next] = e;
+                    heap.push((long) (nextCost + estimate(next, last)) << 32, next);
+                }
+            }
+        }
+        if (best == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        int[] path = new int[best + 2];
+        path[0] = 1;
+        path[1] = first;
+        if (bestTarget < 0) {
+            // both cells lie on one corridor
+            walk(first, bestDirection, last, null, path, walked);
+            return path;
+        }
+        // the edges from the target back to the source
+        int[] edges = new int[16];
+        int edgeCount = 0;
+        int node = targets[bestTarget];
+        while (via[node] >= 0) {
+            if (edgeCount == edges.length) {
+                edges = Arrays.copyOf(edges, edgeCount * 2);
+            }
+            edges[edgeCount++] = via[node];
+            node = this.edgeSource[via[node]];
+        }
+        int source = -2 - via[node];
+        if (sourceDirections[source] >= 0) {
+            walk(first, sourceDirections[source], -1, null, path, walked);
+        }
+        for (int k = edgeCount - 1; k >= 0; k--) {
+            int e = edges[k];
+            walk(this.nodeCells[this.edgeSource[e]], this.edgeDirection[e], -1, null, path, walked);
+        }
+        if (targetDirections[bestTarget] >= 0) {
+            // the corridor from the last cell to its node, walked forwards and written backwards
+            int[] tail = new int[targetCosts[bestTarget] + 1];
+            walk(last, targetDirections[bestTarget], -1, null, tail, walked);
+            for (int k = tail[0] - 1; k >= 1; k--) {
+                path[++path[0]] = tail[k];
+            }
+            path[++path[0]] = last;
+        }
+        return path;
+    }
+
+    /**
+     * Finds the nodes a remaining cell enters the graph at: the cell itself if it is
+     * a node, otherwise the nodes at both ends of its corridor.
+     *
+     * @param cell       The remaining cell.
+     * @param watch      Another cell to look for along the corridor, or -1.
+     * @param nodes      Receives the node indexes.
+     * @param costs      Receives the lengths of the walks to them.
+     * @param directions Receives the directions of the walks, or -1 for the cell itself.
+     * @param walked     A scratch array for the walks, walked[2] and walked[3] receiving the length
+     *                   and direction of a walk along the corridor to the watched cell, or
+     *                   Integer.MAX_VALUE and -1 if it isn't on the corridor.
+     * @return The number of nodes.
+     */
+    private int ends(int cell, int watch, int[] nodes, int[] costs, int[] directions, int[] walked) {
+        int direct = Integer.MAX_VALUE;
+        int directDirection = -1;
+        int count;
+        if (isNode(cell)) {
+            nodes[0] = Arrays.binarySearch(this.nodeCells, cell);
+            costs[0] = 0;
+            directions[0] = -1;
+            count = 1;
+        } else {
+            int corridor = corridorDirections(cell);
+            for (count = 0; count < 2; count++) {
+                int direction = (corridor >>> (count << 1)) & 3;
+                walk(cell, direction, watch, null, null, walked);
+                if (walked[0] == watch && !isNode(watch) && walked[1] < direct) {
+                    direct = walked[1];
+                    directDirection = direction;
+                    walk(cell, direction, -1, null, null, walked);
+                }
+                nodes[count] = Arrays.binarySearch(this.nodeCells, walked[0]);
+                costs[count] = walked[1];
+                directions[count] = direction;
+            }
+        }
+        walked[2] = direct;
+        walked[3] = directDirection;
+        return count;
+    }
+
+    /**
+     * Gets the Manhattan distance from a node to a cell.
+     *
+     * @param node The index of the node.
+     * @param cell The cell.
+     * @return The distance.
+     */
+    private int estimate(int node, int cell) {
+        int nodeCell = this.nodeCells[node];
+        return Math.abs(nodeCell / this.numCols - cell / this.numCols)
+                + Math.abs(nodeCell % this.numCols - cell % this.numCols);
+    }
+
+    /**
+     * Gets the directions of the remaining neighbours of a corridor cell.
+     *
+     * @param cell The corridor cell.
+     * @return The first direction in bits 0 and 1 and the second in bits 2 and 3.
+     */
+    private int corridorDirections(int cell) {
+        int found = 0;
+        int shift = 0;
+        for (int d = 0; d < 4; d++) {
+            int next = step(cell, d);
+            if (next >= 0 && isKept(next)) {
+                found |= d << shift;
+                shift += 2;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Walks along a corridor from a cell until it reaches a node or the watched cell.
+     *
+     * @param from      The cell to walk from.
+     * @param direction The direction of the first step.
+     * @param watch     A cell to stop at, or -1.
+     * @param traced    A bit set to mark the cells walked through, or null.
+     * @param path      The number of cells followed by the cells, which the cells walked into
+     *                  are appended to, or null.
+     * @param walked    Receives the cell the walk stopped at and the number of steps taken.
+     */
+    private void walk(int from, int direction, int watch, long[] traced, int[] path, int[] walked) {
+        int cell = step(from, direction);
+        int length = 1;
+        while (true) {
+            if (path != null) {
+                path[++path[0]] = cell;
+            }
+            if (cell == watch || isNode(cell)) {
+                break;
+            }
+            if (traced != null) {
+                traced[cell >>> 6] |= 1L << cell;
+            }
+            // a corridor cell has exactly one remaining neighbour besides the one walked in from
+            int back = direction ^ 1;
+            for (int d = 0; d < 4; d++) {
+                int next = d == back ? -1 : step(cell, d);
+                if (next >= 0 && isKept(next)) {
+                    direction = d;
+                    cell = next;
+                    break;
+                }
+            }
+            length++;
+        }
+        walked[0] = cell;
+        walked[1] = length;
+    }
+
+    /**
+     * Gets the neighbour of a cell.
+     *
+     * @param cell      The cell.
+     * @param direction The direction: 0 up, 1 down, 2 left, 3 right.
+     * @return The neighbouring cell, or -1 if it is outside the maze.
+     */
+    private int step(int cell, int direction) {
+        switch (direction) {
+            case 0:
+                return cell >= this.numCols ? cell - this.numCols : -1;
+            case 1:
+                return cell < (this.numRows - 1) * this.numCols ? cell + this.numCols : -1;
+            case 2:
+                return cell % this.numCols > 0 ? cell - 1 : -1;
+            default:
+                return cell % this.numCols < this.numCols - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Checks whether a cell is open.
+     *
+     * @param cell The cell.
+     * @return true if the cell is open.
+     */
+    private boolean isOpen(int cell) {
+        return (this.open[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Checks whether a cell is open and was not filled.
+     *
+     * @param cell The cell.
+     * @return true if the cell remains.
+     */
+    private boolean isKept(int cell) {
+        return isOpen(cell) && this.exit[cell] == KEPT;
+    }
+
+    /**
+     * Checks whether a cell is a node of the graph.
+     *
+     * @param cell The cell.
+     * @return true if the cell is a node.
+     */
+    private boolean isNode(int cell) {
+        return (this.nodes[cell >>> 6] & (1L << cell)) != 0;
+    }
+}
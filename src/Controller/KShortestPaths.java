@@ -0,0 +1,288 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the k shortest loopless paths between two cells of a maze with Yen's algorithm.
+ * <p>
+ * After the shortest path, each further path is found by branching off the
+ * previous one: for every cell of it, a search looks for the shortest way
+ * from that cell to the end which keeps to the same path up to the cell,
+ * doesn't touch it again, and doesn't leave the cell the way any path already
+ * found with the same beginning did. The shortest of all these candidates
+ * which hasn't been found yet comes next.
+ * </p>
+ * <p>
+ * The branch searches are A* searches guided by the exact number of moves from
+ * every cell to the end when nothing is blocked, found once per run by a
+ * breadth first search from the end. Blocking cells can only make the way
+ * longer, so the estimate never overshoots, and a branch which isn't hindered
+ * by the blocked cells goes straight to the end without spreading out.
+ * </p>
+ * A run makes one search per cell of every path found, so they all share one
+ * set of buffers, sized for the maze when the finder is made: cells are marked
+ * as seen or blocked by stamping them with the number of the search rather than
+ * clearing arrays. A finder is therefore not safe to use from several threads at once.
+ */
+public class KShortestPaths {
+
+    private final MazeGrid grid;
+    private final int numCols;
+    // pooled buffers shared by every search, cells count as marked when stamped with the current search
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] blocked;
+    private final int[] moves;
+    // the number of moves from every cell to the end when nothing is blocked, -1 if it can't be reached
+    private final int[] toEnd;
+    private final CellHeap heap = new CellHeap();
+    private int search;
+
+    /**
+     * Creates a finder for a maze.
+     *
+     * @param grid The maze layout.
+     */
+    public KShortestPaths(MazeGrid grid) {
+        this.grid = grid;
+        this.numCols = grid.getNumCols();
+        int cells = grid.getNumRows() * grid.getNumCols();
+        this.parent = new int[cells];
+        this.seen = new int[cells];
+        this.blocked = new int[cells];
+        this.moves = new int[cells];
+        this.toEnd = new int[cells];
+    }
+
+    /**
+     * Finds up to k shortest loopless paths between two cells, shortest first.
+     *
+     * @param start The start cell as row * numCols + col.
+     * @param end   The end cell as row * numCols + col.
+     * @param k     The largest number of paths to find.
+     * @return The cells of each path from start to end inclusive, fewer than k if there are no more paths.
+     */
+    public List<int[]> find(int start, int end, int k) {
+        List<int[]> found = new ArrayList<>();
+        if (k <= 0) {
+            return found;
+        }
+        distancesTo(end);
+        // the first search blocks nothing
+        this.search++;
+        int[] shortest = spur(start, end, 0, Integer.MAX_VALUE);
+        if (shortest == null) {
+            return found;
+        }
+        found.add(shortest);
+        PriorityQueue<int[]> candidates = new PriorityQueue<>((a, b) ->
+                a.length != b.length ? Integer.compare(a.length, b.length) : Arrays.compare(a, b));
+        HashSet<Path> known = new HashSet<>();
+        known.add(new Path(shortest));
+        // the longest candidate ever queued; once enough candidates are queued, longer ones are never needed
+        int longest = 0;
+
+        while (found.size() < k) {
+            int[] previous = found.get(found.size() - 1);
+            // how far each path found so far shares its beginning with the previous one
+            int[] shared = new int[found.size()];
+            for (int p = 0; p < found.size(); p++) {
+                int[] path = found.get(p);
+                int n = 0;
+                while (n < path.length && n < previous.length && path[n] == previous[n]) {
+                    n++;
+                }
+                shared[p] = n;
+            }
+            for (int i = 0; i < previous.length - 1; i++) {
+                int bound = candidates.size() >= k - found.size() ? longest : Integer.MAX_VALUE;
+                if (bound != Integer.MAX_VALUE && i + this.toEnd[previous[i]] + 1 > bound) {
+                    // even an unhindered branch would be too long
+                    continue;
+                }
+                this.search++;
+                // the root up to the spur cell can't be visited again
+                for (int j = 0; j < i; j++) {
+                    this.blocked[previous[j]] = this.search;
+                }
+                // nor can the spur cell be left the way a path with the same root left it
+                int leftWays = 0;
+                for (int p = 0; p < found.size(); p++) {
+                    if (shared[p] > i && found.get(p).length > i + 1) {
+                        leftWays |= 1 << direction(found.get(p)[i], found.get(p)[i + 1]);
+                    }
+                }
+                int[] branch = spur(previous[i], end, leftWays,
+                        bound == Integer.MAX_VALUE ? Integer.MAX_VALUE : bound - i - 1);
+                if (branch == null) {
+                    continue;
+                }
+                int[] path = new int[i + branch.length];
+                System.arraycopy(previous, 0, path, 0, i);
+                System.arraycopy(branch, 0, path, i, branch.length);
+                if (known.add(new Path(path))) {
+                    candidates.add(path);
+                    longest = Math.max(longest, path.length);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            found.add(candidates.poll());
+        }
+        return found;
+    }
+
+    /**
+     * Works out the number of moves from every cell to the end with a breadth first search from the end.
+     *
+     * @param end The end cell.
+     */
+    private void distancesTo(int end) {
+        int numCols = this.numCols;
+        Arrays.fill(this.toEnd, -1);
+        // the parent buffer is free until the branch searches start, so it serves as the queue
+        int[] queue = this.parent;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = end;
+        this.toEnd[end] = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / numCols;
+            int col = cell % numCols;
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                int next = nextRow * numCols + nextCol;
+                if (this.grid.isValidMove(nextRow, nextCol) && this.toEnd[next] < 0) {
+                    this.toEnd[next] = this.toEnd[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the shortest path from a cell to the end with an A* search which
+     * avoids the cells blocked by the current search. The search must have been
+     * counted before, so that it has a stamp of its own.
+     *
+     * @param from     The cell to search from.
+     * @param end      The end cell.
+     * @param leftWays The directions which may not be taken from the first cell, a bit per direction.
+     * @param limit    The largest number of moves wanted.
+     * @return The cells of the path from the first cell to the end inclusive, null if there is none within the limit.
+     */
+    private int[] spur(int from, int end, int leftWays, int limit) {
+        if (this.toEnd[from] < 0) {
+            return null;
+        }
+        int stamp = this.search;
+        int numCols = this.numCols;
+        CellHeap heap = this.heap;
+        heap.clear();
+        this.seen[from] = stamp;
+        this.moves[from] = 0;
+        this.parent[from] = from;
+        heap.push(key(0, this.toEnd[from]), from);
+        while (heap.size() > 0) {
+            long key = heap.peekKey();
+            if ((key >>> 32) > limit) {
+                // every way left is longer than wanted
+                return null;
+            }
+            int cell = heap.pop();
+            if ((int) (0xFFFFFFFFL - (key & 0xFFFFFFFFL)) != this.moves[cell]) {
+                // a shorter way to this cell was found after this entry was pushed
+                continue;
+            }
+            if (cell == end) {
+                return GridSolver.tracePath(this.parent, from, end);
+            }
+            int row = cell / numCols;
+            int col = cell % numCols;
+            int through = this.moves[cell] + 1;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                if (cell == from && (leftWays & (1 << d)) != 0) {
+                    continue;
+                }
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!this.grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int next = nextRow * numCols + nextCol;
+                if (this.blocked[next] == stamp || this.toEnd[next] < 0
+                        || (this.seen[next] == stamp && this.moves[next] <= through)) {
+                    continue;
+                }
+                this.seen[next] = stamp;
+                this.moves[next] = through;
+                this.parent[next] = cell;
+                heap.push(key(through, this.toEnd[next]), next);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Works out the priority of a cell in a branch search: the estimated length
+     * of the branch through it, and among equal estimates the cell furthest
+     * along first, so that the search heads straight for the end.
+     *
+     * @param moves    The number of moves to the cell.
+     * @param estimate The number of moves from the cell to the end when nothing is blocked.
+     * @return The key.
+     */
+    private static long key(int moves, int estimate) {
+        return (long) (moves + estimate) << 32 | (0xFFFFFFFFL - moves);
+    }
+
+    /**
+     * Works out the direction of a move between two neighbouring cells.
+     *
+     * @param from The cell moved from.
+     * @param to   The cell moved to.
+     * @return 0 up, 1 down, 2 left or 3 right.
+     */
+    private int direction(int from, int to) {
+        int step = to - from;
+        return step == -this.numCols ? 0 : step == this.numCols ? 1 : step == -1 ? 2 : 3;
+    }
+
+    /**
+     * A path as a key of the set of paths already found.
+     */
+    private static final class Path {
+        private final int[] cells;
+        private final int hash;
+
+        /**
+         * Creates a key.
+         *
+         * @param cells The cells of the path, which are not copied.
+         */
+        Path(int[] cells) {
+            this.cells = cells;
+            this.hash = Arrays.hashCode(cells);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path && Arrays.equals(this.cells, ((Path) other).cells);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
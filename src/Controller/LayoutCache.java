@@ -0,0 +1,255 @@
+package Controller;
+
+import Model.MazeGrid;
+import Model.MazeLayout;
+import metrics.SolverMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A cache of structures built from the layout of a maze, such as a junction graph,
+ * keyed by the layout's open cells so that a maze parsed again for every query
+ * still finds what was built for it before. The key is a MazeLayout, whose rows
+ * are packed into words: a MazeLayout is its own key, and the key of a grid
+ * which counts its changes, such as a Maze, is kept until the grid changes,
+ * so that a hit on either doesn't look at every cell again. The least recently
+ * used entries are dropped once the cache is full. Lookups are reported to the
+ * solver metrics as hits and misses. Thread safe.
+ *
+ * @param <T> The type of the cached structures.
+ */
+final class LayoutCache<T> {
+
+    /**
+     * Builds the structure of a layout.
+     *
+     * @param <T> The type of the structure.
+     */
+    interface Factory<T> {
+
+        /**
+         * Builds the structure of a layout.
+         *
+         * @param numRows The number of rows.
+         * @param numCols The number of columns.
+         * @param open    The open cells as a bit set indexed by row * numCols + col, which must not be changed.
+         * @return The structure.
+         */
+        T build(int numRows, int numCols, long[] open);
+    }
+
+    private final Map<Layout, T> entries;
+    private final Factory<T> factory;
+    // the key last worked out for each grid which counts its changes
+    private final Map<MazeGrid, Snapshot> snapshots = new WeakHashMap<>();
+
+    /**
+     * Creates a cache.
+     *
+     * @param size    The number of structures to keep.
+     * @param factory Builds the structure of a layout which isn't cached.
+     */
+    LayoutCache(int size, Factory<T> factory) {
+        this.entries = new LinkedHashMap<>(size, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Layout, T> eldest) {
+                return size() > size;
+            }
+        };
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the structure of a maze from the cache, building it if it isn't there.
+     *
+     * @param grid    The maze layout.
+     * @param metrics The metrics to report the lookup to.
+     * @param solver  The name of the solver doing the lookup.
+     * @return The structure.
+     */
+    T get(MazeGrid grid, SolverMetrics metrics, String solver) {
+        Layout layout = new Layout(cellsOf(grid));
+        T value;
+        synchronized (this.entries) {
+            value = this.entries.get(layout);
+        }
+        if (value != null) {
+            metrics.recordCacheHit(solver);
+            return value;
+        }
+        metrics.recordCacheMiss(solver);
+        // built outside the lock, two threads missing at once just build the same structure twice
+        value = this.factory.build(grid.getNumRows(), grid.getNumCols(), pack(layout.cells));
+        synchronized (this.entries) {
+            this.entries.put(layout, value);
+        }
+        return value;
+    }
+
+    /**
+     * Moves the structure of a grid to the grid's layout after one of its cells
+     * was opened or made a wall, changing the structure rather than leaving the
+     * next lookup to build a new one. Lookups made while the structure is being
+     * changed miss it and build their own.
+     *
+     * @param grid   The maze layout, with the cell already changed.
+     * @param row    The row of the changed cell.
+     * @param col    The column of the changed cell.
+     * @param change Changes a cached structure to match the cell.
+     * @return true if the layout before the change had a structure, which was changed.
+     */
+    boolean update(MazeGrid grid, int row, int col, Consumer<T> change) {
+        boolean open = grid.isValidMove(row, col);
+        long count = grid.getModificationCount();
+        Snapshot snapshot = null;
+        if (count >= 0) {
+            synchronized (this.snapshots) {
+                snapshot = this.snapshots.get(grid);
+            }
+        }
+        MazeLayout before;
+        MazeLayout after;
+        if (snapshot != null && snapshot.count == count - 1) {
+            // the key from just before this change, so only the cell differs
+            before = snapshot.cells;
+            after = before.withCell(row, col, open);
+            synchronized (this.snapshots) {
+                this.snapshots.put(grid, new Snapshot(count, after));
+            }
+        } else {
+            after = cellsOf(grid);
+            before = after.withCell(row, col, !open);
+        }
+        T value;
+        synchronized (this.entries) {
+            value = this.entries.remove(new Layout(before));
+        }
+        if (value == null) {
+            return false;
+        }
+        change.accept(value);
+        synchronized (this.entries) {
+            this.entries.put(new Layout(after), value);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the open cells of a grid as a layout. A MazeLayout is used as it is,
+     * and the layout of a grid which counts its changes is only packed again
+     * once the grid has changed.
+     *
+     * @param grid The maze layout.
+     * @return The layout with the grid's open cells, with no starts or ends.
+     */
+    private MazeLayout cellsOf(MazeGrid grid) {
+        if (grid instanceof MazeLayout) {
+            return (MazeLayout) grid;
+        }
+        long count = grid.getModificationCount();
+        if (count < 0) {
+            return packLayout(grid);
+        }
+        Snapshot snapshot;
+        synchronized (this.snapshots) {
+            snapshot = this.snapshots.get(grid);
+        }
+        if (snapshot != null && snapshot.count == count) {
+            return snapshot.cells;
+        }
+        MazeLayout cells = packLayout(grid);
+        synchronized (this.snapshots) {
+            this.snapshots.put(grid, new Snapshot(count, cells));
+        }
+        return cells;
+    }
+
+    /**
+     * Packs the open cells of a grid into the rows of a layout.
+     *
+     * @param grid The maze layout.
+     * @return The layout with the grid's open cells, with no starts or ends.
+     */
+    private static MazeLayout packLayout(MazeGrid grid) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int wordsPerRow = (numCols + 63) >>> 6;
+        long[] open = new long[numRows * wordsPerRow];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                if (grid.isValidMove(i, j)) {
+                    open[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return MazeLayout.of(numRows, numCols, open, -1, -1);
+    }
+
+    /**
+     * Packs the open cells of a grid into a bit set indexed by row * numCols + col.
+     *
+     * @param grid The maze layout.
+     * @return The open cells.
+     */
+    static long[] pack(MazeGrid grid) {
+        int numCols = grid.getNumCols();
+        long[] open = new long[(int) (((long) grid.getNumRows() * numCols + 63) >>> 6)];
+        for (int i = 0; i < grid.getNumRows(); i++) {
+            for (int j = 0; j < numCols; j++) {
+                if (grid.isValidMove(i, j)) {
+                    int cell = i * numCols + j;
+                    open[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return open;
+    }
+
+    /**
+     * The layout of a grid as it was when its changes numbered count.
+     */
+    private static final class Snapshot {
+        private final long count;
+        private final MazeLayout cells;
+
+        /**
+         * Creates a snapshot.
+         *
+         * @param count The grid's modification count.
+         * @param cells The grid's open cells.
+         */
+        private Snapshot(long count, MazeLayout cells) {
+            this.count = count;
+            this.cells = cells;
+        }
+    }
+
+    /**
+     * The open cells of a maze, as the key of the cache.
+     */
+    private static final class Layout {
+        private final MazeLayout cells;
+
+        /**
+         * Creates a key.
+         *
+         * @param cells The open cells. Starts and ends are ignored.
+         */
+        private Layout(MazeLayout cells) {
+            this.cells = cells;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Layout && this.cells.hasSameCells(((Layout) other).cells);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.cells.cellsHashCode();
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package Controller;
+
+import Model.MazeGrid;
+import Model.MazeLayout;
+import Model.Terrain;
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Works out the structural metrics of a maze in a single pass over its rows.
+ * Rows are packed into bitmaps of open cells, 64 to a long, and gathered into
+ * bands which are scanned in parallel. Cell degrees are counted 64 cells at a
+ * time with bitwise adders over a row and the rows above and below it, and
+ * corridors are traced from the transitions between open and closed cells,
+ * with vertical corridors which cross bands joined up as the bands are merged
+ * in order. Only one group of bands is held at a time, so a maze file can be
+ * analysed as it streams in, whatever its size.
+ * Working out the solution length is optional, as it has to keep the whole
+ * maze as one bit per cell and then runs a breadth first search which only
+ * remembers the visited cells and the current frontier. As in the game, the
+ * solution starts on the first start and ends on whichever exit is nearest.
+ */
+public class MazeAnalyzer {
+
+    // number of rows scanned by one parallel task
+    private static final int BAND_ROWS = 256;
+
+    private final boolean solve;
+
+    /**
+     * Creates an analyzer.
+     *
+     * @param solve Whether to work out the solution length and tortuosity.
+     */
+    public MazeAnalyzer(boolean solve) {
+        this.solve = solve;
+    }
+
+    /**
+     * Supplies the rows of a maze in order.
+     */
+    private interface RowSource {
+
+        /**
+         * Packs the next row into a bitmap of open cells.
+         *
+         * @param bits The bitmap to fill, one bit per column.
+         * @return false if there are no more rows.
+         * @throws IOException                If the row can't be read.
+         * @throws MazeSizeMissmatchException If the row does not match the maze's dimensions.
+         */
+        boolean next(long[] bits) throws IOException, MazeSizeMissmatchException;
+
+        /**
+         * Gets the first start cell, which is known once every row has been read.
+         *
+         * @return The start cell as row * numCols + col, -1 if there is none.
+         */
+        long getStart();
+
+        /**
+         * Gets every exit cell, which are known once every row has been read.
+         *
+         * @return The exit cells as row * numCols + col in reading order, empty if there are none.
+         */
+        long[] getEnds();
+    }
+
+    /**
+     * The result of scanning one band of rows.
+     */
+    private static class Band {
+        private final int rows;
+        private final MazeReport report;
+        // per column, the length of the open run starting on the band's first row
+        private final int[] top;
+        // per column, the length of the open run ending on the band's last row, unless it is the top run
+        private final int[] bottom;
+
+        /**
+         * Creates an empty band result.
+         *
+         * @param rows    The number of rows in the band.
+         * @param numCols The number of columns.
+         * @param report  The counts of the band.
+         */
+        private Band(int rows, int numCols, MazeReport report) {
+            this.rows = rows;
+            this.report = report;
+            this.top = new int[numCols];
+            this.bottom = new int[numCols];
+        }
+    }
+
+    /**
+     * Analyses a maze which is already loaded.
+     *
+     * @param grid  The maze.
+     * @param start The start position as [row, col], or null.
+     * @param ends  The exit positions as [row, col], e.g. Maze.getEnds, or null.
+     * @return The metrics of the maze.
+     */
+    public MazeReport analyze(MazeGrid grid, int[] start, List<int[]> ends) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        RowSource source = new RowSource() {
+            private int row;
+
+            @Override
+            public boolean next(long[] bits) {
+                if (this.row == numRows) {
+                    return false;
+                }
+                Arrays.fill(bits, 0);
+                for (int j = 0; j < numCols; j++) {
+                    if (grid.isValidMove(this.row, j)) {
+                        bits[j >>> 6] |= 1L << j;
+                    }
+                }
+                this.row++;
+                return true;
+            }
+
+            @Override
+            public long getStart() {
+                return start == null ? -1 : (long) start[0] * numCols + start[1];
+            }
+
+            @Override
+            public long[] getEnds() {
+                if (ends == null) {
+                    return new long[0];
+                }
+                return ends.stream().mapToLong(end -> (long) end[0] * numCols + end[1]).toArray();
+            }
+        };
+        try {
+            return run(source, numRows, numCols);
+        } catch (IOException | MazeSizeMissmatchException e) {
+            // rows come straight from the grid, so neither can happen
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Analyses a maze file as it is read, without loading the whole maze.
+     * The file is checked the same way as FileLoader checks it.
+     *
+     * @param filename The path of the maze file.
+     * @return The metrics of the maze.
+     * @throws IOException                If an I/O error occurs while reading the file.
+     * @throws MazeMalformedException     If the maze file has invalid formatting.
+     * @throws MazeSizeMissmatchException If the maze does not match its dimensions.
+     * @throws IllegalArgumentException   If the maze contains invalid characters.
+     */
+    public MazeReport analyze(String filename) throws IOException, MazeMalformedException, MazeSizeMissmatchException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename), 1 << 16)) {
+            // the same header checks as FileLoader, so a corrupt header can't size the row buffers
+            int[] dimensions = FileLoader.parseDimensions(reader.readLine());
+            int numRows = dimensions[0];
+            int numCols = dimensions[1];
+            if (numRows % 2 == 0 || numCols % 2 == 0) {
+                throw new MazeMalformedException("Number of Rows and columns should be odd");
+            }
+            RowSource source = new RowSource() {
+                private long row;
+                private long start = -1;
+                private long[] ends = new long[4];
+                private int endCount;
+
+                @Override
+                public boolean next(long[] bits) throws IOException, MazeSizeMissmatchException {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (line.length() != numCols) {
+                        throw new MazeSizeMissmatchException("Maze dimensions do not match the provided size.");
+                    } else if (this.row == numRows) {
+                        throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
+                    }
+                    Arrays.fill(bits, 0);
+                    for (int j = 0; j < numCols; j++) {
+                        char c = line.charAt(j);
+                        if (c == '#') {
+                            continue;
+                        } else if (c == 'S') {
+                            // the player starts on the first start, as in Maze
+                            if (this.start < 0) {
+                                this.start = this.row * numCols + j;
+                            }
+                        } else if (c == 'E') {
+                            if (this.endCount == this.ends.length) {
+                                this.ends = Arrays.copyOf(this.ends, this.endCount * 2);
+                            }
+                            this.ends[this.endCount++] = this.row * numCols + j;
+                        } else if (c != ' ' && !Terrain.isTerrain(c)) {
+                            throw new IllegalArgumentException("Invalid Character");
+                        }
+                        bits[j >>> 6] |= 1L << j;
+                    }
+                    this.row++;
+                    return true;
+                }
+
+                @Override
+                public long getStart() {
+                    return this.start;
+                }
+
+                @Override
+                public long[] getEnds() {
+                    return Arrays.copyOf(this.ends, this.endCount);
+                }
+            };
+            return run(source, numRows, numCols);
+        }
+    }
+
+    /**
+     * Streams the rows through the band scanner and merges the results.
+     *
+     * @param source  The rows of the maze.
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @return The metrics of the maze.
+     * @throws IOException                If a row can't be read.
+     * @throws MazeSizeMissmatchException If the rows do not match the maze's dimensions.
+     */
+    private MazeReport run(RowSource source, int numRows, int numCols) throws IOException, MazeSizeMissmatchException {
+        int words = (numCols + 63) >>> 6;
+        int groupRows = BAND_ROWS * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        // rows[0] is the row above the group and rows[count + 1] the row below it, all zero outside the maze
+        long[][] rows = new long[groupRows + 2][words];
+        // solving needs the whole maze, which is only kept if it fits a layout
+        boolean keep = this.solve && (long) numRows * numCols < Integer.MAX_VALUE;
+        long[] packed = keep ? new long[numRows * words] : null;
+        long[] carry = new long[numCols];
+        MazeReport report = new MazeReport(numRows, numCols);
+
+        int available = 0;
+        int rowsRead = 0;
+        boolean more = true;
+        while (true) {
+            // reads the group plus one row below it
+            while (more && available < groupRows + 1) {
+                if (source.next(rows[1 + available])) {
+                    if (packed != null) {
+                        System.arraycopy(rows[1 + available], 0, packed, rowsRead * words, words);
+                    }
+                    rowsRead++;
+                    available++;
+                } else {
+                    more = false;
+                }
+            }
+            if (available == 0) {
+                break;
+            }
+            int count = Math.min(available, groupRows);
+            if (available == count) {
+                Arrays.fill(rows[count + 1], 0);
+            }
+            int bands = (count + BAND_ROWS - 1) / BAND_ROWS;
+            List<Band> results = IntStream.range(0, bands).parallel()
+                    .mapToObj(b -> scanBand(rows, 1 + b * BAND_ROWS, 1 + Math.min(count, (b + 1) * BAND_ROWS), numCols))
+                    .collect(Collectors.toList());
+            for (Band band : results) {
+                merge(report, band, carry);
+            }
+            // the group's last row becomes the row above the next group, and the read ahead row its first row
+            long[] last = rows[count];
+            rows[count] = rows[0];
+            rows[0] = last;
+            if (available > count) {
+                long[] ahead = rows[count + 1];
+                rows[count + 1] = rows[1];
+                rows[1] = ahead;
+            }
+            available -= count;
+        }
+        if (rowsRead != numRows) {
+            throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
+        }
+        for (long run : carry) {
+            report.addCorridor(run);
+        }
+        if (packed != null) {
+            long start = source.getStart();
+            long[] ends = source.getEnds();
+            if (start >= 0 && ends.length > 0) {
+                int[] exits = new int[ends.length];
+                // the nearest exit as the crow flies, until the solution shows which exit is nearest
+                long manhattan = Long.MAX_VALUE;
+                for (int i = 0; i < ends.length; i++) {
+                    exits[i] = (int) ends[i];
+                    manhattan = Math.min(manhattan, manhattan(start, ends[i], numCols));
+                }
+                MazeLayout layout = MazeLayout.of(numRows, numCols, packed, new int[] {(int) start}, exits);
+                long[] solution = solutionLength(layout);
+                if (solution[0] >= 0) {
+                    manhattan = manhattan(start, solution[1], numCols);
+                }
+                report.setSolution(solution[0], manhattan);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Scans a band of rows. The rows just above and below the band must be present.
+     *
+     * @param rows    The packed rows of the group.
+     * @param from    The index of the band's first row in rows.
+     * @param to      The index after the band's last row in rows.
+     * @param numCols The number of columns.
+     * @return The counts of the band.
+     */
+    private static Band scanBand(long[][] rows, int from, int to, int numCols) {
+        int words = rows[0].length;
+        MazeReport report = new MazeReport(to - from, numCols);
+        Band band = new Band(to - from, numCols, report);
+        int[] runStart = new int[numCols];
+        long open = 0;
+        long deadEnds = 0;
+        long junctions = 0;
+        long degreeSum = 0;
+        long junctionDegreeSum = 0;
+        for (int r = from; r < to; r++) {
+            long[] above = rows[r - 1];
+            long[] cur = rows[r];
+            long[] below = rows[r + 1];
+            int pendingStart = -1;
+            for (int w = 0; w < words; w++) {
+                long c = cur[w];
+                long left = (c << 1) | (w > 0 ? cur[w - 1] >>> 63 : 0);
+                long right = (c >>> 1) | (w + 1 < words ? cur[w + 1] << 63 : 0);
+
+                // bitwise adders count the open neighbours of 64 cells at once
+                long up = above[w];
+                long down = below[w];
+                long s1 = up ^ down;
+                long c1 = up & down;
+                long s2 = left ^ right;
+                long c2 = left & right;
+                long bit0 = s1 ^ s2;
+                long bit1 = c1 ^ c2 ^ (s1 & s2);
+                long bit2 = c1 & c2;
+                open += Long.bitCount(c);
+                deadEnds += Long.bitCount(c & bit0 & ~bit1 & ~bit2);
+                long three = c & bit0 & bit1;
+                long four = c & bit2;
+                junctions += Long.bitCount(three | four);
+                junctionDegreeSum += 3L * Long.bitCount(three) + 4L * Long.bitCount(four);
+                degreeSum += Long.bitCount(c & bit0) + 2L * Long.bitCount(c & bit1) + 4L * Long.bitCount(c & bit2);
+
+                // horizontal corridors run from an open cell with a wall on its left to one with a wall on its right
+                long starts = c & ~left;
+                long ends = c & ~right;
+                while (true) {
+                    if (pendingStart < 0) {
+                        if (starts == 0) {
+                            break;
+                        }
+                        pendingStart = (w << 6) + Long.numberOfTrailingZeros(starts);
+                        starts &= starts - 1;
+                    }
+                    if (ends == 0) {
+                        break;
+                    }
+                    int end = (w << 6) + Long.numberOfTrailingZeros(ends);
+                    ends &= ends - 1;
+                    report.addCorridor(end - pendingStart + 1);
+                    pendingStart = -1;
+                }
+
+                // vertical corridors, where the band's first row counts as having a wall above
+                long previous = r == from ? 0 : above[w];
+                long finished = previous & ~c;
+                while (finished != 0) {
+                    int col = (w << 6) + Long.numberOfTrailingZeros(finished);
+                    finished &= finished - 1;
+                    if (runStart[col] == from) {
+                        band.top[col] = r - from;
+                    } else {
+                        report.addCorridor(r - runStart[col]);
+                    }
+                }
+                long begun = c & ~previous;
+                while (begun != 0) {
+                    int col = (w << 6) + Long.numberOfTrailingZeros(begun);
+                    begun &= begun - 1;
+                    runStart[col] = r;
+                }
+            }
+        }
+        // runs still open on the band's last row are joined with the next band when merging
+        long[] last = rows[to - 1];
+        for (int w = 0; w < words; w++) {
+            long c = last[w];
+            while (c != 0) {
+                int col = (w << 6) + Long.numberOfTrailingZeros(c);
+                c &= c - 1;
+                if (runStart[col] == from) {
+                    band.top[col] = to - from;
+                } else {
+                    band.bottom[col] = to - runStart[col];
+                }
+            }
+        }
+        report.addCells(open, deadEnds, junctions, degreeSum, junctionDegreeSum);
+        return band;
+    }
+
+    /**
+     * Adds a band to the report, joining its vertical corridors with those carried from the bands above.
+     *
+     * @param report The report of the maze.
+     * @param band   The next band.
+     * @param carry  Per column, the length of the open run reaching the bottom of the previous band.
+     */
+    private static void merge(MazeReport report, Band band, long[] carry) {
+        report.add(band.report);
+        for (int col = 0; col < carry.length; col++) {
+            if (band.top[col] == band.rows) {
+                carry[col] += band.rows;
+            } else {
+                report.addCorridor(carry[col] + band.top[col]);
+                carry[col] = band.bottom[col];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of moves between two cells if there were no walls.
+     *
+     * @param from    The first cell as row * numCols + col.
+     * @param to      The second cell as row * numCols + col.
+     * @param numCols The number of columns.
+     * @return The Manhattan distance.
+     */
+    private static long manhattan(long from, long to, int numCols) {
+        return Math.abs(from / numCols - to / numCols) + Math.abs(from % numCols - to % numCols);
+    }
+
+    /**
+     * Finds the number of moves of the shortest solution to the nearest exit with
+     * a breadth first search which keeps only a visited bitmap and the current frontier.
+     *
+     * @param layout The maze layout.
+     * @return The number of moves from the start to the nearest exit and that exit, -1 and -1 if no exit can be reached.
+     */
+    private static long[] solutionLength(MazeLayout layout) {
+        int start = layout.getStart();
+        long[] visited = new long[(int) (((long) layout.getNumRows() * layout.getNumCols() + 63) >>> 6)];
+        int[] frontier = new int[64];
+        int[] next = new int[64];
+        int size = 1;
+        frontier[0] = start;
+        visited[start >>> 6] |= 1L << start;
+        for (long depth = 0; size > 0; depth++) {
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int cell = frontier[i];
+                if (layout.isEnd(cell)) {
+                    return new long[] {depth, cell};
+                }
+                for (int d = 0; d < 4; d++) {
+                    int neighbour = layout.step(cell, d);
+                    if (neighbour != cell && (visited[neighbour >>> 6] & (1L << neighbour)) == 0) {
+                        visited[neighbour >>> 6] |= 1L << neighbour;
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = neighbour;
+                    }
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = nextSize;
+        }
+        return new long[] {-1, -1};
+    }
+}
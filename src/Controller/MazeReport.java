@@ -0,0 +1,251 @@
+package Controller;
+
+import java.util.Locale;
+
+/**
+ * Structural metrics of a maze, as worked out by MazeAnalyzer.
+ * Corridors are straight runs of at least two open cells along a row or a
+ * column. Their lengths are kept in a fixed size histogram: lengths below 16
+ * each have their own bucket, longer lengths share a bucket per power of two.
+ */
+public class MazeReport {
+
+    // lengths below this have their own histogram bucket
+    private static final int EXACT = 16;
+    /** The number of buckets in the corridor length histogram. */
+    public static final int BUCKETS = EXACT + 64 - 4;
+
+    private final long numRows;
+    private final long numCols;
+    private long openCells;
+    private long deadEnds;
+    private long junctions;
+    private long degreeSum;
+    private long junctionDegreeSum;
+    private final long[] corridors = new long[BUCKETS];
+    private long corridorCells;
+    private long solutionLength = -1;
+    private long manhattanDistance = -1;
+
+    /**
+     * Creates an empty report.
+     *
+     * @param numRows The number of rows of the maze.
+     * @param numCols The number of columns of the maze.
+     */
+    public MazeReport(long numRows, long numCols) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+    }
+
+    /**
+     * Adds the counts of part of the maze.
+     *
+     * @param openCells         The number of open cells.
+     * @param deadEnds          The number of open cells with exactly one open neighbour.
+     * @param junctions         The number of open cells with three or four open neighbours.
+     * @param degreeSum         The total number of open neighbours of every open cell.
+     * @param junctionDegreeSum The total number of open neighbours of every junction.
+     */
+    public void addCells(long openCells, long deadEnds, long junctions, long degreeSum, long junctionDegreeSum) {
+        this.openCells += openCells;
+        this.deadEnds += deadEnds;
+        this.junctions += junctions;
+        this.degreeSum += degreeSum;
+        this.junctionDegreeSum += junctionDegreeSum;
+    }
+
+    /**
+     * Adds a corridor. Runs shorter than two cells are not corridors and are ignored.
+     *
+     * @param length The length of the corridor in cells.
+     */
+    public void addCorridor(long length) {
+        if (length >= 2) {
+            this.corridors[bucket(length)]++;
+            this.corridorCells += length;
+        }
+    }
+
+    /**
+     * Adds every count of another report to this one.
+     *
+     * @param other The report to add.
+     */
+    public void add(MazeReport other) {
+        addCells(other.openCells, other.deadEnds, other.junctions, other.degreeSum, other.junctionDegreeSum);
+        for (int i = 0; i < BUCKETS; i++) {
+            this.corridors[i] += other.corridors[i];
+        }
+        this.corridorCells += other.corridorCells;
+    }
+
+    /**
+     * Sets the solution of the maze.
+     *
+     * @param solutionLength    The number of moves of the shortest solution, -1 if there is none.
+     * @param manhattanDistance The number of moves from start to the solution's exit if there were no walls.
+     */
+    public void setSolution(long solutionLength, long manhattanDistance) {
+        this.solutionLength = solutionLength;
+        this.manhattanDistance = manhattanDistance;
+    }
+
+    /**
+     * Gets the number of open cells.
+     *
+     * @return The open cells.
+     */
+    public long getOpenCells() {
+        return this.openCells;
+    }
+
+    /**
+     * Gets the fraction of cells which are open.
+     *
+     * @return The open cell ratio between 0 and 1.
+     */
+    public double getOpenRatio() {
+        long cells = this.numRows * this.numCols;
+        return cells == 0 ? 0 : (double) this.openCells / cells;
+    }
+
+    /**
+     * Gets the number of dead ends, open cells with exactly one open neighbour.
+     *
+     * @return The dead ends.
+     */
+    public long getDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Gets the number of junctions, open cells with three or four open neighbours.
+     *
+     * @return The junctions.
+     */
+    public long getJunctions() {
+        return this.junctions;
+    }
+
+    /**
+     * Gets the mean number of open neighbours of an open cell.
+     *
+     * @return The mean degree.
+     */
+    public double getMeanDegree() {
+        return this.openCells == 0 ? 0 : (double) this.degreeSum / this.openCells;
+    }
+
+    /**
+     * Gets the branching factor, the mean number of ways on from a junction
+     * not counting the way the walker came from.
+     *
+     * @return The branching factor, 0 if there are no junctions.
+     */
+    public double getBranchingFactor() {
+        return this.junctions == 0 ? 0 : (double) (this.junctionDegreeSum - this.junctions) / this.junctions;
+    }
+
+    /**
+     * Gets the corridor length histogram. The array is not copied.
+     *
+     * @return The number of corridors in each bucket.
+     */
+    public long[] getCorridors() {
+        return this.corridors;
+    }
+
+    /**
+     * Gets the length of the shortest solution.
+     *
+     * @return The number of moves, -1 if there is no solution or it was not worked out.
+     */
+    public long getSolutionLength() {
+        return this.solutionLength;
+    }
+
+    /**
+     * Gets the tortuosity of the solution, how many times longer it is than a straight walk.
+     *
+     * @return The solution length divided by the Manhattan distance from start to exit, -1 if unknown.
+     */
+    public double getTortuosity() {
+        if (this.solutionLength < 0 || this.manhattanDistance <= 0) {
+            return -1;
+        }
+        return (double) this.solutionLength / this.manhattanDistance;
+    }
+
+    /**
+     * Converts the report to a JSON object.
+     *
+     * @return The report as JSON.
+     */
+    public String toJson() {
+        long corridorCount = 0;
+        StringBuilder histogram = new StringBuilder("{");
+        for (int i = 0; i < BUCKETS; i++) {
+            if (this.corridors[i] != 0) {
+                corridorCount += this.corridors[i];
+                if (histogram.length() > 1) {
+                    histogram.append(',');
+                }
+                histogram.append('"').append(bucketLabel(i)).append("\":").append(this.corridors[i]);
+            }
+        }
+        histogram.append('}');
+        return "{\"rows\":" + this.numRows
+                + ",\"cols\":" + this.numCols
+                + ",\"openCells\":" + this.openCells
+                + ",\"openRatio\":" + format(getOpenRatio())
+                + ",\"deadEnds\":" + this.deadEnds
+                + ",\"junctions\":" + this.junctions
+                + ",\"meanDegree\":" + format(getMeanDegree())
+                + ",\"branchingFactor\":" + format(getBranchingFactor())
+                + ",\"corridors\":" + corridorCount
+                + ",\"meanCorridorLength\":" + format(corridorCount == 0 ? 0 : (double) this.corridorCells / corridorCount)
+                + ",\"corridorLengths\":" + histogram
+                + ",\"solutionLength\":" + (this.solutionLength < 0 ? "null" : String.valueOf(this.solutionLength))
+                + ",\"tortuosity\":" + (getTortuosity() < 0 ? "null" : format(getTortuosity()))
+                + "}";
+    }
+
+    /**
+     * Maps a corridor length to its histogram bucket.
+     *
+     * @param length The length, at least 1.
+     * @return The index of the bucket.
+     */
+    private static int bucket(long length) {
+        if (length < EXACT) {
+            return (int) length;
+        }
+        // 16 to 31 is the first shared bucket
+        return EXACT + (63 - Long.numberOfLeadingZeros(length)) - 4;
+    }
+
+    /**
+     * Describes the lengths in a histogram bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The length, or the range of lengths, e.g. "16-31".
+     */
+    private static String bucketLabel(int bucket) {
+        if (bucket < EXACT) {
+            return String.valueOf(bucket);
+        }
+        long low = 1L << (bucket - EXACT + 4);
+        return low + "-" + (2 * low - 1);
+    }
+
+    /**
+     * Formats a ratio for JSON.
+     *
+     * @param value The value.
+     * @return The value with four decimals.
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -0,0 +1,58 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGrid;
+
+/**
+ * A strategy for finding a path through a maze.
+ * Implementations are stateless between solves, so a single instance can
+ * be shared, unless stated otherwise.
+ */
+public interface MazeSolver {
+
+    /**
+     * Gets the name the solver is reported and selected by.
+     *
+     * @return The name of the solver.
+     */
+    String getName();
+
+    /**
+     * Whether the paths found by this solver always have the fewest possible moves.
+     *
+     * @return true if the solver finds shortest paths.
+     */
+    default boolean isShortestPath() {
+        return false;
+    }
+
+    /**
+     * Sets the recorder that every cell the solver visits is reported to,
+     * e.g. to draw a heatmap of where the solver searched.
+     * A recorder is not thread safe, so it should only be set while
+     * the solver is used by a single thread.
+     *
+     * @param recorder The recorder to use, or null to stop recording.
+     */
+    void setRecorder(ExplorationRecorder recorder);
+
+    /**
+     * Finds a path between two positions of a maze.
+     *
+     * @param grid  The maze layout.
+     * @param start The start position as [row, column].
+     * @param end   The end position as [row, column].
+     * @return The result of the solve.
+     */
+    SolveResult solve(MazeGrid grid, int[] start, int[] end);
+
+    /**
+     * Finds a path from the player's position to the end of the maze.
+     *
+     * @param maze The maze to solve.
+     * @return The result of the solve.
+     */
+    default SolveResult solve(Maze maze) {
+        return solve(maze, maze.getPlayer().getPlayerPosition(), maze.getEndOfMaze());
+    }
+}
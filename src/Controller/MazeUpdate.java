@@ -2,6 +2,7 @@ package Controller;
 
 import Model.Maze;
 import Model.Player;
+import Model.Terrain;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -15,6 +16,8 @@ import java.util.Scanner;
 public class MazeUpdate {
 
     private String move;
+    // one scanner for every prompt, as each scanner buffers input ahead and a new one would lose it
+    private Scanner scanner;
 
     /**
      * Get the current player move.
@@ -38,9 +41,20 @@ public class MazeUpdate {
      * Prompts the user to enter a move and sets it as the current player move.
      */
     public void playerMove() {
-        Scanner scanner = new Scanner(System.in);
         System.out.print("Enter a move: ");
-        this.setMove(scanner.nextLine());
+        this.setMove(this.getScanner().nextLine());
+    }
+
+    /**
+     * Gets the scanner reading the user's input, creating it on first use.
+     *
+     * @return The scanner of standard input.
+     */
+    private Scanner getScanner() {
+        if (this.scanner == null) {
+            this.scanner = new Scanner(System.in);
+        }
+        return this.scanner;
     }
 
     /**
@@ -50,11 +64,10 @@ public class MazeUpdate {
      * @return The selected game mode as a string.
      */
     public String gameMode() {
-        Scanner scanner = new Scanner(System.in);
         System.out.println("Would you like to solve the maze yourself or see the solution? " +
                 "Type 'solution' to see the solution. " +
                 "Else type 'myself' and good luck solving it yourself.");
-        return scanner.nextLine();
+        return this.getScanner().nextLine();
     }
 
 
@@ -75,11 +88,11 @@ public class MazeUpdate {
     public void updateMaze(Maze oldMaze, Player player, String move) {
         char[][] updatedMaze = new char[oldMaze.getNumRows()][oldMaze.getNumCols()];
         // Creates a copy of the old maze into a new maze but removes player character
-        // and replaces it with ' '
+        // and replaces it with the terrain underneath, ' ' for plain path
         for (int i = 0; i < oldMaze.getMaze().length; i++) {
             for (int j = 0; j < oldMaze.getMaze()[i].length; j++) {
                 if (oldMaze.getMaze()[i][j] == player.getPlayerChar()) {
-                    updatedMaze[i][j] = ' ';
+                    updatedMaze[i][j] = oldMaze.getTerrain(i, j);
                 }
                 else {
                     updatedMaze[i][j] = oldMaze.getMaze()[i][j];
@@ -123,7 +136,7 @@ public class MazeUpdate {
             System.out.println("Illegitimate move");
         }
         // Takes player position and puts it into updated maze
-        if (updatedMaze[row][col] == ' ' || updatedMaze[row][col] == '*' ) {
+        if (updatedMaze[row][col] == ' ' || updatedMaze[row][col] == '*' || Terrain.isTerrain(updatedMaze[row][col])) {
             updatedMaze[row][col] = player.getPlayerChar();
         }
 
@@ -0,0 +1,228 @@
+package Controller;
+
+import Model.Maze;
+import Model.Player;
+import Model.Terrain;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.function.Consumer;
+
+/**
+ * Plays a script of moves on a maze in one pass, for scripted runs of the
+ * text mode which would otherwise read and redraw one move at a time.
+ * <p>
+ * A script is a stream of 'w', 'a', 's' and 'd' moves, each optionally
+ * preceded by a repeat count, e.g. "wwddssa" or "3w2d"; whitespace and commas
+ * are ignored so scripts can be split over lines. It is read in chunks, so a
+ * script of any length takes constant memory.
+ * </p>
+ * Moves follow the rules of MazeUpdate.updateMaze: a move into a wall stays
+ * put. Unlike updateMaze the maze isn't copied for every move: the player's
+ * position is tracked on its own and only written into the maze when the
+ * maze is drawn, every so many moves and once at the end. The player's
+ * traversed and traversed again cells are kept with each cell at most once in
+ * each, as they are only used for drawing. The script stops once the player
+ * reaches an end of the maze, as the text mode does.
+ */
+public class MoveScript {
+
+    private final Maze maze;
+    private final long renderEvery;
+    private final Consumer<Maze> renderer;
+    private long movesApplied;
+
+    /**
+     * Creates a script player.
+     *
+     * @param maze        The maze to play on, whose player makes the moves.
+     * @param renderEvery Draw the maze after every this many moves, 0 to draw it only at the end.
+     * @param renderer    Draws the maze, e.g. MazeView::drawMaze.
+     */
+    public MoveScript(Maze maze, long renderEvery, Consumer<Maze> renderer) {
+        if (renderEvery < 0) {
+            throw new IllegalArgumentException("Render interval can't be negative");
+        }
+        this.maze = maze;
+        this.renderEvery = renderEvery;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Gets the number of moves read and applied so far, counting moves into walls.
+     *
+     * @return The number of moves.
+     */
+    public long getMovesApplied() {
+        return this.movesApplied;
+    }
+
+    /**
+     * Plays a script given as a string.
+     *
+     * @param script The moves.
+     * @return true if the player reached an end of the maze.
+     * @throws IllegalArgumentException If the script has a character which is not a move. Moves before it are kept.
+     */
+    public boolean run(String script) {
+        try {
+            return run(new StringReader(script));
+        } catch (IOException e) {
+            // a string reader doesn't fail
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Plays a script read from a stream, e.g. a file or standard input.
+     *
+     * @param in The moves. It is not closed.
+     * @return true if the player reached an end of the maze.
+     * @throws IOException              If the script can't be read.
+     * @throws IllegalArgumentException If the script has a character which is not a move. Moves before it are kept.
+     */
+    public boolean run(Reader in) throws IOException {
+        Player player = this.maze.getPlayer();
+        char[][] grid = this.maze.getMaze();
+        int numRows = this.maze.getNumRows();
+        int numCols = this.maze.getNumCols();
+        // the cells already traversed, and traversed again, as bit sets so each move is checked in constant time
+        long[] traversed = new long[(numRows * numCols + 63) >>> 6];
+        long[] traversedAgain = new long[traversed.length];
+        for (int[] position : player.getTraversed()) {
+            int cell = position[0] * numCols + position[1];
+            traversed[cell >>> 6] |= 1L << cell;
+        }
+        for (int[] position : player.getTraversedAgain()) {
+            int cell = position[0] * numCols + position[1];
+            traversedAgain[cell >>> 6] |= 1L << cell;
+        }
+        long[] ends = new long[traversed.length];
+        for (int[] end : this.maze.getEnds()) {
+            int cell = end[0] * numCols + end[1];
+            ends[cell >>> 6] |= 1L << cell;
+        }
+        int[] position = player.getPlayerPosition();
+        int row = position[0];
+        int col = position[1];
+        // the cell the player character is drawn on in the maze
+        int drawnRow = row;
+        int drawnCol = col;
+        boolean reachedEnd = false;
+
+        char[] buffer = new char[8192];
+        long count = -1;
+        long read = 0;
+        int length;
+        script:
+        while ((length = in.read(buffer)) > 0) {
+            for (int i = 0; i < length; i++) {
+                char c = buffer[i];
+                read++;
+                if (c >= '0' && c <= '9') {
+                    count = Math.min(Long.MAX_VALUE / 10, Math.max(count, 0) * 10 + (c - '0'));
+                    continue;
+                }
+                if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',') {
+                    if (count >= 0) {
+                        place(player, grid, drawnRow, drawnCol, row, col);
+                        throw new IllegalArgumentException("Repeat count without a move at character " + read);
+                    }
+                    continue;
+                }
+                int rowStep = c == 'w' ? -1 : c == 's' ? 1 : 0;
+                int colStep = c == 'a' ? -1 : c == 'd' ? 1 : 0;
+                if (rowStep == 0 && colStep == 0) {
+                    place(player, grid, drawnRow, drawnCol, row, col);
+                    throw new IllegalArgumentException("Illegitimate move '" + c + "' at character " + read);
+                }
+                long repeats = count < 0 ? 1 : count;
+                count = -1;
+                for (long r = 0; r < repeats; r++) {
+                    this.movesApplied++;
+                    boolean moved = this.maze.isValidMove(row + rowStep, col + colStep);
+                    if (moved) {
+                        row += rowStep;
+                        col += colStep;
+                    }
+                    int cell = row * numCols + col;
+                    if ((traversed[cell >>> 6] & (1L << cell)) == 0) {
+                        traversed[cell >>> 6] |= 1L << cell;
+                        player.addTraversed(new int[]{row, col});
+                    } else if ((traversedAgain[cell >>> 6] & (1L << cell)) == 0) {
+                        traversedAgain[cell >>> 6] |= 1L << cell;
+                        player.addTraversedAgain(new int[]{row, col});
+                    }
+                    if (!moved) {
+                        // the rest of the run walks into the same wall, so only count it
+                        long before = this.movesApplied - 1;
+                        this.movesApplied += repeats - r - 1;
+                        boolean render = this.renderEvery > 0
+                                && this.movesApplied / this.renderEvery > before / this.renderEvery;
+                        if (render) {
+                            draw(player, grid, drawnRow, drawnCol, row, col);
+                            drawnRow = row;
+                            drawnCol = col;
+                        }
+                        break;
+                    }
+                    reachedEnd = (ends[cell >>> 6] & (1L << cell)) != 0;
+                    if (reachedEnd) {
+                        break script;
+                    }
+                    if (this.renderEvery > 0 && this.movesApplied % this.renderEvery == 0) {
+                        draw(player, grid, drawnRow, drawnCol, row, col);
+                        drawnRow = row;
+                        drawnCol = col;
+                    }
+                }
+            }
+        }
+        if (count >= 0 && !reachedEnd) {
+            place(player, grid, drawnRow, drawnCol, row, col);
+            throw new IllegalArgumentException("Repeat count without a move at the end of the script");
+        }
+        draw(player, grid, drawnRow, drawnCol, row, col);
+        return reachedEnd;
+    }
+
+    /**
+     * Moves the player character in the maze to the player's position and draws the maze.
+     *
+     * @param player   The player.
+     * @param grid     The maze characters.
+     * @param drawnRow The row the player character is on.
+     * @param drawnCol The column the player character is on.
+     * @param row      The row of the player's position.
+     * @param col      The column of the player's position.
+     */
+    private void draw(Player player, char[][] grid, int drawnRow, int drawnCol, int row, int col) {
+        place(player, grid, drawnRow, drawnCol, row, col);
+        if (this.renderer != null) {
+            this.renderer.accept(this.maze);
+        }
+    }
+
+    /**
+     * Moves the player, and the player character in the maze, to the player's position.
+     *
+     * @param player   The player.
+     * @param grid     The maze characters.
+     * @param drawnRow The row the player character is on.
+     * @param drawnCol The column the player character is on.
+     * @param row      The row of the player's position.
+     * @param col      The column of the player's position.
+     */
+    private void place(Player player, char[][] grid, int drawnRow, int drawnCol, int row, int col) {
+        player.setPlayerPosition(new int[]{row, col});
+        // the cell left gets its terrain back, and the player is drawn on any walkable cell but an end
+        if (grid[drawnRow][drawnCol] == player.getPlayerChar()) {
+            grid[drawnRow][drawnCol] = this.maze.getTerrain(drawnRow, drawnCol);
+        }
+        char under = grid[row][col];
+        if (under == ' ' || under == '*' || Terrain.isTerrain(under)) {
+            grid[row][col] = player.getPlayerChar();
+        }
+    }
+}
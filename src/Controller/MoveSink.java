@@ -0,0 +1,16 @@
+package Controller;
+
+/**
+ * Receives the moves of a solution one at a time as a solver finds them,
+ * so that long solutions never have to be held in memory.
+ */
+@FunctionalInterface
+public interface MoveSink {
+
+    /**
+     * Receives the next move.
+     *
+     * @param move The move, one of 'w', 'a', 's' or 'd'.
+     */
+    void move(char move);
+}
@@ -0,0 +1,100 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeLayout;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Checks sequences of moves submitted for a maze without playing them: no
+ * maze is copied and no player is moved, so one verifier can check any number
+ * of submissions at the same time.
+ * <p>
+ * Moves are walked over the maze's immutable layout from its start. A move is
+ * illegal if it is not 'w', 'a', 's' or 'd', or if it runs into a wall or off
+ * the maze; MazeUpdate.updateMaze would let the player stay put, but a
+ * submitted solution which does that is not a clean one. The walk stops at the
+ * first illegal move. A sequence solves the maze if every move is legal and
+ * the last one ends on an end of the maze, any of them if there are several.
+ * </p>
+ */
+public class MoveVerifier {
+
+    private final MazeLayout layout;
+
+    /**
+     * Creates a verifier for a maze layout.
+     *
+     * @param layout The layout, with the start the moves are walked from.
+     */
+    public MoveVerifier(MazeLayout layout) {
+        if (layout.getStart() < 0) {
+            throw new IllegalArgumentException("Maze needs a start 'S'");
+        }
+        this.layout = layout;
+    }
+
+    /**
+     * Creates a verifier for a loaded maze, walking from where its player is now.
+     * Later changes to the maze don't affect the verifier.
+     *
+     * @param maze The maze.
+     */
+    public MoveVerifier(Maze maze) {
+        this(MazeLayout.of(maze));
+    }
+
+    /**
+     * Checks one sequence of moves.
+     *
+     * @param moves The moves, each one of 'w', 'a', 's' or 'd'.
+     * @return The verdict.
+     */
+    public Verdict verify(CharSequence moves) {
+        MazeLayout layout = this.layout;
+        int numCols = layout.getNumCols();
+        int row = layout.getStart() / numCols;
+        int col = layout.getStart() % numCols;
+        for (int i = 0; i < moves.length(); i++) {
+            int nextRow = row;
+            int nextCol = col;
+            switch (moves.charAt(i)) {
+                case 'w':
+                    nextRow--;
+                    break;
+                case 's':
+                    nextRow++;
+                    break;
+                case 'a':
+                    nextCol--;
+                    break;
+                case 'd':
+                    nextCol++;
+                    break;
+                default:
+                    return new Verdict(i, row * numCols + col, false);
+            }
+            if (!layout.isValidMove(nextRow, nextCol)) {
+                return new Verdict(i, row * numCols + col, false);
+            }
+            row = nextRow;
+            col = nextCol;
+        }
+        int cell = row * numCols + col;
+        return new Verdict(-1, cell, layout.isEnd(cell));
+    }
+
+    /**
+     * Checks many sequences of moves in parallel, spread over every core.
+     *
+     * @param submissions The sequences of moves.
+     * @return The verdicts, in the same order as the submissions.
+     */
+    public Verdict[] verifyAll(List<? extends CharSequence> submissions) {
+        Verdict[] verdicts = new Verdict[submissions.size()];
+        IntStream.range(0, verdicts.length).parallel()
+                .forEach(i -> verdicts[i] = verify(submissions.get(i)));
+        return verdicts;
+    }
+}
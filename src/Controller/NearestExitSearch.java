@@ -0,0 +1,137 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the nearest exit of a maze from every cell at once with one breadth
+ * first search which starts from all the exits together. Each cell the search
+ * reaches remembers the neighbour it was reached from, which is one move
+ * nearer to an exit, so the route from any number of starts to their nearest
+ * exits is found by following those links, without a search per start.
+ * When two exits are equally near, the one listed first is taken.
+ */
+public class NearestExitSearch {
+
+    private final int numCols;
+    // for every cell the neighbour one move nearer to an exit, the cell itself for exits, -1 if unreached
+    private final int[] toward;
+
+    /**
+     * Searches a maze from its exits.
+     *
+     * @param grid  The maze layout.
+     * @param exits The exit cells as row * numCols + col.
+     */
+    public NearestExitSearch(MazeGrid grid, int[] exits) {
+        this(grid, exits, new SearchContext(null));
+    }
+
+    /**
+     * Searches a maze from its exits, counting the expanded cells in a search context.
+     *
+     * @param grid    The maze layout.
+     * @param exits   The exit cells as row * numCols + col.
+     * @param context The search context, whose deadline is checked as the search goes.
+     */
+    public NearestExitSearch(MazeGrid grid, int[] exits, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        this.numCols = numCols;
+        int[] toward = new int[numRows * numCols];
+        Arrays.fill(toward, -1);
+        int[] queue = new int[numRows * numCols];
+        int head = 0;
+        int tail = 0;
+        for (int exit : exits) {
+            if (toward[exit] < 0 && grid.isValidMove(exit / numCols, exit % numCols)) {
+                toward[exit] = exit;
+                queue[tail++] = exit;
+            }
+        }
+
+        while (head < tail) {
+            context.frontier(tail - head);
+            int cell = queue[head++];
+            context.expand(cell);
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            if (grid.isValidMove(row - 1, col) && toward[cell - numCols] < 0) {
+                toward[cell - numCols] = cell;
+                queue[tail++] = cell - numCols;
+            }
+            if (grid.isValidMove(row + 1, col) && toward[cell + numCols] < 0) {
+                toward[cell + numCols] = cell;
+                queue[tail++] = cell + numCols;
+            }
+            if (grid.isValidMove(row, col - 1) && toward[cell - 1] < 0) {
+                toward[cell - 1] = cell;
+                queue[tail++] = cell - 1;
+            }
+            if (grid.isValidMove(row, col + 1) && toward[cell + 1] < 0) {
+                toward[cell + 1] = cell;
+                queue[tail++] = cell + 1;
+            }
+        }
+        this.toward = toward;
+    }
+
+    /**
+     * Finds the route from a start to its nearest exit.
+     *
+     * @param start The start cell as row * numCols + col.
+     * @return The route, which is unreachable if no exit can be reached from the start.
+     */
+    public ExitRoute route(int start) {
+        if (this.toward[start] < 0) {
+            return new ExitRoute(start, this.numCols, null);
+        }
+        int length = 0;
+        for (int cell = start; this.toward[cell] != cell; cell = this.toward[cell]) {
+            length++;
+        }
+        int[] cells = new int[length + 1];
+        int cell = start;
+        for (int i = 0; i < length; i++) {
+            cells[i] = cell;
+            cell = this.toward[cell];
+        }
+        cells[length] = cell;
+        return new ExitRoute(start, this.numCols, cells);
+    }
+
+    /**
+     * Finds the route from every start to its nearest exit.
+     *
+     * @param starts The start cells as row * numCols + col.
+     * @return The routes, in the same order as the starts.
+     */
+    public List<ExitRoute> routes(int[] starts) {
+        List<ExitRoute> routes = new ArrayList<>(starts.length);
+        for (int start : starts) {
+            routes.add(route(start));
+        }
+        return routes;
+    }
+
+    /**
+     * Gets the number of moves from a cell to its nearest exit.
+     *
+     * @param cell The cell as row * numCols + col.
+     * @return The number of moves, -1 if no exit can be reached.
+     */
+    public int distance(int cell) {
+        if (this.toward[cell] < 0) {
+            return -1;
+        }
+        int length = 0;
+        for (; this.toward[cell] != cell; cell = this.toward[cell]) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,129 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Counts how many different paths with the fewest moves lead from the start
+ * of a maze to its end, e.g. to check that a designed maze has a unique solution.
+ * <p>
+ * One breadth first search works out the count for every cell level by level:
+ * a cell can be reached in as many shortest ways as the cells one level nearer
+ * the start beside it together. The counts grow exponentially on open grids,
+ * so they are kept as longs until one would overflow, and from then on that
+ * cell and every cell counted from it is kept as a BigInteger instead.
+ * </p>
+ */
+public final class PathCounter {
+
+    private PathCounter() {
+    }
+
+    /**
+     * Counts the shortest paths between two cells.
+     *
+     * @param grid  The maze layout.
+     * @param start The start cell as row * numCols + col.
+     * @param end   The end cell as row * numCols + col.
+     * @return The number of paths with the fewest moves, zero if the end can't be reached.
+     */
+    public static BigInteger countShortestPaths(MazeGrid grid, int start, int end) {
+        return countShortestPaths(grid, start, end, new SearchContext(null));
+    }
+
+    /**
+     * Counts the shortest paths between two cells.
+     *
+     * @param grid    The maze layout.
+     * @param start   The start cell as row * numCols + col.
+     * @param end     The end cell as row * numCols + col.
+     * @param context The search context counting the expanded cells.
+     * @return The number of paths with the fewest moves, zero if the end can't be reached.
+     */
+    public static BigInteger countShortestPaths(MazeGrid grid, int start, int end, SearchContext context) {
+        int numRows = grid.getNumRows();
+        int numCols = grid.getNumCols();
+        int[] depth = new int[numRows * numCols];
+        Arrays.fill(depth, -1);
+        long[] counts = new long[numRows * numCols];
+        // the counts which overflowed a long, made on the first overflow
+        BigInteger[] bigCounts = null;
+        int[] queue = new int[numRows * numCols];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        depth[start] = 0;
+        counts[start] = 1;
+
+        while (head < tail) {
+            context.frontier(tail - head);
+            int cell = queue[head++];
+            if (depth[end] >= 0 && depth[cell] >= depth[end]) {
+                // every cell one level nearer than the end has passed its count on
+                break;
+            }
+            context.expand(cell);
+            int row = cell / numCols;
+            int col = cell % numCols;
+            // neighbours in the same order as Solution: up, down, left, right
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int nextCol = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (!grid.isValidMove(nextRow, nextCol)) {
+                    continue;
+                }
+                int next = nextRow * numCols + nextCol;
+                if (depth[next] < 0) {
+                    depth[next] = depth[cell] + 1;
+                    queue[tail++] = next;
+                } else if (depth[next] != depth[cell] + 1) {
+                    continue;
+                }
+                // add this cell's count to the next one's, moving both to BigIntegers on overflow
+                if (bigCounts != null && (bigCounts[cell] != null || bigCounts[next] != null)) {
+                    bigCounts[next] = valueOf(counts, bigCounts, next).add(valueOf(counts, bigCounts, cell));
+                    continue;
+                }
+                long sum = counts[next] + counts[cell];
+                if (((counts[next] ^ sum) & (counts[cell] ^ sum)) < 0) {
+                    if (bigCounts == null) {
+                        bigCounts = new BigInteger[numRows * numCols];
+                    }
+                    bigCounts[next] = BigInteger.valueOf(counts[next]).add(BigInteger.valueOf(counts[cell]));
+                } else {
+                    counts[next] = sum;
+                }
+            }
+        }
+        return depth[end] < 0 ? BigInteger.ZERO : valueOf(counts, bigCounts, end);
+    }
+
+    /**
+     * Checks whether exactly one path with the fewest moves leads from the start to the end.
+     *
+     * @param grid  The maze layout.
+     * @param start The start cell as row * numCols + col.
+     * @param end   The end cell as row * numCols + col.
+     * @return true if the shortest solution is unique.
+     */
+    public static boolean hasUniqueSolution(MazeGrid grid, int start, int end) {
+        return countShortestPaths(grid, start, end).equals(BigInteger.ONE);
+    }
+
+    /**
+     * Gets the count of a cell, whichever way it is kept.
+     *
+     * @param counts    The counts which fit a long.
+     * @param bigCounts The counts which overflowed, null if none did.
+     * @param cell      The cell.
+     * @return The count.
+     */
+    private static BigInteger valueOf(long[] counts, BigInteger[] bigCounts, int cell) {
+        if (bigCounts != null && bigCounts[cell] != null) {
+            return bigCounts[cell];
+        }
+        return BigInteger.valueOf(counts[cell]);
+    }
+}
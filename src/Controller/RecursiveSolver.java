@@ -0,0 +1,63 @@
+package Controller;
+
+import Model.Maze;
+import Model.MazeGrid;
+
+/**
+ * Adapts the original recursive backtracking search, Solution.findSolution,
+ * to the MazeSolver interface so that it can serve as the baseline for the
+ * other solvers. Solution keeps its state in static fields, so solves are
+ * serialised, and it can only solve a Maze whose exit is marked with '|'.
+ * Solution.findSolution reports its own metrics as the "recursive" solver.
+ * A recorder set on this solver is installed in Solution for each solve.
+ */
+public class RecursiveSolver implements MazeSolver {
+
+    private volatile ExplorationRecorder recorder;
+
+    @Override
+    public String getName() {
+        return "recursive";
+    }
+
+    @Override
+    public void setRecorder(ExplorationRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid, int[] start, int[] end) {
+        if (!(grid instanceof Maze)) {
+            throw new IllegalArgumentException("The recursive solver can only solve a Maze");
+        }
+        Maze maze = (Maze) grid;
+        int numCols = maze.getNumCols();
+        synchronized (Solution.class) {
+            Solution.path.clear();
+            Solution.moves.clear();
+            boolean solved;
+            ExplorationRecorder previous = Solution.getRecorder();
+            if (this.recorder != null) {
+                Solution.setRecorder(this.recorder);
+            }
+            try {
+                solved = Solution.findSolution(maze, start[0], start[1], start[0], start[1]);
+            } catch (IndexOutOfBoundsException e) {
+                // findSolution backtracks past the start when there is no solution
+                solved = false;
+            } finally {
+                Solution.setRecorder(previous);
+            }
+            int[] cells = null;
+            if (solved) {
+                cells = new int[Solution.path.size()];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = Solution.path.get(i)[0] * numCols + Solution.path.get(i)[1];
+                }
+            }
+            Solution.path.clear();
+            Solution.moves.clear();
+            return new SolveResult(getName(), numCols, cells, Solution.getLastSample());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package Controller;
+
+import exceptions.SolveTimeoutException;
+
+/**
+ * The per-solve state a GridSolver reports its progress to:
+ * the number of expanded cells, the largest frontier and,
+ * if one is attached, the exploration recorder.
+ * A context may carry a deadline, which is checked every 1024 expanded cells.
+ * A new context is created for every solve, so solvers can be shared between threads.
+ */
+public class SearchContext {
+
+    // how many expansions happen between two deadline checks, minus one
+    private static final int DEADLINE_CHECK_MASK = 1023;
+
+    private final ExplorationRecorder recorder;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private long nodesExpanded;
+    private long peakFrontier;
+    private String selection;
+
+    /**
+     * Creates the context of a solve.
+     *
+     * @param recorder The recorder to report visited cells to, or null.
+     */
+    public SearchContext(ExplorationRecorder recorder) {
+        this.recorder = recorder;
+        this.deadlineNanos = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * Creates the context of a solve which must finish before a deadline.
+     *
+     * @param recorder      The recorder to report visited cells to, or null.
+     * @param deadlineNanos The System.nanoTime value by which the solve must finish.
+     */
+    public SearchContext(ExplorationRecorder recorder, long deadlineNanos) {
+        this.recorder = recorder;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = true;
+    }
+
+    /**
+     * Reports that a cell is being expanded.
+     *
+     * @param cell The expanded cell as row * numCols + col.
+     * @throws SolveTimeoutException If the solve has run past its deadline.
+     */
+    public void expand(int cell) {
+        this.nodesExpanded++;
+        if (this.recorder != null) {
+            this.recorder.visit(cell);
+        }
+        if (this.hasDeadline && (this.nodesExpanded & DEADLINE_CHECK_MASK) == 0) {
+            checkDeadline();
+        }
+    }
+
+    /**
+     * Reports that a cell of a maze too large for int cell indices is being expanded.
+     * Cells beyond the int range are counted but not recorded.
+     *
+     * @param cell The expanded cell as row * numCols + col.
+     * @throws SolveTimeoutException If the solve has run past its deadline.
+     */
+    public void expand(long cell) {
+        if (cell <= Integer.MAX_VALUE) {
+            expand((int) cell);
+            return;
+        }
+        this.nodesExpanded++;
+        if (this.hasDeadline && (this.nodesExpanded & DEADLINE_CHECK_MASK) == 0) {
+            checkDeadline();
+        }
+    }
+
+    /**
+     * Reports that a run of up to 64 neighbouring cells of one row is being expanded at once.
+     *
+     * @param firstCell The cell of bit 0 as row * numCols + col.
+     * @param cells     The expanded cells, bit i standing for firstCell + i.
+     * @throws SolveTimeoutException If the solve has run past its deadline.
+     */
+    public void expandAll(int firstCell, long cells) {
+        long before = this.nodesExpanded;
+        this.nodesExpanded += Long.bitCount(cells);
+        if (this.recorder != null) {
+            for (long bits = cells; bits != 0; bits &= bits - 1) {
+                this.recorder.visit(firstCell + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        if (this.hasDeadline && (before | DEADLINE_CHECK_MASK) < this.nodesExpanded) {
+            checkDeadline();
+        }
+    }
+
+    /**
+     * Checks whether the solve has run past its deadline or its thread was interrupted.
+     *
+     * @throws SolveTimeoutException If the solve has to stop.
+     */
+    public void checkDeadline() {
+        if (!this.hasDeadline) {
+            return;
+        }
+        if (System.nanoTime() - this.deadlineNanos > 0 || Thread.currentThread().isInterrupted()) {
+            throw new SolveTimeoutException("Solve stopped after expanding " + this.nodesExpanded + " cells");
+        }
+    }
+
+    /**
+     * Reports the current size of the frontier.
+     *
+     * @param size The number of cells waiting to be expanded.
+     */
+    public void frontier(long size) {
+        if (size > this.peakFrontier) {
+            this.peakFrontier = size;
+        }
+    }
+
+    /**
+     * Records that the search was handed to another solver.
+     *
+     * @param solver The name of the solver which does the search.
+     */
+    public void select(String solver) {
+        this.selection = solver;
+    }
+
+    /**
+     * Gets the solver the search was handed to.
+     *
+     * @return The name of the selected solver, or null if none was selected.
+     */
+    public String getSelection() {
+        return this.selection;
+    }
+
+    /**
+     * Gets the number of cells expanded so far.
+     *
+     * @return The number of expanded cells.
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    /**
+     * Gets the largest frontier reported so far.
+     *
+     * @return The peak frontier size.
+     */
+    public long getPeakFrontier() {
+        return this.peakFrontier;
+    }
+}
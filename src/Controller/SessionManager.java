@@ -0,0 +1,141 @@
+package Controller;
+
+import Model.MazeLayout;
+import Model.PlayerSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many player sessions on one shared, immutable maze layout.
+ * Sessions are kept in a concurrent map, and moves are serialised per session
+ * by a fixed set of striped locks, so moves on different sessions almost never
+ * contend and no lock is ever held while touching another session.
+ * The layout is only ever read, so it needs no locking at all. A session
+ * reserves its slot under the limit with a compare and set before it is made,
+ * so sessions opened at the same time can't together pass the limit.
+ */
+public class SessionManager {
+
+    private final MazeLayout layout;
+    private final int maxSessions;
+    private final ConcurrentHashMap<Long, PlayerSession> sessions = new ConcurrentHashMap<>();
+    // the slots taken under the session limit, reserved before a session is added and released after it is removed
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Object[] stripes;
+
+    /**
+     * Creates a manager for the given layout.
+     *
+     * @param layout      The maze layout shared by every session.
+     * @param maxSessions The largest number of sessions open at the same time.
+     */
+    public SessionManager(MazeLayout layout, int maxSessions) {
+        if (layout.getStart() < 0) {
+            throw new IllegalArgumentException("Maze needs a start 'S'");
+        }
+        this.layout = layout;
+        this.maxSessions = maxSessions;
+        // a power of two of about four stripes per core keeps collisions rare
+        int count = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+        this.stripes = new Object[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Opens a new session with the player on the start of the maze.
+     *
+     * @return The new session, or null if the session limit has been reached.
+     */
+    public PlayerSession open() {
+        int taken;
+        do {
+            taken = this.reserved.get();
+            if (taken >= this.maxSessions) {
+                return null;
+            }
+        } while (!this.reserved.compareAndSet(taken, taken + 1));
+        PlayerSession session = new PlayerSession(this.nextId.getAndIncrement(), this.layout);
+        this.sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Gets an open session.
+     *
+     * @param id The identifier of the session.
+     * @return The session, or null if there is no such session.
+     */
+    public PlayerSession get(long id) {
+        return this.sessions.get(id);
+    }
+
+    /**
+     * Makes a sequence of moves in a session. The moves are applied atomically
+     * with respect to other moves on the same session.
+     *
+     * @param id    The identifier of the session.
+     * @param moves The moves, each one of 'w', 'a', 's' or 'd'.
+     * @return The session after the moves, or null if there is no such session.
+     * @throws IllegalArgumentException If a move is not w, a, s or d. Moves before it are kept.
+     */
+    public PlayerSession move(long id, CharSequence moves) {
+        PlayerSession session = this.sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        synchronized (this.stripes[stripe(id)]) {
+            for (int i = 0; i < moves.length(); i++) {
+                session.move(moves.charAt(i));
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Closes a session.
+     *
+     * @param id The identifier of the session.
+     * @return true if the session was open.
+     */
+    public boolean close(long id) {
+        if (this.sessions.remove(id) == null) {
+            return false;
+        }
+        this.reserved.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the number of open sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Gets the layout shared by the sessions.
+     *
+     * @return The layout.
+     */
+    public MazeLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Picks the lock stripe of a session.
+     *
+     * @param id The identifier of the session.
+     * @return The index of the stripe.
+     */
+    private int stripe(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (this.stripes.length - 1);
+    }
+}
@@ -1,8 +1,13 @@
 package Controller;
 
 import Model.Maze;
+import metrics.MetricsRegistry;
+import metrics.SolveProbe;
+import metrics.SolveSample;
+import metrics.SolverMetrics;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 /**
  * Represents a class for solving a maze using a recursive algorithm.
@@ -19,6 +24,59 @@ public class Solution {
     // from another class without having to make an instance of Solution
     public static ArrayList<String> moves = new ArrayList<>();
 
+    // Stores every position visited during the current solve, indexed by row * numCols + col.
+    // A position that was already visited either lies on the path or leads to a dead end.
+    private static BitSet visited = new BitSet();
+
+    // Counts the cells expanded and the deepest path reached during the current solve.
+    private static long nodesExpanded;
+    private static int peakDepth;
+
+    // Receives the measurements of every solve.
+    private static SolverMetrics metrics = MetricsRegistry.getDefault();
+
+    // The measurements of the most recent solve.
+    private static SolveSample lastSample;
+
+    // Optionally records the order and number of visits of each cell, null when not recording.
+    private static ExplorationRecorder recorder;
+
+    /**
+     * Sets the recorder that findSolution reports every visited cell to.
+     *
+     * @param explorationRecorder The recorder to use, or null to stop recording.
+     */
+    public static void setRecorder(ExplorationRecorder explorationRecorder) {
+        recorder = explorationRecorder;
+    }
+
+    /**
+     * Gets the recorder that findSolution reports every visited cell to.
+     *
+     * @return The current recorder, or null if not recording.
+     */
+    public static ExplorationRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Sets where the measurements of every solve are reported.
+     *
+     * @param solverMetrics The metrics to report to.
+     */
+    public static void setMetrics(SolverMetrics solverMetrics) {
+        metrics = solverMetrics;
+    }
+
+    /**
+     * Gets the measurements of the most recent solve.
+     *
+     * @return The measurements, or null if nothing was solved yet.
+     */
+    public static SolveSample getLastSample() {
+        return lastSample;
+    }
+
     /**
      * Finds a solution to the maze starting from a given position.
      * Traverses through every possible path until it finds the exit.
@@ -28,6 +86,8 @@ public class Solution {
      * it can take a new path.
      * Method declared as static so that there is no need to create an instance
      * of solution.
+     * The first call of a solve, where the previous position is the current
+     * position, measures the solve and reports it to the solver metrics.
      *
      * @param maze  The maze to solve.
      * @param row   The current row position.
@@ -37,17 +97,56 @@ public class Solution {
      * @return True if a solution is found, false otherwise.
      */
     public static boolean findSolution(Maze maze, int row, int col, int prow, int pcol) {
+        // the first call of a solve starts from its own previous position
+        if (row != prow || col != pcol) {
+            return search(maze, row, col, prow, pcol);
+        }
+        visited.clear();
+        nodesExpanded = 0;
+        peakDepth = 0;
+        SolveProbe probe = SolveProbe.start();
+        boolean solved = false;
+        try {
+            solved = search(maze, row, col, prow, pcol);
+            return solved;
+        } finally {
+            lastSample = probe.finish(solved, nodesExpanded, peakDepth, solved ? moves.size() : 0);
+            metrics.recordSolve("recursive", lastSample);
+        }
+    }
+
+    /**
+     * Recursively searches for the exit from the given position,
+     * as described for findSolution.
+     *
+     * @param maze  The maze to solve.
+     * @param row   The current row position.
+     * @param col   The current column position.
+     * @param prow  The previous row position.
+     * @param pcol  The previous column position.
+     * @return True if a solution is found, false otherwise.
+     */
+    private static boolean search(Maze maze, int row, int col, int prow, int pcol) {
 
         int[] position = {row, col};
+        int cell = row * maze.getNumCols() + col;
 
-        // Base case: check if the position is not valid or already in the path.
-        if (!maze.isValidMove(position) || path.contains(position)) {
+        // Base case: check if the position is not valid or already visited.
+        if (!maze.isValidMove(position) || visited.get(cell)) {
             return false;
         }
+        visited.set(cell);
+        nodesExpanded++;
+        if (recorder != null) {
+            recorder.visit(row, col);
+        }
 
         // adds the position to solution path
         // adds the associated move to solution moves
         path.add(position);
+        if (path.size() > peakDepth) {
+            peakDepth = path.size();
+        }
         if (prow < row) {
             moves.add("s");
         } else if (prow> row) {
@@ -63,16 +162,16 @@ public class Solution {
         } else {
             // Try moving in all four directions, but avoid moving back to the previous position.
             // This stops the algorithm from repetitively moving back and forth in a loop.
-            if ((row != prow + 1 && findSolution(maze, row - 1, col, row, col)) ||
-                    (row != prow - 1 && findSolution(maze, row + 1, col, row, col)) ||
-                    (col != pcol + 1 && findSolution(maze, row, col - 1, row, col)) ||
-                    (col != pcol - 1 && findSolution(maze, row, col + 1, row, col))) {
+            if ((row != prow + 1 && search(maze, row - 1, col, row, col)) ||
+                    (row != prow - 1 && search(maze, row + 1, col, row, col)) ||
+                    (col != pcol + 1 && search(maze, row, col - 1, row, col)) ||
+                    (col != pcol - 1 && search(maze, row, col + 1, row, col))) {
                 return true;
             }
             // if all possible moves from the current position return false,
             // then remove the current position from the solution path and
             // remove the current move from the solution move
-            path.remove(position);
+            path.remove(path.size() - 1);
             moves.remove(moves.size() - 1);// Backtrack
             return false;
         }
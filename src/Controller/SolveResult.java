@@ -0,0 +1,169 @@
+package Controller;
+
+import metrics.SolveSample;
+
+import java.util.ArrayList;
+
+/**
+ * The outcome of a solve: which solver ran, the path it found and
+ * the measurements taken while solving.
+ * The path is stored as flat cell indices, row * numCols + col,
+ * from the start position to the end position.
+ */
+public class SolveResult {
+
+    private final String solver;
+    private final int numCols;
+    private final int[] cells;
+    private final SolveSample sample;
+    private final String selection;
+
+    /**
+     * Creates the result of a solve.
+     *
+     * @param solver  The name of the solver.
+     * @param numCols The number of columns of the solved maze.
+     * @param cells   The cells of the path from start to end, or null if there is no solution.
+     * @param sample  The measurements taken while solving.
+     */
+    public SolveResult(String solver, int numCols, int[] cells, SolveSample sample) {
+        this(solver, numCols, cells, sample, null);
+    }
+
+    /**
+     * Creates the result of a solve by a solver which delegated to another solver.
+     *
+     * @param solver    The name of the solver.
+     * @param numCols   The number of columns of the solved maze.
+     * @param cells     The cells of the path from start to end, or null if there is no solution.
+     * @param sample    The measurements taken while solving.
+     * @param selection The name of the solver which did the search, or null if it was the solver itself.
+     */
+    public SolveResult(String solver, int numCols, int[] cells, SolveSample sample, String selection) {
+        this.solver = solver;
+        this.numCols = numCols;
+        this.cells = cells;
+        this.sample = sample;
+        this.selection = selection;
+    }
+
+    /**
+     * Gets the name of the solver which produced this result.
+     *
+     * @return The solver name.
+     */
+    public String getSolver() {
+        return this.solver;
+    }
+
+    /**
+     * Gets the name of the solver which did the search, when the solver
+     * which produced this result picked another one, e.g. the auto solver.
+     *
+     * @return The selected solver name, or null if the solver searched itself.
+     */
+    public String getSelection() {
+        return this.selection;
+    }
+
+    /**
+     * Whether a path from the start to the end was found.
+     *
+     * @return true if the maze was solved.
+     */
+    public boolean isSolved() {
+        return this.cells != null;
+    }
+
+    /**
+     * Gets the cells of the path as row * numCols + col, from start to end.
+     * The array is not copied.
+     *
+     * @return The path cells, or null if there is no solution.
+     */
+    public int[] getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Gets the number of moves in the path.
+     *
+     * @return The number of moves, 0 if there is no solution.
+     */
+    public int getPathLength() {
+        return this.cells == null ? 0 : this.cells.length - 1;
+    }
+
+    /**
+     * Gets the path as [row, column] positions, in the same form as Solution.path.
+     *
+     * @return The positions of the path, empty if there is no solution.
+     */
+    public ArrayList<int[]> getPath() {
+        ArrayList<int[]> path = new ArrayList<>();
+        if (this.cells != null) {
+            for (int cell : this.cells) {
+                path.add(new int[]{cell / this.numCols, cell % this.numCols});
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Gets the path as 'w', 'a', 's', 'd' moves, in the same form as Solution.moves.
+     *
+     * @return The moves of the path, empty if there is no solution.
+     */
+    public ArrayList<String> getMoves() {
+        ArrayList<String> moves = new ArrayList<>();
+        String moveString = getMoveString();
+        for (int i = 0; i < moveString.length(); i++) {
+            moves.add(String.valueOf(moveString.charAt(i)));
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the path as a string of 'w', 'a', 's', 'd' moves, one character per move.
+     *
+     * @return The moves of the path, empty if there is no solution.
+     */
+    public String getMoveString() {
+        return this.cells == null ? "" : toMoves(this.cells, this.numCols);
+    }
+
+    /**
+     * Gets the measurements taken while solving.
+     *
+     * @return The measurements of the solve.
+     */
+    public SolveSample getSample() {
+        return this.sample;
+    }
+
+    /**
+     * Converts a path of adjacent cells into 'w', 'a', 's', 'd' moves.
+     *
+     * @param cells   The cells of the path as row * numCols + col.
+     * @param numCols The number of columns of the maze.
+     * @return The moves between consecutive cells.
+     */
+    public static String toMoves(int[] cells, int numCols) {
+        StringBuilder moves = new StringBuilder(Math.max(0, cells.length - 1));
+        for (int i = 1; i < cells.length; i++) {
+            int step = cells[i] - cells[i - 1];
+            if (step == -numCols) {
+                moves.append('w');
+            } else if (step == numCols) {
+                moves.append('s');
+            } else if (step == -1) {
+                moves.append('a');
+            } else if (step == 1) {
+                moves.append('d');
+            } else {
+                throw new IllegalArgumentException("Cells " + cells[i - 1] + " and " + cells[i] + " are not adjacent");
+            }
+        }
+        return moves.toString();
+    }
+}
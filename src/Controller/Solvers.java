@@ -0,0 +1,53 @@
+package Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The catalogue of available maze solvers.
+ */
+public final class Solvers {
+
+    private Solvers() {
+    }
+
+    /**
+     * Creates one instance of every available solver.
+     * The original recursive solver comes first as it is the baseline.
+     *
+     * @return The available solvers.
+     */
+    public static List<MazeSolver> available() {
+        List<MazeSolver> solvers = new ArrayList<>();
+        solvers.add(new RecursiveSolver());
+        solvers.add(new BreadthFirstSolver());
+        solvers.add(new CompactBreadthFirstSolver());
+        solvers.add(new BitParallelSolver());
+        solvers.add(new AStarSolver());
+        solvers.add(new JumpPointSolver());
+        solvers.add(new DijkstraSolver());
+        solvers.add(new BidirectionalSolver());
+        solvers.add(new JunctionGraphSolver());
+        solvers.add(new HierarchicalSolver());
+        solvers.add(new ExternalBreadthFirstSolver());
+        solvers.add(new WallFollowerSolver());
+        solvers.add(new AutoSolver());
+        return solvers;
+    }
+
+    /**
+     * Creates the solver with the given name.
+     *
+     * @param name The name of the solver, as returned by getName.
+     * @return The solver.
+     * @throws IllegalArgumentException If there is no solver with that name.
+     */
+    public static MazeSolver byName(String name) {
+        for (MazeSolver solver : available()) {
+            if (solver.getName().equals(name)) {
+                return solver;
+            }
+        }
+        throw new IllegalArgumentException("Unknown solver: " + name);
+    }
+}
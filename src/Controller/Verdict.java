@@ -0,0 +1,60 @@
+package Controller;
+
+/**
+ * The outcome of checking one sequence of moves with MoveVerifier.
+ */
+public class Verdict {
+
+    private final int illegalStep;
+    private final int finalCell;
+    private final boolean endsOnExit;
+
+    /**
+     * Creates a verdict.
+     *
+     * @param illegalStep The index of the first illegal move, -1 if every move is legal.
+     * @param finalCell   The cell the moves end on, or stopped before the illegal move, as row * numCols + col.
+     * @param endsOnExit  Whether every move is legal and the last one ends on an end of the maze.
+     */
+    public Verdict(int illegalStep, int finalCell, boolean endsOnExit) {
+        this.illegalStep = illegalStep;
+        this.finalCell = finalCell;
+        this.endsOnExit = endsOnExit;
+    }
+
+    /**
+     * Checks whether every move is legal, i.e. one of w, a, s or d and not into a wall or off the maze.
+     *
+     * @return true if every move is legal.
+     */
+    public boolean isValid() {
+        return this.illegalStep < 0;
+    }
+
+    /**
+     * Gets the index of the first illegal move.
+     *
+     * @return The index of the move from 0, -1 if every move is legal.
+     */
+    public int getIllegalStep() {
+        return this.illegalStep;
+    }
+
+    /**
+     * Gets the cell the moves end on, or the cell before the first illegal move.
+     *
+     * @return The cell as row * numCols + col.
+     */
+    public int getFinalCell() {
+        return this.finalCell;
+    }
+
+    /**
+     * Checks whether the moves solve the maze: every move is legal and the last one ends on an end of the maze.
+     *
+     * @return true if the moves solve the maze.
+     */
+    public boolean endsOnExit() {
+        return this.endsOnExit;
+    }
+}
@@ -0,0 +1,121 @@
+package Controller;
+
+import metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of steps to the exit over many simulated walks with one strategy.
+ * Walks which don't reach the exit within the step limit are counted as
+ * unfinished and left out of the distribution.
+ * Results can be added from many threads at once.
+ */
+public class WalkReport {
+
+    private final WalkStrategy strategy;
+    private final long maxSteps;
+    // a log-linear histogram, so quantiles are within 25% of the true step counts
+    private final LatencyHistogram steps = new LatencyHistogram();
+    private final LongAdder unfinished = new LongAdder();
+
+    /**
+     * Creates an empty report.
+     *
+     * @param strategy The strategy of the walks.
+     * @param maxSteps The step limit of each walk.
+     */
+    public WalkReport(WalkStrategy strategy, long maxSteps) {
+        this.strategy = strategy;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Adds a walk which reached the exit.
+     *
+     * @param steps The number of steps the walk took.
+     */
+    public void addFinished(long steps) {
+        this.steps.record(steps);
+    }
+
+    /**
+     * Adds a walk which ran out of steps.
+     */
+    public void addUnfinished() {
+        this.unfinished.increment();
+    }
+
+    /**
+     * Gets the strategy of the walks.
+     *
+     * @return The strategy.
+     */
+    public WalkStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * Gets the step limit of each walk.
+     *
+     * @return The step limit.
+     */
+    public long getMaxSteps() {
+        return this.maxSteps;
+    }
+
+    /**
+     * Gets the number of walks.
+     *
+     * @return The number of finished and unfinished walks.
+     */
+    public long getWalks() {
+        return this.steps.getCount() + this.unfinished.sum();
+    }
+
+    /**
+     * Gets the number of walks which reached the exit.
+     *
+     * @return The number of finished walks.
+     */
+    public long getFinished() {
+        return this.steps.getCount();
+    }
+
+    /**
+     * Gets the fraction of walks which reached the exit.
+     *
+     * @return The fraction between 0 and 1, 0 if there were no walks.
+     */
+    public double getFinishedRatio() {
+        long walks = getWalks();
+        return walks == 0 ? 0 : (double) getFinished() / walks;
+    }
+
+    /**
+     * Gets the mean number of steps of the finished walks.
+     *
+     * @return The mean steps to the exit.
+     */
+    public double getMeanSteps() {
+        return this.steps.getMean();
+    }
+
+    /**
+     * Estimates the number of steps within which the given fraction of finished walks reached the exit.
+     *
+     * @param quantile The quantile between 0 and 1, e.g. 0.5 for the median.
+     * @return The steps to the exit.
+     */
+    public long getSteps(double quantile) {
+        return this.steps.getQuantile(quantile);
+    }
+
+    /**
+     * Gets the most steps any finished walk took.
+     *
+     * @return The largest steps to the exit.
+     */
+    public long getMaxFinishedSteps() {
+        return this.steps.getMax();
+    }
+}
@@ -0,0 +1,114 @@
+package Controller;
+
+import Model.MazeLayout;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates many agents walking a maze from its start until they reach an
+ * exit, to estimate how hard the maze is to solve without a map.
+ * Walks run in parallel on every core over one shared MazeLayout. Each agent
+ * is just a cell and a heading held in local variables, and every move goes
+ * through MazeLayout.step, so the walk loop never allocates or copies the grid.
+ * Walks are split into fixed batches each with its own SplittableRandom split
+ * off one seeded root, so a given seed always gives the same report no matter
+ * how the batches are scheduled.
+ */
+public class WalkSimulator {
+
+    // number of walks run by one parallel task
+    private static final int BATCH = 1024;
+
+    private final MazeLayout layout;
+    private final long maxSteps;
+
+    /**
+     * Creates a simulator for a maze.
+     *
+     * @param layout   The maze layout, which needs a start and at least one exit.
+     * @param maxSteps The most steps a walk may take before it is given up.
+     */
+    public WalkSimulator(MazeLayout layout, long maxSteps) {
+        if (layout.getStart() < 0 || layout.getEnds().length == 0) {
+            throw new IllegalArgumentException("Maze needs a start 'S' and an end 'E'");
+        }
+        this.layout = layout;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Runs walks with one strategy.
+     *
+     * @param strategy The strategy of the walks.
+     * @param walks    The number of walks.
+     * @param seed     The seed of the random number generators.
+     * @return The distribution of steps to the exit.
+     */
+    public WalkReport simulate(WalkStrategy strategy, long walks, long seed) {
+        WalkReport report = new WalkReport(strategy, this.maxSteps);
+        int batches = (int) ((walks + BATCH - 1) / BATCH);
+        // splitting has to happen in order for the results to be reproducible
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[batches];
+        for (int i = 0; i < batches; i++) {
+            randoms[i] = root.split();
+        }
+        IntStream.range(0, batches).parallel().forEach(batch -> {
+            long count = Math.min(BATCH, walks - (long) batch * BATCH);
+            SplittableRandom random = randoms[batch];
+            for (long k = 0; k < count; k++) {
+                long steps = walk(strategy, random);
+                if (steps < 0) {
+                    report.addUnfinished();
+                } else {
+                    report.addFinished(steps);
+                }
+            }
+        });
+        return report;
+    }
+
+    /**
+     * Walks one agent from the start.
+     *
+     * @param strategy The strategy of the agent.
+     * @param random   The random number generator of the agent.
+     * @return The number of steps to an exit, or -1 if no exit was reached within the step limit.
+     */
+    private long walk(WalkStrategy strategy, SplittableRandom random) {
+        int cell = this.layout.getStart();
+        // the walk finishes at any exit, the first one only steers the strategy
+        int end = this.layout.getEnd();
+        if (this.layout.isEnd(cell)) {
+            return 0;
+        }
+        if (isBoxedIn(cell)) {
+            return -1;
+        }
+        int heading = random.nextInt(4);
+        for (long steps = 1; steps <= this.maxSteps; steps++) {
+            heading = strategy.choose(this.layout, cell, heading, end, random);
+            cell = this.layout.step(cell, heading);
+            if (this.layout.isEnd(cell)) {
+                return steps;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a cell has no open neighbours.
+     *
+     * @param cell The cell.
+     * @return true if every move from the cell runs into a wall.
+     */
+    private boolean isBoxedIn(int cell) {
+        for (int d = 0; d < 4; d++) {
+            if (this.layout.step(cell, d) != cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
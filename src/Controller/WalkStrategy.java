@@ -0,0 +1,145 @@
+package Controller;
+
+import Model.MazeLayout;
+
+import java.util.SplittableRandom;
+
+/**
+ * The ways a simulated agent can pick its next move.
+ * Strategies keep no state besides the agent's heading, so a step never allocates.
+ * Directions are the clockwise directions of MazeLayout.step.
+ */
+public enum WalkStrategy {
+
+    /**
+     * Moves to a uniformly random open neighbour, possibly straight back.
+     */
+    RANDOM("random") {
+        @Override
+        public int choose(MazeLayout layout, int cell, int heading, int end, SplittableRandom random) {
+            int open = 0;
+            for (int d = 0; d < 4; d++) {
+                if (layout.step(cell, d) != cell) {
+                    open |= 1 << d;
+                }
+            }
+            return nthSetBit(open, random.nextInt(Integer.bitCount(open)));
+        }
+    },
+
+    /**
+     * Keeps its right hand on the wall: turns right if it can, else goes
+     * straight, else left, else back. Only the initial heading is random.
+     */
+    WALL_FOLLOWER("wall") {
+        @Override
+        public int choose(MazeLayout layout, int cell, int heading, int end, SplittableRandom random) {
+            for (int turn = 1; turn >= -2; turn--) {
+                int d = (heading + turn) & 3;
+                if (layout.step(cell, d) != cell) {
+                    return d;
+                }
+            }
+            return heading;
+        }
+    },
+
+    /**
+     * Behaves roughly like a person without a map: never turns back unless at a
+     * dead end, and at a junction usually takes a way which heads towards the
+     * exit, otherwise any way at random.
+     */
+    HUMAN("human") {
+        @Override
+        public int choose(MazeLayout layout, int cell, int heading, int end, SplittableRandom random) {
+            int numCols = layout.getNumCols();
+            int row = cell / numCols;
+            int col = cell - row * numCols;
+            int endRow = end / numCols;
+            int endCol = end - endRow * numCols;
+            int reverse = (heading + 2) & 3;
+            int open = 0;
+            int towards = 0;
+            for (int d = 0; d < 4; d++) {
+                if (d != reverse && layout.step(cell, d) != cell) {
+                    open |= 1 << d;
+                    // up and down close in on the exit's row, left and right on its column
+                    boolean closer = d == 0 ? endRow < row : d == 2 ? endRow > row : d == 1 ? endCol > col : endCol < col;
+                    if (closer) {
+                        towards |= 1 << d;
+                    }
+                }
+            }
+            if (open == 0) {
+                return reverse;
+            }
+            int choices = towards != 0 && random.nextInt(100) < HUMAN_BIAS_PERCENT ? towards : open;
+            return nthSetBit(choices, random.nextInt(Integer.bitCount(choices)));
+        }
+    };
+
+    // how often a human picks a way towards the exit when there is one
+    private static final int HUMAN_BIAS_PERCENT = 70;
+
+    private final String name;
+
+    /**
+     * Creates a strategy.
+     *
+     * @param name The short name used on the command line and in reports.
+     */
+    WalkStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Picks the direction of the next move. The agent must not be boxed in on all four sides.
+     *
+     * @param layout  The maze layout.
+     * @param cell    The agent's cell.
+     * @param heading The direction of the agent's last move.
+     * @param end     The exit cell.
+     * @param random  The walk's random number generator.
+     * @return The direction of the next move, which always leads to an open cell.
+     */
+    public abstract int choose(MazeLayout layout, int cell, int heading, int end, SplittableRandom random);
+
+    /**
+     * Gets the short name of the strategy.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Finds a strategy by its short name.
+     *
+     * @param name The name, e.g. "random".
+     * @return The strategy.
+     * @throws IllegalArgumentException If there is no strategy with the name.
+     */
+    public static WalkStrategy byName(String name) {
+        for (WalkStrategy strategy : values()) {
+            if (strategy.name.equals(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy " + name);
+    }
+
+    /**
+     * Finds the index of the n-th set bit of a small mask.
+     *
+     * @param mask The mask.
+     * @param n    Which set bit, from 0.
+     * @return The index of the bit.
+     */
+    private static int nthSetBit(int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+}
@@ -0,0 +1,201 @@
+package Controller;
+
+import Model.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Solves a maze by walking it with a hand on the wall, keeping a constant
+ * amount of state however large the maze is, and handing every move to a
+ * MoveSink as soon as it is made. It only asks the grid whether cells are
+ * open, so it works on any MazeGrid, including ones backed by files.
+ * <p>
+ * A start which does not touch the outer wall may sit next to a free standing
+ * island of walls, around which a plain wall follower would circle forever.
+ * From such a start Pledge's algorithm is used first: head up until blocked,
+ * then follow the wall with the right hand while counting turns, and leave it
+ * once the turns add up to zero and the way up is open, until the outer wall
+ * is reached. From there the right hand follows the outer wall, which passes
+ * every cell that borders it.
+ * </p>
+ * The end is found if it borders the outer wall, or lies on the way there.
+ * Otherwise the walk runs in circles, which Brent's cycle detection notices
+ * with a constant amount of memory, and the maze is reported as unsolved.
+ * Paths are not shortest paths and may visit cells many times.
+ */
+public class WallFollowerSolver extends GridSolver {
+
+    // the heading Pledge's algorithm prefers, up
+    private static final int PREFERRED = 0;
+
+    // moves of the clockwise headings up, right, down, left
+    private static final String DIRECTIONS = "wdsa";
+    private static final int[] ROWS = {-1, 0, 1, 0};
+    private static final int[] COLS = {0, 1, 0, -1};
+
+    @Override
+    public String getName() {
+        return "wall-follower";
+    }
+
+    /**
+     * Walks from the start to the end, handing every move to the sink.
+     * Uses a constant amount of memory besides whatever the sink keeps.
+     *
+     * @param grid  The maze layout.
+     * @param start The start position as [row, column].
+     * @param end   The end position as [row, column].
+     * @param sink  The receiver of the moves.
+     * @return true if the end was reached, false if it can't be reached by following walls.
+     */
+    public boolean walk(MazeGrid grid, int[] start, int[] end, MoveSink sink) {
+        return walk(grid, start[0], start[1], end[0], end[1], sink, new SearchContext(null));
+    }
+
+    @Override
+    protected int[] search(MazeGrid grid, int start, int end, SearchContext context) {
+        int numCols = grid.getNumCols();
+        // collects the walk as cells for the SolveResult, which is the only part that needs memory
+        int[][] path = {new int[64]};
+        int[] length = {1};
+        int[] position = {start / numCols, start % numCols};
+        path[0][0] = start;
+        MoveSink sink = move -> {
+            int direction = DIRECTIONS.indexOf(move);
+            position[0] += ROWS[direction];
+            position[1] += COLS[direction];
+            if (length[0] == path[0].length) {
+                path[0] = Arrays.copyOf(path[0], length[0] * 2);
+            }
+            path[0][length[0]++] = position[0] * numCols + position[1];
+        };
+        boolean solved = walk(grid, start / numCols, start % numCols, end / numCols, end % numCols, sink, context);
+        return solved ? Arrays.copyOf(path[0], length[0]) : null;
+    }
+
+    /**
+     * Walks from the start to the end.
+     *
+     * @param grid    The maze layout.
+     * @param row     The row of the start.
+     * @param col     The column of the start.
+     * @param endRow  The row of the end.
+     * @param endCol  The column of the end.
+     * @param sink    The receiver of the moves.
+     * @param context The context to report visited cells to.
+     * @return true if the end was reached.
+     */
+    private static boolean walk(MazeGrid grid, int row, int col, int endRow, int endCol, MoveSink sink,
+                                SearchContext context) {
+        context.expand(row * grid.getNumCols() + col);
+        if (row == endRow && col == endCol) {
+            return true;
+        }
+        if (!canMove(grid, row, col, 0) && !canMove(grid, row, col, 1)
+                && !canMove(grid, row, col, 2) && !canMove(grid, row, col, 3)) {
+            return false;
+        }
+        boolean pledge = borderDirection(grid, row, col) < 0;
+        // keeps the outer wall on the right hand, or heads the preferred way
+        int heading = pledge ? PREFERRED : (borderDirection(grid, row, col) + 3) & 3;
+        // the sum of the turns made while following a wall, right turns counting +1
+        long turns = 0;
+        // Brent's cycle detection: the position saved at the last power of two steps and the steps since
+        int savedRow = row;
+        int savedCol = col;
+        int savedHeading = heading;
+        long power = 1;
+        long steps = 0;
+
+        while (true) {
+            if (pledge) {
+                if (turns == 0 && canMove(grid, row, col, PREFERRED)) {
+                    heading = PREFERRED;
+                } else if (canMove(grid, row, col, (heading + 1) & 3) && turns != 0) {
+                    heading = (heading + 1) & 3;
+                    turns++;
+                } else if (!canMove(grid, row, col, heading)) {
+                    // blocked, turn left so that the wall is on the right hand
+                    heading = (heading + 3) & 3;
+                    turns--;
+                    continue;
+                }
+            } else {
+                // right hand rule: right, straight, left, back
+                int turn = 1;
+                while (!canMove(grid, row, col, (heading + turn) & 3)) {
+                    turn--;
+                }
+                heading = (heading + turn) & 3;
+            }
+            row += ROWS[heading];
+            col += COLS[heading];
+            sink.move(DIRECTIONS.charAt(heading));
+            context.expand(row * grid.getNumCols() + col);
+            if (row == endRow && col == endCol) {
+                return true;
+            }
+            boolean switchToWall = pledge && borderDirection(grid, row, col) >= 0;
+            if (row == savedRow && col == savedCol && heading == savedHeading) {
+                if (!pledge) {
+                    // the hand is back where it started on this wall without passing the end
+                    return false;
+                }
+                // circling a wall which never reaches the outer wall, e.g. the inside of a closed room,
+                // so follow it as it is and give up if that comes full circle too
+                switchToWall = true;
+            }
+            if (switchToWall) {
+                pledge = false;
+                int border = borderDirection(grid, row, col);
+                if (border >= 0) {
+                    heading = (border + 3) & 3;
+                }
+                power = 1;
+                steps = 0;
+            }
+            if (++steps == power) {
+                savedRow = row;
+                savedCol = col;
+                savedHeading = heading;
+                power <<= 1;
+                steps = 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a move is possible.
+     *
+     * @param grid    The maze layout.
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param heading The heading of the move.
+     * @return true if the neighbour in that heading is open.
+     */
+    private static boolean canMove(MazeGrid grid, int row, int col, int heading) {
+        return grid.isValidMove(row + ROWS[heading], col + COLS[heading]);
+    }
+
+    /**
+     * Finds a side of a cell on which the outer wall lies, i.e. a closed
+     * neighbour which is on the edge of the grid or off it.
+     *
+     * @param grid The maze layout.
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @return The heading towards the outer wall, or -1 if the cell does not touch it.
+     */
+    private static int borderDirection(MazeGrid grid, int row, int col) {
+        for (int heading = 0; heading < 4; heading++) {
+            int nextRow = row + ROWS[heading];
+            int nextCol = col + COLS[heading];
+            boolean edge = nextRow <= 0 || nextCol <= 0
+                    || nextRow >= grid.getNumRows() - 1 || nextCol >= grid.getNumCols() - 1;
+            if (edge && !grid.isValidMove(nextRow, nextCol)) {
+                return heading;
+            }
+        }
+        return -1;
+    }
+}
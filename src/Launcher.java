@@ -1,15 +1,29 @@
+import Controller.ExplorationRecorder;
+import Controller.MazeSolver;
+import Controller.MoveScript;
+import Controller.SolveResult;
 import Controller.Solution;
+import Controller.Solvers;
 import Model.Maze;
 import Model.Player;
 import View.MazeGUI;
 
+import View.MazeImageRenderer;
 import View.MazeView;
+import View.TerminalRenderer;
 import Controller.MazeUpdate;
 import exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
+import metrics.MetricsRegistry;
 
 import javax.swing.*;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.InputStreamReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -60,6 +74,8 @@ public class Launcher {
     public static void main(String[] args) throws IOException, MazeSizeMissmatchException, MazeMalformedException {
         Player player = new Player(new int[]{0, 0});
         MazeUpdate controller = new MazeUpdate();
+        // publish solver metrics over JMX for as long as the application runs
+        MetricsRegistry.getDefault().registerMBeans();
         Maze maze;
         String lastArgument = args[args.length - 1];
         try {
@@ -67,7 +83,8 @@ public class Launcher {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        MazeView view = new MazeView();
+        // "ANSI" draws text mode frames through the diff based terminal renderer
+        MazeView view = args[0].equals("ANSI") ? new MazeView(new TerminalRenderer(System.out)) : new MazeView();
 
         // Check if we are running on macOS
         String os = System.getProperty("os.name").toLowerCase();
@@ -76,6 +93,50 @@ public class Launcher {
             System.setProperty("apple.laf.useScreenMenuBar", "true");
         }
 
+        // Render the solved maze to a PNG file without a display if "PNG" argument is passed
+        // i.e. PNG <output file> <maze file>
+        // "HEATMAP" does the same but overlays how often the solver visited each cell,
+        // i.e. HEATMAP <output file> [<solver name>] <maze file>, the recursive solver by default
+        if (args[0].equals("PNG") || args[0].equals("HEATMAP")) {
+            System.setProperty("java.awt.headless", "true");
+            MazeSolver solver = Solvers.byName(args[0].equals("HEATMAP") && args.length > 3 ? args[2] : "recursive");
+            ExplorationRecorder recorder = null;
+            if (args[0].equals("HEATMAP")) {
+                recorder = new ExplorationRecorder(maze.getNumRows(), maze.getNumCols());
+                solver.setRecorder(recorder);
+            }
+            SolveResult result = solver.solve(maze);
+            if (!result.isSolved()) {
+                System.out.println("There is no solution");
+            }
+            MazeImageRenderer renderer = new MazeImageRenderer(maze, 4);
+            renderer.addTraversed(result.getPath());
+            renderer.setHeatmap(recorder);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]))) {
+                renderer.writePng(out);
+            }
+            return;
+        }
+
+        // Play a script of moves in one pass if "BATCH" argument is passed
+        // i.e. BATCH <moves file, or - for standard input> [<draw every N moves>] <maze file>
+        // moves are like "wwddssa" or "3w2d", and only the final state is drawn unless N is given
+        if (args[0].equals("BATCH")) {
+            long every = args.length > 3 ? Long.parseLong(args[2]) : 0;
+            MoveScript script = new MoveScript(maze, every, view::drawMaze);
+            try (Reader moves = args[1].equals("-") ? new InputStreamReader(System.in) : new FileReader(args[1])) {
+                if (script.run(moves)) {
+                    System.out.println("You have solved the maze in " + script.getMovesApplied() + " moves!");
+                } else {
+                    System.out.println("Applied " + script.getMovesApplied() + " moves");
+                }
+            } catch (IllegalArgumentException e) {
+                view.drawMaze(maze);
+                System.out.println(e.getMessage() + ", stopped after " + script.getMovesApplied() + " moves");
+            }
+            return;
+        }
+
         // Create a JFrame if "GUI" argument is passed
         if (args.length > 0 && args[0].equals("GUI")) {
             boolean playAgain = true;
@@ -159,7 +220,7 @@ public class Launcher {
                     }
 
                     // ask player if they want to play again
-                    if (Arrays.equals(maze.getPlayer().getPlayerPosition(), maze.getEndOfMaze())) {
+                    if (maze.isEndOfMaze(maze.getPlayer().getPlayerPosition())) {
                         System.out.println("You have reached the end!");
                         playAgain = mazeGUI.askToPlayAgain();
                         if (!playAgain) {
@@ -179,9 +240,7 @@ public class Launcher {
 
             if (Objects.equals(method, "myself")) { // manually solve
                 // prints initial state of maze
-                for (char[] row : maze.getMaze()) {
-                    System.out.println(row);
-                }
+                view.drawMaze(maze);
                 // loop asks for moves and updates maze until
                 // player reaches end of maze
                 while (true) {
@@ -190,7 +249,7 @@ public class Launcher {
                     view.drawMaze(maze);
                     // System.out.println(Arrays.toString(maze.getPlayer().getPlayerPosition()));
                     // System.out.print(Arrays.toString(maze.getEndOfMaze()));
-                    if (Arrays.equals(maze.getPlayer().getPlayerPosition(), maze.getEndOfMaze())) {
+                    if (maze.isEndOfMaze(maze.getPlayer().getPlayerPosition())) {
                         System.out.println("You have solved the maze!");
                         break;
                     }
@@ -0,0 +1,247 @@
+package Model;
+
+/**
+ * The canonical form of a maze grid under its eight symmetries, so that
+ * mazes which are rotations or reflections of each other can be recognised,
+ * e.g. to solve only one of them and map its solution onto the others.
+ * <p>
+ * Every symmetry of the grid is hashed as a polynomial in the characters read
+ * row by row, modulo the prime 2^61 - 1, and the symmetry with the smallest
+ * dimensions and hash is the canonical one. All eight hashes are worked out in
+ * one pass over the grid from a table of powers of the base, without making any
+ * transformed copy. A second hash of the canonical form with another base is
+ * kept as a check, so two grids with equal forms are taken to be equal without
+ * comparing them cell by cell: a false match of both hashes is astronomically unlikely.
+ * </p>
+ */
+public final class CanonicalMaze {
+
+    private static final long MODULUS = (1L << 61) - 1;
+    private static final long BASE = 1_000_003L;
+    private static final long CHECK_BASE = 911_382_323L;
+
+    private final Symmetry symmetry;
+    private final int numRows;
+    private final int numCols;
+    private final long hash;
+    private final long checkHash;
+
+    /**
+     * Creates a canonical form.
+     *
+     * @param symmetry  The symmetry which takes the grid to its canonical form.
+     * @param numRows   The number of rows of the canonical form.
+     * @param numCols   The number of columns of the canonical form.
+     * @param hash      The hash of the canonical form.
+     * @param checkHash The check hash of the canonical form.
+     */
+    private CanonicalMaze(Symmetry symmetry, int numRows, int numCols, long hash, long checkHash) {
+        this.symmetry = symmetry;
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.hash = hash;
+        this.checkHash = checkHash;
+    }
+
+    /**
+     * Works out the canonical form of a grid.
+     *
+     * @param grid The grid, e.g. as loaded by FileLoader, one array per row.
+     * @return The canonical form.
+     * @throws IllegalArgumentException If the grid is empty or not rectangular.
+     */
+    public static CanonicalMaze of(char[][] grid) {
+        if (grid.length == 0 || grid[0].length == 0) {
+            throw new IllegalArgumentException("Maze is empty");
+        }
+        int numRows = grid.length;
+        int numCols = grid[0].length;
+        int cells = numRows * numCols;
+        long[] powers = new long[cells];
+        powers[0] = 1;
+        for (int i = 1; i < cells; i++) {
+            powers[i] = multiply(powers[i - 1], BASE);
+        }
+
+        // a cell's place in each transformed grid is linear in its row and column
+        Symmetry[] symmetries = Symmetry.values();
+        int[] origins = new int[symmetries.length];
+        int[] rowSteps = new int[symmetries.length];
+        int[] colSteps = new int[symmetries.length];
+        for (int s = 0; s < symmetries.length; s++) {
+            origins[s] = symmetries[s].mapCell(0, 0, numRows, numCols);
+            rowSteps[s] = symmetries[s].mapCell(1, 0, numRows, numCols) - origins[s];
+            colSteps[s] = symmetries[s].mapCell(0, 1, numRows, numCols) - origins[s];
+        }
+        long[] hashes = new long[symmetries.length];
+        for (int i = 0; i < numRows; i++) {
+            if (grid[i].length != numCols) {
+                throw new IllegalArgumentException("Maze is not rectangular");
+            }
+            for (int s = 0; s < symmetries.length; s++) {
+                // the first cell of the transformed grid has the highest power, as when hashing it row by row
+                int power = cells - 1 - origins[s] - i * rowSteps[s];
+                int colStep = colSteps[s];
+                long hash = hashes[s];
+                for (char c : grid[i]) {
+                    hash = add(hash, multiply(c, powers[power]));
+                    power -= colStep;
+                }
+                hashes[s] = hash;
+            }
+        }
+
+        int best = 0;
+        for (int s = 1; s < symmetries.length; s++) {
+            if (compare(symmetries[s], hashes[s], symmetries[best], hashes[best], numRows, numCols) < 0) {
+                best = s;
+            }
+        }
+        // the check hash is only needed for the canonical form; forms with equal hashes are the same grid
+        Symmetry symmetry = symmetries[best];
+        // the table is refilled with powers of the check base
+        long[] checkPowers = powers;
+        checkPowers[0] = 1;
+        for (int i = 1; i < cells; i++) {
+            checkPowers[i] = multiply(checkPowers[i - 1], CHECK_BASE);
+        }
+        long checkHash = 0;
+        for (int i = 0; i < numRows; i++) {
+            int power = cells - 1 - origins[best] - i * rowSteps[best];
+            for (char c : grid[i]) {
+                checkHash = add(checkHash, multiply(c, checkPowers[power]));
+                power -= colSteps[best];
+            }
+        }
+        return new CanonicalMaze(symmetry, symmetry.swapsDimensions() ? numCols : numRows,
+                symmetry.swapsDimensions() ? numRows : numCols, hashes[best], checkHash);
+    }
+
+    /**
+     * Gets the symmetry which takes the grid to its canonical form.
+     *
+     * @return The symmetry.
+     */
+    public Symmetry getSymmetry() {
+        return this.symmetry;
+    }
+
+    /**
+     * Gets the symmetry which takes this grid to another grid with the same
+     * canonical form, e.g. to map a solution of this maze onto the other one.
+     *
+     * @param other The canonical form of the other grid.
+     * @return The symmetry.
+     * @throws IllegalArgumentException If the canonical forms differ.
+     */
+    public Symmetry symmetryTo(CanonicalMaze other) {
+        if (!equals(other)) {
+            throw new IllegalArgumentException("Mazes are not symmetries of each other");
+        }
+        return this.symmetry.then(other.symmetry.inverse());
+    }
+
+    /**
+     * Gets the number of rows of the canonical form.
+     *
+     * @return The number of rows.
+     */
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    /**
+     * Gets the number of columns of the canonical form.
+     *
+     * @return The number of columns.
+     */
+    public int getNumCols() {
+        return this.numCols;
+    }
+
+    /**
+     * Gets the hash of the canonical form.
+     *
+     * @return The hash, below 2^61 - 1.
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Gets the hash of the canonical form as a fixed width hexadecimal string, e.g. for file names.
+     *
+     * @return The dimensions and both hashes.
+     */
+    public String toKey() {
+        return String.format("%dx%d-%016x%016x", this.numRows, this.numCols, this.hash, this.checkHash);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CanonicalMaze)) {
+            return false;
+        }
+        CanonicalMaze that = (CanonicalMaze) other;
+        return this.numRows == that.numRows && this.numCols == that.numCols
+                && this.hash == that.hash && this.checkHash == that.checkHash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.hash) * 31 + Long.hashCode(this.checkHash);
+    }
+
+    @Override
+    public String toString() {
+        return toKey();
+    }
+
+    /**
+     * Orders two symmetries of a grid by their transformed dimensions, then their hashes.
+     *
+     * @param a       The first symmetry.
+     * @param hashA   The hash of the grid transformed by the first symmetry.
+     * @param b       The second symmetry.
+     * @param hashB   The hash of the grid transformed by the second symmetry.
+     * @param numRows The number of rows of the grid.
+     * @param numCols The number of columns of the grid.
+     * @return A negative number, zero or a positive number as the first comes before, with or after the second.
+     */
+    private static int compare(Symmetry a, long hashA, Symmetry b, long hashB, int numRows, int numCols) {
+        // the taller form comes first, which decides nothing for a square grid
+        int rowsA = a.swapsDimensions() ? numCols : numRows;
+        int rowsB = b.swapsDimensions() ? numCols : numRows;
+        if (rowsA != rowsB) {
+            return Integer.compare(rowsB, rowsA);
+        }
+        return Long.compare(hashA, hashB);
+    }
+
+    /**
+     * Multiplies two numbers modulo 2^61 - 1.
+     *
+     * @param a A number below 2^61.
+     * @param b A number below 2^61.
+     * @return The product modulo 2^61 - 1.
+     */
+    private static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        // 2^61 is 1 modulo 2^61 - 1, so the bits above 61 fold back onto the low ones
+        long folded = (low & MODULUS) + ((low >>> 61) | (high << 3));
+        return folded >= MODULUS ? folded - MODULUS : folded;
+    }
+
+    /**
+     * Adds two numbers modulo 2^61 - 1.
+     *
+     * @param a A number below 2^61 - 1.
+     * @param b A number below 2^61 - 1.
+     * @return The sum modulo 2^61 - 1.
+     */
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum >= MODULUS ? sum - MODULUS : sum;
+    }
+}
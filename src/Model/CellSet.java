@@ -0,0 +1,128 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * A set of cell indices backed by an open addressing int array.
+ * Memory grows with the number of cells in the set rather than the size
+ * of the maze, which keeps sparse per-player state small.
+ * Not thread safe.
+ */
+public class CellSet {
+
+    private static final int EMPTY = -1;
+
+    private int[] slots = emptyTable(16);
+    private int size;
+
+    /**
+     * Adds a cell to the set.
+     *
+     * @param cell The cell, must not be negative.
+     * @return true if the cell was not in the set already.
+     */
+    public boolean add(int cell) {
+        if ((this.size + 1) * 2 > this.slots.length) {
+            grow();
+        }
+        int mask = this.slots.length - 1;
+        for (int i = mix(cell) & mask; ; i = (i + 1) & mask) {
+            if (this.slots[i] == cell) {
+                return false;
+            }
+            if (this.slots[i] == EMPTY) {
+                this.slots[i] = cell;
+                this.size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a cell is in the set.
+     *
+     * @param cell The cell.
+     * @return true if the cell is in the set.
+     */
+    public boolean contains(int cell) {
+        int mask = this.slots.length - 1;
+        for (int i = mix(cell) & mask; ; i = (i + 1) & mask) {
+            if (this.slots[i] == cell) {
+                return true;
+            }
+            if (this.slots[i] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cells in the set.
+     *
+     * @return The size of the set.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every cell from the set.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * Copies the cells of the set into an array, in no particular order.
+     *
+     * @return The cells.
+     */
+    public int[] toArray() {
+        int[] cells = new int[this.size];
+        int k = 0;
+        for (int slot : this.slots) {
+            if (slot != EMPTY) {
+                cells[k++] = slot;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Doubles the table and re-inserts every cell.
+     */
+    private void grow() {
+        int[] old = this.slots;
+        this.slots = emptyTable(old.length * 2);
+        this.size = 0;
+        for (int cell : old) {
+            if (cell != EMPTY) {
+                add(cell);
+            }
+        }
+    }
+
+    /**
+     * Creates a table with every slot empty.
+     *
+     * @param length The number of slots, a power of two.
+     * @return The table.
+     */
+    private static int[] emptyTable(int length) {
+        int[] table = new int[length];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    /**
+     * Spreads the bits of a cell index so that neighbouring cells don't cluster.
+     *
+     * @param cell The cell.
+     * @return The mixed hash.
+     */
+    private static int mix(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
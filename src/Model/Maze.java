@@ -15,17 +15,30 @@ import java.util.ArrayList;
  * Contains attributes such as an ArrayList of Integers to store the dimensions of the maze,
  * a string to store the current map file path,
  * an array of integers to store the end position in the maze,
+ * lists of every start and end position, as a maze may have several of each,
  * a 2d array of characters to store a character representation of the Maze,
  * an instance of a Player
+ * Implements WeightedGrid so that the solvers can read the maze layout
+ * and the cost of its terrain.
  */
-public class Maze extends FileLoader {
+public class Maze extends FileLoader implements WeightedGrid {
     private final ArrayList<Integer> dimensions;
     private String mapFile;
+    // the unprocessed maze when it was not loaded from a file, null otherwise
+    private char[][] layout;
     private int[] endOfMaze;
+    // every 'S' and 'E' in the order they appear, row by row
+    private final ArrayList<int[]> starts = new ArrayList<>();
+    private final ArrayList<int[]> ends = new ArrayList<>();
 
     private char[][] maze;
+    // the ground under every cell, which the player and solution marks don't change
+    private char[][] terrain;
+    private Terrain terrainCosts = Terrain.STANDARD;
 
     private Player player;
+    // counts the changes to the walls, for getModificationCount
+    private long modificationCount;
 
 
 
@@ -53,6 +66,25 @@ public class Maze extends FileLoader {
 
     }
 
+    /**
+     * Constructs a Maze object from maze data which is already in memory,
+     * e.g. read by FileLoader from a request body or made by MazeGenerator.
+     * The data uses the maze file characters '#', ' ', 'S', 'E', '.' and the digits.
+     *
+     * @param layout The maze data, one array per row. It is not modified.
+     * @param player The player associated with this maze.
+     * @throws RuntimeException If the maze data contains invalid characters.
+     */
+    public Maze(char[][] layout, Player player) {
+        this.layout = layout;
+        this.player = player;
+        ArrayList<Integer> newDimensions = new ArrayList<Integer>();
+        newDimensions.add(layout.length);
+        newDimensions.add(layout[0].length);
+        this.dimensions = newDimensions;
+        this.maze = this.loadMaze();
+    }
+
     /**
      * Retrieves the dimensions of the maze as [rows, columns].
      *
@@ -77,6 +109,7 @@ public class Maze extends FileLoader {
      *
      * @return The number of rows in the maze.
      */
+    @Override
     public int getNumRows() {
         return this.dimensions.get(0);
     }
@@ -86,12 +119,14 @@ public class Maze extends FileLoader {
      *
      * @return The number of columns in the maze.
      */
+    @Override
     public int getNumCols() {
         return this.dimensions.get(1);
     }
 
     /**
      * Retrieves the position of the end point of the maze.
+     * If the maze has several end points this is the first of them.
      *
      * @return An array of integers representing the row and column of the end point.
      */
@@ -100,13 +135,54 @@ public class Maze extends FileLoader {
     }
 
     /**
-     * Loads and processes the maze data from the file.
+     * Retrieves the positions of every start point of the maze, row by row.
+     * The player starts on the first of them.
+     *
+     * @return The row and column of each start point.
+     */
+    public ArrayList<int[]> getStarts() {
+        return this.starts;
+    }
+
+    /**
+     * Retrieves the positions of every end point of the maze, row by row.
+     *
+     * @return The row and column of each end point.
+     */
+    public ArrayList<int[]> getEnds() {
+        return this.ends;
+    }
+
+    /**
+     * Checks whether a position is one of the end points of the maze.
+     *
+     * @param position An array of integers representing the position [row, column].
+     * @return `true` if the position is an end point, `false` otherwise.
+     */
+    public boolean isEndOfMaze(int[] position) {
+        if (position == null) {
+            return false;
+        }
+        for (int[] end : this.ends) {
+            if (end[0] == position[0] && end[1] == position[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads and processes the maze data from the file,
+     * or from the in-memory maze data if the maze was not loaded from a file.
      * When processing the 2D character array from the FileLoader load method,
      * if the character is a '#' it should be replaced with a '░',
      * if character is 'S' then it is replaced with '⚉' as this is where the player starts,
+     * other 'S' characters after the first are replaced with ' ' as the player starts only once,
      * if character is a ' ' then it remains as ' '
-     * finally, if character is 'E' then it is replaced with '|' to denote the end of the maze,
-     * additionally, this.endOfMaze is updated to the position of the end of the maze.
+     * if character is 'E' then it is replaced with '|' to denote the end of the maze,
+     * additionally, this.endOfMaze is updated to the position of the first end of the maze,
+     * every start and end position is added to this.starts and this.ends,
+     * finally, if character is '.' or a digit it remains as it is, marking slower terrain.
      *
      * @return A 2D character array representing the processed maze.
      * @throws RuntimeException If there are issues with loading or processing the maze data.
@@ -115,8 +191,12 @@ public class Maze extends FileLoader {
      */
     public char[][] loadMaze() {
         try {
-            char[][] maze = this.load(this.getMapFile());
+            char[][] maze = this.layout != null ? this.layout : this.load(this.getMapFile());
             char[][] modifiedMaze = new char[maze.length][maze[0].length];
+            char[][] ground = new char[maze.length][maze[0].length];
+            this.starts.clear();
+            this.ends.clear();
+            this.endOfMaze = null;
             // Alters the loaded maze to store different characters
             for (int i = 0; i < maze.length; i++) {
                 for (int j = 0; j < maze[i].length; j++) {
@@ -124,24 +204,36 @@ public class Maze extends FileLoader {
                         modifiedMaze[i][j] = '░';
                     }
                     else if (maze[i][j] == 'S') {
-                        modifiedMaze[i][j] = this.getPlayer().getPlayerChar();
                         int[] newPosition = {i,j};
-                        // Sets player position to start at 'S' and adds position to traversed
-                        this.getPlayer().setPlayerPosition(newPosition);
-                        this.getPlayer().addTraversed(this.getPlayer().getPlayerPosition());
+                        if (this.starts.isEmpty()) {
+                            modifiedMaze[i][j] = this.getPlayer().getPlayerChar();
+                            // Sets player position to start at the first 'S' and adds position to traversed
+                            this.getPlayer().setPlayerPosition(newPosition);
+                            this.getPlayer().addTraversed(this.getPlayer().getPlayerPosition());
+                        } else {
+                            modifiedMaze[i][j] = ' ';
+                        }
+                        this.starts.add(newPosition);
                     }
                     else if (maze[i][j] == 'E') {
                         modifiedMaze[i][j] = '|';
-                        this.endOfMaze = new int[]{i, j};
+                        if (this.endOfMaze == null) {
+                            this.endOfMaze = new int[]{i, j};
+                        }
+                        this.ends.add(new int[]{i, j});
                     }
-                    else if (maze[i][j] == ' ') {
-                        modifiedMaze[i][j] = ' ';
+                    else if (maze[i][j] == ' ' || Terrain.isTerrain(maze[i][j])) {
+                        modifiedMaze[i][j] = maze[i][j];
                     }
                     else {
                         throw new MazeMalformedException("Invalid character in maze");
                     }
+                    // the start and end lie on plain path
+                    ground[i][j] = maze[i][j] == 'S' || maze[i][j] == 'E' ? ' ' : maze[i][j];
                 }
             }
+            this.terrain = ground;
+            this.modificationCount++;
             return modifiedMaze;
         } catch (MazeMalformedException | MazeSizeMissmatchException | FileNotFoundException e) {
             throw new RuntimeException(e);
@@ -159,11 +251,13 @@ public class Maze extends FileLoader {
 
     /**
      * Sets the current state of the maze to the provided 2D character array.
+     * The walls are taken to have changed.
      *
      * @param newMaze The new maze state as a 2D character array.
      */
     public void setMaze(char[][] newMaze) {
         this.maze = newMaze;
+        this.modificationCount++;
     }
 
     /**
@@ -180,6 +274,87 @@ public class Maze extends FileLoader {
         }
     }
 
+    /**
+     * Checks if a move to the specified position is valid in the maze.
+     * The move is valid if the position is inside the maze and is not a wall.
+     *
+     * @param row The row of the target position.
+     * @param col The column of the target position.
+     * @return `true` if the move is valid, `false` otherwise.
+     */
+    @Override
+    public boolean isValidMove(int row, int col) {
+        char[][] grid = this.getMaze();
+        return row >= 0 && row < grid.length && col >= 0 && col < grid[row].length && grid[row][col] != '░';
+    }
+
+    /**
+     * Turns a cell into a wall or into plain path while the maze is in use,
+     * e.g. when walls are edited live. The player's cell and the ends of the maze
+     * can't be made walls.
+     *
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @param wall `true` to make the cell a wall, `false` to make it plain path.
+     * @throws IllegalArgumentException If the cell is the player's or an end of the maze.
+     */
+    public void setWall(int row, int col, boolean wall) {
+        char current = this.maze[row][col];
+        if (current == this.getPlayer().getPlayerChar() || current == '|') {
+            throw new IllegalArgumentException("Can't change the player's cell or an end of the maze");
+        }
+        if (wall != (current == '░')) {
+            this.maze[row][col] = wall ? '░' : ' ';
+            this.terrain[row][col] = wall ? '#' : ' ';
+            this.modificationCount++;
+        }
+    }
+
+    /**
+     * Counts the changes to the walls: every load of the maze, every setMaze
+     * and every setWall which changes a cell. Walls changed by writing to the
+     * array of getMaze are only counted once it is passed back to setMaze.
+     *
+     * @return The number of changes so far.
+     */
+    @Override
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Retrieves the ground under a cell as a maze file character, '#' for walls,
+     * ' ' for plain path and '.' or a digit for slower terrain.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The terrain character.
+     */
+    public char getTerrain(int row, int col) {
+        return this.terrain[row][col];
+    }
+
+    /**
+     * Sets the costs of the terrain characters used by getCost.
+     *
+     * @param terrainCosts The terrain costs.
+     */
+    public void setTerrainCosts(Terrain terrainCosts) {
+        this.terrainCosts = terrainCosts;
+    }
+
+    /**
+     * Retrieves the cost of moving onto a cell, which depends on its terrain.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cost, or Terrain.IMPASSABLE for walls.
+     */
+    @Override
+    public int getCost(int row, int col) {
+        return this.terrainCosts.cost(this.terrain[row][col]);
+    }
+
     /**
      * Retrieves the player associated with this maze.
      *
@@ -0,0 +1,189 @@
+package Model;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates random mazes in the same character format read by FileLoader,
+ * i.e. '#' for walls, ' ' for paths, 'S' for the start and 'E' for the end.
+ * The start is always the top left cell and the end the bottom right cell.
+ * Generation is seeded, so the same arguments always produce the same maze.
+ */
+public final class MazeGenerator {
+
+    private MazeGenerator() {
+    }
+
+    /**
+     * Generates a perfect maze, which has exactly one path between any two cells.
+     *
+     * @param numRows The number of rows, must be odd and at least 3.
+     * @param numCols The number of columns, must be odd and at least 3.
+     * @param seed    The seed for the random number generator.
+     * @return The generated maze.
+     */
+    public static char[][] perfect(int numRows, int numCols, long seed) {
+        return generate(numRows, numCols, 1.0, seed);
+    }
+
+    /**
+     * Generates a maze by carving a perfect maze and then knocking out
+     * interior walls between two paths until only the given fraction of
+     * them remains. A wall density of 1.0 leaves a perfect maze, lower
+     * densities add more and more loops.
+     *
+     * @param numRows     The number of rows, must be odd and at least 3.
+     * @param numCols     The number of columns, must be odd and at least 3.
+     * @param wallDensity The fraction of removable interior walls to keep, between 0 and 1.
+     * @param seed        The seed for the random number generator.
+     * @return The generated maze.
+     */
+    public static char[][] generate(int numRows, int numCols, double wallDensity, long seed) {
+        if (numRows < 3 || numCols < 3 || numRows % 2 == 0 || numCols % 2 == 0) {
+            throw new IllegalArgumentException("Number of Rows and columns should be odd and at least 3");
+        }
+        if (wallDensity < 0 || wallDensity > 1) {
+            throw new IllegalArgumentException("Wall density should be between 0 and 1");
+        }
+        Random random = new Random(seed);
+        char[][] maze = new char[numRows][numCols];
+        for (char[] row : maze) {
+            Arrays.fill(row, '#');
+        }
+        carve(maze, random);
+        if (wallDensity < 1) {
+            removeWalls(maze, 1 - wallDensity, random);
+        }
+        maze[1][1] = 'S';
+        maze[numRows - 2][numCols - 2] = 'E';
+        return maze;
+    }
+
+    /**
+     * Generates a perfect maze and then clears rectangular open rooms in it,
+     * roughly one room per 400 cells. Rooms are 3 to 15 cells wide and high
+     * and are aligned to the maze's path cells so they join up with the corridors.
+     *
+     * @param numRows The number of rows, must be odd and at least 3.
+     * @param numCols The number of columns, must be odd and at least 3.
+     * @param seed    The seed for the random number generator.
+     * @return The generated maze.
+     */
+    public static char[][] rooms(int numRows, int numCols, long seed) {
+        char[][] maze = generate(numRows, numCols, 1.0, seed);
+        Random random = new Random(seed ^ 0x5DEECE66DL);
+        int roomCount = Math.max(1, numRows * numCols / 400);
+        for (int k = 0; k < roomCount; k++) {
+            // odd sized rooms starting on an odd coordinate line up with the path cells
+            int height = Math.min(3 + 2 * random.nextInt(7), numRows - 2);
+            int width = Math.min(3 + 2 * random.nextInt(7), numCols - 2);
+            int top = 1 + 2 * random.nextInt((numRows - 1 - height) / 2 + 1);
+            int left = 1 + 2 * random.nextInt((numCols - 1 - width) / 2 + 1);
+            for (int i = top; i < top + height; i++) {
+                for (int j = left; j < left + width; j++) {
+                    if (maze[i][j] == '#') {
+                        maze[i][j] = ' ';
+                    }
+                }
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Carves a perfect maze with an iterative randomised depth first search
+     * over the cells at odd coordinates.
+     *
+     * @param maze   The maze to carve, filled with walls.
+     * @param random The random number generator.
+     */
+    private static void carve(char[][] maze, Random random) {
+        int cellRows = maze.length / 2;
+        int cellCols = maze[0].length / 2;
+        int[] stack = new int[cellRows * cellCols];
+        boolean[] visited = new boolean[cellRows * cellCols];
+        int[] directions = new int[4];
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        maze[1][1] = ' ';
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int row = cell / cellCols;
+            int col = cell % cellCols;
+            // collect unvisited neighbours: 0 up, 1 down, 2 left, 3 right
+            int count = 0;
+            if (row > 0 && !visited[cell - cellCols]) directions[count++] = 0;
+            if (row < cellRows - 1 && !visited[cell + cellCols]) directions[count++] = 1;
+            if (col > 0 && !visited[cell - 1]) directions[count++] = 2;
+            if (col < cellCols - 1 && !visited[cell + 1]) directions[count++] = 3;
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int direction = directions[random.nextInt(count)];
+            int nextRow = row + (direction == 0 ? -1 : direction == 1 ? 1 : 0);
+            int nextCol = col + (direction == 2 ? -1 : direction == 3 ? 1 : 0);
+            int next = nextRow * cellCols + nextCol;
+            // opens the wall between the two cells and the next cell itself
+            maze[row + nextRow + 1][col + nextCol + 1] = ' ';
+            maze[2 * nextRow + 1][2 * nextCol + 1] = ' ';
+            visited[next] = true;
+            stack[top++] = next;
+        }
+    }
+
+    /**
+     * Knocks out a fraction of the interior walls which separate two paths.
+     *
+     * @param maze     The maze to modify.
+     * @param fraction The fraction of removable walls to knock out.
+     * @param random   The random number generator.
+     */
+    private static void removeWalls(char[][] maze, double fraction, Random random) {
+        for (int i = 1; i < maze.length - 1; i++) {
+            // walls between two paths sit on exactly one even coordinate
+            for (int j = 1 + (i % 2); j < maze[i].length - 1; j += 2) {
+                if (maze[i][j] == '#' && random.nextDouble() < fraction) {
+                    maze[i][j] = ' ';
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a maze to the text format read by FileLoader, i.e. a line
+     * with the dimensions followed by one line per row.
+     *
+     * @param maze The maze to convert.
+     * @return The maze as text.
+     */
+    public static String toText(char[][] maze) {
+        StringBuilder builder = new StringBuilder(maze.length * (maze[0].length + 1) + 16);
+        builder.append(maze.length).append(' ').append(maze[0].length).append('\n');
+        for (int i = 0; i < maze.length; i++) {
+            builder.append(maze[i]);
+            if (i < maze.length - 1) {
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes a maze to a file in the text format read by FileLoader.
+     *
+     * @param maze     The maze to write.
+     * @param filename The path of the file to write to.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static void write(char[][] maze, String filename) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+            writer.write(toText(maze));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package Model;
+
+/**
+ * Read-only access to the layout of a maze, as needed by the solvers.
+ * Cells are addressed by row and column, and a cell can be moved to
+ * if it is not a wall. Cells outside of the grid are never valid moves.
+ */
+public interface MazeGrid {
+
+    /**
+     * Retrieves the number of rows in the maze.
+     *
+     * @return The number of rows in the maze.
+     */
+    int getNumRows();
+
+    /**
+     * Retrieves the number of columns in the maze.
+     *
+     * @return The number of columns in the maze.
+     */
+    int getNumCols();
+
+    /**
+     * Checks if a move to the specified position is valid in the maze,
+     * i.e. the position is inside the maze and is not a wall.
+     *
+     * @param row The row of the target position.
+     * @param col The column of the target position.
+     * @return `true` if the move is valid, `false` otherwise.
+     */
+    boolean isValidMove(int row, int col);
+
+    /**
+     * Counts the changes made to the walls of the maze, so that what was worked
+     * out from its layout can be kept for as long as the count stays the same.
+     * Grids which don't count their changes return -1.
+     *
+     * @return The number of changes so far, or -1 if they aren't counted.
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+}
@@ -0,0 +1,343 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * The static layout of a maze: which cells are open, where the starts are and
+ * where the ends are. Most mazes have one of each, in which case getStart and
+ * getEnd are all that is needed; with several, those are the first of them.
+ * Unlike Maze, a layout holds no player and never changes, so one layout can
+ * be shared by any number of threads and player sessions.
+ * Open cells are bit-packed 64 to a long, each row starting on a new word,
+ * so a layout takes about one bit per cell.
+ * Cells are addressed as row * numCols + col.
+ */
+public final class MazeLayout implements MazeGrid {
+
+    /** The moves of each direction passed to step, clockwise from up. */
+    public static final String DIRECTIONS = "wdsa";
+
+    private final int numRows;
+    private final int numCols;
+    private final int wordsPerRow;
+    private final long[] open;
+    private final int[] starts;
+    private final int[] ends;
+    // the ends in ascending order, so that isEnd can search them
+    private final int[] sortedEnds;
+    // the hash of the open cells, worked out when first asked for; 0 until then
+    private int cellsHash;
+
+    /**
+     * Creates a layout from packed rows.
+     *
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @param open    The open cells, wordsPerRow words per row.
+     * @param starts  The start cells.
+     * @param ends    The end cells.
+     */
+    private MazeLayout(int numRows, int numCols, long[] open, int[] starts, int[] ends) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.wordsPerRow = (numCols + 63) >>> 6;
+        this.open = open;
+        this.starts = starts;
+        this.ends = ends;
+        this.sortedEnds = ends.clone();
+        Arrays.sort(this.sortedEnds);
+    }
+
+    /**
+     * Creates a layout from open cells which are already packed,
+     * e.g. by a reader which streams the maze file a row at a time.
+     *
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @param open    The open cells, (numCols + 63) / 64 words per row with bit k of
+     *                word w of a row being the cell in column w * 64 + k. It is not copied.
+     * @param start   The start cell, -1 if there is none.
+     * @param end     The end cell, -1 if there is none.
+     * @return The layout.
+     */
+    public static MazeLayout of(int numRows, int numCols, long[] open, int start, int end) {
+        if (open.length != numRows * ((numCols + 63) >>> 6)) {
+            throw new IllegalArgumentException("Packed cells do not match the dimensions");
+        }
+        return new MazeLayout(numRows, numCols, open, start < 0 ? new int[0] : new int[]{start},
+                end < 0 ? new int[0] : new int[]{end});
+    }
+
+    /**
+     * Creates a layout with several starts and ends from open cells which are already packed.
+     *
+     * @param numRows The number of rows.
+     * @param numCols The number of columns.
+     * @param open    The open cells, packed as for of(numRows, numCols, open, start, end). It is not copied.
+     * @param starts  The start cells. They are copied.
+     * @param ends    The end cells. They are copied.
+     * @return The layout.
+     */
+    public static MazeLayout of(int numRows, int numCols, long[] open, int[] starts, int[] ends) {
+        if (open.length != numRows * ((numCols + 63) >>> 6)) {
+            throw new IllegalArgumentException("Packed cells do not match the dimensions");
+        }
+        return new MazeLayout(numRows, numCols, open, starts.clone(), ends.clone());
+    }
+
+    /**
+     * Creates the layout of a loaded maze. Every cell which is not a wall is open,
+     * the first start is the player's position and the ends are the ends of the maze.
+     * Any other starts of the maze follow the player's.
+     *
+     * @param maze The maze to take the layout of.
+     * @return The layout of the maze.
+     */
+    public static MazeLayout of(Maze maze) {
+        int numRows = maze.getNumRows();
+        int numCols = maze.getNumCols();
+        long[] open = new long[numRows * ((numCols + 63) >>> 6)];
+        int wordsPerRow = (numCols + 63) >>> 6;
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                if (maze.isValidMove(i, j)) {
+                    open[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        int[] startPosition = maze.getPlayer().getPlayerPosition();
+        int[] starts = new int[0];
+        if (startPosition != null && startPosition[0] >= 0) {
+            // the player first, then the starts of the maze it is not on
+            int player = startPosition[0] * numCols + startPosition[1];
+            starts = new int[maze.getStarts().size() + 1];
+            starts[0] = player;
+            int count = 1;
+            for (int[] position : maze.getStarts()) {
+                int cell = position[0] * numCols + position[1];
+                if (cell != player) {
+                    starts[count++] = cell;
+                }
+            }
+            starts = Arrays.copyOf(starts, count);
+        }
+        int[] ends = new int[maze.getEnds().size()];
+        for (int i = 0; i < ends.length; i++) {
+            ends[i] = maze.getEnds().get(i)[0] * numCols + maze.getEnds().get(i)[1];
+        }
+        return new MazeLayout(numRows, numCols, open, starts, ends);
+    }
+
+    /**
+     * Creates a layout from maze data in the maze file format,
+     * i.e. '#' for walls, 'S' for the starts and 'E' for the ends.
+     *
+     * @param layout The maze data, one array per row.
+     * @return The layout of the maze.
+     */
+    public static MazeLayout of(char[][] layout) {
+        int numRows = layout.length;
+        int numCols = layout[0].length;
+        int wordsPerRow = (numCols + 63) >>> 6;
+        long[] open = new long[numRows * wordsPerRow];
+        int[] starts = new int[1];
+        int[] ends = new int[1];
+        int startCount = 0;
+        int endCount = 0;
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                char c = layout[i][j];
+                if (c != '#') {
+                    open[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+                if (c == 'S') {
+                    if (startCount == starts.length) {
+                        starts = Arrays.copyOf(starts, startCount * 2);
+                    }
+                    starts[startCount++] = i * numCols + j;
+                } else if (c == 'E') {
+                    if (endCount == ends.length) {
+                        ends = Arrays.copyOf(ends, endCount * 2);
+                    }
+                    ends[endCount++] = i * numCols + j;
+                }
+            }
+        }
+        return new MazeLayout(numRows, numCols, open, Arrays.copyOf(starts, startCount),
+                Arrays.copyOf(ends, endCount));
+    }
+
+    @Override
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    @Override
+    public int getNumCols() {
+        return this.numCols;
+    }
+
+    @Override
+    public boolean isValidMove(int row, int col) {
+        return row >= 0 && row < this.numRows && col >= 0 && col < this.numCols
+                && (this.open[row * this.wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Checks whether a cell is open. The cell must be inside the maze.
+     *
+     * @param cell The cell as row * numCols + col.
+     * @return true if the cell is not a wall.
+     */
+    public boolean isOpen(int cell) {
+        int row = cell / this.numCols;
+        int col = cell - row * this.numCols;
+        return (this.open[row * this.wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Works out where a single move from a cell ends, following the rules of
+     * MazeUpdate.updateMaze: a move into a wall or off the maze stays put.
+     * Directions are numbered clockwise so that (direction + 2) & 3 is the
+     * reverse and (direction + 1) & 3 a right turn.
+     *
+     * @param cell      The cell to move from.
+     * @param direction The direction, 0 up, 1 right, 2 down or 3 left.
+     * @return The cell the move ends on.
+     */
+    public int step(int cell, int direction) {
+        int row = cell / this.numCols;
+        int col = cell - row * this.numCols;
+        switch (direction) {
+            case 0:
+                row -= 1;
+                break;
+            case 1:
+                col += 1;
+                break;
+            case 2:
+                row += 1;
+                break;
+            default:
+                col -= 1;
+                break;
+        }
+        return isValidMove(row, col) ? row * this.numCols + col : cell;
+    }
+
+    /**
+     * Gets the start cell, the first one if there are several.
+     *
+     * @return The start cell as row * numCols + col, -1 if there is none.
+     */
+    public int getStart() {
+        return this.starts.length == 0 ? -1 : this.starts[0];
+    }
+
+    /**
+     * Gets the end cell, the first one if there are several.
+     *
+     * @return The end cell as row * numCols + col, -1 if there is none.
+     */
+    public int getEnd() {
+        return this.ends.length == 0 ? -1 : this.ends[0];
+    }
+
+    /**
+     * Gets every start cell.
+     *
+     * @return The start cells as row * numCols + col. The array is a copy.
+     */
+    public int[] getStarts() {
+        return this.starts.clone();
+    }
+
+    /**
+     * Gets every end cell.
+     *
+     * @return The end cells as row * numCols + col. The array is a copy.
+     */
+    public int[] getEnds() {
+        return this.ends.clone();
+    }
+
+    /**
+     * Checks whether a cell is one of the ends.
+     *
+     * @param cell The cell as row * numCols + col.
+     * @return true if the cell is an end.
+     */
+    public boolean isEnd(int cell) {
+        return Arrays.binarySearch(this.sortedEnds, cell) >= 0;
+    }
+
+    /**
+     * Gets the number of 64 bit words used per row.
+     *
+     * @return The words per row.
+     */
+    public int getWordsPerRow() {
+        return this.wordsPerRow;
+    }
+
+    /**
+     * Gets one word of the packed open cells. Bit k of word w of a row
+     * is the cell in column w * 64 + k. Bits past the last column are 0.
+     *
+     * @param row  The row.
+     * @param word The index of the word within the row.
+     * @return The open cells of the word.
+     */
+    public long getWord(int row, int word) {
+        return this.open[row * this.wordsPerRow + word];
+    }
+
+    /**
+     * Creates a copy of this layout with one cell opened or made a wall,
+     * keeping the starts and ends.
+     *
+     * @param row  The row of the cell.
+     * @param col  The column of the cell.
+     * @param open true to open the cell, false to make it a wall.
+     * @return The changed layout, or this layout if the cell already was that way.
+     */
+    public MazeLayout withCell(int row, int col, boolean open) {
+        if (row < 0 || row >= this.numRows || col < 0 || col >= this.numCols) {
+            throw new IndexOutOfBoundsException("Cell " + row + ", " + col + " is outside the maze");
+        }
+        if (isValidMove(row, col) == open) {
+            return this;
+        }
+        long[] cells = this.open.clone();
+        cells[row * this.wordsPerRow + (col >>> 6)] ^= 1L << col;
+        return new MazeLayout(this.numRows, this.numCols, cells, this.starts, this.ends);
+    }
+
+    /**
+     * Checks whether another layout has the same dimensions and open cells,
+     * whatever its starts and ends.
+     *
+     * @param other The other layout.
+     * @return true if every cell is open in one layout exactly when it is in the other.
+     */
+    public boolean hasSameCells(MazeLayout other) {
+        return other == this || other.numRows == this.numRows && other.numCols == this.numCols
+                && other.cellsHashCode() == cellsHashCode() && Arrays.equals(other.open, this.open);
+    }
+
+    /**
+     * Gets a hash code of the dimensions and open cells, so that layouts with
+     * the same cells have the same hash code whatever their starts and ends.
+     *
+     * @return The hash code.
+     */
+    public int cellsHashCode() {
+        int hash = this.cellsHash;
+        if (hash == 0) {
+            // racing threads work out the same value, like String.hashCode
+            hash = 31 * (31 * this.numRows + this.numCols) + Arrays.hashCode(this.open);
+            this.cellsHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,131 @@
+package Model;
+
+/**
+ * One player's progress through a shared MazeLayout.
+ * A session holds only what differs between players: the position, the
+ * number of moves made and the cells traversed and traversed again, so any
+ * number of sessions can play the same maze without copying its grid.
+ * Moves follow the same rules as MazeUpdate.updateMaze: a move into a wall
+ * leaves the player where they are, and every position the player ends a
+ * move on is added to traversed, or to traversed again if it was already traversed.
+ * The position can be read from any thread, but moves must not be made
+ * concurrently on the same session; SessionManager takes care of that.
+ */
+public class PlayerSession {
+
+    private final long id;
+    private final MazeLayout layout;
+    private final CellSet traversed = new CellSet();
+    private final CellSet traversedAgain = new CellSet();
+    private volatile int position;
+    private volatile int moveCount;
+
+    /**
+     * Creates a session with the player on the start of the layout.
+     *
+     * @param id     The identifier of the session.
+     * @param layout The shared maze layout.
+     */
+    public PlayerSession(long id, MazeLayout layout) {
+        this.id = id;
+        this.layout = layout;
+        this.position = layout.getStart();
+        this.traversed.add(this.position);
+    }
+
+    /**
+     * Makes a single move.
+     *
+     * @param move The move, one of 'w', 'a', 's' or 'd'.
+     * @return true if the player moved, false if the move ran into a wall.
+     * @throws IllegalArgumentException If the move is not w, a, s or d.
+     */
+    public boolean move(char move) {
+        int direction = MazeLayout.DIRECTIONS.indexOf(move);
+        if (direction < 0) {
+            throw new IllegalArgumentException("Illegitimate move " + move);
+        }
+        int next = this.layout.step(this.position, direction);
+        boolean moved = next != this.position;
+        this.position = next;
+        this.moveCount++;
+        if (!this.traversed.add(this.position)) {
+            this.traversedAgain.add(this.position);
+        }
+        return moved;
+    }
+
+    /**
+     * Gets the identifier of the session.
+     *
+     * @return The identifier.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the layout the session plays on.
+     *
+     * @return The shared layout.
+     */
+    public MazeLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Gets the current position of the player.
+     *
+     * @return The position as row * numCols + col.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets the current position of the player.
+     *
+     * @return The position as an array of two integers [row, col].
+     */
+    public int[] getPlayerPosition() {
+        int position = this.position;
+        int numCols = this.layout.getNumCols();
+        return new int[]{position / numCols, position % numCols};
+    }
+
+    /**
+     * Gets the number of moves made, including moves into walls.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * Checks whether the player has reached the end of the maze.
+     *
+     * @return true if the player is on one of the end cells.
+     */
+    public boolean hasReachedEnd() {
+        return this.layout.isEnd(this.position);
+    }
+
+    /**
+     * Gets the cells traversed by the player. The set is not copied.
+     *
+     * @return The traversed cells.
+     */
+    public CellSet getTraversed() {
+        return this.traversed;
+    }
+
+    /**
+     * Gets the cells traversed more than once by the player. The set is not copied.
+     *
+     * @return The traversed again cells.
+     */
+    public CellSet getTraversedAgain() {
+        return this.traversedAgain;
+    }
+}
@@ -0,0 +1,170 @@
+package Model;
+
+/**
+ * The eight symmetries of a rectangle, i.e. its rotations and reflections,
+ * as they act on maze grids, cells and moves. Each one is an optional
+ * transposition followed by optionally reversing the rows and the columns.
+ * If a maze is a symmetry of another, a solution of the other mapped through
+ * mapMoves solves it, so it doesn't need to be solved again.
+ */
+public enum Symmetry {
+
+    IDENTITY(false, false, false),
+    /** A quarter turn clockwise. */
+    ROTATE_90(true, false, true),
+    ROTATE_180(false, true, true),
+    /** A quarter turn anticlockwise. */
+    ROTATE_270(true, true, false),
+    /** A mirror image left to right. */
+    FLIP_HORIZONTAL(false, false, true),
+    /** A mirror image top to bottom. */
+    FLIP_VERTICAL(false, true, false),
+    /** A reflection in the diagonal from the top left corner. */
+    TRANSPOSE(true, false, false),
+    /** A reflection in the diagonal from the top right corner. */
+    ANTI_TRANSPOSE(true, true, true);
+
+    private final boolean transpose;
+    private final boolean reverseRows;
+    private final boolean reverseCols;
+
+    /**
+     * Creates a symmetry.
+     *
+     * @param transpose   Whether rows and columns are swapped first.
+     * @param reverseRows Whether the order of the rows is then reversed.
+     * @param reverseCols Whether the order of the columns is then reversed.
+     */
+    Symmetry(boolean transpose, boolean reverseRows, boolean reverseCols) {
+        this.transpose = transpose;
+        this.reverseRows = reverseRows;
+        this.reverseCols = reverseCols;
+    }
+
+    /**
+     * Checks whether the symmetry swaps the number of rows and columns.
+     *
+     * @return true for the quarter turns and the diagonal reflections.
+     */
+    public boolean swapsDimensions() {
+        return this.transpose;
+    }
+
+    /**
+     * Maps a cell of a grid to where it ends up in the transformed grid.
+     *
+     * @param row     The row of the cell.
+     * @param col     The column of the cell.
+     * @param numRows The number of rows of the grid.
+     * @param numCols The number of columns of the grid.
+     * @return The cell in the transformed grid as row * columns + col, where columns
+     * is numRows if the symmetry swaps dimensions and numCols otherwise.
+     */
+    public int mapCell(int row, int col, int numRows, int numCols) {
+        int mappedRows = this.transpose ? numCols : numRows;
+        int mappedCols = this.transpose ? numRows : numCols;
+        int mappedRow = this.transpose ? col : row;
+        int mappedCol = this.transpose ? row : col;
+        if (this.reverseRows) {
+            mappedRow = mappedRows - 1 - mappedRow;
+        }
+        if (this.reverseCols) {
+            mappedCol = mappedCols - 1 - mappedCol;
+        }
+        return mappedRow * mappedCols + mappedCol;
+    }
+
+    /**
+     * Transforms a grid, e.g. maze data in the maze file format.
+     *
+     * @param grid The grid, one array per row. It is not modified.
+     * @return The transformed grid.
+     */
+    public char[][] apply(char[][] grid) {
+        int numRows = grid.length;
+        int numCols = grid[0].length;
+        int mappedCols = this.transpose ? numRows : numCols;
+        char[][] mapped = this.transpose ? new char[numCols][numRows] : new char[numRows][numCols];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                int cell = mapCell(i, j, numRows, numCols);
+                mapped[cell / mappedCols][cell % mappedCols] = grid[i][j];
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Maps a move to the move which goes the same way in the transformed grid.
+     *
+     * @param move The move, one of 'w', 'a', 's' or 'd'.
+     * @return The mapped move.
+     * @throws IllegalArgumentException If the move is not w, a, s or d.
+     */
+    public char mapMove(char move) {
+        int rowStep = move == 'w' ? -1 : move == 's' ? 1 : 0;
+        int colStep = move == 'a' ? -1 : move == 'd' ? 1 : 0;
+        if (rowStep == 0 && colStep == 0) {
+            throw new IllegalArgumentException("Illegitimate move '" + move + "'");
+        }
+        if (this.transpose) {
+            int swap = rowStep;
+            rowStep = colStep;
+            colStep = swap;
+        }
+        if (this.reverseRows) {
+            rowStep = -rowStep;
+        }
+        if (this.reverseCols) {
+            colStep = -colStep;
+        }
+        return rowStep < 0 ? 'w' : rowStep > 0 ? 's' : colStep < 0 ? 'a' : 'd';
+    }
+
+    /**
+     * Maps a sequence of moves, e.g. a solution of a maze into a solution of the transformed maze.
+     *
+     * @param moves The moves, each one of 'w', 'a', 's' or 'd'.
+     * @return The mapped moves.
+     * @throws IllegalArgumentException If a move is not w, a, s or d.
+     */
+    public String mapMoves(CharSequence moves) {
+        char[] mapped = new char[moves.length()];
+        for (int i = 0; i < mapped.length; i++) {
+            mapped[i] = mapMove(moves.charAt(i));
+        }
+        return new String(mapped);
+    }
+
+    /**
+     * Gets the symmetry which undoes this one.
+     *
+     * @return The inverse symmetry.
+     */
+    public Symmetry inverse() {
+        for (Symmetry candidate : values()) {
+            if (candidate.mapMove(mapMove('w')) == 'w' && candidate.mapMove(mapMove('d')) == 'd') {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Symmetries are closed under inverses");
+    }
+
+    /**
+     * Gets the symmetry which applies this one and then another.
+     *
+     * @param next The symmetry applied second.
+     * @return The combined symmetry.
+     */
+    public Symmetry then(Symmetry next) {
+        // a symmetry is determined by where it sends two perpendicular moves
+        char up = next.mapMove(mapMove('w'));
+        char right = next.mapMove(mapMove('d'));
+        for (Symmetry candidate : values()) {
+            if (candidate.mapMove('w') == up && candidate.mapMove('d') == right) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Symmetries are closed under composition");
+    }
+}
@@ -0,0 +1,105 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * The cost of moving onto each kind of cell of a maze.
+ * Paths, the start and the end cost 1, '.' marks slow ground costing 2, and
+ * the digits '1' to '9' mark terrain costing their value. Walls can't be
+ * moved onto. Any of these but the wall can be given another cost with
+ * withCost, which returns a new terrain, as terrains are immutable and can
+ * be shared. Other characters can't be priced, as no maze file holds them.
+ */
+public final class Terrain {
+
+    /**
+     * The cost of a cell which can't be moved onto.
+     */
+    public static final int IMPASSABLE = -1;
+
+    /**
+     * The standard terrain read from maze files.
+     */
+    public static final Terrain STANDARD = standard();
+
+    private final int[] costs;
+    private final int maxCost;
+
+    /**
+     * Creates a terrain.
+     *
+     * @param costs The cost of every character below 128, IMPASSABLE for unknown characters.
+     */
+    private Terrain(int[] costs) {
+        this.costs = costs;
+        this.maxCost = Arrays.stream(costs).max().orElse(1);
+    }
+
+    /**
+     * Creates the standard terrain.
+     *
+     * @return The terrain.
+     */
+    private static Terrain standard() {
+        int[] costs = new int[128];
+        Arrays.fill(costs, IMPASSABLE);
+        for (char c : new char[]{' ', 'S', 'E', '*'}) {
+            costs[c] = 1;
+        }
+        costs['.'] = 2;
+        for (char c = '1'; c <= '9'; c++) {
+            costs[c] = c - '0';
+        }
+        return new Terrain(costs);
+    }
+
+    /**
+     * Creates a terrain which gives one of the standard terrain characters another cost.
+     *
+     * @param c    The character, one with a cost in STANDARD.
+     * @param cost The cost of moving onto it, at least 1, or IMPASSABLE.
+     * @return The new terrain.
+     * @throws IllegalArgumentException If the character isn't standard terrain or the cost is too low.
+     */
+    public Terrain withCost(char c, int cost) {
+        if (c >= this.costs.length || STANDARD.costs[c] == IMPASSABLE) {
+            throw new IllegalArgumentException("Character " + c + " can't be given a cost");
+        }
+        if (cost < 1 && cost != IMPASSABLE) {
+            throw new IllegalArgumentException("Cost must be at least 1");
+        }
+        int[] costs = this.costs.clone();
+        costs[c] = cost;
+        return new Terrain(costs);
+    }
+
+    /**
+     * Gets the cost of moving onto a cell.
+     *
+     * @param c The maze file character of the cell.
+     * @return The cost, or IMPASSABLE.
+     */
+    public int cost(char c) {
+        return c < this.costs.length ? this.costs[c] : IMPASSABLE;
+    }
+
+    /**
+     * Gets the highest cost of any character.
+     *
+     * @return The highest cost.
+     */
+    public int getMaxCost() {
+        return this.maxCost;
+    }
+
+    /**
+     * Checks whether a character marks terrain other than a plain path,
+     * i.e. '.' or a digit, which a Maze keeps when it is loaded.
+     *
+     * @param c The character.
+     * @return true if the character is terrain.
+     */
+    public static boolean isTerrain(char c) {
+        return c == '.' || (c >= '1' && c <= '9');
+    }
+}
@@ -0,0 +1,19 @@
+package Model;
+
+/**
+ * A maze layout whose cells cost different amounts to move onto,
+ * as needed by the solvers which find the cheapest rather than the shortest path.
+ */
+public interface WeightedGrid extends MazeGrid {
+
+    /**
+     * Gets the cost of moving onto a cell, at least 1, or Terrain.IMPASSABLE
+     * if the cell is open but its terrain can't be moved onto.
+     * The cost of cells which are not valid moves is undefined.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cost, or Terrain.IMPASSABLE.
+     */
+    int getCost(int row, int col);
+}
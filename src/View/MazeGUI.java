@@ -2,12 +2,18 @@ package View;
 
 import Model.Maze;
 import Model.Player;
+import Model.Terrain;
+import Controller.ExplorationRecorder;
+import Controller.HierarchicalSolver;
+import Controller.IncrementalPlanner;
 import Controller.MazeUpdate;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +33,11 @@ public class MazeGUI extends JPanel implements KeyListener {
     private int col;
     private ArrayList<int[]> traversedCopy;
     private ArrayList<int[]> traversedAgainCopy;
+    private ExplorationRecorder heatmap;
+    private boolean showHeatmap;
+    // keeps the route from the player to the nearest exit as walls are edited, made on the first edit
+    private IncrementalPlanner planner;
+    private boolean showRoute;
 
     /**
      * Creates a new instance of the MazeGUI class.
@@ -34,6 +45,7 @@ public class MazeGUI extends JPanel implements KeyListener {
      * Sets this.col to equal the player's column position
      * Adds a key listener for listening for arrow key inputs
      * to move player.
+     * Adds a mouse listener so that clicking a cell toggles it between wall and path.
      *
      * @param maze       The maze to display.
      * @param player     The player object.
@@ -56,6 +68,13 @@ public class MazeGUI extends JPanel implements KeyListener {
         this.controller = controller;
         // Adds a key listener to MazeGUI
         addKeyListener(this);
+        // Clicking a cell toggles its wall and shows the route around it
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                toggleWall(e.getY() / MazeGUI.this.cellSize, e.getX() / MazeGUI.this.cellSize);
+            }
+        });
 
     }
 
@@ -84,6 +103,51 @@ public class MazeGUI extends JPanel implements KeyListener {
      */
     public void setMaze(Maze maze) {
         this.maze = maze;
+        this.planner = null;
+    }
+
+    /**
+     * Toggles a cell between wall and plain path, and shows the route from
+     * the player to the nearest exit, which is repaired rather than searched again.
+     * Clicks outside the maze, on the player or on an exit are ignored.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    public void toggleWall(int row, int col) {
+        if (row < 0 || row >= this.maze.getNumRows() || col < 0 || col >= this.maze.getNumCols()) {
+            return;
+        }
+        boolean wall = this.maze.getMaze()[row][col] != '░';
+        try {
+            HierarchicalSolver.setWall(this.maze, row, col, wall);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (this.planner != null) {
+            this.planner.setWall(row, col, wall);
+        }
+        this.showRoute = true;
+        repaint();
+    }
+
+    /**
+     * Sets the recorded solver exploration to overlay as a heatmap.
+     *
+     * @param heatmap The recorded exploration, or null to remove it.
+     */
+    public void setHeatmap(ExplorationRecorder heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * Shows or hides the heatmap overlay.
+     *
+     * @param showHeatmap true to draw the heatmap over the maze.
+     */
+    public void setShowHeatmap(boolean showHeatmap) {
+        this.showHeatmap = showHeatmap;
+        repaint();
     }
 
     /**
@@ -102,10 +166,14 @@ public class MazeGUI extends JPanel implements KeyListener {
      * based off the Maze model.
      * Walls are black squares
      * Empty path is white squares
+     * Slower terrain is sand coloured squares
      * Exit is a red square
      * Player is a green square
      * Traversed paths are a cyan square
      * Traversed again paths are a dark blue square
+     * If the route is shown, the cells from the player to the nearest exit are overlaid in orange
+     * If the heatmap is shown, cells visited by the solver are
+     * overlaid with a colour from blue (few visits) to red (many visits)
      *
      * @param g The Graphics object used for drawing.
      */
@@ -113,6 +181,21 @@ public class MazeGUI extends JPanel implements KeyListener {
         // do nothing if the maze is empty
         if (maze.getMaze() == null) return;
 
+        // only overlay a heatmap that was recorded on a maze of the same size
+        int[] visitCounts = null;
+        int maxVisits = 0;
+        if (this.showHeatmap && this.heatmap != null
+                && this.heatmap.getNumRows() == maze.getMaze().length
+                && this.heatmap.getNumCols() == maze.getMaze()[0].length) {
+            visitCounts = this.heatmap.getVisitCounts();
+            maxVisits = this.heatmap.getMaxVisitCount();
+        }
+
+        boolean[] route = null;
+        if (this.showRoute) {
+            route = liveRoute();
+        }
+
         this.traversedCopy = new ArrayList<>(player.getTraversed());
         this.traversedAgainCopy = new ArrayList<>(player.getTraversedAgain());
 
@@ -121,9 +204,9 @@ public class MazeGUI extends JPanel implements KeyListener {
         for (int i = 0; i < maze.getMaze().length; i++) {
             for (int j = 0; j < maze.getMaze()[0].length; j++) {
                 if (maze.getMaze()[i][j] == '░') { // Wall
-                    g.setColor(Color.BLACK);
+                    g.setColor(MazePalette.WALL);
                     g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
-                } else if (maze.getMaze()[i][j] == ' ') { // Empty path
+                } else if (maze.getMaze()[i][j] == ' ' || Terrain.isTerrain(maze.getMaze()[i][j])) { // Empty path
                     boolean traversed = false;
                     boolean traverseAgain = false;
                     int[] currentPosition = new int[]{i, j};
@@ -150,7 +233,7 @@ public class MazeGUI extends JPanel implements KeyListener {
                         // Represents backtracked paths
                         BufferedImage darkBlueImage = new BufferedImage(this.cellSize, this.cellSize, BufferedImage.TYPE_INT_ARGB);
                         Graphics2D g3 = darkBlueImage.createGraphics();
-                        g3.setColor(new Color(0, 0, 139, 128));
+                        g3.setColor(MazePalette.TRAVERSED_AGAIN);
                         g3.fillRect(0, 0, this.cellSize, this.cellSize);
                         g3.dispose();
                         g.drawImage(darkBlueImage, j * this.cellSize, i * this.cellSize, this);
@@ -159,24 +242,64 @@ public class MazeGUI extends JPanel implements KeyListener {
                         // Represents traversed paths
                         BufferedImage cyanImage = new BufferedImage(this.cellSize, this.cellSize, BufferedImage.TYPE_INT_ARGB);
                         Graphics2D g2 = cyanImage.createGraphics();
-                        g2.setColor(new Color(0, 255, 255, 128));
+                        g2.setColor(MazePalette.TRAVERSED);
                         g2.fillRect(0, 0, this.cellSize, this.cellSize);
                         g2.dispose();
                         g.drawImage(cyanImage, j * this.cellSize, i * this.cellSize, this);
                     } else {
-                        g.setColor(Color.WHITE);
+                        g.setColor(maze.getMaze()[i][j] == ' ' ? MazePalette.PATH : MazePalette.TERRAIN);
                         g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
                     }
 
                 } else if (maze.getMaze()[i][j] == '⚉') { // player
-                    g.setColor(Color.GREEN);
+                    g.setColor(MazePalette.PLAYER);
                     g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
                 } else if (maze.getMaze()[i][j] == '|') { // exit
-                    g.setColor(Color.RED);
+                    g.setColor(MazePalette.EXIT);
                     g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
                 }
+
+                // route overlay
+                if (route != null && route[i * maze.getMaze()[0].length + j]) {
+                    g.setColor(MazePalette.ROUTE);
+                    g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
+                }
+
+                // heatmap overlay
+                if (visitCounts != null && visitCounts[i * maze.getMaze()[0].length + j] > 0) {
+                    g.setColor(MazePalette.heat(this.heatmap, i * maze.getMaze()[0].length + j, maxVisits));
+                    g.fillRect(j * this.cellSize, i * this.cellSize, this.cellSize, this.cellSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the route from the player to the nearest exit with the planner,
+     * making the planner from the current walls if there is none yet.
+     *
+     * @return For every cell whether it is on the route, null if no exit can be reached.
+     */
+    private boolean[] liveRoute() {
+        int numCols = this.maze.getNumCols();
+        int[] position = this.player.getPlayerPosition();
+        if (this.planner == null) {
+            int[] exits = new int[this.maze.getEnds().size()];
+            for (int i = 0; i < exits.length; i++) {
+                exits[i] = this.maze.getEnds().get(i)[0] * numCols + this.maze.getEnds().get(i)[1];
             }
+            this.planner = IncrementalPlanner.of(this.maze, position[0] * numCols + position[1], exits);
         }
+        this.planner.setStart(position[0] * numCols + position[1]);
+        int[] cells = this.planner.findPath();
+        if (cells == null) {
+            return null;
+        }
+        boolean[] route = new boolean[this.maze.getNumRows() * numCols];
+        for (int cell : cells) {
+            route[cell] = true;
+        }
+        return route;
     }
 
     /**
@@ -195,6 +318,8 @@ public class MazeGUI extends JPanel implements KeyListener {
      * If key pressed is the down arrow, player moves down
      * If key pressed is right arrow, player moves to the right
      * If key pressed is left arrow, player moves to the left
+     * If key pressed is H, the heatmap overlay is toggled
+     * If key pressed is R, the route overlay is toggled
      * Note. move player using setMove method.
      *
      * @param e The KeyEvent object representing the key-pressed event.
@@ -222,6 +347,14 @@ public class MazeGUI extends JPanel implements KeyListener {
                 controller.setMove("d");
                 controller.updateMaze(maze, player, controller.getMove());
                 break;
+            case KeyEvent.VK_H:
+                // toggles the solver exploration heatmap
+                this.showHeatmap = !this.showHeatmap;
+                break;
+            case KeyEvent.VK_R:
+                // toggles the live route to the nearest exit
+                this.showRoute = !this.showRoute;
+                break;
         }
 
         // Trigger a repaint of the maze after each move
@@ -281,9 +414,16 @@ public class MazeGUI extends JPanel implements KeyListener {
      */
     public void drawSolutionGui() {
         try {
-            // finds the solution and for each move in the solution,
-            // the maze updates and GUI repaints
-            findSolution(this.maze, this.row, this.col, this.row, this.col);
+            // finds the solution while recording the exploration for the heatmap,
+            // then for each move in the solution, the maze updates and GUI repaints
+            ExplorationRecorder recorder = new ExplorationRecorder(this.maze.getNumRows(), this.maze.getNumCols());
+            setRecorder(recorder);
+            try {
+                findSolution(this.maze, this.row, this.col, this.row, this.col);
+            } finally {
+                setRecorder(null);
+                this.heatmap = recorder;
+            }
             for (String move : moves) {
                 this.controller.setMove(move);
                 this.controller.updateMaze(this.maze, this.player, this.controller.getMove());
@@ -0,0 +1,248 @@
+package View;
+
+import Controller.ExplorationRecorder;
+import Model.Maze;
+import Model.Player;
+import Model.Terrain;
+import io.PngWriter;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Renders a maze to an image without a display, using the same colour
+ * scheme as MazeGUI.
+ * Walls are black squares
+ * Empty path is white squares
+ * Slower terrain is sand coloured squares
+ * Exit is a red square
+ * Player is a green square
+ * Traversed paths are cyan squares
+ * Traversed again paths are dark blue squares
+ * Cells visited by a solver can be overlaid with a heatmap of visit counts.
+ * The image is either rendered into a BufferedImage tile by tile in parallel,
+ * or streamed to a PNG scanline by scanline so that very large mazes never
+ * have to be held in memory as an image.
+ */
+public class MazeImageRenderer {
+
+    // number of cells along each side of a tile rendered by one task
+    private static final int TILE_CELLS = 64;
+    // number of cell rows prepared in parallel before being streamed
+    private static final int BAND_ROWS = 64;
+
+    private static final int WALL = MazePalette.WALL.getRGB() & 0xFFFFFF;
+    private static final int PATH = MazePalette.PATH.getRGB() & 0xFFFFFF;
+    private static final int TERRAIN = MazePalette.TERRAIN.getRGB() & 0xFFFFFF;
+    private static final int EXIT = MazePalette.EXIT.getRGB() & 0xFFFFFF;
+    private static final int PLAYER = MazePalette.PLAYER.getRGB() & 0xFFFFFF;
+    private static final int TRAVERSED = MazePalette.blend(MazePalette.TRAVERSED, MazePalette.PATH);
+    private static final int TRAVERSED_AGAIN = MazePalette.blend(MazePalette.TRAVERSED_AGAIN, MazePalette.PATH);
+
+    private final char[][] grid;
+    private final int numRows;
+    private final int numCols;
+    private final int cellSize;
+    private final BitSet traversed = new BitSet();
+    private final BitSet traversedAgain = new BitSet();
+    private ExplorationRecorder heatmap;
+    private int maxVisits;
+
+    /**
+     * Creates a renderer for the current state of the maze and its player's progress.
+     *
+     * @param maze     The maze to render.
+     * @param cellSize The size of each cell in pixels.
+     */
+    public MazeImageRenderer(Maze maze, int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.grid = maze.getMaze();
+        this.numRows = this.grid.length;
+        this.numCols = this.numRows == 0 ? 0 : this.grid[0].length;
+        this.cellSize = cellSize;
+        Player player = maze.getPlayer();
+        if (player != null) {
+            addTraversed(player.getTraversed());
+            for (int[] position : player.getTraversedAgain()) {
+                this.traversedAgain.set(position[0] * this.numCols + position[1]);
+            }
+        }
+    }
+
+    /**
+     * Marks the given positions as traversed, e.g. a solution path.
+     *
+     * @param positions The positions to mark as [row, column] arrays.
+     */
+    public void addTraversed(List<int[]> positions) {
+        for (int[] position : positions) {
+            this.traversed.set(position[0] * this.numCols + position[1]);
+        }
+    }
+
+    /**
+     * Overlays the exploration recorded while solving the maze as a heatmap,
+     * hotter colours meaning more visits to a cell.
+     *
+     * @param recorder The recorded exploration, or null to remove the overlay.
+     */
+    public void setHeatmap(ExplorationRecorder recorder) {
+        this.heatmap = recorder;
+        this.maxVisits = recorder == null ? 0 : recorder.getMaxVisitCount();
+    }
+
+    /**
+     * Gets the width of the rendered image in pixels.
+     *
+     * @return The image width.
+     */
+    public long getImageWidth() {
+        return (long) this.numCols * this.cellSize;
+    }
+
+    /**
+     * Gets the height of the rendered image in pixels.
+     *
+     * @return The image height.
+     */
+    public long getImageHeight() {
+        return (long) this.numRows * this.cellSize;
+    }
+
+    /**
+     * Renders the maze into an image, splitting the maze into square tiles
+     * which are filled in parallel. Tiles cover disjoint pixels so they write
+     * straight into the image's backing array.
+     *
+     * @return The rendered image.
+     * @throws IllegalStateException If the image would be too large for a BufferedImage,
+     *                               in which case writePng should be used instead.
+     */
+    public BufferedImage render() {
+        long pixels = getImageWidth() * getImageHeight();
+        if (pixels > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Maze is too large to render into a single image");
+        }
+        int width = (int) getImageWidth();
+        BufferedImage image = new BufferedImage(width, (int) getImageHeight(), BufferedImage.TYPE_INT_RGB);
+        int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        int tileRows = (this.numRows + TILE_CELLS - 1) / TILE_CELLS;
+        int tileCols = (this.numCols + TILE_CELLS - 1) / TILE_CELLS;
+        IntStream.range(0, tileRows * tileCols).parallel().forEach(tile -> {
+            int firstRow = (tile / tileCols) * TILE_CELLS;
+            int firstCol = (tile % tileCols) * TILE_CELLS;
+            int lastRow = Math.min(firstRow + TILE_CELLS, this.numRows);
+            int lastCol = Math.min(firstCol + TILE_CELLS, this.numCols);
+            for (int i = firstRow; i < lastRow; i++) {
+                for (int j = firstCol; j < lastCol; j++) {
+                    int colour = cellColour(i, j);
+                    for (int y = 0; y < this.cellSize; y++) {
+                        int offset = (i * this.cellSize + y) * width + j * this.cellSize;
+                        Arrays.fill(data, offset, offset + this.cellSize, colour);
+                    }
+                }
+            }
+        });
+        return image;
+    }
+
+    /**
+     * Streams the maze to the given output as a PNG image.
+     * Bands of cell rows are converted to scanlines in parallel and then
+     * compressed in order, so memory use is bounded by one band of scanlines.
+     *
+     * @param out The stream to write the PNG image to.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public void writePng(OutputStream out) throws IOException {
+        if (getImageWidth() * 3 > Integer.MAX_VALUE - 8 || getImageHeight() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Maze is too large to encode as a PNG image");
+        }
+        int width = (int) getImageWidth();
+        PngWriter writer = new PngWriter(out, width, (int) getImageHeight());
+        byte[][] band = new byte[Math.min(BAND_ROWS, Math.max(this.numRows, 1))][width * 3];
+        for (int first = 0; first < this.numRows; first += band.length) {
+            int start = first;
+            int count = Math.min(band.length, this.numRows - first);
+            // every pixel row within a cell row is identical, so one scanline per cell row is enough
+            IntStream.range(0, count).parallel().forEach(k -> fillScanline(start + k, band[k]));
+            for (int k = 0; k < count; k++) {
+                for (int y = 0; y < this.cellSize; y++) {
+                    writer.writeRow(band[k]);
+                }
+            }
+        }
+        writer.close();
+    }
+
+    /**
+     * Fills a scanline with the RGB bytes of one row of cells.
+     *
+     * @param row      The maze row to convert.
+     * @param scanline The buffer receiving the red, green and blue bytes.
+     */
+    private void fillScanline(int row, byte[] scanline) {
+        int index = 0;
+        for (int j = 0; j < this.numCols; j++) {
+            int colour = cellColour(row, j);
+            byte red = (byte) (colour >> 16);
+            byte green = (byte) (colour >> 8);
+            byte blue = (byte) colour;
+            for (int x = 0; x < this.cellSize; x++) {
+                scanline[index++] = red;
+                scanline[index++] = green;
+                scanline[index++] = blue;
+            }
+        }
+    }
+
+    /**
+     * Works out the colour of a single cell, following the same rules as MazeGUI.
+     * Cells marked with '*' by the text mode are drawn as traversed.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The colour of the cell as a packed 0xRRGGBB integer.
+     */
+    private int cellColour(int row, int col) {
+        char cell = this.grid[row][col];
+        int index = row * this.numCols + col;
+        if (cell == '░') { // Wall
+            return WALL;
+        }
+        int colour = baseColour(cell, index);
+        if (this.heatmap != null && this.heatmap.getVisitCounts()[index] > 0) {
+            return MazePalette.blend(MazePalette.heat(this.heatmap, index, this.maxVisits), colour);
+        }
+        return colour;
+    }
+
+    /**
+     * Works out the colour of an open cell before any heatmap overlay.
+     *
+     * @param cell  The character of the cell in the maze.
+     * @param index The index of the cell, row * numCols + col.
+     * @return The colour of the cell as a packed 0xRRGGBB integer.
+     */
+    private int baseColour(char cell, int index) {
+        if (cell == '⚉') { // player
+            return PLAYER;
+        } else if (cell == '|') { // exit
+            return EXIT;
+        } else if (this.traversedAgain.get(index)) {
+            return TRAVERSED_AGAIN;
+        } else if (this.traversed.get(index) || cell == '*') {
+            return TRAVERSED;
+        }
+        return Terrain.isTerrain(cell) ? TERRAIN : PATH;
+    }
+}
@@ -0,0 +1,86 @@
+package View;
+
+import Controller.ExplorationRecorder;
+
+import java.awt.Color;
+
+/**
+ * The colour scheme shared by the maze GUI and the headless image renderer.
+ * Walls are black, empty path is white, slower terrain is sand coloured,
+ * the exit is red and the player is green.
+ * Traversed and traversed again paths and the live route are translucent overlays.
+ */
+public final class MazePalette {
+
+    public static final Color WALL = Color.BLACK;
+    public static final Color PATH = Color.WHITE;
+    public static final Color TERRAIN = new Color(222, 196, 140);
+    public static final Color EXIT = Color.RED;
+    public static final Color PLAYER = Color.GREEN;
+    public static final Color TRAVERSED = new Color(0, 255, 255, 128);
+    public static final Color TRAVERSED_AGAIN = new Color(0, 0, 139, 128);
+    public static final Color ROUTE = new Color(255, 140, 0, 160);
+
+    // translucent ramp from blue (rarely visited) through yellow to red (most visited)
+    public static final Color[] HEAT = new Color[256];
+
+    static {
+        for (int i = 0; i < HEAT.length; i++) {
+            float t = i / 255f;
+            int red = (int) (255 * Math.min(1f, 2 * t));
+            int green = (int) (255 * (t < 0.5f ? 2 * t : 2 - 2 * t));
+            int blue = (int) (255 * Math.max(0f, 1 - 2 * t));
+            HEAT[i] = new Color(red, green, blue, 160);
+        }
+    }
+
+    private MazePalette() {
+    }
+
+    /**
+     * Composites a translucent overlay colour on top of an opaque base colour.
+     *
+     * @param overlay The overlay colour, alpha is taken into account.
+     * @param base    The opaque colour underneath the overlay.
+     * @return The resulting opaque colour as a packed 0xRRGGBB integer.
+     */
+    public static int blend(Color overlay, Color base) {
+        return blend(overlay, base.getRGB());
+    }
+
+    /**
+     * Composites a translucent overlay colour on top of an opaque base colour.
+     *
+     * @param overlay The overlay colour, alpha is taken into account.
+     * @param base    The opaque colour underneath the overlay as a packed 0xRRGGBB integer.
+     * @return The resulting opaque colour as a packed 0xRRGGBB integer.
+     */
+    public static int blend(Color overlay, int base) {
+        int alpha = overlay.getAlpha();
+        int red = (overlay.getRed() * alpha + ((base >> 16) & 0xFF) * (255 - alpha)) / 255;
+        int green = (overlay.getGreen() * alpha + ((base >> 8) & 0xFF) * (255 - alpha)) / 255;
+        int blue = (overlay.getBlue() * alpha + (base & 0xFF) * (255 - alpha)) / 255;
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Picks the heat colour for a visited cell.
+     * Cells are coloured by visit count on a logarithmic scale, so that a few
+     * hot cells don't wash out the rest. If no cell was visited more than once,
+     * the visit order is used instead, early visits blue and late visits red.
+     *
+     * @param recorder The recorded exploration.
+     * @param cell     The index of the visited cell, row * numCols + col.
+     * @param maxCount The highest number of visits to any cell.
+     * @return The heat colour for the cell.
+     */
+    public static Color heat(ExplorationRecorder recorder, int cell, int maxCount) {
+        double scale;
+        if (maxCount > 1) {
+            scale = Math.log(recorder.getVisitCounts()[cell]) / Math.log(maxCount);
+        } else {
+            scale = (double) recorder.getVisitOrder()[cell] / Math.max(1, recorder.getTotalVisits());
+        }
+        return HEAT[(int) Math.round(scale * (HEAT.length - 1))];
+    }
+}
@@ -3,13 +3,33 @@ package View;
 import Controller.Solution;
 import Model.Maze;
 
-import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * Represents a view for displaying a maze and its solution (Text based game mode).
+ * If a TerminalRenderer is supplied, frames are drawn through it so that only
+ * the changed cells are written to the terminal. Otherwise each row is printed.
  */
 public class MazeView {
 
+    private final TerminalRenderer renderer;
+
+    /**
+     * Creates a view which prints the full maze on every draw.
+     */
+    public MazeView() {
+        this(null);
+    }
+
+    /**
+     * Creates a view which draws frames through the given terminal renderer.
+     *
+     * @param renderer The renderer used to draw frames, or null to print every row.
+     */
+    public MazeView(TerminalRenderer renderer) {
+        this.renderer = renderer;
+    }
+
     /**
      * Draws the maze on the console by printing the 2D
      * character array representing the maze.
@@ -17,11 +37,7 @@ public class MazeView {
      * @param maze The maze to be drawn.
      */
     public void drawMaze(Maze maze) {
-        char[][] template = maze.getMaze();
-        // Prints each row in 2D array
-        for (char[] row : template) {
-            System.out.println(row);
-        }
+        print(maze.getMaze());
     }
 
     /**
@@ -34,28 +50,37 @@ public class MazeView {
      */
     public void drawSolution(Maze maze) {
         char[][] template = maze.getMaze();
-        for (int i=0; i < template.length; i++) {
-            for (int j=0; j < template[i].length; j++) {
-                int[] position = {i, j};
-                boolean positionFound = false;
-                // checks if the current position that the for loop
-                // is pointing at is in the solution path
-                for (int[] pathPosition : Solution.path) {
-                    if (Arrays.equals(pathPosition, position)) {
-                        positionFound = true;
-                        break; // No need to continue checking once found
-                    }
-                }
-
-                // Replaces the position in the maze with '*'
-                // if it's part of the solution path
-                // Except does not replace player character
-                if (positionFound && template[i][j] != '⚉') {
-                    template[i][j] = '*';
-                }
+        int numCols = template.length == 0 ? 0 : template[0].length;
+        // marks every position in the solution path once, so that each
+        // cell is checked in constant time instead of scanning the path
+        BitSet onPath = new BitSet(template.length * numCols);
+        for (int[] pathPosition : Solution.path) {
+            onPath.set(pathPosition[0] * numCols + pathPosition[1]);
+        }
+        for (int i = onPath.nextSetBit(0); i >= 0; i = onPath.nextSetBit(i + 1)) {
+            int row = i / numCols;
+            int col = i % numCols;
+            // Replaces the position in the maze with '*'
+            // if it's part of the solution path
+            // Except does not replace player character
+            if (template[row][col] != '⚉') {
+                template[row][col] = '*';
             }
         }
-        // prints each row in 2D array
+        print(template);
+    }
+
+    /**
+     * Writes the grid to the terminal renderer if there is one,
+     * otherwise prints each row in the 2D array.
+     *
+     * @param template The grid to be printed.
+     */
+    private void print(char[][] template) {
+        if (this.renderer != null) {
+            this.renderer.render(template);
+            return;
+        }
         for (char[] row : template) {
             System.out.println(row);
         }
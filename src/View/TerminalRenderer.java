@@ -0,0 +1,124 @@
+package View;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Renders a maze to an ANSI terminal (Text based game mode).
+ * The first frame is written in full. Every frame after that only
+ * emits the cells that changed since the previous frame, each run of
+ * changed cells being prefixed with a cursor-addressing escape sequence.
+ * Frames are built in a reusable buffer and written with a single flush.
+ */
+public class TerminalRenderer {
+
+    private static final String ESC = "\u001b[";
+
+    private final Writer out;
+    private final StringBuilder buffer = new StringBuilder();
+    private char[] previous;
+    private int numRows;
+    private int numCols;
+
+    /**
+     * Creates a renderer that writes frames to the given stream.
+     *
+     * @param out The stream to write frames to, normally System.out.
+     */
+    public TerminalRenderer(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out), 1 << 16);
+    }
+
+    /**
+     * Draws the given maze grid.
+     * If the grid has the same dimensions as the previously drawn frame,
+     * only the changed cells are written, otherwise the screen is cleared
+     * and the full grid is written.
+     *
+     * @param grid The 2D character array to be drawn.
+     */
+    public void render(char[][] grid) {
+        int rows = grid.length;
+        int cols = rows == 0 ? 0 : grid[0].length;
+        this.buffer.setLength(0);
+
+        if (this.previous == null || rows != this.numRows || cols != this.numCols) {
+            fullFrame(grid, rows, cols);
+        } else {
+            diffFrame(grid);
+        }
+        // park the cursor below the maze so that prompts don't overwrite it
+        this.buffer.append(ESC).append(rows + 1).append(";1H");
+        flush();
+    }
+
+    /**
+     * Forgets the previously drawn frame so that the next call to
+     * render redraws the whole screen.
+     */
+    public void reset() {
+        this.previous = null;
+    }
+
+    /**
+     * Clears the screen and writes every cell of the grid.
+     *
+     * @param grid The grid to be drawn.
+     * @param rows The number of rows in the grid.
+     * @param cols The number of columns in the grid.
+     */
+    private void fullFrame(char[][] grid, int rows, int cols) {
+        this.numRows = rows;
+        this.numCols = cols;
+        this.previous = new char[rows * cols];
+        // clear screen and move cursor to the top left corner
+        this.buffer.append(ESC).append("2J").append(ESC).append('H');
+        for (int i = 0; i < rows; i++) {
+            this.buffer.append(grid[i], 0, cols).append('\n');
+            System.arraycopy(grid[i], 0, this.previous, i * cols, cols);
+        }
+    }
+
+    /**
+     * Writes only the cells which differ from the previous frame.
+     * Consecutive changed cells in a row share one cursor movement.
+     *
+     * @param grid The grid to be drawn.
+     */
+    private void diffFrame(char[][] grid) {
+        char[] prev = this.previous;
+        for (int i = 0; i < this.numRows; i++) {
+            char[] row = grid[i];
+            int base = i * this.numCols;
+            int j = 0;
+            while (j < this.numCols) {
+                if (row[j] == prev[base + j]) {
+                    j++;
+                    continue;
+                }
+                // start of a run of changed cells, address the cursor once (1-based)
+                this.buffer.append(ESC).append(i + 1).append(';').append(j + 1).append('H');
+                while (j < this.numCols && row[j] != prev[base + j]) {
+                    this.buffer.append(row[j]);
+                    prev[base + j] = row[j];
+                    j++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the frame buffer to the output in one go.
+     */
+    private void flush() {
+        try {
+            this.out.append(this.buffer);
+            this.out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package exceptions;
+
+/**
+ * An exception thrown when a solve runs past its deadline.
+ * Unchecked because it is raised from inside the solvers' search loops.
+ */
+public class SolveTimeoutException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code SolveTimeoutException} with the specified detail message.
+     *
+     * @param message The detail message explaining the reason for the exception.
+     */
+    public SolveTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -29,57 +29,7 @@ public class FileLoader implements FileInterface {
     @Override
     public char[][] load(String filename) throws MazeMalformedException, MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
         try (BufferedReader reader = new BufferedReader(new java.io.FileReader(filename))) {
-
-            char[] validCharacters = {'#', ' ', 'S', '.', 'E'};
-            String[] dimensions = reader.readLine().split(" ");
-            // if dimensions doesn't contain a width and height -> MazeMalformed
-            if (dimensions.length != 2) {
-                throw new MazeMalformedException("Invalid dimensions format.");
-            }
-            int numRows = Integer.parseInt(dimensions[0]);
-            int numCol = Integer.parseInt(dimensions[1]);
-            // if width and/or height is not an odd number -> MazeMalformed
-            if (numRows % 2 ==0 || numCol % 2 ==0) {
-                throw new MazeMalformedException("Number of Rows and columns should be odd");
-            }
-            char[][] maze = new char[numRows][numCol];
-            // Read and populate the maze
-            int lineCount = 0;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // if the current line does not contain the same number of
-                // characters as the width of the maze -> MazeSizeMismatch
-                if (line.length() != numCol) {
-                    throw new MazeSizeMissmatchException("Maze dimensions do not match the provided size.");
-                } else if (lineCount == numRows) {
-                    // if line count is equal to num of rows, the next line should have been null
-                    // but since the while loop is still running there is more lines than numRows
-                    throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
-                }
-                // checks if character in the current line is valid
-                // if character is valid it adds that character to the 2D array
-                for (int i = 0; i < numCol; i++) {
-                    char c = line.charAt(i);
-                    boolean isValid = false;
-                    for (char validChar : validCharacters) {
-                        if (c == validChar) {
-                            isValid = true;
-                            break;
-                        }
-                    }
-                    // if character is not valid -> IllegalArgument
-                    if (!isValid) {
-                        throw new IllegalArgumentException("Invalid Character");
-                    }
-                    maze[lineCount][i] = c;
-                }
-                lineCount++;
-            }
-            // Checking that the number of lines matches numRows
-            if (lineCount != numRows || reader.readLine() != null) {
-                throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
-            }
-            return maze;
+            return load(reader);
         }
         catch (IllegalArgumentException | FileNotFoundException e) {
             throw e;
@@ -87,6 +37,99 @@ public class FileLoader implements FileInterface {
             throw new RuntimeException(e);
         }
     }
-}
 
+    /**
+     * Reads maze data in the maze file format from a reader, e.g. a request body,
+     * and returns it as a 2D character array.
+     * Each array in the 2D array represents a row of the Maze.
+     * The reader is not closed.
+     *
+     * @param reader The reader to read the maze from.
+     * @return A two-dimensional character array representing the loaded maze.
+     * @throws MazeMalformedException If the maze data has invalid formatting.
+     * @throws MazeSizeMissmatchException If the maze dimensions do not match the provided size.
+     * @throws IllegalArgumentException If the maze contains invalid characters.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    public char[][] load(BufferedReader reader) throws MazeMalformedException, MazeSizeMissmatchException, IllegalArgumentException, IOException {
+        // '.' and the digits mark terrain which is slower to cross
+        char[] validCharacters = {'#', ' ', 'S', '.', 'E', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+        int[] size = parseDimensions(reader.readLine());
+        int numRows = size[0];
+        int numCol = size[1];
+        // if width and/or height is not an odd number -> MazeMalformed
+        if (numRows % 2 ==0 || numCol % 2 ==0) {
+            throw new MazeMalformedException("Number of Rows and columns should be odd");
+        }
+        char[][] maze = new char[numRows][numCol];
+        // Read and populate the maze
+        int lineCount = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // if the current line does not contain the same number of
+            // characters as the width of the maze -> MazeSizeMismatch
+            if (line.length() != numCol) {
+                throw new MazeSizeMissmatchException("Maze dimensions do not match the provided size.");
+            } else if (lineCount == numRows) {
+                // if line count is equal to num of rows, the next line should have been null
+                // but since the while loop is still running there is more lines than numRows
+                throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
+            }
+            // checks if character in the current line is valid
+            // if character is valid it adds that character to the 2D array
+            for (int i = 0; i < numCol; i++) {
+                char c = line.charAt(i);
+                boolean isValid = false;
+                for (char validChar : validCharacters) {
+                    if (c == validChar) {
+                        isValid = true;
+                        break;
+                    }
+                }
+                // if character is not valid -> IllegalArgument
+                if (!isValid) {
+                    throw new IllegalArgumentException("Invalid Character");
+                }
+                maze[lineCount][i] = c;
+            }
+            lineCount++;
+        }
+        // Checking that the number of lines matches numRows
+        if (lineCount != numRows || reader.readLine() != null) {
+            throw new MazeSizeMissmatchException("Number of lines does not match numRows.");
+        }
+        return maze;
+    }
 
+    /**
+     * Reads the dimensions line of a maze file, which every reader of the
+     * format checks the same way.
+     *
+     * @param firstLine The first line of the maze file, null if it is empty.
+     * @return The number of rows and the number of columns.
+     * @throws MazeMalformedException If the line is missing, isn't two whole numbers or either is not positive.
+     */
+    public static int[] parseDimensions(String firstLine) throws MazeMalformedException {
+        if (firstLine == null) {
+            throw new MazeMalformedException("Missing dimensions.");
+        }
+        String[] dimensions = firstLine.trim().split(" ");
+        // if dimensions doesn't contain a width and height -> MazeMalformed
+        if (dimensions.length != 2) {
+            throw new MazeMalformedException("Invalid dimensions format.");
+        }
+        int numRows;
+        int numCols;
+        try {
+            numRows = Integer.parseInt(dimensions[0]);
+            numCols = Integer.parseInt(dimensions[1]);
+        } catch (NumberFormatException e) {
+            throw new MazeMalformedException("Invalid dimensions format.");
+        }
+        // if width and/or height is not positive -> MazeMalformed, before anything is allocated
+        if (numRows <= 0 || numCols <= 0) {
+            throw new MazeMalformedException("Number of Rows and columns should be positive");
+        }
+        return new int[] {numRows, numCols};
+    }
+}
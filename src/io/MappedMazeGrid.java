@@ -0,0 +1,139 @@
+package io;
+
+import Model.MazeGrid;
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A maze read straight from its file through memory mapping, so that mazes
+ * far larger than the heap can be searched. The operating system pages rows
+ * in and out as they are used, and the heap only holds the mapping objects.
+ * The file is mapped in chunks of whole rows below 1 GB each, as a single
+ * mapping can't be larger than 2 GB. Lines may end with "\n" or "\r\n".
+ * Cells are open unless they are '#'.
+ */
+public class MappedMazeGrid implements MazeGrid, AutoCloseable {
+
+    // the largest chunk mapped at once
+    private static final long CHUNK_BYTES = 1L << 30;
+
+    private final RandomAccessFile file;
+    private final int numRows;
+    private final int numCols;
+    private final long dataOffset;
+    private final int lineLength;
+    private final int rowsPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Maps a maze file.
+     *
+     * @param filename The path of the maze file.
+     * @throws IOException                If the file can't be read or mapped.
+     * @throws MazeMalformedException     If the dimensions line is not two positive whole numbers.
+     * @throws MazeSizeMissmatchException If the file size does not match the dimensions.
+     */
+    public MappedMazeGrid(String filename) throws IOException, MazeMalformedException, MazeSizeMissmatchException {
+        this.file = new RandomAccessFile(filename, "r");
+        try {
+            int[] dimensions = FileLoader.parseDimensions(this.file.readLine());
+            this.numRows = dimensions[0];
+            this.numCols = dimensions[1];
+            this.dataOffset = this.file.getFilePointer();
+            long length = this.file.length();
+            // a carriage return after the first row means every line ends with "\r\n"
+            boolean crlf = this.dataOffset + this.numCols < length && readByte(this.dataOffset + this.numCols) == '\r';
+            this.lineLength = this.numCols + (crlf ? 2 : 1);
+            long expected = this.dataOffset + (long) this.lineLength * this.numRows;
+            // the last line may lack its line ending
+            if (length > expected || length < expected - this.lineLength + this.numCols) {
+                throw new MazeSizeMissmatchException("Maze dimensions do not match the provided size.");
+            }
+            this.rowsPerChunk = (int) Math.max(1, CHUNK_BYTES / this.lineLength);
+            int chunkCount = (this.numRows + this.rowsPerChunk - 1) / this.rowsPerChunk;
+            this.chunks = new MappedByteBuffer[chunkCount];
+            FileChannel channel = this.file.getChannel();
+            for (int i = 0; i < chunkCount; i++) {
+                long start = this.dataOffset + (long) i * this.rowsPerChunk * this.lineLength;
+                long size = Math.min((long) this.rowsPerChunk * this.lineLength, length - start);
+                this.chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            }
+        } catch (IOException | MazeMalformedException | MazeSizeMissmatchException | RuntimeException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    @Override
+    public int getNumCols() {
+        return this.numCols;
+    }
+
+    @Override
+    public boolean isValidMove(int row, int col) {
+        return row >= 0 && row < this.numRows && col >= 0 && col < this.numCols && charAt(row, col) != '#';
+    }
+
+    /**
+     * Reads the character of a cell inside the maze.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The character in the maze file.
+     */
+    public char charAt(int row, int col) {
+        MappedByteBuffer chunk = this.chunks[row / this.rowsPerChunk];
+        return (char) (chunk.get((row % this.rowsPerChunk) * this.lineLength + col) & 0xFF);
+    }
+
+    /**
+     * Finds the first cell holding a character, scanning the file row by row.
+     *
+     * @param c The character to find, e.g. 'S'.
+     * @return The cell as row * numCols + col, -1 if the character is not in the maze.
+     */
+    public long find(char c) {
+        for (int row = 0; row < this.numRows; row++) {
+            for (int col = 0; col < this.numCols; col++) {
+                if (charAt(row, col) == c) {
+                    return (long) row * this.numCols + col;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the file. The JVM unmaps the chunks once the grid is no longer reachable.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.file.close();
+    }
+
+    /**
+     * Reads one byte of the file without mapping it.
+     *
+     * @param position The position in the file.
+     * @return The byte.
+     * @throws IOException If the file can't be read.
+     */
+    private int readByte(long position) throws IOException {
+        byte[] b = new byte[1];
+        this.file.seek(position);
+        this.file.readFully(b);
+        return b[0];
+    }
+}
@@ -0,0 +1,153 @@
+package io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes an 8-bit RGB PNG image one scanline at a time.
+ * Scanlines are compressed as they arrive and emitted in fixed size IDAT chunks,
+ * so the image never has to be held in memory as a whole.
+ */
+public class PngWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final DataOutputStream out;
+    private final DeflaterOutputStream idat;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final int width;
+    private final int height;
+    private int rowsWritten;
+
+    /**
+     * Starts a new PNG image by writing the signature and image header.
+     *
+     * @param out    The stream to write the image to.
+     * @param width  The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public PngWriter(OutputStream out, int width, int height) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image dimensions must be positive");
+        }
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+
+        this.out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8); // bit depth
+        headerData.writeByte(2); // colour type RGB
+        headerData.writeByte(0); // compression
+        headerData.writeByte(0); // filter
+        headerData.writeByte(0); // no interlace
+        writeChunk("IHDR", header.toByteArray(), header.size());
+
+        this.idat = new DeflaterOutputStream(new ChunkStream(), this.deflater, CHUNK_SIZE);
+    }
+
+    /**
+     * Writes the next scanline of the image.
+     *
+     * @param rgb The pixels of the scanline as consecutive red, green, blue bytes.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public void writeRow(byte[] rgb) throws IOException {
+        if (rgb.length < this.width * 3) {
+            throw new IllegalArgumentException("Scanline is shorter than the image width");
+        }
+        if (this.rowsWritten == this.height) {
+            throw new IllegalStateException("All scanlines have already been written");
+        }
+        this.idat.write(0); // filter type none
+        this.idat.write(rgb, 0, this.width * 3);
+        this.rowsWritten++;
+    }
+
+    /**
+     * Finishes the compressed image data and writes the end chunk.
+     * Does not close the underlying stream.
+     *
+     * @throws IOException If an I/O error occurs, or not every scanline was written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.rowsWritten != this.height) {
+            throw new IOException("Expected " + this.height + " scanlines but got " + this.rowsWritten);
+        }
+        this.idat.finish();
+        this.idat.flush();
+        this.deflater.end();
+        writeChunk("IEND", new byte[0], 0);
+        this.out.flush();
+    }
+
+    /**
+     * Writes a single PNG chunk with its length and checksum.
+     *
+     * @param type   The four letter chunk type.
+     * @param data   The chunk data.
+     * @param length The number of bytes of data to write.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        this.out.writeInt(length);
+        this.out.write(typeBytes);
+        this.out.write(data, 0, length);
+        this.out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Collects compressed bytes and emits them as IDAT chunks of at most CHUNK_SIZE bytes.
+     */
+    private class ChunkStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int count;
+
+        @Override
+        public void write(int b) throws IOException {
+            this.buffer[this.count++] = (byte) b;
+            if (this.count == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, CHUNK_SIZE - this.count);
+                System.arraycopy(b, off, this.buffer, this.count, n);
+                this.count += n;
+                off += n;
+                len -= n;
+                if (this.count == CHUNK_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (this.count > 0) {
+                writeChunk("IDAT", this.buffer, this.count);
+                this.count = 0;
+            }
+        }
+    }
+}
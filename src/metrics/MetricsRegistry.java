@@ -0,0 +1,113 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects solver metrics in memory, keeping one SolverStats per solver name.
+ * Once registered with JMX, each solver's statistics are published as an MBean
+ * named maze.metrics:type=Solver,name=&lt;solver&gt; so that they can be scraped
+ * while the batch solver or the GUI is running.
+ */
+public class MetricsRegistry implements SolverMetrics {
+
+    private static final String DOMAIN = "maze.metrics";
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentMap<String, SolverStats> solvers = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    /**
+     * Gets the registry that the solvers report to unless told otherwise.
+     *
+     * @return The default registry.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    @Override
+    public void recordSolve(String solver, SolveSample sample) {
+        stats(solver).add(sample);
+    }
+
+    @Override
+    public void recordCacheHit(String solver) {
+        stats(solver).cacheHit();
+    }
+
+    @Override
+    public void recordCacheMiss(String solver) {
+        stats(solver).cacheMiss();
+    }
+
+    /**
+     * Gets the statistics of a solver, creating them on first use.
+     *
+     * @param solver The name of the solver.
+     * @return The statistics of the solver.
+     */
+    public SolverStats stats(String solver) {
+        SolverStats stats = this.solvers.get(solver);
+        if (stats != null) {
+            return stats;
+        }
+        SolverStats created = new SolverStats(solver);
+        stats = this.solvers.putIfAbsent(solver, created);
+        if (stats == null) {
+            stats = created;
+            publish(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the statistics of every solver which has reported so far.
+     *
+     * @return An unmodifiable view of the statistics.
+     */
+    public Collection<SolverStats> getAll() {
+        return Collections.unmodifiableCollection(this.solvers.values());
+    }
+
+    /**
+     * Publishes the statistics of every solver, current and future,
+     * on the platform MBean server.
+     */
+    public synchronized void registerMBeans() {
+        if (this.server != null) {
+            return;
+        }
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        for (SolverStats stats : this.solvers.values()) {
+            publish(stats);
+        }
+    }
+
+    /**
+     * Registers the MBean of a solver if JMX publishing is enabled.
+     *
+     * @param stats The statistics to publish.
+     */
+    private void publish(SolverStats stats) {
+        MBeanServer mbeanServer = this.server;
+        if (mbeanServer == null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Solver,name=" + ObjectName.quote(stats.getSolver()));
+            mbeanServer.registerMBean(stats, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // already published, e.g. by a concurrent registerMBeans call
+        } catch (JMException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the wall clock time and the bytes allocated by the current
+ * thread between starting the probe and finishing it.
+ * Allocation is read from the HotSpot thread MXBean when it is available.
+ */
+public class SolveProbe {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final long startNanos;
+    private final long startBytes;
+
+    private SolveProbe() {
+        this.startBytes = allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring on the current thread.
+     *
+     * @return The running probe.
+     */
+    public static SolveProbe start() {
+        return new SolveProbe();
+    }
+
+    /**
+     * Stops measuring and combines the measurements with the solver's own counts.
+     * Must be called on the thread which started the probe.
+     *
+     * @param solved        Whether a path to the exit was found.
+     * @param nodesExpanded The number of cells the solver expanded.
+     * @param peakFrontier  The largest frontier the solver held.
+     * @param pathLength    The number of moves in the solution.
+     * @return The sample of the solve.
+     */
+    public SolveSample finish(boolean solved, long nodesExpanded, long peakFrontier, long pathLength) {
+        long wallNanos = System.nanoTime() - this.startNanos;
+        long bytes = this.startBytes < 0 ? -1 : allocatedBytes() - this.startBytes;
+        return new SolveSample(solved, nodesExpanded, peakFrontier, pathLength, wallNanos, bytes);
+    }
+
+    /**
+     * Reads the bytes allocated so far by the current thread.
+     *
+     * @return The allocated bytes, -1 if the JVM can't measure them.
+     */
+    private static long allocatedBytes() {
+        if (THREADS == null) {
+            return -1;
+        }
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Looks up the HotSpot thread MXBean and enables allocation measurement.
+     *
+     * @return The MXBean, or null if allocation can't be measured on this JVM.
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+        try {
+            if (!hotspot.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            hotspot.setThreadAllocatedMemoryEnabled(true);
+            return hotspot;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+}
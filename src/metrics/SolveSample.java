@@ -0,0 +1,96 @@
+package metrics;
+
+/**
+ * The measurements of a single solve.
+ */
+public class SolveSample {
+
+    private final boolean solved;
+    private final long nodesExpanded;
+    private final long peakFrontier;
+    private final long pathLength;
+    private final long wallNanos;
+    private final long bytesAllocated;
+
+    /**
+     * Creates a sample of a finished solve.
+     *
+     * @param solved         Whether a path to the exit was found.
+     * @param nodesExpanded  The number of cells the solver expanded.
+     * @param peakFrontier   The largest number of cells waiting to be expanded at once,
+     *                       i.e. the deepest recursion for depth first solvers.
+     * @param pathLength     The number of moves in the solution, 0 if there is none.
+     * @param wallNanos      The wall clock time of the solve in nanoseconds.
+     * @param bytesAllocated The bytes allocated by the solving thread, -1 if unsupported.
+     */
+    public SolveSample(boolean solved, long nodesExpanded, long peakFrontier, long pathLength,
+                       long wallNanos, long bytesAllocated) {
+        this.solved = solved;
+        this.nodesExpanded = nodesExpanded;
+        this.peakFrontier = peakFrontier;
+        this.pathLength = pathLength;
+        this.wallNanos = wallNanos;
+        this.bytesAllocated = bytesAllocated;
+    }
+
+    /**
+     * Whether a path to the exit was found.
+     *
+     * @return true if the maze was solved.
+     */
+    public boolean isSolved() {
+        return this.solved;
+    }
+
+    /**
+     * Gets the number of cells the solver expanded.
+     *
+     * @return The number of expanded cells.
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    /**
+     * Gets the largest number of cells waiting to be expanded at once.
+     *
+     * @return The peak frontier size.
+     */
+    public long getPeakFrontier() {
+        return this.peakFrontier;
+    }
+
+    /**
+     * Gets the number of moves in the solution.
+     *
+     * @return The path length, 0 if there is no solution.
+     */
+    public long getPathLength() {
+        return this.pathLength;
+    }
+
+    /**
+     * Gets the wall clock time of the solve.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    /**
+     * Gets the bytes allocated by the solving thread.
+     *
+     * @return The allocated bytes, -1 if unsupported.
+     */
+    public long getBytesAllocated() {
+        return this.bytesAllocated;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveSample{solved=" + this.solved + ", nodesExpanded=" + this.nodesExpanded
+                + ", peakFrontier=" + this.peakFrontier + ", pathLength=" + this.pathLength
+                + ", wallNanos=" + this.wallNanos + ", bytesAllocated=" + this.bytesAllocated + "}";
+    }
+}
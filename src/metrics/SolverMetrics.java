@@ -0,0 +1,31 @@
+package metrics;
+
+/**
+ * Receives measurements from the solve path.
+ * Solvers report one sample per solve, caches report every lookup.
+ * Implementations must be thread safe as solves may run concurrently.
+ */
+public interface SolverMetrics {
+
+    /**
+     * Records the measurements of a finished solve.
+     *
+     * @param solver The name of the solver that ran.
+     * @param sample The measurements of the solve.
+     */
+    void recordSolve(String solver, SolveSample sample);
+
+    /**
+     * Records a lookup that was answered from a cache.
+     *
+     * @param solver The name of the solver that consulted the cache.
+     */
+    void recordCacheHit(String solver);
+
+    /**
+     * Records a lookup that had to be computed because it was not cached.
+     *
+     * @param solver The name of the solver that consulted the cache.
+     */
+    void recordCacheMiss(String solver);
+}
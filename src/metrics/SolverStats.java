@@ -0,0 +1,147 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latency histogram of one solver.
+ * Counters are cumulative since the solver's first solve.
+ */
+public class SolverStats implements SolverStatsMBean {
+
+    private final String solver;
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final LongAdder bytesAllocated = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAccumulator peakFrontier = new LongAccumulator(Math::max, 0);
+    private volatile long lastPathLength;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Creates empty statistics for a solver.
+     *
+     * @param solver The name of the solver.
+     */
+    public SolverStats(String solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Adds the measurements of a finished solve.
+     *
+     * @param sample The measurements of the solve.
+     */
+    void add(SolveSample sample) {
+        this.solves.increment();
+        if (!sample.isSolved()) {
+            this.failures.increment();
+        }
+        this.nodesExpanded.add(sample.getNodesExpanded());
+        this.peakFrontier.accumulate(sample.getPeakFrontier());
+        this.lastPathLength = sample.getPathLength();
+        if (sample.getBytesAllocated() > 0) {
+            this.bytesAllocated.add(sample.getBytesAllocated());
+        }
+        this.latency.record(sample.getWallNanos());
+    }
+
+    /**
+     * Counts a cache hit.
+     */
+    void cacheHit() {
+        this.cacheHits.increment();
+    }
+
+    /**
+     * Counts a cache miss.
+     */
+    void cacheMiss() {
+        this.cacheMisses.increment();
+    }
+
+    /**
+     * Gets the name of the solver.
+     *
+     * @return The solver name.
+     */
+    public String getSolver() {
+        return this.solver;
+    }
+
+    /**
+     * Gets the latency histogram of the solver.
+     *
+     * @return The latency histogram in nanoseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    @Override
+    public long getSolves() {
+        return this.solves.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return this.nodesExpanded.sum();
+    }
+
+    @Override
+    public long getPeakFrontier() {
+        return this.peakFrontier.get();
+    }
+
+    @Override
+    public long getLastPathLength() {
+        return this.lastPathLength;
+    }
+
+    @Override
+    public long getBytesAllocated() {
+        return this.bytesAllocated.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return this.cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return this.cacheMisses.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return this.latency.getMean() / 1e6;
+    }
+
+    @Override
+    public double getP50LatencyMillis() {
+        return this.latency.getQuantile(0.5) / 1e6;
+    }
+
+    @Override
+    public double getP90LatencyMillis() {
+        return this.latency.getQuantile(0.9) / 1e6;
+    }
+
+    @Override
+    public double getP99LatencyMillis() {
+        return this.latency.getQuantile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return this.latency.getMax() / 1e6;
+    }
+}
@@ -0,0 +1,99 @@
+package metrics;
+
+/**
+ * The JMX view of the metrics collected for one solver.
+ * Latencies are reported in milliseconds.
+ */
+public interface SolverStatsMBean {
+
+    /**
+     * Gets the number of solves.
+     *
+     * @return The number of solves so far.
+     */
+    long getSolves();
+
+    /**
+     * Gets the number of solves which found no path.
+     *
+     * @return The number of failed solves.
+     */
+    long getFailures();
+
+    /**
+     * Gets the number of cells expanded by all solves together.
+     *
+     * @return The total number of expanded cells.
+     */
+    long getNodesExpanded();
+
+    /**
+     * Gets the largest frontier of any solve.
+     *
+     * @return The peak frontier size in cells.
+     */
+    long getPeakFrontier();
+
+    /**
+     * Gets the path length of the latest solve.
+     *
+     * @return The number of moves, 0 if it found no path.
+     */
+    long getLastPathLength();
+
+    /**
+     * Gets the bytes allocated by all solves together, where the JVM can measure it.
+     *
+     * @return The total allocated bytes.
+     */
+    long getBytesAllocated();
+
+    /**
+     * Gets the number of lookups which found a cached structure.
+     *
+     * @return The number of cache hits.
+     */
+    long getCacheHits();
+
+    /**
+     * Gets the number of lookups which had to build a structure.
+     *
+     * @return The number of cache misses.
+     */
+    long getCacheMisses();
+
+    /**
+     * Gets the mean time of a solve.
+     *
+     * @return The mean latency in milliseconds.
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * Gets the median time of a solve.
+     *
+     * @return The 50th percentile latency in milliseconds.
+     */
+    double getP50LatencyMillis();
+
+    /**
+     * Gets the time 90% of solves take at most.
+     *
+     * @return The 90th percentile latency in milliseconds.
+     */
+    double getP90LatencyMillis();
+
+    /**
+     * Gets the time 99% of solves take at most.
+     *
+     * @return The 99th percentile latency in milliseconds.
+     */
+    double getP99LatencyMillis();
+
+    /**
+     * Gets the time of the slowest solve.
+     *
+     * @return The maximum latency in milliseconds.
+     */
+    double getMaxLatencyMillis();
+}
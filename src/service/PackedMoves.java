@@ -0,0 +1,63 @@
+package service;
+
+/**
+ * Packs a sequence of 'w', 'a', 's', 'd' moves into two bits per move.
+ * The packed form starts with the number of moves as a 4 byte big-endian
+ * integer, followed by the moves, four per byte, first move in the highest bits.
+ * w is 0, a is 1, s is 2 and d is 3.
+ */
+public final class PackedMoves {
+
+    private static final String MOVES = "wasd";
+
+    private PackedMoves() {
+    }
+
+    /**
+     * Packs a move string.
+     *
+     * @param moves The moves, one character per move.
+     * @return The packed moves.
+     * @throws IllegalArgumentException If a character is not a move.
+     */
+    public static byte[] pack(String moves) {
+        int count = moves.length();
+        byte[] packed = new byte[4 + (count + 3) / 4];
+        packed[0] = (byte) (count >>> 24);
+        packed[1] = (byte) (count >>> 16);
+        packed[2] = (byte) (count >>> 8);
+        packed[3] = (byte) count;
+        for (int i = 0; i < count; i++) {
+            int code = MOVES.indexOf(moves.charAt(i));
+            if (code < 0) {
+                throw new IllegalArgumentException("Illegitimate move " + moves.charAt(i));
+            }
+            packed[4 + i / 4] |= (byte) (code << (6 - 2 * (i % 4)));
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks moves packed by pack.
+     *
+     * @param packed The packed moves.
+     * @return The moves, one character per move.
+     * @throws IllegalArgumentException If the packed data is truncated.
+     */
+    public static String unpack(byte[] packed) {
+        if (packed.length < 4) {
+            throw new IllegalArgumentException("Packed moves are missing their length");
+        }
+        int count = ((packed[0] & 0xFF) << 24) | ((packed[1] & 0xFF) << 16)
+                | ((packed[2] & 0xFF) << 8) | (packed[3] & 0xFF);
+        if (count < 0 || packed.length < 4 + (count + 3L) / 4) {
+            throw new IllegalArgumentException("Packed moves are truncated");
+        }
+        StringBuilder moves = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            int code = (packed[4 + i / 4] >>> (6 - 2 * (i % 4))) & 3;
+            moves.append(MOVES.charAt(code));
+        }
+        return moves.toString();
+    }
+}
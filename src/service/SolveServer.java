@@ -0,0 +1,664 @@
+package service;
+
+import Controller.GridSolver;
+import Controller.IncrementalPlanner;
+import Controller.MazeSolver;
+import Controller.SessionManager;
+import Controller.SolveResult;
+import Controller.Solvers;
+import Model.Maze;
+import Model.MazeLayout;
+import Model.Player;
+import Model.PlayerSession;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.SolveTimeoutException;
+import io.FileLoader;
+import metrics.MetricsRegistry;
+import metrics.SolverStats;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local HTTP service which solves mazes, built on the JDK's HTTP server.
+ * <p>
+ * POST /solve with a maze in the maze file format as the body returns the
+ * moves from 'S' to 'E' as JSON, or packed two bits per move (see PackedMoves)
+ * when the request asks for application/octet-stream. The solver can be picked
+ * with ?solver=name and defaults to bfs; with ?solver=auto the
+ * response also names the solver which was selected. GET /metrics returns the solver metrics
+ * as plain text.
+ * </p>
+ * <p>
+ * When the server is given a maze to host, players can also play it through
+ * sessions which all share the one loaded maze: POST /sessions opens a session,
+ * POST /sessions/{id}?moves=wasd makes moves, GET /sessions/{id} reads the
+ * position and DELETE /sessions/{id} closes the session.
+ * </p>
+ * <p>
+ * The walls of the hosted maze can also be edited live: GET /route returns the
+ * shortest route from 'S' to the nearest 'E', and POST /route?row=r&amp;col=c&amp;wall=true
+ * (or false) builds or removes a wall and returns the route, repaired rather than
+ * searched again. The start and the exits can't be changed, and edits don't
+ * change the layout the sessions play on.
+ * </p>
+ * Solve requests are admitted on the server's dispatcher thread, before any
+ * work is handed off, and then run on their own virtual thread when the JVM
+ * supports them, otherwise on a platform thread per admitted request.
+ * Requests beyond the concurrency limit wait in a bounded queue, and once the
+ * queue is full they are turned away with 503 so that load is pushed back to
+ * clients. Bodies larger than the size limit get 413, and requests which are
+ * not answered within the timeout from their admission, waiting included, get
+ * 503 if they never got to solve and 504 if the solve was stopped.
+ */
+public class SolveServer {
+
+    private final int port;
+    private final int maxBodyBytes;
+    private final long timeoutNanos;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private SessionManager sessions;
+    private IncrementalPlanner planner;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a server, which is not started yet.
+     *
+     * @param port          The port to listen on, 0 picks a free port.
+     * @param maxBodyBytes  The largest request body accepted.
+     * @param maxConcurrent The number of requests solved at the same time.
+     * @param queueCapacity The number of requests allowed to wait for a solve slot.
+     * @param timeoutMillis The time a request may take from admission to answer.
+     */
+    public SolveServer(int port, int maxBodyBytes, int maxConcurrent, int queueCapacity, long timeoutMillis) {
+        this.port = port;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.admitted = new Semaphore(maxConcurrent + queueCapacity);
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Sets the sessions hosted by the server. Must be called before the server is started.
+     *
+     * @param sessions The sessions, or null to host no maze.
+     */
+    public void setSessions(SessionManager sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * Sets the planner of the maze whose walls can be edited live. Must be called before the server is started.
+     *
+     * @param planner The planner, or null to allow no editing.
+     */
+    public void setPlanner(IncrementalPlanner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @throws IOException If the server socket can't be opened.
+     */
+    public void start() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", this.port), this.queueCapacity);
+        this.executor = newRequestExecutor();
+        // no executor for the server itself: handlers are called on its dispatcher thread, so a solve
+        // is admitted or refused before it is queued anywhere, and everything else is handed off at once
+        this.server.createContext("/solve", this::handleSolve);
+        this.server.createContext("/metrics", offload(this::handleMetrics));
+        if (this.sessions != null) {
+            this.server.createContext("/sessions", offload(this::handleSessions));
+        }
+        if (this.planner != null) {
+            this.server.createContext("/route", offload(this::handleRoute));
+        }
+        this.server.start();
+    }
+
+    /**
+     * Stops the server, giving requests in progress up to a second to finish.
+     */
+    public void stop() {
+        this.server.stop(1);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Creates an executor which runs every task on a new virtual thread,
+     * falling back to platform threads on JVMs without them. Neither queues
+     * tasks: the number of solves is bounded by admission, not by the executor.
+     *
+     * @return The executor.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            // looked up reflectively so that the service still builds and runs before Java 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Wraps a handler so that it runs on the request executor instead of the dispatcher thread.
+     *
+     * @param handler The handler.
+     * @return The wrapped handler.
+     */
+    private HttpHandler offload(HttpHandler handler) {
+        return exchange -> {
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        handler.handle(exchange);
+                    } catch (IOException e) {
+                        // the client has gone away
+                        exchange.close();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the server is stopping
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * Handles POST /solve on the dispatcher thread: admits the request into the
+     * bounded queue, or refuses it at once when every slot is taken, and hands
+     * admitted requests to the request executor.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response can't be written.
+     */
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            try (exchange) {
+                exchange.getResponseHeaders().add("Allow", "POST");
+                sendError(exchange, 405, "Use POST with a maze as the body");
+            }
+            return;
+        }
+        if (!this.admitted.tryAcquire()) {
+            try (exchange) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                sendError(exchange, 503, "Server is busy");
+            }
+            return;
+        }
+        // the timeout runs from admission, so time spent waiting for a slot counts
+        long deadline = System.nanoTime() + this.timeoutNanos;
+        try {
+            this.executor.execute(() -> {
+                try (exchange) {
+                    solve(exchange, deadline);
+                } catch (IOException e) {
+                    // the client has gone away
+                } finally {
+                    this.admitted.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.admitted.release();
+            try (exchange) {
+                sendError(exchange, 503, "Server is shutting down");
+            }
+        }
+    }
+
+    /**
+     * Reads the maze, waits for a solve slot and solves the maze.
+     *
+     * @param exchange The HTTP exchange.
+     * @param deadline The System.nanoTime value by which the request must be answered.
+     * @throws IOException If the request can't be read or the response written.
+     */
+    private void solve(HttpExchange exchange, long deadline) throws IOException {
+        byte[] body = readBody(exchange);
+        if (body == null) {
+            sendError(exchange, 413, "Maze is larger than " + this.maxBodyBytes + " bytes");
+            return;
+        }
+        MazeSolver solver;
+        try {
+            solver = Solvers.byName(queryParameter(exchange, "solver", "bfs"));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+        if (!(solver instanceof GridSolver)) {
+            sendError(exchange, 400, "Solver " + solver.getName() + " can't be used by the service");
+            return;
+        }
+        Maze maze;
+        try {
+            maze = parse(body);
+        } catch (MazeMalformedException | MazeSizeMissmatchException | IllegalArgumentException e) {
+            sendError(exchange, 400, "Invalid maze: " + e.getMessage());
+            return;
+        }
+
+        boolean acquired = false;
+        try {
+            acquired = this.running.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                sendError(exchange, 503, "Server is busy");
+                return;
+            }
+            SolveResult result = ((GridSolver) solver).solve(maze, maze.getPlayer().getPlayerPosition(),
+                    maze.getEndOfMaze(), Math.max(0, deadline - System.nanoTime()));
+            sendResult(exchange, result);
+        } catch (SolveTimeoutException e) {
+            sendError(exchange, 504, "Solve timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server is shutting down");
+        } finally {
+            if (acquired) {
+                this.running.release();
+            }
+        }
+    }
+
+    /**
+     * Reads the request body, up to the size limit.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The body, or null if it is larger than the limit.
+     * @throws IOException If the body can't be read.
+     */
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > this.maxBodyBytes) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        InputStream in = exchange.getRequestBody();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (body.size() + read > this.maxBodyBytes) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Parses a maze in the maze file format.
+     * The dimensions are checked against the body size first, so that a small
+     * body can't make the server allocate a huge maze.
+     *
+     * @param body The request body.
+     * @return The parsed maze.
+     * @throws MazeMalformedException     If the maze is not correctly formatted.
+     * @throws MazeSizeMissmatchException If the maze does not match its dimensions.
+     * @throws IllegalArgumentException   If the maze has invalid characters, or lacks a start or end.
+     * @throws IOException                If the body can't be read.
+     */
+    private static Maze parse(byte[] body) throws MazeMalformedException, MazeSizeMissmatchException, IOException {
+        String text = new String(body, StandardCharsets.UTF_8);
+        int newline = text.indexOf('\n');
+        String[] dimensions = (newline < 0 ? text : text.substring(0, newline)).trim().split(" ");
+        if (dimensions.length == 2) {
+            long rows = Long.parseLong(dimensions[0]);
+            long cols = Long.parseLong(dimensions[1]);
+            if (rows <= 0 || cols <= 0) {
+                throw new MazeMalformedException("Number of Rows and columns should be positive");
+            }
+            if (rows > body.length || cols > body.length || rows * cols > body.length) {
+                throw new MazeSizeMissmatchException("Maze dimensions do not match the provided size.");
+            }
+        }
+        char[][] layout = new FileLoader().load(new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(body), StandardCharsets.UTF_8)));
+        Maze maze;
+        try {
+            maze = new Maze(layout, new Player(new int[]{-1, -1}));
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof MazeMalformedException) {
+                throw (MazeMalformedException) e.getCause();
+            }
+            throw e;
+        }
+        if (maze.getPlayer().getPlayerPosition()[0] < 0 || maze.getEndOfMaze() == null) {
+            throw new IllegalArgumentException("Maze needs a start 'S' and an end 'E'");
+        }
+        return maze;
+    }
+
+    /**
+     * Sends the result of a solve in the format the client asked for.
+     *
+     * @param exchange The HTTP exchange.
+     * @param result   The result of the solve.
+     * @throws IOException If the response can't be written.
+     */
+    private static void sendResult(HttpExchange exchange, SolveResult result) throws IOException {
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        boolean binary = (accept != null && accept.contains("application/octet-stream"))
+                || "binary".equals(queryParameter(exchange, "format", "json"));
+        if (!result.isSolved()) {
+            sendError(exchange, 422, "There is no solution");
+        } else if (binary) {
+            exchange.getResponseHeaders().add("X-Solver", result.getSelection() == null
+                    ? result.getSolver() : result.getSolver() + "/" + result.getSelection());
+            send(exchange, 200, "application/octet-stream", PackedMoves.pack(result.getMoveString()));
+        } else {
+            String json = "{\"solver\":\"" + result.getSolver() + "\""
+                    + (result.getSelection() == null ? "" : ",\"selection\":\"" + result.getSelection() + "\"")
+                    + ",\"solved\":true"
+                    + ",\"length\":" + result.getPathLength()
+                    + ",\"nodesExpanded\":" + result.getSample().getNodesExpanded()
+                    + ",\"timeMillis\":" + String.format("%.3f", result.getSample().getWallNanos() / 1e6)
+                    + ",\"moves\":\"" + result.getMoveString() + "\"}";
+            send(exchange, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Handles the /sessions requests. Moves are cheap, so sessions don't take solve slots.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response can't be written.
+     */
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String rest = path.length() > "/sessions".length() ? path.substring("/sessions/".length()) : "";
+            if (rest.isEmpty()) {
+                if (!"POST".equals(method)) {
+                    exchange.getResponseHeaders().add("Allow", "POST");
+                    sendError(exchange, 405, "Use POST to open a session");
+                    return;
+                }
+                PlayerSession session = this.sessions.open();
+                if (session == null) {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                    sendError(exchange, 503, "Too many sessions");
+                    return;
+                }
+                sendSession(exchange, 201, session);
+                return;
+            }
+            long id;
+            try {
+                id = Long.parseLong(rest);
+            } catch (NumberFormatException e) {
+                sendError(exchange, 404, "No such session");
+                return;
+            }
+            PlayerSession session;
+            switch (method) {
+                case "GET":
+                    session = this.sessions.get(id);
+                    break;
+                case "POST":
+                    try {
+                        session = this.sessions.move(id, queryParameter(exchange, "moves", ""));
+                    } catch (IllegalArgumentException e) {
+                        sendError(exchange, 400, e.getMessage());
+                        return;
+                    }
+                    break;
+                case "DELETE":
+                    if (this.sessions.close(id)) {
+                        exchange.sendResponseHeaders(204, -1);
+                    } else {
+                        sendError(exchange, 404, "No such session");
+                    }
+                    return;
+                default:
+                    exchange.getResponseHeaders().add("Allow", "GET, POST, DELETE");
+                    sendError(exchange, 405, "Use GET, POST or DELETE on a session");
+                    return;
+            }
+            if (session == null) {
+                sendError(exchange, 404, "No such session");
+                return;
+            }
+            sendSession(exchange, 200, session);
+        }
+    }
+
+    /**
+     * Sends the state of a session as JSON.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The HTTP status code.
+     * @param session  The session.
+     * @throws IOException If the response can't be written.
+     */
+    private static void sendSession(HttpExchange exchange, int status, PlayerSession session) throws IOException {
+        int[] position = session.getPlayerPosition();
+        String json = "{\"id\":" + session.getId()
+                + ",\"row\":" + position[0]
+                + ",\"col\":" + position[1]
+                + ",\"moves\":" + session.getMoveCount()
+                + ",\"reachedEnd\":" + session.hasReachedEnd() + "}";
+        send(exchange, status, "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Handles the /route requests, which read the live route and edit walls.
+     * Repairs are quick, so they don't take solve slots.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response can't be written.
+     */
+    private void handleRoute(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if ("POST".equals(method)) {
+                try {
+                    int row = Integer.parseInt(queryParameter(exchange, "row", ""));
+                    int col = Integer.parseInt(queryParameter(exchange, "col", ""));
+                    boolean wall = Boolean.parseBoolean(queryParameter(exchange, "wall", "true"));
+                    if (row >= 0 && col >= 0 && col < this.planner.getNumCols()
+                            && (row * this.planner.getNumCols() + col == this.planner.getStart()
+                            || this.planner.isExit(row, col))) {
+                        // as in the GUI, the start and the exits stay open
+                        sendError(exchange, 400, "Can't change the start or an exit of the maze");
+                        return;
+                    }
+                    this.planner.setWall(row, col, wall);
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    sendError(exchange, 400, "Give the row and col of a cell inside the maze");
+                    return;
+                }
+            } else if (!"GET".equals(method)) {
+                exchange.getResponseHeaders().add("Allow", "GET, POST");
+                sendError(exchange, 405, "Use GET to read the route or POST to edit a wall");
+                return;
+            }
+            long started = System.nanoTime();
+            int[] cells = this.planner.findPath();
+            long micros = (System.nanoTime() - started) / 1000;
+            String json = "{\"solved\":" + (cells != null)
+                    + ",\"length\":" + (cells == null ? -1 : cells.length - 1)
+                    + ",\"moves\":\"" + (cells == null ? "" : SolveResult.toMoves(cells, this.planner.getNumCols())) + "\""
+                    + ",\"expanded\":" + this.planner.getLastExpanded()
+                    + ",\"micros\":" + micros + "}";
+            send(exchange, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Handles GET /metrics by listing the counters of every solver.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response can't be written.
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder text = new StringBuilder();
+            for (SolverStats stats : MetricsRegistry.getDefault().getAll()) {
+                String prefix = "solver_" + stats.getSolver() + "_";
+                text.append(prefix).append("solves ").append(stats.getSolves()).append('\n')
+                        .append(prefix).append("failures ").append(stats.getFailures()).append('\n')
+                        .append(prefix).append("nodes_expanded ").append(stats.getNodesExpanded()).append('\n')
+                        .append(prefix).append("peak_frontier ").append(stats.getPeakFrontier()).append('\n')
+                        .append(prefix).append("bytes_allocated ").append(stats.getBytesAllocated()).append('\n')
+                        .append(prefix).append("latency_p50_ms ").append(stats.getP50LatencyMillis()).append('\n')
+                        .append(prefix).append("latency_p99_ms ").append(stats.getP99LatencyMillis()).append('\n');
+            }
+            send(exchange, 200, "text/plain", text.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Sends an error as a JSON object with a message.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The HTTP status code.
+     * @param message  The error message.
+     * @throws IOException If the response can't be written.
+     */
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        String json = "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+        send(exchange, status, "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a response with a body.
+     *
+     * @param exchange    The HTTP exchange.
+     * @param status      The HTTP status code.
+     * @param contentType The content type of the body.
+     * @param body        The body.
+     * @throws IOException If the response can't be written.
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Reads a parameter from the query string.
+     *
+     * @param exchange     The HTTP exchange.
+     * @param name         The parameter name.
+     * @param defaultValue The value if the parameter is missing.
+     * @return The parameter value.
+     */
+    private static String queryParameter(HttpExchange exchange, String name, String defaultValue) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                    return pair.substring(equals + 1);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Starts the service.
+     * <p>
+     * Usage: java service.SolveServer [--port 8080] [--max-body-bytes 16777216]
+     * [--max-concurrent cores] [--queue 64] [--timeout-ms 5000]
+     * [--maze file --max-sessions 10000]
+     * </p>
+     *
+     * @param args The command line arguments.
+     * @throws IOException                If the server can't be started or the maze can't be read.
+     * @throws MazeMalformedException     If the hosted maze is not correctly formatted.
+     * @throws MazeSizeMissmatchException If the hosted maze does not match its dimensions.
+     */
+    public static void main(String[] args) throws IOException, MazeMalformedException, MazeSizeMissmatchException {
+        int port = 8080;
+        int maxBody = 16 << 20;
+        int maxConcurrent = Runtime.getRuntime().availableProcessors();
+        int queue = 64;
+        long timeout = 5000;
+        String mazeFile = null;
+        int maxSessions = 10000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--max-body-bytes":
+                    maxBody = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--max-concurrent":
+                    maxConcurrent = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--queue":
+                    queue = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--timeout-ms":
+                    timeout = Long.parseLong(args[i + 1]);
+                    break;
+                case "--maze":
+                    mazeFile = args[i + 1];
+                    break;
+                case "--max-sessions":
+                    maxSessions = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        MetricsRegistry.getDefault().registerMBeans();
+        SolveServer server = new SolveServer(port, maxBody, maxConcurrent, queue, timeout);
+        if (mazeFile != null) {
+            // the layout is loaded once and shared by every session
+            MazeLayout layout = MazeLayout.of(new FileLoader().load(mazeFile));
+            server.setSessions(new SessionManager(layout, maxSessions));
+            if (layout.getStart() < 0 || layout.getEnds().length == 0) {
+                throw new IllegalArgumentException("Hosted maze needs a start 'S' and an end 'E'");
+            }
+            server.setPlanner(IncrementalPlanner.of(layout, layout.getStart(), layout.getEnds()));
+        }
+        server.start();
+        System.out.println("Solving mazes on http://127.0.0.1:" + server.getPort() + "/solve");
+    }
+}
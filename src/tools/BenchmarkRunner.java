@@ -0,0 +1,258 @@
+package tools;
+
+import Controller.MazeSolver;
+import Controller.SolveResult;
+import Controller.Solvers;
+import Model.Maze;
+import Model.MazeGenerator;
+import Model.MazeGrid;
+import Model.Player;
+import metrics.MetricsRegistry;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line benchmark which runs every available solver over a seeded
+ * corpus of generated mazes and appends one CSV row per solver and maze,
+ * so that results can be compared between versions to catch regressions.
+ * The recursive Solution.findSolution is the baseline: every other solver
+ * has to agree with it on whether the maze is solvable, every path has to be
+ * a valid walk from start to end, and all shortest path solvers have to
+ * agree on the path length.
+ * <p>
+ * Usage: java tools.BenchmarkRunner [--sizes 51,101,201] [--seeds 3] [--repeats 3]
+ * [--topologies perfect,braided,rooms] [--out benchmark.csv]
+ * </p>
+ * The process exits with status 1 if any solver disagrees with the baseline.
+ */
+public class BenchmarkRunner {
+
+    private static final String HEADER = "run,topology,rows,cols,seed,solver,solved,path_length,"
+            + "time_ms,nodes_expanded,peak_frontier,bytes_allocated,agrees";
+
+    private int[] sizes = {51, 101, 201, 401};
+    private int seeds = 3;
+    private int repeats = 3;
+    private String[] topologies = {"perfect", "braided", "rooms"};
+    private String out = "benchmark.csv";
+    private int disagreements;
+
+    /**
+     * Runs the benchmark.
+     * The work happens on a thread with a large stack because the recursive
+     * baseline recurses once per cell on its path.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        runner.parse(args);
+        MetricsRegistry.getDefault().registerMBeans();
+        Exception[] failure = new Exception[1];
+        Thread worker = new Thread(null, () -> {
+            try {
+                runner.run();
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        }, "benchmark", 1L << 30);
+        worker.start();
+        worker.join();
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (runner.disagreements > 0) {
+            System.out.println(runner.disagreements + " results disagree with the baseline");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the command line options.
+     *
+     * @param args The command line arguments.
+     */
+    private void parse(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes":
+                    this.sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--seeds":
+                    this.seeds = Integer.parseInt(value);
+                    break;
+                case "--repeats":
+                    this.repeats = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--topologies":
+                    this.topologies = value.split(",");
+                    break;
+                case "--out":
+                    this.out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Generates the corpus and runs every solver on every maze.
+     *
+     * @throws IOException If the mazes or the CSV file can't be written.
+     */
+    private void run() throws IOException {
+        File csv = new File(this.out);
+        boolean writeHeader = !csv.exists() || csv.length() == 0;
+        long run = System.currentTimeMillis();
+        List<MazeSolver> solvers = Solvers.available();
+        File mazeFile = File.createTempFile("benchmark-maze-", ".txt");
+        mazeFile.deleteOnExit();
+
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(csv, true)))) {
+            if (writeHeader) {
+                writer.println(HEADER);
+            }
+            for (String topology : this.topologies) {
+                for (int size : this.sizes) {
+                    for (int seed = 1; seed <= this.seeds; seed++) {
+                        MazeGenerator.write(generate(topology, size, seed), mazeFile.getPath());
+                        Maze maze = new Maze(mazeFile.getPath(), new Player(new int[]{0, 0}));
+                        List<SolveResult> results = new ArrayList<>();
+                        for (MazeSolver solver : solvers) {
+                            results.add(measure(solver, maze));
+                        }
+                        boolean[] agrees = compare(maze, solvers, results);
+                        for (int k = 0; k < results.size(); k++) {
+                            SolveResult result = results.get(k);
+                            writer.println(run + "," + topology + "," + size + "," + size + "," + seed + ","
+                                    + result.getSolver() + "," + result.isSolved() + "," + result.getPathLength() + ","
+                                    + String.format("%.3f", result.getSample().getWallNanos() / 1e6) + ","
+                                    + result.getSample().getNodesExpanded() + ","
+                                    + result.getSample().getPeakFrontier() + ","
+                                    + result.getSample().getBytesAllocated() + "," + agrees[k]);
+                            if (!agrees[k]) {
+                                this.disagreements++;
+                                System.out.println("Disagreement: " + result.getSolver() + " on " + topology
+                                        + " " + size + "x" + size + " seed " + seed);
+                            }
+                        }
+                        writer.flush();
+                    }
+                    System.out.println("Finished " + topology + " " + size + "x" + size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a maze of the given topology.
+     *
+     * @param topology One of perfect, braided or rooms.
+     * @param size     The number of rows and columns.
+     * @param seed     The seed of the maze.
+     * @return The generated maze.
+     */
+    private static char[][] generate(String topology, int size, long seed) {
+        switch (topology) {
+            case "perfect":
+                return MazeGenerator.perfect(size, size, seed);
+            case "braided":
+                return MazeGenerator.generate(size, size, 0.7, seed);
+            case "rooms":
+                return MazeGenerator.rooms(size, size, seed);
+            default:
+                throw new IllegalArgumentException("Unknown topology " + topology);
+        }
+    }
+
+    /**
+     * Solves the maze several times and keeps the result with the median time.
+     *
+     * @param solver The solver to run.
+     * @param maze   The maze to solve.
+     * @return The median result.
+     */
+    private SolveResult measure(MazeSolver solver, Maze maze) {
+        SolveResult[] runs = new SolveResult[this.repeats];
+        for (int i = 0; i < this.repeats; i++) {
+            runs[i] = solver.solve(maze);
+        }
+        Arrays.sort(runs, (a, b) -> Long.compare(a.getSample().getWallNanos(), b.getSample().getWallNanos()));
+        return runs[this.repeats / 2];
+    }
+
+    /**
+     * Checks every result against the baseline and the other solvers.
+     *
+     * @param maze    The solved maze.
+     * @param solvers The solvers which produced the results.
+     * @param results The results, the baseline first.
+     * @return Whether each result agrees.
+     */
+    private static boolean[] compare(Maze maze, List<MazeSolver> solvers, List<SolveResult> results) {
+        int[] start = maze.getPlayer().getPlayerPosition();
+        int[] end = maze.getEndOfMaze();
+        int numCols = maze.getNumCols();
+        int startCell = start[0] * numCols + start[1];
+        int endCell = end[0] * numCols + end[1];
+        boolean baselineSolved = results.get(0).isSolved();
+        int shortest = Integer.MAX_VALUE;
+        for (int k = 0; k < results.size(); k++) {
+            if (solvers.get(k).isShortestPath() && results.get(k).isSolved()) {
+                shortest = Math.min(shortest, results.get(k).getPathLength());
+            }
+        }
+        boolean[] agrees = new boolean[results.size()];
+        for (int k = 0; k < results.size(); k++) {
+            SolveResult result = results.get(k);
+            boolean ok = result.isSolved() == baselineSolved;
+            if (ok && result.isSolved()) {
+                ok = isValidPath(maze, result.getCells(), startCell, endCell)
+                        && result.getPathLength() >= shortest
+                        && (!solvers.get(k).isShortestPath() || result.getPathLength() == shortest);
+            }
+            agrees[k] = ok;
+        }
+        return agrees;
+    }
+
+    /**
+     * Checks that a path starts and ends in the right cells and
+     * only steps between adjacent open cells.
+     *
+     * @param grid  The maze layout.
+     * @param cells The path cells as row * numCols + col.
+     * @param start The start cell.
+     * @param end   The end cell.
+     * @return true if the path is valid.
+     */
+    private static boolean isValidPath(MazeGrid grid, int[] cells, int start, int end) {
+        int numCols = grid.getNumCols();
+        if (cells.length == 0 || cells[0] != start || cells[cells.length - 1] != end) {
+            return false;
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (!grid.isValidMove(cells[i] / numCols, cells[i] % numCols)) {
+                return false;
+            }
+            if (i > 0) {
+                int step = Math.abs(cells[i] - cells[i - 1]);
+                boolean sameRow = cells[i] / numCols == cells[i - 1] / numCols;
+                if (!(step == numCols || (step == 1 && sameRow))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
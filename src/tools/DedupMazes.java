@@ -0,0 +1,110 @@
+package tools;
+
+import Model.CanonicalMaze;
+import io.FileLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Command line tool which finds the maze files in a directory that are the
+ * same maze up to rotation and reflection. The files are loaded and hashed in
+ * parallel. For every group of two or more equivalent mazes one JSON object is
+ * printed, naming the first file and, for each other file, the symmetry which
+ * takes the first maze to it: Symmetry.valueOf(name).mapMoves turns a solution
+ * of the first maze into a solution of that one, so only the first needs solving.
+ * Files which can't be loaded are reported on stderr and skipped.
+ * <p>
+ * Usage: java tools.DedupMazes [--all] directory
+ * </p>
+ * --all prints mazes without an equivalent as groups of one as well.
+ */
+public class DedupMazes {
+
+    /**
+     * Groups the mazes.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the directory can't be listed.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean all = false;
+        String directory = null;
+        for (String arg : args) {
+            if (arg.equals("--all")) {
+                all = true;
+            } else {
+                directory = arg;
+            }
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("No maze directory given");
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(Paths.get(directory))) {
+            files = listing.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        long started = System.nanoTime();
+        CanonicalMaze[] forms = new CanonicalMaze[files.size()];
+        IntStream.range(0, files.size()).parallel().forEach(i -> {
+            try {
+                forms[i] = CanonicalMaze.of(new FileLoader().load(files.get(i).toString()));
+            } catch (Exception e) {
+                System.err.println("Skipping " + files.get(i) + ": " + e.getMessage());
+            }
+        });
+
+        // groups keep the order of the sorted file names
+        Map<CanonicalMaze, List<Integer>> groups = new LinkedHashMap<>();
+        int loaded = 0;
+        for (int i = 0; i < forms.length; i++) {
+            if (forms[i] != null) {
+                groups.computeIfAbsent(forms[i], form -> new ArrayList<>()).add(i);
+                loaded++;
+            }
+        }
+        StringBuilder out = new StringBuilder();
+        int duplicates = 0;
+        for (Map.Entry<CanonicalMaze, List<Integer>> group : groups.entrySet()) {
+            List<Integer> members = group.getValue();
+            duplicates += members.size() - 1;
+            if (members.size() < 2 && !all) {
+                continue;
+            }
+            CanonicalMaze first = forms[members.get(0)];
+            out.append("{\"key\":\"").append(group.getKey().toKey())
+                    .append("\",\"first\":\"").append(escape(files.get(members.get(0)).getFileName().toString()))
+                    .append("\",\"same\":[");
+            for (int m = 1; m < members.size(); m++) {
+                if (m > 1) {
+                    out.append(',');
+                }
+                out.append("{\"file\":\"").append(escape(files.get(members.get(m)).getFileName().toString()))
+                        .append("\",\"symmetry\":\"").append(first.symmetryTo(forms[members.get(m)])).append("\"}");
+            }
+            out.append("]}\n");
+        }
+        System.out.print(out);
+        System.err.printf("%d files, %d mazes, %d distinct, %d duplicates, %.2f ms%n", files.size(), loaded,
+                groups.size(), duplicates, (System.nanoTime() - started) / 1e6);
+    }
+
+    /**
+     * Escapes a file name for a JSON string.
+     *
+     * @param name The file name.
+     * @return The escaped name.
+     */
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
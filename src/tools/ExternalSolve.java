@@ -0,0 +1,85 @@
+package tools;
+
+import Controller.ExternalBreadthFirstSolver;
+import Controller.SearchContext;
+import io.MappedMazeGrid;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool which solves a maze too large to load into memory with
+ * the external breadth first search, reading the maze file through memory
+ * mapping and writing the shortest path as a line of w, a, s and d moves.
+ * <p>
+ * Usage: java tools.ExternalSolve [--heap-budget-mb 256] [--tmp dir] maze.txt [moves.txt]
+ * </p>
+ */
+public class ExternalSolve {
+
+    /**
+     * Runs the solve.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze can't be read or the moves can't be written.
+     */
+    public static void main(String[] args) throws Exception {
+        long heapBudget = 256L << 20;
+        Path tempDirectory = null;
+        String mazeFile = null;
+        String movesFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--heap-budget-mb":
+                    heapBudget = Long.parseLong(args[++i]) << 20;
+                    break;
+                case "--tmp":
+                    tempDirectory = Paths.get(args[++i]);
+                    break;
+                default:
+                    if (mazeFile == null) {
+                        mazeFile = args[i];
+                    } else {
+                        movesFile = args[i];
+                    }
+                    break;
+            }
+        }
+        if (mazeFile == null) {
+            throw new IllegalArgumentException("No maze file given");
+        }
+        ExternalBreadthFirstSolver solver = new ExternalBreadthFirstSolver(heapBudget, tempDirectory);
+        SearchContext context = new SearchContext(null);
+        long started = System.nanoTime();
+        try (MappedMazeGrid grid = new MappedMazeGrid(mazeFile);
+             Writer out = movesFile == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Paths.get(movesFile), StandardCharsets.UTF_8)) {
+            long start = grid.find('S');
+            long end = grid.find('E');
+            if (start < 0 || end < 0) {
+                throw new IllegalArgumentException("Maze has no start or no end");
+            }
+            long[] moves = {0};
+            boolean solved = solver.solve(grid, start, end, move -> {
+                try {
+                    out.write(move);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                moves[0]++;
+            }, context);
+            out.write('\n');
+            out.flush();
+            System.err.printf("%s in %d moves, %d cells expanded, widest level %d, %.2f s%n",
+                    solved ? "solved" : "no solution", moves[0], context.getNodesExpanded(),
+                    context.getPeakFrontier(), (System.nanoTime() - started) / 1e9);
+        }
+    }
+}
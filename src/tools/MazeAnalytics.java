@@ -0,0 +1,35 @@
+package tools;
+
+import Controller.MazeAnalyzer;
+
+/**
+ * Command line tool which prints the structural metrics of maze files as JSON,
+ * one object per line, streaming each file rather than loading it.
+ * <p>
+ * Usage: java tools.MazeAnalytics [--no-solve] maze.txt...
+ * </p>
+ */
+public class MazeAnalytics {
+
+    /**
+     * Analyses the maze files.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If a maze can't be read.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean solve = true;
+        for (String arg : args) {
+            if (arg.equals("--no-solve")) {
+                solve = false;
+            }
+        }
+        MazeAnalyzer analyzer = new MazeAnalyzer(solve);
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                System.out.println("{\"file\":\"" + arg.replace("\\", "\\\\").replace("\"", "\\\"")
+                        + "\",\"metrics\":" + analyzer.analyze(arg).toJson() + "}");
+            }
+        }
+    }
+}
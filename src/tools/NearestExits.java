@@ -0,0 +1,55 @@
+package tools;
+
+import Controller.ExitRoute;
+import Controller.NearestExitSearch;
+import Model.MazeLayout;
+import io.FileLoader;
+
+/**
+ * Command line tool which finds the nearest exit 'E' from every start 'S' of
+ * a maze with one search from all the exits, printing one JSON object per
+ * start in the order the starts appear in the maze file, row by row.
+ * <p>
+ * Usage: java tools.NearestExits [--moves] maze.txt
+ * </p>
+ */
+public class NearestExits {
+
+    /**
+     * Runs the search.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze can't be read.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean withMoves = false;
+        String mazeFile = null;
+        for (String arg : args) {
+            if (arg.equals("--moves")) {
+                withMoves = true;
+            } else {
+                mazeFile = arg;
+            }
+        }
+        if (mazeFile == null) {
+            throw new IllegalArgumentException("No maze file given");
+        }
+        MazeLayout layout = MazeLayout.of(new FileLoader().load(mazeFile));
+        if (layout.getStarts().length == 0 || layout.getEnds().length == 0) {
+            throw new IllegalArgumentException("Maze needs at least one start 'S' and one end 'E'");
+        }
+        long started = System.nanoTime();
+        NearestExitSearch search = new NearestExitSearch(layout, layout.getEnds());
+        StringBuilder out = new StringBuilder();
+        int unreachable = 0;
+        for (ExitRoute route : search.routes(layout.getStarts())) {
+            out.append(route.toJson(withMoves)).append('\n');
+            if (!route.isReachable()) {
+                unreachable++;
+            }
+        }
+        System.out.print(out);
+        System.err.printf("%d starts, %d exits, %d with no exit, %.2f ms%n", layout.getStarts().length,
+                layout.getEnds().length, unreachable, (System.nanoTime() - started) / 1e6);
+    }
+}
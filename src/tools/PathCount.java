@@ -0,0 +1,70 @@
+package tools;
+
+import Controller.KShortestPaths;
+import Controller.PathCounter;
+import Controller.SolveResult;
+import Model.MazeLayout;
+import io.FileLoader;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Command line tool for maze designers which prints, as JSON, how many
+ * shortest solutions a maze has, whether the solution is unique, and the
+ * lengths of its k shortest loopless solutions.
+ * <p>
+ * Usage: java tools.PathCount [--k 5] [--moves] maze.txt
+ * </p>
+ */
+public class PathCount {
+
+    /**
+     * Counts the solutions.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze can't be read.
+     */
+    public static void main(String[] args) throws Exception {
+        int k = 5;
+        boolean withMoves = false;
+        String mazeFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--k":
+                    k = Integer.parseInt(args[++i]);
+                    break;
+                case "--moves":
+                    withMoves = true;
+                    break;
+                default:
+                    mazeFile = args[i];
+                    break;
+            }
+        }
+        if (mazeFile == null) {
+            throw new IllegalArgumentException("No maze file given");
+        }
+        MazeLayout layout = MazeLayout.of(new FileLoader().load(mazeFile));
+        if (layout.getStart() < 0 || layout.getEnd() < 0) {
+            throw new IllegalArgumentException("Maze needs a start 'S' and an end 'E'");
+        }
+        BigInteger count = PathCounter.countShortestPaths(layout, layout.getStart(), layout.getEnd());
+        List<int[]> paths = new KShortestPaths(layout).find(layout.getStart(), layout.getEnd(), k);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"shortestCount\":\"").append(count).append('"')
+                .append(",\"unique\":").append(count.equals(BigInteger.ONE))
+                .append(",\"paths\":[");
+        for (int i = 0; i < paths.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"length\":").append(paths.get(i).length - 1);
+            if (withMoves) {
+                json.append(",\"moves\":\"").append(SolveResult.toMoves(paths.get(i), layout.getNumCols())).append('"');
+            }
+            json.append('}');
+        }
+        System.out.println(json.append("]}"));
+    }
+}
@@ -0,0 +1,88 @@
+package tools;
+
+import Controller.CheckpointedBreadthFirstSolver;
+import Controller.SolveResult;
+import Model.MazeLayout;
+import exceptions.SolveTimeoutException;
+import io.FileLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool which solves a maze with a breadth first search that
+ * saves its progress to a checkpoint file, so that a long solve which is
+ * stopped, by a restart or by the time limit, carries on where it left off
+ * when the tool is run again. Prints the shortest path as a line of w, a, s
+ * and d moves. Exits with status 2 if the time limit was reached.
+ * <p>
+ * Usage: java tools.ResumableSolve [--checkpoint file] [--interval-s 30] [--time-limit-s 0] maze.txt
+ * </p>
+ * The checkpoint file defaults to the maze file with ".ckpt" appended, and a
+ * time limit of 0 means none.
+ */
+public class ResumableSolve {
+
+    /**
+     * Runs the solve.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze can't be read or the checkpoint can't be written.
+     */
+    public static void main(String[] args) throws Exception {
+        Path checkpoint = null;
+        long intervalSeconds = 30;
+        long timeLimitSeconds = 0;
+        String mazeFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--checkpoint":
+                    checkpoint = Paths.get(args[++i]);
+                    break;
+                case "--interval-s":
+                    intervalSeconds = Long.parseLong(args[++i]);
+                    break;
+                case "--time-limit-s":
+                    timeLimitSeconds = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    mazeFile = args[i];
+                    break;
+            }
+        }
+        if (mazeFile == null) {
+            throw new IllegalArgumentException("No maze file given");
+        }
+        if (checkpoint == null) {
+            checkpoint = Paths.get(mazeFile + ".ckpt");
+        }
+        MazeLayout layout = MazeLayout.of(new FileLoader().load(mazeFile));
+        if (layout.getStart() < 0 || layout.getEnd() < 0) {
+            throw new IllegalArgumentException("Maze has no start or no end");
+        }
+        int numCols = layout.getNumCols();
+        int[] start = {layout.getStart() / numCols, layout.getStart() % numCols};
+        int[] end = {layout.getEnd() / numCols, layout.getEnd() % numCols};
+        if (Files.exists(checkpoint)) {
+            System.err.println("Resuming from " + checkpoint + " if it matches this maze");
+        }
+
+        CheckpointedBreadthFirstSolver solver = new CheckpointedBreadthFirstSolver(checkpoint, intervalSeconds * 1000);
+        long started = System.nanoTime();
+        SolveResult result;
+        try {
+            result = timeLimitSeconds > 0
+                    ? solver.solve(layout, start, end, timeLimitSeconds * 1_000_000_000L)
+                    : solver.solve(layout, start, end);
+        } catch (SolveTimeoutException e) {
+            System.err.printf("Time limit reached, progress saved to %s%n", checkpoint);
+            System.exit(2);
+            return;
+        }
+        System.out.println(result.isSolved() ? result.getMoveString() : "");
+        System.err.printf("%s in %d moves, %d cells expanded this run, %.2f s%n",
+                result.isSolved() ? "solved" : "no solution", result.getPathLength(),
+                result.getSample().getNodesExpanded(), (System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,89 @@
+package tools;
+
+import Controller.MoveVerifier;
+import Controller.Verdict;
+import Model.MazeLayout;
+import io.FileLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line tool which checks submitted solutions of one maze in bulk.
+ * The submissions file holds one sequence of w, a, s and d moves per line; it
+ * is read in batches which are checked in parallel, so files of millions of
+ * submissions stream through in constant memory. For every submission a line
+ * "index,valid,illegalStep,solved" is printed, and a summary at the end.
+ * <p>
+ * Usage: java tools.VerifyMoves [--summary-only] maze.txt submissions.txt
+ * </p>
+ */
+public class VerifyMoves {
+
+    // the number of submissions checked together
+    private static final int BATCH = 1 << 16;
+
+    /**
+     * Checks the submissions.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze or the submissions can't be read.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean summaryOnly = false;
+        List<String> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--summary-only")) {
+                summaryOnly = true;
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            throw new IllegalArgumentException("Give a maze file and a submissions file");
+        }
+        MoveVerifier verifier = new MoveVerifier(MazeLayout.of(new FileLoader().load(files.get(0))));
+        long submissions = 0;
+        long valid = 0;
+        long solved = 0;
+        long started = System.nanoTime();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(files.get(1)), StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            List<String> batch = new ArrayList<>(BATCH);
+            String line;
+            do {
+                line = in.readLine();
+                if (line != null) {
+                    batch.add(line.trim());
+                }
+                if (batch.size() == BATCH || (line == null && !batch.isEmpty())) {
+                    Verdict[] verdicts = verifier.verifyAll(batch);
+                    for (Verdict verdict : verdicts) {
+                        if (verdict.isValid()) {
+                            valid++;
+                        }
+                        if (verdict.endsOnExit()) {
+                            solved++;
+                        }
+                        if (!summaryOnly) {
+                            out.write(submissions + "," + verdict.isValid() + "," + verdict.getIllegalStep()
+                                    + "," + verdict.endsOnExit() + "\n");
+                        }
+                        submissions++;
+                    }
+                    batch.clear();
+                }
+            } while (line != null);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.err.printf("%d submissions, %d valid, %d solved, %.2f s (%.0f per second)%n",
+                submissions, valid, solved, seconds, submissions / Math.max(seconds, 1e-9));
+    }
+}
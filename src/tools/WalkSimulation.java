@@ -0,0 +1,68 @@
+package tools;
+
+import Controller.WalkReport;
+import Controller.WalkSimulator;
+import Controller.WalkStrategy;
+import Model.MazeLayout;
+import io.FileLoader;
+
+/**
+ * Command line tool which estimates how hard a maze is by simulating
+ * many walks through it with each strategy and printing the distribution
+ * of steps from the start to the exit.
+ * <p>
+ * Usage: java tools.WalkSimulation [--walks 1000000] [--max-steps 10000000]
+ * [--strategies random,wall,human] [--seed 1] maze.txt
+ * </p>
+ */
+public class WalkSimulation {
+
+    /**
+     * Runs the simulation.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the maze can't be loaded.
+     */
+    public static void main(String[] args) throws Exception {
+        long walks = 1_000_000;
+        long maxSteps = 10_000_000;
+        String[] strategies = {"random", "wall", "human"};
+        long seed = 1;
+        String mazeFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--walks":
+                    walks = Long.parseLong(args[++i]);
+                    break;
+                case "--max-steps":
+                    maxSteps = Long.parseLong(args[++i]);
+                    break;
+                case "--strategies":
+                    strategies = args[++i].split(",");
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    mazeFile = args[i];
+                    break;
+            }
+        }
+        if (mazeFile == null) {
+            throw new IllegalArgumentException("No maze file given");
+        }
+        WalkSimulator simulator = new WalkSimulator(MazeLayout.of(new FileLoader().load(mazeFile)), maxSteps);
+        System.out.printf("%-8s %10s %9s %12s %10s %10s %10s %10s %8s%n",
+                "strategy", "walks", "finished", "mean", "p50", "p90", "p99", "max", "time_s");
+        for (String name : strategies) {
+            WalkStrategy strategy = WalkStrategy.byName(name);
+            long start = System.nanoTime();
+            WalkReport report = simulator.simulate(strategy, walks, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-8s %10d %8.1f%% %12.1f %10d %10d %10d %10d %8.2f%n",
+                    strategy.getName(), report.getWalks(), report.getFinishedRatio() * 100,
+                    report.getMeanSteps(), report.getSteps(0.5), report.getSteps(0.9),
+                    report.getSteps(0.99), report.getMaxFinishedSteps(), seconds);
+        }
+    }
+}